@@ -1,13 +1,19 @@
 package com.skklub.admin;
 
+import com.amazonaws.ClientConfiguration;
 import com.amazonaws.auth.AWSStaticCredentialsProvider;
 import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.retry.PredefinedRetryPolicies;
+import com.amazonaws.retry.RetryPolicy;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.skklub.admin.storage.RetryBudget;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Configuration
 public class AWSS3Config {
     @Value("${cloud.aws.credentials.accessKey}")
@@ -19,12 +25,34 @@ public class AWSS3Config {
     @Value("${cloud.aws.region.static}")
     private String region;
 
+    @Value("${storage.timeout.connect:PT2S}")
+    private Duration connectTimeout;
+
+    @Value("${storage.timeout.socket:PT10S}")
+    private Duration socketTimeout;
+
+    @Value("${storage.retry.max-attempts:3}")
+    private int maxRetries;
+
     @Bean
-    public AmazonS3 s3Client() {
+    public AmazonS3 s3Client(RetryBudget retryBudget) {
         BasicAWSCredentials credentials = new BasicAWSCredentials(accessKey, secretKey);
+        //재시도는 SDK 기본 조건을 만족하고 재시도 예산이 남아 있을 때만, 장애 중에 재시도가 요청을 몇 배로 늘리지 않도록 함
+        RetryPolicy retryPolicy = new RetryPolicy(
+                (request, exception, retriesAttempted) ->
+                        PredefinedRetryPolicies.DEFAULT_RETRY_CONDITION.shouldRetry(request, exception, retriesAttempted)
+                                && retryBudget.tryWithdraw(),
+                PredefinedRetryPolicies.DEFAULT_BACKOFF_STRATEGY,
+                maxRetries,
+                false);
+        ClientConfiguration clientConfiguration = new ClientConfiguration()
+                .withConnectionTimeout((int) connectTimeout.toMillis())
+                .withSocketTimeout((int) socketTimeout.toMillis())
+                .withRetryPolicy(retryPolicy);
         return AmazonS3ClientBuilder.standard()
                 .withRegion(region)
                 .withCredentials(new AWSStaticCredentialsProvider(credentials))
+                .withClientConfiguration(clientConfiguration)
                 .build();
     }
 
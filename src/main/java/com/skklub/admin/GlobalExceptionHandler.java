@@ -3,17 +3,24 @@ package com.skklub.admin;
 import com.skklub.admin.exception.ClientSideException;
 import com.skklub.admin.exception.ExceptionResponse;
 import com.skklub.admin.exception.ServerSideException;
+import com.skklub.admin.storage.StorageUnavailableException;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.io.UncheckedIOException;
+
 @Slf4j
 @RestControllerAdvice
 public class GlobalExceptionHandler {
+    private static final String STORAGE_RETRY_AFTER = "30";
+
     /**
      * 입력값이 잘못되어 예외가 터진 경우
      */
@@ -36,6 +43,30 @@ public class GlobalExceptionHandler {
                 .body(exceptionResponse);
     }
 
+    /**
+     * 저장소 회로가 열려 저장소에 요청하지 않은 경우, 회로가 다시 시험 호출을 보낼 때쯤 재시도하도록 안내
+     */
+    @ExceptionHandler(StorageUnavailableException.class)
+    public ResponseEntity<ExceptionResponse> storageUnavailableException(StorageUnavailableException storageUnavailableException, HttpServletRequest request) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, STORAGE_RETRY_AFTER)
+                .body(null);
+    }
+
+    /**
+     * 반환값이 있는 저장소 메서드는 StorageUnavailableException을 UncheckedIOException으로 감싸서 던진다
+     */
+    @ExceptionHandler(UncheckedIOException.class)
+    public ResponseEntity<ExceptionResponse> uncheckedIOException(UncheckedIOException uncheckedIOException, HttpServletRequest request) {
+        if (uncheckedIOException.getCause() instanceof StorageUnavailableException storageUnavailableException)
+            return storageUnavailableException(storageUnavailableException, request);
+        log.error("입출력 오류", uncheckedIOException);
+        return ResponseEntity
+                .internalServerError()
+                .body(null);
+    }
+
     /**
      * Spring Bean Validation 관련 예외
      */
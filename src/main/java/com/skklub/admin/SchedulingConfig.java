@@ -0,0 +1,30 @@
+package com.skklub.admin;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+@Configuration
+public class SchedulingConfig implements SchedulingConfigurer {
+    //지정하지 않으면 @Scheduled 작업 전체가 스레드 하나를 나눠 써서
+    //버킷 전체를 훑는 GC, 키 이전, 검증이 도는 동안 0.5초 주기의 삭제 배치와 outbox 재시도, 캐시 갱신이 멈춘다
+    //긴 스캔 세 개가 겹쳐 돌아도 짧은 주기 작업이 쓸 스레드가 남도록 잡음
+    @Value("${scheduling.pool-size:4}")
+    private int poolSize;
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("scheduling-");
+        return scheduler;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.setTaskScheduler(taskScheduler());
+    }
+}
@@ -0,0 +1,21 @@
+package com.skklub.admin;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+@Configuration
+public class WebAsyncConfig implements WebMvcConfigurer {
+    //비동기 응답은 첨부 파일 ZIP 스트리밍뿐이므로 ZIP 하나를 끝까지 내려받을 수 있는 시간으로 잡음
+    //지정하지 않으면 서블릿 컨테이너 기본값(Tomcat 30초)에서 큰 ZIP이 중간에 끊긴다
+    @Value("${storage.zip.timeout:PT30M}")
+    private Duration zipTimeout;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(zipTimeout.toMillis());
+    }
+}
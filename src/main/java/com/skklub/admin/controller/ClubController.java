@@ -14,8 +14,14 @@ import com.skklub.admin.repository.ClubRepository;
 import com.skklub.admin.repository.UserRepository;
 import com.skklub.admin.security.jwt.TokenProvider;
 import com.skklub.admin.service.ClubService;
+import com.skklub.admin.service.cache.ClubCatalog;
+import com.skklub.admin.service.cache.ClubPrevCache;
+import com.skklub.admin.service.cache.ClubViewCounter;
+import com.skklub.admin.service.dto.ActivityImageCursor;
 import com.skklub.admin.service.dto.ClubDetailInfoDto;
 import com.skklub.admin.service.dto.FileNames;
+import com.skklub.admin.storage.LogoSprite;
+import com.skklub.admin.storage.LogoSprites;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,7 +29,10 @@ import org.springframework.dao.IncorrectResultSizeDataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -31,7 +40,9 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -46,7 +57,13 @@ public class ClubController {
     private final UserRepository userRepository;
     private final S3Transferer s3Transferer;
     private final AuthValidator authValidator;
+    private final LogoSprites logoSprites;
+    private final ClubCatalog clubCatalog;
+    private final ClubViewCounter clubViewCounter;
     private final static String DEFAULT_LOGO_NAME = "alt.jpg";
+    //상세 조회에 담는 활동 사진 수
+    private final static int DETAIL_ACTIVITY_IMAGE_SIZE = 12;
+    private final static int MAX_GALLERY_PAGE_SIZE = 100;
 
 //=====CREATE=====//
 
@@ -62,13 +79,34 @@ public class ClubController {
                 .orElseThrow(ClubIdMisMatchException::new);
     }
 
+    //활동 사진 직접 업로드 URL 발급(LIST)
+    @PostMapping("/club/{clubId}/activityImage/presign")
+    public List<PresignedUploadDto> presignActivityImages(@PathVariable Long clubId, @RequestParam List<String> fileNames) {
+        authValidator.validateUpdatingClub(clubId);
+        return s3Transferer.presignAll(fileNames);
+    }
+
+    //직접 업로드한 활동 사진 등록(LIST)
+    @PostMapping("/club/{clubId}/activityImage/confirm")
+    public ResponseEntity<ClubNameAndIdDTO> confirmActivityImages(@PathVariable Long clubId, @RequestParam List<String> originalNames, @RequestParam List<String> savedNames) {
+        authValidator.validateUpdatingClub(clubId);
+        List<ActivityImage> activityImages = s3Transferer.confirmAll(originalNames, savedNames).stream()
+                .map(FileNames::toActivityImageEntity)
+                .collect(Collectors.toList());
+        return clubService.appendActivityImages(clubId, activityImages)
+                .map(name -> new ClubNameAndIdDTO(clubId, name))
+                .map(ResponseEntity::ok)
+                .orElseThrow(ClubIdMisMatchException::new);
+    }
+
 //=====READ=====//
 
     //세부 정보 조회 by ID
     @GetMapping("/club/{clubId}")
-    public ResponseEntity<ClubResponseDTO> getClubById(@PathVariable Long clubId) {
+    public ResponseEntity<ClubResponseDTO> getClubById(@PathVariable Long clubId, @AuthenticationPrincipal UserDetails userDetails) {
         return clubRepository.findDetailClubById(clubId)
-                .map(ClubDetailInfoDto::new)
+                .map(club -> recordView(club, userDetails))
+                .map(this::toDetailInfo)
                 .map(this::convertClubImagesToFile)
                 .map(ResponseEntity::ok)
                 .orElseThrow(ClubIdMisMatchException::new);
@@ -80,7 +118,7 @@ public class ClubController {
         if(!user.getRole().equals(Role.ROLE_USER)) throw new AdminCannotHaveClubException();
         try {
             Optional<Club> club = clubRepository.findDetailClubByPresident(user);
-            return club.map(ClubDetailInfoDto::new)
+            return club.map(this::toDetailInfo)
                     .map(this::convertClubImagesToFile)
                     .map(ResponseEntity::ok)
                     .orElseThrow(UserWithNoClubException::new);
@@ -104,14 +142,42 @@ public class ClubController {
         PageRequest pageRequest = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort().and(Sort.by("name").ascending()));
         ClubValidator.validateBelongs(campus, clubType, belongs);
         Page<Club> clubs = clubService.getClubPrevsByCategories(campus, clubType, belongs, pageRequest);
-        return convertClubsLogoToFile(clubs);
+        String query = ClubPrevCache.queryOf(campus, clubType, belongs, pageRequest);
+        return logoSprites.find(query, clubs.getContent())
+                .map(sprite -> clubs.map(club -> getClubPrevResponseDTO(club, sprite)))
+                .orElseGet(() -> convertClubsLogoToFile(clubs));
+    }
+
+    //목록 페이지 로고 스프라이트, id가 구성의 해시라 내용이 바뀌지 않음
+    @GetMapping("/club/prev/sprite/{spriteId}")
+    public ResponseEntity<byte[]> getLogoSprite(@PathVariable String spriteId) {
+        return logoSprites.get(spriteId)
+                .map(sprite -> ResponseEntity.ok()
+                        .contentType(MediaType.IMAGE_JPEG)
+                        .cacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                        .eTag(sprite.getId())
+                        .body(sprite.getImage()))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    //활동 사진 갤러리, 응답의 nextCursor를 다음 요청에 넘기면 이어서 조회
+    @GetMapping("/club/{clubId}/activityImage")
+    public ActivityImageGalleryResponse getActivityImageGallery(@PathVariable Long clubId,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam(defaultValue = "20") int size) {
+        ActivityImageCursor after = StringUtils.hasText(cursor) ? ActivityImageCursor.parse(cursor) : null;
+        Slice<ActivityImage> page = clubService.getActivityImageGallery(clubId, after, Math.max(1, Math.min(size, MAX_GALLERY_PAGE_SIZE)));
+        List<S3DownloadDto> activityImages = s3Transferer.downloadAll(page.stream().map(FileNames::new).collect(Collectors.toList()));
+        String nextCursor = page.hasNext() ? ActivityImageCursor.of(page.getContent().get(page.getNumberOfElements() - 1)).toString() : null;
+        return new ActivityImageGalleryResponse(clubId, activityImages, nextCursor);
     }
 
     //이름 검색 완전 일치
     @GetMapping("/club/search")
-    public ResponseEntity<ClubResponseDTO> getClubByName(@RequestParam String name) {
+    public ResponseEntity<ClubResponseDTO> getClubByName(@RequestParam String name, @AuthenticationPrincipal UserDetails userDetails) {
         return clubRepository.findDetailClubByName(name)
-                .map(ClubDetailInfoDto::new)
+                .map(club -> recordView(club, userDetails))
+                .map(this::toDetailInfo)
                 .map(this::convertClubImagesToFile)
                 .map(ResponseEntity::ok)
                 .orElseThrow(ClubNameMisMatchException::new);
@@ -122,7 +188,8 @@ public class ClubController {
     public Page<ClubPrevResponseDTO> getClubPrevByKeyword(@RequestParam String keyword, Pageable pageable) {
         if(!StringUtils.hasText(keyword)) return Page.empty();
         PageRequest pageRequest = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort().and(Sort.by("name").ascending()));
-        Page<Club> clubs = clubRepository.findClubByNameContaining(keyword, pageRequest);
+        Page<Club> clubs = clubCatalog.search(keyword, pageRequest)
+                .orElseGet(() -> clubRepository.findClubByNameContaining(keyword, pageRequest));
         return convertClubsLogoToFile(clubs);
     }
 
@@ -149,6 +216,29 @@ public class ClubController {
         return new ClubPrevResponseDTO(club, s3DownloadDto);
     }
 
+    private ClubPrevResponseDTO getClubPrevResponseDTO(Club club, LogoSprite sprite) {
+        String url = ServletUriComponentsBuilder.fromCurrentContextPath().path("/club/prev/sprite/{spriteId}").buildAndExpand(sprite.getId()).toUriString();
+        ClubPrevResponseDTO response = getClubPrevResponseDTO(club);
+        sprite.tileOf(club.getId()).ifPresent(tile -> response.setSprite(new LogoSpriteDto(url, tile)));
+        return response;
+    }
+
+    //추천 가중치에 쓰는 조회 수, 동아리 회장의 자기 동아리 조회는 세지 않는다
+    //로그인하지 않은 요청은 userDetails가 null
+    private Club recordView(Club club, UserDetails userDetails) {
+        User president = club.getPresident();
+        boolean ownClub = userDetails != null && president != null && userDetails.getUsername().equals(president.getUsername());
+        if (!ownClub) clubViewCounter.record(club.getId());
+        return club;
+    }
+
+    //활동 사진은 갤러리 앞쪽만 담고, 다음 페이지가 있을 때만 개수를 따로 센다
+    private ClubDetailInfoDto toDetailInfo(Club club) {
+        Slice<ActivityImage> firstImages = clubService.getActivityImageGallery(club.getId(), null, DETAIL_ACTIVITY_IMAGE_SIZE);
+        long activityImageCount = firstImages.hasNext() ? clubService.countActivityImages(club.getId()) : firstImages.getNumberOfElements();
+        return new ClubDetailInfoDto(club, firstImages.getContent(), activityImageCount);
+    }
+
     private ClubResponseDTO convertClubImagesToFile(ClubDetailInfoDto dto) {
         S3DownloadDto logo = s3Transferer.downloadOne(dto.getLogo());
         List<S3DownloadDto> activityImages = s3Transferer.downloadAll(dto.getActivityImages());
@@ -174,10 +264,25 @@ public class ClubController {
         authValidator.validateUpdatingClub(clubId);
         Logo logoUpdateInfo = s3Transferer.uploadOne(logo).toLogoEntity();
         return clubService.updateLogo(clubId, logoUpdateInfo)
-                .map(oldLogoName -> {
-                    if(!oldLogoName.equals(DEFAULT_LOGO_NAME)) s3Transferer.deleteOne(oldLogoName);
-                    return new ClubIdAndLogoNameDTO(clubId, logoUpdateInfo);
-                })
+                .map(oldLogoName -> new ClubIdAndLogoNameDTO(clubId, logoUpdateInfo))
+                .map(ResponseEntity::ok)
+                .orElseThrow(ClubIdMisMatchException::new);
+    }
+
+    //로고 직접 업로드 URL 발급
+    @PostMapping("/club/{clubId}/logo/presign")
+    public PresignedUploadDto presignLogo(@PathVariable Long clubId, @RequestParam String fileName) {
+        authValidator.validateUpdatingClub(clubId);
+        return s3Transferer.presignAll(List.of(fileName)).get(0);
+    }
+
+    //직접 업로드한 로고로 변경
+    @PostMapping("/club/{clubId}/logo/confirm")
+    public ResponseEntity<ClubIdAndLogoNameDTO> confirmLogo(@PathVariable Long clubId, @RequestParam String originalName, @RequestParam String savedName) {
+        authValidator.validateUpdatingClub(clubId);
+        Logo logoUpdateInfo = s3Transferer.confirmAll(List.of(originalName), List.of(savedName)).get(0).toLogoEntity();
+        return clubService.updateLogo(clubId, logoUpdateInfo)
+                .map(oldLogoName -> new ClubIdAndLogoNameDTO(clubId, logoUpdateInfo))
                 .map(ResponseEntity::ok)
                 .orElseThrow(ClubIdMisMatchException::new);
     }
@@ -198,6 +303,21 @@ public class ClubController {
         return new ClubIdAndCategoryResponse(clubAfterUpdate);
     }
 
+    //활동 사진 여러 장 삭제와 순서 변경을 한 번에
+    @PatchMapping("/club/{clubId}/activityImage")
+    public ResponseEntity<ActivityImageArrangementDTO> arrangeActivityImages(@PathVariable Long clubId,
+                                                                             @RequestParam(defaultValue = "") List<String> deletingNames,
+                                                                             @RequestParam(defaultValue = "") List<String> orderedNames) {
+        authValidator.validateUpdatingClub(clubId);
+        return clubService.arrangeActivityImages(clubId, deletingNames, orderedNames)
+                .map(activityImages -> new ActivityImageArrangementDTO(
+                        clubId,
+                        deletingNames.stream().distinct().collect(Collectors.toList()),
+                        activityImages.stream().map(ActivityImage::getOriginalName).collect(Collectors.toList())))
+                .map(ResponseEntity::ok)
+                .orElseThrow(ActivityImageMisMatchException::new);
+    }
+
 //====DELETE=====//
 
     //특정 활동 사진 삭제
@@ -205,10 +325,7 @@ public class ClubController {
     public ResponseEntity<ActivityImageDeletionDTO> deleteActivityImage(@PathVariable Long clubId, @RequestParam String activityImageName) {
         authValidator.validateUpdatingClub(clubId);
         return clubService.deleteActivityImage(clubId, activityImageName)
-                .map(uploadedName -> {
-                    s3Transferer.deleteOne(uploadedName);
-                    return new ActivityImageDeletionDTO(clubId, activityImageName);
-                })
+                .map(uploadedName -> new ActivityImageDeletionDTO(clubId, activityImageName))
                 .map(ResponseEntity::ok)
                 .orElseThrow(ActivityImageMisMatchException::new);
     }
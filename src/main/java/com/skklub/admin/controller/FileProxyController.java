@@ -0,0 +1,140 @@
+package com.skklub.admin.controller;
+
+import com.skklub.admin.domain.enums.ImageVariant;
+import com.skklub.admin.storage.CachedFile;
+import com.skklub.admin.storage.ContentTypes;
+import com.skklub.admin.storage.ObjectDiskCache;
+import com.skklub.admin.storage.ObjectHeaders;
+import com.skklub.admin.storage.StorageUnavailableException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 저장소 객체를 앱 서버를 거쳐 내려주는 프록시, Range/ETag/If-None-Match 지원
+ * 자주 요청되는 객체는 ObjectDiskCache가 디스크에 보관하므로 저장소에 다시 요청하지 않는다
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class FileProxyController {
+
+    private static final String DEFAULT_IMAGE_KEY = "alt.jpg";
+    private static final String DEFAULT_THUMBNAIL_KEY = "default_thumb.png";
+    private static final String RETRY_AFTER_SECONDS = "30";
+
+    private final ObjectDiskCache objectDiskCache;
+
+    @GetMapping("/file/{*key}")
+    public void proxyFile(@PathVariable String key, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String objectKey = key.substring(1);
+        //키는 덮어쓰지 않으므로 키 자체가 내용의 버전, 캐시를 확인하기 전에 304로 끝낼 수 있다
+        String etag = "\"" + DigestUtils.md5DigestAsHex(objectKey.getBytes(StandardCharsets.UTF_8)) + "\"";
+        ObjectHeaders headers = ObjectHeaders.immutable(ContentTypes.guess(objectKey));
+        response.setHeader(HttpHeaders.CACHE_CONTROL, headers.getCacheControl());
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) return;
+        Optional<CachedFile> found;
+        try {
+            found = objectDiskCache.get(objectKey);
+        } catch (StorageUnavailableException e) {
+            serveFallback(objectKey, headers, request, response);
+            return;
+        }
+        if (found.isEmpty()) {
+            //304에도 실리도록 미리 넣은 캐시 헤더가 404를 1년 동안 남기지 않도록 덮어씀
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        write(releaseOnCompletion(found.get()), headers, etag, request, response);
+    }
+
+    //저장소 회로가 열려 있으면 이미지는 캐시해 둔 기본 이미지로 대신하고, 그 밖의 객체는 잠시 후 다시 요청하도록 503
+    private void serveFallback(String objectKey, ObjectHeaders headers, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        //기본 이미지가 원래 객체의 ETag로 브라우저에 남지 않도록 캐시하지 않음
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        String fallbackKey = fallbackKeyOf(objectKey);
+        Optional<CachedFile> fallback = headers.getContentType().startsWith("image/")
+                ? objectDiskCache.cached(fallbackKey)
+                : Optional.empty();
+        if (fallback.isEmpty()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+        ObjectHeaders fallbackHeaders = ObjectHeaders.immutable(ContentTypes.guess(fallbackKey));
+        response.setContentType(fallbackHeaders.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, fallbackHeaders.getContentDisposition());
+        CachedFile file = releaseOnCompletion(fallback.get());
+        response.setContentLengthLong(file.getSize());
+        ZeroCopyFileWriter.write(file.getPath(), 0, file.getSize(), request, response);
+    }
+
+    //sendfile은 핸들러가 끝난 뒤 커넥터가 파일을 이름으로 다시 열므로 캐시 고정은 요청 처리가 모두 끝날 때 푼다
+    //커넥터가 파일을 열기 직전에 풀리지만 방금 내려준 항목은 LRU 맨 뒤라 admit()이 먼저 지우지 않는다
+    private static CachedFile releaseOnCompletion(CachedFile file) {
+        RequestContextHolder.currentRequestAttributes()
+                .registerDestructionCallback(CachedFile.class.getName() + "." + file.getPath(), file::close, RequestAttributes.SCOPE_REQUEST);
+        return file;
+    }
+
+    //썸네일 사본은 썸네일 기본 이미지로, 나머지 이미지는 로고 기본 이미지로
+    private static String fallbackKeyOf(String objectKey) {
+        return objectKey.contains("_" + ImageVariant.THUMB.getSuffix() + ".") ? DEFAULT_THUMBNAIL_KEY : DEFAULT_IMAGE_KEY;
+    }
+
+    private void write(CachedFile file, ObjectHeaders headers, String etag, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long size = file.getSize();
+        //확장자로 정한 형식만 사용해 허용하지 않은 형식(html, svg)이 이 도메인에서 열리지 않도록 함
+        response.setContentType(headers.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, headers.getContentDisposition());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        Optional<HttpRange> range = requestedRange(request, etag);
+        if (range.isEmpty()) {
+            response.setContentLengthLong(size);
+            ZeroCopyFileWriter.write(file.getPath(), 0, size, request, response);
+            return;
+        }
+        long start = range.get().getRangeStart(size);
+        if (start >= size) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+            response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return;
+        }
+        long end = range.get().getRangeEnd(size);
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+        response.setContentLengthLong(end - start + 1);
+        ZeroCopyFileWriter.write(file.getPath(), start, end + 1, request, response);
+    }
+
+    //구간이 여러 개이거나 형식이 잘못되었거나 If-Range가 현재 ETag와 다르면 전체를 내려준다
+    private Optional<HttpRange> requestedRange(HttpServletRequest request, String etag) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null) return Optional.empty();
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) return Optional.empty();
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? Optional.of(ranges.get(0)) : Optional.empty();
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.skklub.admin.controller;
+
+import com.skklub.admin.storage.ContentTypes;
+import com.skklub.admin.storage.LocalObjectStore;
+import com.skklub.admin.storage.ObjectHeaders;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "storage.type", havingValue = "local")
+public class LocalFileController {
+
+    private final LocalObjectStore localObjectStore;
+
+    @GetMapping("/files/{*key}")
+    public void serveFile(@PathVariable String key, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Optional<Path> found = localObjectStore.find(key.substring(1));
+        if (found.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        Path file = found.get();
+        long size = Files.size(file);
+        //로컬 저장소는 헤더를 보관하지 않으므로 S3에 기록하는 값과 같은 규칙으로 확장자에서 다시 만듦
+        ObjectHeaders headers = ObjectHeaders.immutable(ContentTypes.guess(file.getFileName().toString()));
+        response.setContentType(headers.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, headers.getContentDisposition());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, headers.getCacheControl());
+        response.setContentLengthLong(size);
+        ZeroCopyFileWriter.write(file, 0, size, request, response);
+    }
+}
@@ -4,6 +4,7 @@ import com.skklub.admin.controller.dto.*;
 import com.skklub.admin.domain.ExtraFile;
 import com.skklub.admin.domain.Notice;
 import com.skklub.admin.domain.Thumbnail;
+import com.skklub.admin.domain.UploadSession;
 import com.skklub.admin.domain.enums.Role;
 import com.skklub.admin.exception.deprecated.error.exception.CannotCategorizeByMasterException;
 import com.skklub.admin.exception.deprecated.error.exception.CannotCategorizeByUserException;
@@ -13,6 +14,9 @@ import com.skklub.admin.repository.NoticeRepository;
 import com.skklub.admin.security.jwt.TokenProvider;
 import com.skklub.admin.service.NoticeService;
 import com.skklub.admin.service.dto.FileNames;
+import com.skklub.admin.storage.ChunkedUploadSessions;
+import com.skklub.admin.storage.ObjectZipWriter;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,11 +24,18 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -36,10 +47,13 @@ import java.util.stream.Collectors;
 public class NoticeController {
 
     private final static String DEFAULT_THUMBNAIL = "default_thumb.png";
+    private final static MediaType ZIP = MediaType.parseMediaType("application/zip");
     private final S3Transferer s3Transferer;
     private final NoticeService noticeService;
     private final NoticeRepository noticeRepository;
     private final AuthValidator authValidator;
+    private final ChunkedUploadSessions chunkedUploadSessions;
+    private final ObjectZipWriter objectZipWriter;
 
 //=====CREATE=====//
 
@@ -50,7 +64,7 @@ public class NoticeController {
             ,@RequestParam Optional<List<MultipartFile>> files
             , @AuthenticationPrincipal UserDetails userDetails) {
         Thumbnail thumbnail = Optional.ofNullable(thumbnailFile).map(s3Transferer::uploadOne).orElse(new FileNames(DEFAULT_THUMBNAIL, DEFAULT_THUMBNAIL)).toThumbnailEntity();
-        List<ExtraFile> extraFiles = s3Transferer.uploadAll(files.orElse(new ArrayList<>()))
+        List<ExtraFile> extraFiles = s3Transferer.uploadAllAttachments(files.orElse(new ArrayList<>()))
                 .stream()
                 .map(FileNames::toExtraFileEntity)
                 .collect(Collectors.toList());
@@ -62,15 +76,87 @@ public class NoticeController {
     //파일 등록
     @PostMapping("/notice/{noticeId}/file")
     public NoticeIdAndFileCountResponse appendFile(@PathVariable Long noticeId, @RequestParam List<MultipartFile> files) {
+        authValidator.validateUpdatingNotice(noticeId);
+        return noticeRepository.findById(noticeId).map(notice -> {
+            List<ExtraFile> extraFiles = s3Transferer.uploadAllAttachments(files).stream().map(FileNames::toExtraFileEntity).collect(Collectors.toList());
+            int fileCnt = noticeService.appendExtraFiles(notice, extraFiles);
+            return new NoticeIdAndFileCountResponse(noticeId, fileCnt);
+        }).orElseThrow(NoticeIdMisMatchException::new);
+    }
+
+    //파일 직접 업로드 URL 발급
+    @PostMapping("/notice/{noticeId}/file/presign")
+    public List<PresignedUploadDto> presignFiles(@PathVariable Long noticeId, @RequestParam List<String> fileNames) {
+        authValidator.validateUpdatingNotice(noticeId);
+        return s3Transferer.presignAll(fileNames);
+    }
+
+    //직접 업로드한 파일 등록
+    @PostMapping("/notice/{noticeId}/file/confirm")
+    public NoticeIdAndFileCountResponse confirmFiles(@PathVariable Long noticeId, @RequestParam List<String> originalNames, @RequestParam List<String> savedNames) {
+        authValidator.validateUpdatingNotice(noticeId);
         return noticeRepository.findById(noticeId).map(notice -> {
-            List<ExtraFile> extraFiles = s3Transferer.uploadAll(files).stream().map(FileNames::toExtraFileEntity).collect(Collectors.toList());
+            List<ExtraFile> extraFiles = s3Transferer.confirmAll(originalNames, savedNames).stream().map(FileNames::toExtraFileEntity).collect(Collectors.toList());
             int fileCnt = noticeService.appendExtraFiles(notice, extraFiles);
             return new NoticeIdAndFileCountResponse(noticeId, fileCnt);
         }).orElseThrow(NoticeIdMisMatchException::new);
     }
 
+    //분할 업로드 시작
+    @PostMapping("/notice/{noticeId}/file/upload")
+    public ChunkedUploadResponse initiateChunkedUpload(@PathVariable Long noticeId, @RequestParam String fileName) {
+        authValidator.validateUpdatingNotice(noticeId);
+        UploadSession session = chunkedUploadSessions.initiate(noticeId, fileName);
+        return new ChunkedUploadResponse(session, chunkedUploadSessions.partSize(), List.of());
+    }
+
+    //파트 업로드, 본문은 파트 바이트 그대로 보내고 Content-Length 필수
+    @PutMapping("/notice/{noticeId}/file/upload/{uploadKey}/{partNumber}")
+    public ChunkedUploadResponse uploadPart(@PathVariable Long noticeId, @PathVariable String uploadKey, @PathVariable int partNumber, HttpServletRequest request) throws IOException {
+        authValidator.validateUpdatingNotice(noticeId);
+        chunkedUploadSessions.uploadPart(noticeId, uploadKey, partNumber, request.getInputStream(), request.getContentLengthLong());
+        return chunkedUploadResponseOf(noticeId, uploadKey);
+    }
+
+    //분할 업로드 완료 후 파일 등록
+    @PostMapping("/notice/{noticeId}/file/upload/{uploadKey}/complete")
+    public NoticeIdAndFileCountResponse completeChunkedUpload(@PathVariable Long noticeId, @PathVariable String uploadKey) {
+        authValidator.validateUpdatingNotice(noticeId);
+        Notice notice = noticeRepository.findById(noticeId).orElseThrow(NoticeIdMisMatchException::new);
+        ExtraFile extraFile = chunkedUploadSessions.complete(noticeId, uploadKey).toExtraFileEntity();
+        int fileCnt = noticeService.appendExtraFiles(notice, List.of(extraFile));
+        return new NoticeIdAndFileCountResponse(noticeId, fileCnt);
+    }
+
 //=====READ=====//
 
+    //첨부 파일 전체 ZIP 다운로드, 저장소에서 읽는 대로 응답에 쓰므로 임시 파일을 만들지 않음
+    @GetMapping("/notice/{noticeId}/files.zip")
+    public ResponseEntity<StreamingResponseBody> downloadFilesAsZip(@PathVariable Long noticeId) {
+        Notice notice = noticeRepository.findDetailById(noticeId).orElseThrow(NoticeIdMisMatchException::new);
+        List<FileNames> fileNames = notice.getExtraFiles().stream().map(FileNames::new).collect(Collectors.toList());
+        StreamingResponseBody zip = outputStream -> objectZipWriter.write(fileNames, outputStream);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(notice.getTitle() + ".zip", StandardCharsets.UTF_8)
+                        .build()
+                        .toString())
+                .contentType(ZIP)
+                .body(zip);
+    }
+
+    //분할 업로드 받은 파트 조회, 끊긴 뒤 이어 올릴 때 사용
+    @GetMapping("/notice/{noticeId}/file/upload/{uploadKey}")
+    public ChunkedUploadResponse getChunkedUpload(@PathVariable Long noticeId, @PathVariable String uploadKey) {
+        authValidator.validateUpdatingNotice(noticeId);
+        return chunkedUploadResponseOf(noticeId, uploadKey);
+    }
+
+    private ChunkedUploadResponse chunkedUploadResponseOf(Long noticeId, String uploadKey) {
+        UploadSession session = chunkedUploadSessions.find(noticeId, uploadKey);
+        return new ChunkedUploadResponse(session, chunkedUploadSessions.partSize(), chunkedUploadSessions.partsOf(session));
+    }
+
     //세부 조회
     @GetMapping("/notice/{noticeId}")
     public NoticeDetailResponse getDetailNotice(@PathVariable Long noticeId) {
@@ -148,11 +234,9 @@ public class NoticeController {
         authValidator.validateUpdatingNotice(noticeId);
         FileNames thumbnailFileName = s3Transferer.uploadOne(thumbnailFile);
         Thumbnail thumbnail = thumbnailFileName.toThumbnailEntity();
-        return noticeService.updateThumbnail(noticeId, thumbnail).map(oldThumbnailFileName -> {
-            if (!oldThumbnailFileName.getSavedName().equals(DEFAULT_THUMBNAIL))
-                s3Transferer.deleteOne(oldThumbnailFileName.getSavedName());
-            return new NoticeIdAndFileNamesResponse(noticeId, oldThumbnailFileName.getOriginalName(), thumbnailFileName.getOriginalName());
-        }).orElseThrow(NoticeIdMisMatchException::new);
+        return noticeService.updateThumbnail(noticeId, thumbnail)
+                .map(oldThumbnailFileName -> new NoticeIdAndFileNamesResponse(noticeId, oldThumbnailFileName.getOriginalName(), thumbnailFileName.getOriginalName()))
+                .orElseThrow(NoticeIdMisMatchException::new);
     }
 
 //=====DELETE=====//
@@ -161,23 +245,17 @@ public class NoticeController {
     @DeleteMapping("/notice/{noticeId}")
     public NoticeIdAndTitleResponse deleteNotice(@PathVariable Long noticeId) {
         authValidator.validateUpdatingNotice(noticeId);
-        return noticeService.deleteNotice(noticeId).map(noticeDeletionDto -> {
-            FileNames thumbnailFileName = noticeDeletionDto.getThumbnailFileName();
-            if (!thumbnailFileName.getSavedName().equals(DEFAULT_THUMBNAIL))
-                s3Transferer.deleteOne(thumbnailFileName.getSavedName());
-            List<String> extraFileKeys = noticeDeletionDto.getExtraFileNames().stream().map(FileNames::getSavedName).collect(Collectors.toList());
-            s3Transferer.deleteAll(extraFileKeys);
-            return new NoticeIdAndTitleResponse(noticeId, noticeDeletionDto.getNoticeTitle());
-        }).orElseThrow(NoticeIdMisMatchException::new);
+        return noticeService.deleteNotice(noticeId)
+                .map(noticeDeletionDto -> new NoticeIdAndTitleResponse(noticeId, noticeDeletionDto.getNoticeTitle()))
+                .orElseThrow(NoticeIdMisMatchException::new);
     }
 
     //특정 파일 삭제
     @DeleteMapping("/notice/{noticeId}/{fileName}")
     public NoticeIdAndDeletedNameResponse deleteFileByOriginalName(@PathVariable Long noticeId, @PathVariable String fileName) {
         authValidator.validateUpdatingNotice(noticeId);
-        return noticeService.deleteExtraFile(noticeId, fileName).map(deletedExtraFileNames -> {
-            s3Transferer.deleteOne(deletedExtraFileNames.getSavedName());
-            return new NoticeIdAndDeletedNameResponse(noticeId, deletedExtraFileNames.getOriginalName());
-        }).orElseThrow(ExtraFileNameMisMatchException::new);
+        return noticeService.deleteExtraFile(noticeId, fileName)
+                .map(deletedExtraFileNames -> new NoticeIdAndDeletedNameResponse(noticeId, deletedExtraFileNames.getOriginalName()))
+                .orElseThrow(ExtraFileNameMisMatchException::new);
     }
 }
@@ -1,70 +1,266 @@
 package com.skklub.admin.controller;
 
-import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.model.AmazonS3Exception;
-import com.amazonaws.services.s3.model.DeleteObjectsRequest;
-import com.amazonaws.services.s3.model.ObjectMetadata;
-import com.amazonaws.services.s3.model.S3Object;
-import com.amazonaws.services.s3.transfer.TransferManager;
-import com.amazonaws.services.s3.transfer.TransferManagerBuilder;
+import com.skklub.admin.controller.dto.PresignedUploadDto;
 import com.skklub.admin.controller.dto.S3DownloadDto;
+import com.skklub.admin.domain.FileMetadata;
+import com.skklub.admin.domain.ImagePreview;
+import com.skklub.admin.domain.ImageVariants;
+import com.skklub.admin.domain.StoredContent;
+import com.skklub.admin.domain.enums.ImageVariant;
+import com.skklub.admin.exception.ServerSideException;
 import com.skklub.admin.service.dto.FileNames;
+import com.skklub.admin.service.exception.InvalidUploadException;
+import com.skklub.admin.storage.ContentIndex;
+import com.skklub.admin.storage.ContentTypes;
+import com.skklub.admin.storage.ImageVariantGenerator;
+import com.skklub.admin.storage.ObjectHeaders;
+import com.skklub.admin.storage.ObjectKeys;
+import com.skklub.admin.storage.ObjectStore;
+import com.skklub.admin.storage.ResizedImage;
+import com.skklub.admin.storage.S3ObjectVerifier;
+import com.skklub.admin.storage.StorageExecutors;
+import com.skklub.admin.storage.StorageOutbox;
+import com.skklub.admin.storage.StorageUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
-import static com.amazonaws.services.s3.model.DeleteObjectsRequest.KeyVersion;
-
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class S3Transferer {
 
-    private final AmazonS3 amazonS3;
-    @Value("${cloud.aws.s3.bucket}")
-    private String bucket;
-    @Value("${cloud.aws.region.static}")
-    private String area;
+    private final ObjectStore objectStore;
+    private final S3ObjectVerifier s3ObjectVerifier;
+    private final StorageExecutors storageExecutors;
+    private final ImageVariantGenerator imageVariantGenerator;
+    private final ContentIndex contentIndex;
+    private final StorageOutbox storageOutbox;
+    private final MeterRegistry meterRegistry;
+    @Value("${storage.multipart.threshold:16MB}")
+    private DataSize multipartThreshold;
+    @Value("${storage.type:s3}")
+    private String storageType;
+    @Value("${storage.presign.expiry:PT10M}")
+    private Duration presignExpiry;
 
+    //이미지 파일 행(로고, 활동 사진, 썸네일)용 업로드, 이미지면 크기별 사본까지 만든다
     public List<FileNames> uploadAll(List<MultipartFile> multipartFiles) {
-        return multipartFiles.stream()
-                .map(m -> upload(m))
+        return uploadAll(multipartFiles, true);
+    }
+
+    //공지 첨부 파일용 업로드, 첨부 파일 행은 사본 키를 기록하지 않으므로 이미지여도 사본을 만들지 않는다
+    public List<FileNames> uploadAllAttachments(List<MultipartFile> multipartFiles) {
+        return uploadAll(multipartFiles, false);
+    }
+
+    //입력 순서를 유지한 채 병렬 업로드, 하나라도 실패하면 이미 올라간 객체를 지우고 예외
+    private List<FileNames> uploadAll(List<MultipartFile> multipartFiles, boolean withVariants) {
+        if (multipartFiles.isEmpty()) return new ArrayList<>();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        List<CompletableFuture<GuardedUpload>> uploads = multipartFiles.stream()
+                .map(m -> CompletableFuture.supplyAsync(() -> upload(m, withVariants), storageExecutors.io()))
+                .collect(Collectors.toList());
+        try {
+            CompletableFuture.allOf(uploads.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            List<Long> uploadedGuards = uploads.stream()
+                    .filter(u -> !u.isCompletedExceptionally())
+                    .map(u -> u.join().guardId())
+                    .collect(Collectors.toList());
+            log.error("일괄 업로드 실패, 업로드된 {}개 객체 롤백", uploadedGuards.size(), e.getCause());
+            storageOutbox.expire(uploadedGuards);
+            sample.stop(meterRegistry.timer("storage.upload.batch", "outcome", "failure"));
+            throw new ServerSideException("파일 업로드에 실패했습니다", e.getCause());
+        }
+        sample.stop(meterRegistry.timer("storage.upload.batch", "outcome", "success"));
+        meterRegistry.summary("storage.upload.batch.size").record(multipartFiles.size());
+        return uploads.stream()
+                .map(u -> u.join().fileNames())
                 .collect(Collectors.toList());
     }
 
     public FileNames uploadOne(MultipartFile multipartFile) {
-        return upload(multipartFile);
+        return upload(multipartFile, true).fileNames();
     }
 
-    private FileNames upload(MultipartFile multipartFile) {
+    //같은 내용이 이미 저장되어 있으면 업로드하지 않고 그 키를 공유
+    private GuardedUpload upload(MultipartFile multipartFile, boolean withVariants) {
         //이름 중복 확인
-        String ext = "." + multipartFile.getOriginalFilename().split("\\.(?=[^\\.]+$)")[1];
+        String ext = extensionOf(multipartFile.getOriginalFilename());
         String fileName = multipartFile.getOriginalFilename();
-        String savedName = UUID.randomUUID() + ext;
+        try {
+            String contentHash = ContentIndex.hash(multipartFile);
+            Optional<StoredContent> stored = contentIndex.acquire(contentHash);
+            if (stored.isPresent()) {
+                meterRegistry.counter("storage.upload.dedup", "outcome", "hit").increment();
+                Long guardId = storageOutbox.guard(stored.get().getObjectKey());
+                return new GuardedUpload(fileNamesOf(fileName, stored.get()), guardId);
+            }
+            String savedName = ObjectKeys.newKey(ext);
+            FileMetadata metadata = new FileMetadata(multipartFile.getSize(), ContentTypes.sniff(multipartFile));
+            //업로드 후 파일 행이 저장되지 않으면(트랜잭션 실패, 서버 종료) 가드가 객체를 정리
+            Long guardId = storageOutbox.guard(savedName);
+            Optional<ResizedImage> resized = store(multipartFile, savedName, ObjectHeaders.immutable(metadata.getContentType()), withVariants);
+            ImageVariants variants = resized.map(r -> ImageVariants.of(savedName)).orElse(null);
+            ImagePreview preview = resized.map(ResizedImage::getPreview).orElse(null);
+            return register(contentHash, fileName, savedName, guardId, metadata, variants, preview);
+        } catch (IOException e) {
+            throw new ServerSideException("파일 업로드에 실패했습니다 : " + fileName, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServerSideException("파일 업로드가 중단되었습니다 : " + fileName, e);
+        }
+    }
+
+    //클라이언트가 저장소에 직접 올릴 키와 PUT URL 발급, confirmAll로 확인되지 않은 키는 업로드 가드가 정리
+    //서버가 내용을 보지 못하므로 형식과 캐시 헤더는 기록되지 않는다
+    public List<PresignedUploadDto> presignAll(List<String> originalNames) {
+        LocalDateTime expiresAt = LocalDateTime.now().plus(presignExpiry);
+        return originalNames.stream()
+                .map(originalName -> {
+                    String savedName = ObjectKeys.newKey(extensionOf(originalName));
+                    //저장소가 발급을 거절하면 가드를 남기지 않음
+                    String url = objectStore.presignPut(savedName, presignExpiry);
+                    storageOutbox.guard(savedName);
+                    return new PresignedUploadDto(originalName, savedName, url, expiresAt);
+                })
+                .collect(Collectors.toList());
+    }
+
+    //이 서버가 발급했고 실제로 올라간 키만 파일 이름으로 인정, 가드는 파일 행을 저장하는 서비스 트랜잭션이 claim
+    public List<FileNames> confirmAll(List<String> originalNames, List<String> savedNames) {
+        if (originalNames.size() != savedNames.size()) throw new InvalidUploadException("파일 이름과 저장 이름의 개수가 다릅니다");
+        List<FileNames> fileNames = new ArrayList<>();
+        for (int i = 0; i < savedNames.size(); i++) {
+            String savedName = savedNames.get(i);
+            if (!storageOutbox.isGuarded(savedName)) throw new InvalidUploadException("발급되지 않았거나 만료된 업로드입니다 : " + savedName);
+            if (!objectStore.exists(savedName)) throw new InvalidUploadException("저장소에 업로드되지 않은 파일입니다 : " + savedName);
+            fileNames.add(new FileNames(originalNames.get(i), savedName));
+        }
+        return fileNames;
+    }
 
+    private static String extensionOf(String originalName) {
+        return "." + originalName.split("\\.(?=[^\\.]+$)")[1];
+    }
 
-        ObjectMetadata metadata = new ObjectMetadata();
+    private Optional<ResizedImage> store(MultipartFile multipartFile, String savedName, ObjectHeaders headers, boolean withVariants) throws IOException, InterruptedException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<Optional<ResizedImage>> resizing = withVariants
+                ? imageVariantGenerator.generate(multipartFile, savedName)
+                : CompletableFuture.completedFuture(Optional.empty());
+        if (multipartFile.getSize() >= multipartThreshold.toBytes()) {
+            //transferTo가 업로드 임시 파일을 옮겨 버릴 수 있으므로 사본을 다 만든 뒤 업로드
+            resizing.join();
+            uploadInParts(multipartFile, savedName, headers);
+        }
+        else putObject(multipartFile, savedName, headers);
+        Optional<ResizedImage> resized = resizing.join();
+        putVariants(savedName, resized);
+        sample.stop(meterRegistry.timer("storage.object.put", "store", storageType));
+        return resized;
+    }
+
+    //같은 내용이 동시에 올라와 다른 쪽이 먼저 등록했다면 방금 올린 객체는 지우고 먼저 등록된 키를 공유
+    private GuardedUpload register(String contentHash, String fileName, String savedName, Long guardId, FileMetadata metadata, ImageVariants variants, ImagePreview preview) {
         try {
-            metadata.setContentLength(multipartFile.getInputStream().available());
-            amazonS3.putObject(bucket, savedName, multipartFile.getInputStream(), metadata);
-        } catch (IOException e) {
-            e.printStackTrace();
+            contentIndex.register(contentHash, savedName, metadata.getSize(), metadata.getContentType(), variants, preview);
+            meterRegistry.counter("storage.upload.dedup", "outcome", "miss").increment();
+            return new GuardedUpload(new FileNames(fileName, savedName, variants, preview, metadata), guardId);
+        } catch (DataIntegrityViolationException e) {
+            StoredContent winner = contentIndex.acquire(contentHash)
+                    .orElseThrow(() -> new ServerSideException("파일 색인 등록에 실패했습니다 : " + fileName, e));
+            Long winnerGuardId = storageOutbox.guard(winner.getObjectKey());
+            storageOutbox.expire(List.of(guardId));
+            return new GuardedUpload(fileNamesOf(fileName, winner), winnerGuardId);
+        }
+    }
+
+    //업로드 결과와 이 업로드가 만든 가드, 일괄 업로드가 실패하면 이 가드만 당긴다
+    private record GuardedUpload(FileNames fileNames, Long guardId) {
+    }
+
+    private static FileNames fileNamesOf(String fileName, StoredContent stored) {
+        FileMetadata metadata = new FileMetadata(stored.getSize(), stored.getContentType());
+        return new FileNames(fileName, stored.getObjectKey(), stored.getVariants(), stored.getPreview(), metadata);
+    }
+
+    //사본은 직접 인코딩한 이미지이므로 키의 확장자로 형식을 정함
+    private void putVariants(String savedName, Optional<ResizedImage> resized) throws IOException {
+        if (resized.isEmpty()) return;
+        for (Map.Entry<ImageVariant, byte[]> entry : resized.get().getVariants().entrySet()) {
+            byte[] bytes = entry.getValue();
+            String key = entry.getKey().keyOf(savedName);
+            objectStore.put(key, new ByteArrayInputStream(bytes), bytes.length, ObjectHeaders.immutable(ContentTypes.guess(key)));
+        }
+    }
+
+    private void putObject(MultipartFile multipartFile, String savedName, ObjectHeaders headers) throws IOException {
+        try (InputStream inputStream = multipartFile.getInputStream()) {
+            objectStore.put(savedName, inputStream, multipartFile.getSize(), headers);
+        }
+    }
+
+    //임계값 이상의 파일은 임시 파일로 옮긴 뒤 저장소에 넘김, S3는 파트 단위 병렬 업로드로 메모리는 파트 크기만큼만 사용
+    private void uploadInParts(MultipartFile multipartFile, String savedName, ObjectHeaders headers) throws IOException, InterruptedException {
+        Path tempFile = Files.createTempFile("s3-upload-", null);
+        try {
+            multipartFile.transferTo(tempFile.toFile());
+            objectStore.put(savedName, tempFile, headers);
+        } finally {
+            Files.deleteIfExists(tempFile);
         }
-        return new FileNames(fileName, savedName);
     }
 
+    //S3 요청 없이 저장된 이름만으로 URL 생성, 누락 여부는 S3ObjectVerifier가 백그라운드에서 확인
     public S3DownloadDto downloadOne(FileNames fileName) {
-        if(!amazonS3.doesObjectExist(bucket, fileName.getSavedName())) throw new AmazonS3Exception("해당 이름의 객체가 버킷에 존재하지 않습니다.");
-        String url = "https://s3." + area + ".amazonaws.com/" + bucket + "/" + fileName.getSavedName();
-        return new S3DownloadDto(fileName.getId(), fileName.getOriginalName(), url);
+        if(s3ObjectVerifier.isMissing(fileName.getSavedName())) throw new AmazonS3Exception("해당 이름의 객체가 버킷에 존재하지 않습니다.");
+        S3DownloadDto s3DownloadDto = new S3DownloadDto(fileName.getId(), fileName.getOriginalName(), objectStore.url(fileName.getSavedName()));
+        Optional.ofNullable(fileName.getVariants()).ifPresent(variants -> {
+            s3DownloadDto.setThumbUrl(objectStore.url(variants.getThumbName()));
+            s3DownloadDto.setCardUrl(objectStore.url(variants.getCardName()));
+            s3DownloadDto.setFullUrl(objectStore.url(variants.getFullName()));
+        });
+        Optional.ofNullable(fileName.getPreview()).ifPresent(preview -> {
+            s3DownloadDto.setWidth(preview.getWidth());
+            s3DownloadDto.setHeight(preview.getHeight());
+            s3DownloadDto.setDominantColor(preview.getDominantColor());
+            s3DownloadDto.setPlaceholder(preview.getPlaceholder());
+        });
+        Optional.ofNullable(fileName.getDocumentPreview()).ifPresent(preview -> {
+            s3DownloadDto.setPreviewUrl(objectStore.url(preview.getPreviewName()));
+            s3DownloadDto.setPageCount(preview.getPageCount());
+            s3DownloadDto.setTextLength(preview.getTextLength());
+        });
+        Optional.ofNullable(fileName.getMetadata()).ifPresent(metadata -> {
+            s3DownloadDto.setSize(metadata.getSize());
+            s3DownloadDto.setContentType(metadata.getContentType());
+        });
+        return s3DownloadDto;
     }
 
     public List<S3DownloadDto> downloadAll(List<FileNames> fileNames) {
@@ -77,15 +273,22 @@ public class S3Transferer {
         return new S3DownloadDto();
     }
 
+    //저장소 회로가 열려 있으면 백그라운드 검증 결과로 대신 판단
+    public boolean exists(String key) {
+        try {
+            return objectStore.exists(key);
+        } catch (UncheckedIOException e) {
+            if (!(e.getCause() instanceof StorageUnavailableException)) throw e;
+            return !s3ObjectVerifier.isMissing(key);
+        }
+    }
+
+    //파일 행을 지우는 트랜잭션 밖에서 삭제할 때 사용, 서비스는 StorageOutbox.release를 같은 트랜잭션에서 호출
     public void deleteOne(String key) {
-        amazonS3.deleteObject(bucket, key);
+        deleteAll(List.of(key));
     }
 
     public void deleteAll(List<String> keys) {
-        if(keys.isEmpty()) return;
-        DeleteObjectsRequest multiObjectDeleteRequest = new DeleteObjectsRequest(bucket)
-                .withKeys(keys.stream().map(KeyVersion::new).collect(Collectors.toList()))
-                .withQuiet(false);
-        amazonS3.deleteObjects(multiObjectDeleteRequest);
+        storageOutbox.release(keys);
     }
 }
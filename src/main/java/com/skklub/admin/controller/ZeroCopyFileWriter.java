@@ -0,0 +1,50 @@
+package com.skklub.admin.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 파일 구간을 응답 본문으로 내려보냄
+ * Tomcat NIO 커넥터가 sendfile을 지원하면 커넥터에 맡겨 복사 없이 보내고,
+ * 아니면 FileChannel.transferTo로 응답 스트림에 복사(서블릿 출력 스트림이라 버퍼를 거친다)
+ */
+final class ZeroCopyFileWriter {
+
+    //Tomcat NIO 커넥터가 sendfile을 지원할 때 요청 속성으로 알려주는 값들
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private ZeroCopyFileWriter() {
+    }
+
+    //[start, end) 구간, Content-Length는 호출 전에 설정
+    static void write(Path file, long start, long end, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        //sendfile 사용 시 응답 본문은 커넥터가 커널에서 바로 복사하므로 여기서 쓰지 않는다
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            write(channel, start, end, response);
+        }
+    }
+
+    private static void write(FileChannel channel, long start, long end, HttpServletResponse response) throws IOException {
+        WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+        long position = start;
+        while (position < end) {
+            position += channel.transferTo(position, end - position, out);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.skklub.admin.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityImageArrangementDTO {
+    private Long clubId;
+    private List<String> deletedActivityImageNames;
+    //변경 후 갤러리 순서
+    private List<String> activityImageNames;
+}
@@ -0,0 +1,18 @@
+package com.skklub.admin.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityImageGalleryResponse {
+    private Long clubId;
+    private List<S3DownloadDto> activityImages = new ArrayList<>();
+    //마지막 페이지면 null
+    private String nextCursor;
+}
@@ -0,0 +1,34 @@
+package com.skklub.admin.controller.dto;
+
+import com.skklub.admin.domain.UploadPart;
+import com.skklub.admin.domain.UploadSession;
+import com.skklub.admin.storage.ObjectKeys;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChunkedUploadResponse {
+    //분할 업로드 URL의 경로 변수, '/'가 들어가지 않도록 객체 키의 월 접두사를 뺀 값
+    private String uploadKey;
+    private String originalName;
+    private long partSize;
+    private LocalDateTime expiresAt;
+    private List<Integer> receivedParts;
+
+    public ChunkedUploadResponse(UploadSession session, long partSize, List<UploadPart> parts) {
+        this.uploadKey = ObjectKeys.nameOf(session.getObjectKey());
+        this.originalName = session.getOriginalName();
+        this.partSize = partSize;
+        this.expiresAt = session.getExpiresAt();
+        this.receivedParts = parts.stream()
+                .map(UploadPart::getPartNumber)
+                .collect(Collectors.toList());
+    }
+}
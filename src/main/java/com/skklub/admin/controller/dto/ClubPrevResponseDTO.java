@@ -1,5 +1,6 @@
 package com.skklub.admin.controller.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.skklub.admin.domain.Club;
 import com.skklub.admin.domain.enums.Campus;
 import com.skklub.admin.domain.enums.ClubType;
@@ -19,6 +20,9 @@ public class ClubPrevResponseDTO {
     private String belongs;
     private String briefActivityDescription;
     private S3DownloadDto logo;
+    //페이지의 로고 스프라이트가 준비되어 있을 때만 포함
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LogoSpriteDto sprite;
 
     public ClubPrevResponseDTO(Club club, S3DownloadDto logo) {
         this.id = club.getId();
@@ -29,4 +33,9 @@ public class ClubPrevResponseDTO {
         this.briefActivityDescription = club.getBriefActivityDescription();
         this.logo = logo;
     }
+
+    public ClubPrevResponseDTO(Club club, S3DownloadDto logo, LogoSpriteDto sprite) {
+        this(club, logo);
+        this.sprite = sprite;
+    }
 }
@@ -49,7 +49,9 @@ public class ClubResponseDTO {
 
     //Files
     private S3DownloadDto logo;
+    //갤러리 앞쪽 일부, 나머지는 /club/{clubId}/activityImage로 조회
     private List<S3DownloadDto> activityImages = new ArrayList<>();
+    private long activityImageCount;
 
     public ClubResponseDTO(ClubDetailInfoDto clubDetailInfoDto, S3DownloadDto logo, List<S3DownloadDto> activityImages) {
         this.id = clubDetailInfoDto.getId();
@@ -68,6 +70,7 @@ public class ClubResponseDTO {
         this.activityDescription = clubDetailInfoDto.getActivityDescription();
         this.logo = logo;
         this.activityImages = activityImages;
+        this.activityImageCount = clubDetailInfoDto.getActivityImageCount();
         this.webLink1 = clubDetailInfoDto.getWebLink1();
         this.webLink2 = clubDetailInfoDto.getWebLink2();
         this.recruit = clubDetailInfoDto.getRecruit();
@@ -0,0 +1,27 @@
+package com.skklub.admin.controller.dto;
+
+import com.skklub.admin.storage.LogoSprite;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogoSpriteDto {
+    //페이지의 모든 로고를 합친 아틀라스 주소
+    private String url;
+    //아틀라스 안에서 이 동아리 로고가 있는 칸
+    private int x;
+    private int y;
+    private int width;
+    private int height;
+
+    public LogoSpriteDto(String url, LogoSprite.Tile tile) {
+        this.url = url;
+        this.x = tile.getX();
+        this.y = tile.getY();
+        this.width = tile.getWidth();
+        this.height = tile.getHeight();
+    }
+}
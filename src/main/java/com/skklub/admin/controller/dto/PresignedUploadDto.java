@@ -0,0 +1,17 @@
+package com.skklub.admin.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PresignedUploadDto {
+    private String originalName;
+    private String savedName;
+    private String uploadUrl;
+    private LocalDateTime expiresAt;
+}
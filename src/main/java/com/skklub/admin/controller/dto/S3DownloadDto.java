@@ -1,5 +1,6 @@
 package com.skklub.admin.controller.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -15,6 +16,40 @@ public class S3DownloadDto {
     private Long id;
     private String fileName;
     private String url;
+    //이미지 사본이 있을 때만 응답에 포함
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String thumbUrl;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String cardUrl;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String fullUrl;
+    //목록 화면이 이미지를 받기 전에 그릴 수 있도록 미리보기가 있을 때만 포함
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer width;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer height;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String dominantColor;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String placeholder;
+    //첨부 문서 미리보기가 만들어졌을 때만 포함
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String previewUrl;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer pageCount;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer textLength;
+    //서버를 거쳐 업로드되어 크기와 형식이 기록된 파일만 포함
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long size;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String contentType;
+
+    public S3DownloadDto(Long id, String fileName, String url) {
+        this.id = id;
+        this.fileName = fileName;
+        this.url = url;
+    }
 
     public S3DownloadDto(String fileName, String url) {
         this.fileName = fileName;
@@ -10,7 +10,7 @@ import java.util.Map;
 
 @Entity
 @Getter
-@EqualsAndHashCode(exclude = "club", callSuper = false)
+@EqualsAndHashCode(exclude = {"club", "position"}, callSuper = false)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class ActivityImage extends BaseTimeEntity{
     @Id @Column(name = "activity_image_id")
@@ -23,13 +23,48 @@ public class ActivityImage extends BaseTimeEntity{
 
     private String originalName;
     private String uploadedName;
+    //이미지가 아니거나 디코딩에 실패한 경우 null
+    @Embedded
+    private ImageVariants variants;
+    //이미지가 아니거나 서버를 거치지 않고 업로드된 경우 null
+    @Embedded
+    private ImagePreview preview;
+    //서버를 거치지 않고 업로드된 경우 null
+    @Embedded
+    private FileMetadata metadata;
+    //갤러리 표시 순서, 순서를 저장하기 전에 올린 이미지는 null이며 id 순으로 앞에 온다
+    private Integer position;
 
     public ActivityImage(String originalName, String uploadedName) {
         this.originalName = originalName;
         this.uploadedName = uploadedName;
     }
 
+    public ActivityImage(String originalName, String uploadedName, ImageVariants variants) {
+        this.originalName = originalName;
+        this.uploadedName = uploadedName;
+        this.variants = variants;
+    }
+
+    public ActivityImage(String originalName, String uploadedName, ImageVariants variants, ImagePreview preview, FileMetadata metadata) {
+        this.originalName = originalName;
+        this.uploadedName = uploadedName;
+        this.variants = variants;
+        this.preview = preview;
+        this.metadata = metadata;
+    }
+
+    public void moveTo(int position) {
+        this.position = position;
+    }
+
     public void setClub(Club club) {
         this.club = club;
     }
+
+    //저장소 키 규칙 이전(ObjectKeyMigration), 사본 키는 새 키에서 다시 만든다
+    public void relocate(String uploadedName) {
+        this.uploadedName = uploadedName;
+        if (variants != null) this.variants = ImageVariants.of(uploadedName);
+    }
 }
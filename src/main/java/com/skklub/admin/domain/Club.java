@@ -10,6 +10,7 @@ import lombok.NoArgsConstructor;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Entity
@@ -50,6 +51,7 @@ public class Club extends BaseEntity {
     @JoinColumn(name = "logo_id")
     private Logo logo;
     @OneToMany(mappedBy = "club", orphanRemoval = true)
+    @OrderBy("position ASC, id ASC")
     private List<ActivityImage> activityImages = new ArrayList<>();
     private String webLink1;
     private String webLink2;
@@ -144,8 +146,16 @@ public class Club extends BaseEntity {
         return oldSavedName;
     }
 
+    //새 이미지는 갤러리 맨 뒤에 붙음
     public void appendActivityImages(List<ActivityImage> activityImages) {
+        int position = this.activityImages.stream()
+                .map(ActivityImage::getPosition)
+                .filter(Objects::nonNull)
+                .mapToInt(Integer::intValue)
+                .max()
+                .orElse(-1) + 1;
         for (ActivityImage activityImage : activityImages) {
+            activityImage.moveTo(position++);
             this.activityImages.add(activityImage);
             activityImage.setClub(this);
         }
@@ -0,0 +1,42 @@
+package com.skklub.admin.domain;
+
+import jakarta.persistence.Embeddable;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 첨부 문서(PDF) 첫 페이지 미리보기 이미지와 페이지 수, 본문 글자 수
+ * 미리보기 키는 원본 키에서 결정적으로 만들어지므로 원본 키만 알아도 함께 지울 수 있다
+ */
+@Embeddable
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class DocumentPreview {
+    private String previewName;
+    private Integer pageCount;
+    private Integer textLength;
+
+    public DocumentPreview(String savedName, int pageCount, int textLength) {
+        this.previewName = keyOf(savedName);
+        this.pageCount = pageCount;
+        this.textLength = textLength;
+    }
+
+    public static boolean supports(String savedName) {
+        return savedName.toLowerCase(Locale.ROOT).endsWith(".pdf");
+    }
+
+    public static String keyOf(String savedName) {
+        return savedName.substring(0, savedName.lastIndexOf('.')) + "_preview.jpg";
+    }
+
+    public static List<String> keysOf(String savedName) {
+        return supports(savedName) ? List.of(keyOf(savedName)) : List.of();
+    }
+}
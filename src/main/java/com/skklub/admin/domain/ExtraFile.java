@@ -18,6 +18,12 @@ public class ExtraFile extends BaseTimeEntity{
 
     private String originalName;
     private String savedName;
+    //PDF가 아니거나 아직 만들지 않은 경우 null
+    @Embedded
+    private DocumentPreview preview;
+    //서버를 거치지 않고 업로드된 경우 null
+    @Embedded
+    private FileMetadata metadata;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "notice_id")
@@ -28,7 +34,23 @@ public class ExtraFile extends BaseTimeEntity{
         this.savedName = savedName;
     }
 
+    public ExtraFile(String originalName, String savedName, FileMetadata metadata) {
+        this.originalName = originalName;
+        this.savedName = savedName;
+        this.metadata = metadata;
+    }
+
     public void matchToNotice(Notice notice) {
         this.notice = notice;
     }
+
+    public void attachPreview(DocumentPreview preview) {
+        this.preview = preview;
+    }
+
+    //저장소 키 규칙 이전(ObjectKeyMigration), 미리보기 키는 새 키에서 다시 만든다
+    public void relocate(String savedName) {
+        this.savedName = savedName;
+        if (preview != null) this.preview = new DocumentPreview(savedName, preview.getPageCount(), preview.getTextLength());
+    }
 }
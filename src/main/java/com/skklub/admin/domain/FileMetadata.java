@@ -0,0 +1,28 @@
+package com.skklub.admin.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 업로드 시점에 저장소 객체에 붙인 크기와 형식
+ * 형식은 클라이언트가 보낸 값이 아니라 파일 앞부분을 읽어 판별한 값
+ */
+@Embeddable
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class FileMetadata {
+    //바이트
+    private Long size;
+    @Column(length = 100)
+    private String contentType;
+
+    public FileMetadata(Long size, String contentType) {
+        this.size = size;
+        this.contentType = contentType;
+    }
+}
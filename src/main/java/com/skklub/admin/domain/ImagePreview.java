@@ -0,0 +1,34 @@
+package com.skklub.admin.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 목록 화면이 이미지를 받기 전에 자리를 잡고 먼저 그릴 수 있도록 업로드 시점에 계산해 두는 정보
+ */
+@Embeddable
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ImagePreview {
+    //원본 이미지의 픽셀 크기
+    private Integer width;
+    private Integer height;
+    //#rrggbb
+    @Column(length = 7)
+    private String dominantColor;
+    //한 변이 16px 이하인 축소 이미지의 data URI
+    @Column(length = 2048)
+    private String placeholder;
+
+    public ImagePreview(Integer width, Integer height, String dominantColor, String placeholder) {
+        this.width = width;
+        this.height = height;
+        this.dominantColor = dominantColor;
+        this.placeholder = placeholder;
+    }
+}
@@ -0,0 +1,40 @@
+package com.skklub.admin.domain;
+
+import com.skklub.admin.domain.enums.ImageVariant;
+import jakarta.persistence.Embeddable;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Embeddable
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ImageVariants {
+    private String thumbName;
+    private String cardName;
+    private String fullName;
+
+    public static ImageVariants of(String savedName) {
+        ImageVariants variants = new ImageVariants();
+        variants.thumbName = ImageVariant.THUMB.keyOf(savedName);
+        variants.cardName = ImageVariant.CARD.keyOf(savedName);
+        variants.fullName = ImageVariant.FULL.keyOf(savedName);
+        return variants;
+    }
+
+    public String get(ImageVariant variant) {
+        return switch (variant) {
+            case THUMB -> thumbName;
+            case CARD -> cardName;
+            case FULL -> fullName;
+        };
+    }
+
+    public List<String> keys() {
+        return List.of(thumbName, cardName, fullName);
+    }
+}
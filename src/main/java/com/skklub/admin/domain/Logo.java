@@ -17,14 +17,46 @@ public class Logo {
 
     private String originalName;
     private String uploadedName;
+    //이미지가 아니거나 디코딩에 실패한 경우 null
+    @Embedded
+    private ImageVariants variants;
+    //이미지가 아니거나 서버를 거치지 않고 업로드된 경우 null
+    @Embedded
+    private ImagePreview preview;
+    //서버를 거치지 않고 업로드된 경우 null
+    @Embedded
+    private FileMetadata metadata;
 
     public Logo(String originalName, String uploadedName) {
         this.originalName = originalName;
         this.uploadedName = uploadedName;
     }
 
+    public Logo(String originalName, String uploadedName, ImageVariants variants) {
+        this.originalName = originalName;
+        this.uploadedName = uploadedName;
+        this.variants = variants;
+    }
+
+    public Logo(String originalName, String uploadedName, ImageVariants variants, ImagePreview preview, FileMetadata metadata) {
+        this.originalName = originalName;
+        this.uploadedName = uploadedName;
+        this.variants = variants;
+        this.preview = preview;
+        this.metadata = metadata;
+    }
+
     public void update(Logo logo) {
         this.originalName = logo.getOriginalName();
         this.uploadedName = logo.getUploadedName();
+        this.variants = logo.getVariants();
+        this.preview = logo.getPreview();
+        this.metadata = logo.getMetadata();
+    }
+
+    //저장소 키 규칙 이전(ObjectKeyMigration), 사본 키는 새 키에서 다시 만든다
+    public void relocate(String uploadedName) {
+        this.uploadedName = uploadedName;
+        if (variants != null) this.variants = ImageVariants.of(uploadedName);
     }
 }
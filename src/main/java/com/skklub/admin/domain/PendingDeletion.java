@@ -0,0 +1,40 @@
+package com.skklub.admin.domain;
+
+import com.skklub.admin.domain.enums.PendingDeletionType;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PendingDeletion extends BaseTimeEntity {
+    @Id @Column(name = "pending_deletion_id")
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String objectKey;
+    @Enumerated(EnumType.STRING)
+    private PendingDeletionType type;
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+
+    public PendingDeletion(String objectKey, LocalDateTime nextAttemptAt) {
+        this(objectKey, PendingDeletionType.OBJECT, nextAttemptAt);
+    }
+
+    public PendingDeletion(String objectKey, PendingDeletionType type, LocalDateTime nextAttemptAt) {
+        this.objectKey = objectKey;
+        this.type = type;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public void retryAfter(Duration backoff) {
+        this.attempts++;
+        this.nextAttemptAt = LocalDateTime.now().plus(backoff);
+    }
+}
@@ -0,0 +1,52 @@
+package com.skklub.admin.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 같은 내용의 파일을 한 객체로 공유하기 위한 내용 해시 색인
+ * referenceCount가 0이 되면 색인 행과 객체를 함께 지운다
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class StoredContent extends BaseTimeEntity {
+    @Id @Column(name = "stored_content_id")
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(unique = true, length = 64)
+    private String contentHash;
+    @Column(unique = true)
+    private String objectKey;
+    private long size;
+    @Column(length = 100)
+    private String contentType;
+    private int referenceCount;
+    @Embedded
+    private ImageVariants variants;
+    @Embedded
+    private ImagePreview preview;
+
+    public StoredContent(String contentHash, String objectKey, long size, ImageVariants variants) {
+        this.contentHash = contentHash;
+        this.objectKey = objectKey;
+        this.size = size;
+        this.variants = variants;
+        this.referenceCount = 1;
+    }
+
+    public StoredContent(String contentHash, String objectKey, long size, String contentType, ImageVariants variants, ImagePreview preview) {
+        this(contentHash, objectKey, size, variants);
+        this.contentType = contentType;
+        this.preview = preview;
+    }
+
+    //저장소 키 규칙 이전(ObjectKeyMigration)
+    public void relocate(String objectKey) {
+        this.objectKey = objectKey;
+        if (variants != null) this.variants = ImageVariants.of(objectKey);
+    }
+}
@@ -0,0 +1,38 @@
+package com.skklub.admin.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"upload_session_id", "part_number"}))
+public class UploadPart extends BaseTimeEntity {
+    @Id @Column(name = "upload_part_id")
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "upload_session_id")
+    private UploadSession uploadSession;
+
+    @Column(name = "part_number")
+    private int partNumber;
+    private String etag;
+    private long size;
+
+    public UploadPart(UploadSession uploadSession, int partNumber, String etag, long size) {
+        this.uploadSession = uploadSession;
+        this.partNumber = partNumber;
+        this.etag = etag;
+        this.size = size;
+    }
+
+    //같은 번호의 파트를 다시 올리면 마지막으로 받은 파트로 덮어쓴다
+    public void replace(String etag, long size) {
+        this.etag = etag;
+        this.size = size;
+    }
+}
@@ -0,0 +1,40 @@
+package com.skklub.admin.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 재개 가능한 분할 업로드 세션, 저장소의 multipart 업로드 하나에 대응
+ * 받은 파트는 UploadPart로 기록하며 expiresAt이 지나면 저장소 업로드와 함께 정리된다
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class UploadSession extends BaseTimeEntity {
+    @Id @Column(name = "upload_session_id")
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long noticeId;
+    private String originalName;
+    @Column(unique = true)
+    private String objectKey;
+    private String storeUploadId;
+    private LocalDateTime expiresAt;
+
+    public UploadSession(Long noticeId, String originalName, String objectKey, String storeUploadId, LocalDateTime expiresAt) {
+        this.noticeId = noticeId;
+        this.originalName = originalName;
+        this.objectKey = objectKey;
+        this.storeUploadId = storeUploadId;
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isExpired() {
+        return expiresAt.isBefore(LocalDateTime.now());
+    }
+}
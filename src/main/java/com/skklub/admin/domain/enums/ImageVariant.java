@@ -0,0 +1,59 @@
+package com.skklub.admin.domain.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 업로드 시점에 미리 만들어 두는 이미지 크기별 사본
+ * 키는 원본 키에서 결정적으로 만들어지므로 원본 키만 알아도 함께 지울 수 있다
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ImageVariant {
+    THUMB("thumb", 160),
+    CARD("card", 480),
+    FULL("full", 1600);
+
+    private static final Set<String> IMAGE_EXTENSIONS = Set.of("jpg", "jpeg", "png", "gif", "bmp");
+    //투명도를 유지해야 하는 형식은 png로, 나머지는 jpg로 저장
+    private static final Set<String> ALPHA_EXTENSIONS = Set.of("png", "gif");
+
+    private final String suffix;
+    //긴 변의 최대 길이
+    private final int maxSize;
+
+    public String keyOf(String savedName) {
+        return baseName(savedName) + "_" + suffix + "." + formatOf(savedName);
+    }
+
+    public static boolean supports(String savedName) {
+        return IMAGE_EXTENSIONS.contains(extension(savedName));
+    }
+
+    public static String formatOf(String savedName) {
+        return ALPHA_EXTENSIONS.contains(extension(savedName)) ? "png" : "jpg";
+    }
+
+    public static List<String> keysOf(String savedName) {
+        if (!supports(savedName)) return List.of();
+        return Arrays.stream(values())
+                .map(variant -> variant.keyOf(savedName))
+                .collect(Collectors.toList());
+    }
+
+    private static String baseName(String savedName) {
+        int dot = savedName.lastIndexOf('.');
+        return dot < 0 ? savedName : savedName.substring(0, dot);
+    }
+
+    private static String extension(String savedName) {
+        int dot = savedName.lastIndexOf('.');
+        return dot < 0 ? "" : savedName.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+}
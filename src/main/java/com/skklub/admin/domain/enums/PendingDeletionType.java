@@ -0,0 +1,10 @@
+package com.skklub.admin.domain.enums;
+
+public enum PendingDeletionType {
+    //저장소에서 객체를 바로 삭제
+    OBJECT,
+    //참조 하나를 반납하고 마지막 참조였으면 객체와 이미지 사본을 삭제
+    REFERENCE,
+    //업로드 직후 기록, 서비스 트랜잭션이 키를 저장하며 지우지 않으면 유예 시간 뒤 REFERENCE처럼 처리
+    UPLOAD_GUARD
+}
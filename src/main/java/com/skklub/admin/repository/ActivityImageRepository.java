@@ -1,13 +1,35 @@
 package com.skklub.admin.repository;
 
 import com.skklub.admin.domain.ActivityImage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface ActivityImageRepository extends JpaRepository<ActivityImage, Long> {
     @Query("select a from ActivityImage a where a.originalName = :originalName and a.club.id = :clubId")
     Optional<ActivityImage> findByClubIdAndOriginalName(@Param("clubId") Long clubId, @Param("originalName") String originalName);
+
+    @Query("select a from ActivityImage a where a.club.id = :clubId order by a.position asc, a.id asc")
+    List<ActivityImage> findAllByClubIdOrderByPosition(@Param("clubId") Long clubId);
+
+    //순서를 저장하기 전에 올린 이미지(position null)는 -1로 보고 맨 앞에 둔다
+    @Query("select a from ActivityImage a where a.club.id = :clubId order by coalesce(a.position, -1) asc, a.id asc")
+    Slice<ActivityImage> findGalleryByClubId(@Param("clubId") Long clubId, Pageable pageable);
+
+    //(position, id) 키셋 페이지, 앞 페이지의 마지막 이미지 다음부터
+    @Query("select a from ActivityImage a where a.club.id = :clubId" +
+            " and (coalesce(a.position, -1) > :position or (coalesce(a.position, -1) = :position and a.id > :id))" +
+            " order by coalesce(a.position, -1) asc, a.id asc")
+    Slice<ActivityImage> findGalleryByClubIdAfter(@Param("clubId") Long clubId, @Param("position") int position, @Param("id") Long id, Pageable pageable);
+
+    long countByClubId(Long clubId);
+
+    Slice<ActivityImage> findByIdGreaterThan(Long id, Pageable pageable);
+
+    List<ActivityImage> findByUploadedName(String uploadedName);
 }
@@ -11,14 +11,16 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface ClubRepository extends JpaRepository<Club, Long> {
-    @EntityGraph(attributePaths = {"recruit", "president", "logo", "activityImages"})
+    //활동 사진은 갤러리 앞쪽만 따로 조회하므로 함께 조인하지 않는다
+    @EntityGraph(attributePaths = {"recruit", "president", "logo"})
     Optional<Club> findDetailClubById(Long id);
 
-    @EntityGraph(attributePaths = {"recruit", "president", "logo", "activityImages"})
+    @EntityGraph(attributePaths = {"recruit", "president", "logo"})
     Optional<Club> findDetailClubByName(String name);
 
     @Query("select c from Club c inner join c.president p where p=:president")
@@ -33,6 +35,16 @@ public interface ClubRepository extends JpaRepository<Club, Long> {
     @EntityGraph(attributePaths = {"logo"})
     Page<Club> findClubByCampus(Campus campus, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"logo"})
+    List<Club> findByIdIn(Collection<Long> ids);
+
+    //메모리 색인용, 모집 여부를 함께 읽음
+    @EntityGraph(attributePaths = {"logo", "recruit"})
+    List<Club> findCatalogClubsBy();
+
+    @EntityGraph(attributePaths = {"logo", "recruit"})
+    List<Club> findCatalogClubsByIdIn(Collection<Long> ids);
+
     @EntityGraph(attributePaths = {"logo"})
     Page<Club> findClubByNameContaining(String name, Pageable pageable);
 
@@ -2,10 +2,28 @@ package com.skklub.admin.repository;
 
 import com.skklub.admin.domain.ExtraFile;
 import com.skklub.admin.domain.Notice;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface ExtraFileRepository extends JpaRepository<ExtraFile, Long> {
     Optional<ExtraFile> findByOriginalNameAndNotice(String originalName, Notice notice);
+
+    Slice<ExtraFile> findByIdGreaterThan(Long id, Pageable pageable);
+
+    List<ExtraFile> findBySavedName(String savedName);
+
+    //같은 내용을 공유하는 첨부 파일에 이미 만들어 둔 미리보기
+    Optional<ExtraFile> findFirstBySavedNameAndPreviewPageCountIsNotNull(String savedName);
+
+    //[from, to]에 올라왔지만 아직 미리보기가 없는 PDF
+    @Query("select e.id from ExtraFile e where e.preview.pageCount is null and lower(e.savedName) like '%.pdf'" +
+            " and e.createdAt between :from and :to order by e.id asc")
+    List<Long> findPdfIdsWithoutPreview(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to, Pageable pageable);
 }
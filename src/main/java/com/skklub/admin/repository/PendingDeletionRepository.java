@@ -0,0 +1,30 @@
+package com.skklub.admin.repository;
+
+import com.skklub.admin.domain.PendingDeletion;
+import com.skklub.admin.domain.enums.PendingDeletionType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface PendingDeletionRepository extends JpaRepository<PendingDeletion, Long> {
+    List<PendingDeletion> findByTypeInAndNextAttemptAtLessThanEqualOrderByIdAsc(Collection<PendingDeletionType> types, LocalDateTime now, Pageable pageable);
+
+    List<PendingDeletion> findByObjectKeyAndTypeOrderByIdAsc(String objectKey, PendingDeletionType type);
+
+    boolean existsByObjectKeyAndType(String objectKey, PendingDeletionType type);
+
+    //같은 행을 동시에 지우려는 트랜잭션이 있어도 예외 없이 삭제된 행 수로 판단
+    @Modifying
+    @Query("delete from PendingDeletion p where p.id = :id")
+    int deleteByIdReturningCount(@Param("id") Long id);
+
+    @Modifying
+    @Query("update PendingDeletion p set p.nextAttemptAt = :now where p.id in :ids and p.type = :type")
+    int rescheduleByIdIn(@Param("ids") Collection<Long> ids, @Param("type") PendingDeletionType type, @Param("now") LocalDateTime now);
+}
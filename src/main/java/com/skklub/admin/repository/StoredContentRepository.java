@@ -0,0 +1,33 @@
+package com.skklub.admin.repository;
+
+import com.skklub.admin.domain.StoredContent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.Optional;
+
+public interface StoredContentRepository extends JpaRepository<StoredContent, Long> {
+    Optional<StoredContent> findByContentHash(String contentHash);
+
+    Optional<StoredContent> findByObjectKey(String objectKey);
+
+    //읽고 쓰는 사이에 다른 요청이 끼어들지 않도록 증감은 UPDATE 한 번으로 처리
+    @Modifying(clearAutomatically = true)
+    @Query("update StoredContent s set s.referenceCount = s.referenceCount + 1 where s.contentHash = :contentHash")
+    int incrementReference(@Param("contentHash") String contentHash);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update StoredContent s set s.referenceCount = s.referenceCount - 1 where s.objectKey = :objectKey")
+    int decrementReference(@Param("objectKey") String objectKey);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from StoredContent s where s.objectKey = :objectKey and s.referenceCount <= 0")
+    int deleteUnreferenced(@Param("objectKey") String objectKey);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from StoredContent s where s.objectKey in :objectKeys")
+    int deleteByObjectKeyIn(@Param("objectKeys") Collection<String> objectKeys);
+}
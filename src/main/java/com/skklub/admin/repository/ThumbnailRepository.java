@@ -0,0 +1,14 @@
+package com.skklub.admin.repository;
+
+import com.skklub.admin.domain.Thumbnail;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ThumbnailRepository extends JpaRepository<Thumbnail, Long> {
+    Slice<Thumbnail> findByIdGreaterThan(Long id, Pageable pageable);
+
+    List<Thumbnail> findByUploadedName(String uploadedName);
+}
@@ -0,0 +1,21 @@
+package com.skklub.admin.repository;
+
+import com.skklub.admin.domain.UploadPart;
+import com.skklub.admin.domain.UploadSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface UploadPartRepository extends JpaRepository<UploadPart, Long> {
+    List<UploadPart> findByUploadSessionOrderByPartNumberAsc(UploadSession uploadSession);
+
+    Optional<UploadPart> findByUploadSessionAndPartNumber(UploadSession uploadSession, int partNumber);
+
+    @Modifying
+    @Query("delete from UploadPart p where p.uploadSession = :uploadSession")
+    int deleteByUploadSession(@Param("uploadSession") UploadSession uploadSession);
+}
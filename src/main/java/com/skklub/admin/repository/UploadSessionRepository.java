@@ -0,0 +1,15 @@
+package com.skklub.admin.repository;
+
+import com.skklub.admin.domain.UploadSession;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface UploadSessionRepository extends JpaRepository<UploadSession, Long> {
+    Optional<UploadSession> findByObjectKey(String objectKey);
+
+    List<UploadSession> findByExpiresAtBeforeOrderByIdAsc(LocalDateTime now, Pageable pageable);
+}
@@ -15,7 +15,9 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.access.expression.WebExpressionAuthorizationManager;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.NegatedRequestMatcher;
 import org.springframework.security.web.util.matcher.OrRequestMatcher;
 import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
@@ -84,8 +86,11 @@ public class SecurityConfig  {
         return http.build();
     }
 
+    //분할 업로드 상태 조회는 GET이지만 업로드 중인 공지 작성자만 볼 수 있어야 함
+    private static final RequestMatcher CHUNKED_UPLOAD_STATUS = new AntPathRequestMatcher("/notice/*/file/upload/**", "GET");
+
     private RequestMatcher publicEndpoints() {
-        return new OrRequestMatcher(
+        return new AndRequestMatcher(new NegatedRequestMatcher(CHUNKED_UPLOAD_STATUS), new OrRequestMatcher(
                 //user
                 new AntPathRequestMatcher("/user/login","POST"),
                 //pending
@@ -102,7 +107,7 @@ public class SecurityConfig  {
                 new AntPathRequestMatcher("/club/search","GET"),
                 new AntPathRequestMatcher("/club/search/prevs","GET"),
                 new AntPathRequestMatcher("/club/random","GET")
-        );
+        ));
     }
 
     private RequestMatcher userEndpoints() {
@@ -113,8 +118,10 @@ public class SecurityConfig  {
                 //refresh
                 new AntPathRequestMatcher("/refresh","GET"),
                 //notice
+                CHUNKED_UPLOAD_STATUS,
                 new AntPathRequestMatcher("/notice/**","POST"),
                 new AntPathRequestMatcher("/notice/**","PATCH"),
+                new AntPathRequestMatcher("/notice/**","PUT"),
                 new AntPathRequestMatcher("/notice/**","DELETE"),
                 new AntPathRequestMatcher("/notice/**/**","DELETE"),
                 //recruit
@@ -124,6 +131,8 @@ public class SecurityConfig  {
                 //club
                 new AntPathRequestMatcher("/club/**","PATCH"),
                 new AntPathRequestMatcher("/club/**/logo","PATCH"),
+                new AntPathRequestMatcher("/club/**/presign","POST"),
+                new AntPathRequestMatcher("/club/**/confirm","POST"),
                 new AntPathRequestMatcher("/club/**/activityImage","DELETE"),
                 new AntPathRequestMatcher("/club/**","DELETE")
         );
@@ -13,15 +13,28 @@ import com.skklub.admin.repository.ActivityImageRepository;
 import com.skklub.admin.repository.ClubRepository;
 import com.skklub.admin.repository.DeletedClubRepository;
 import com.skklub.admin.repository.LogoRepository;
+import com.skklub.admin.service.cache.ClubCatalog;
+import com.skklub.admin.service.cache.ClubPrevCache;
+import com.skklub.admin.service.cache.ClubSampler;
+import com.skklub.admin.service.dto.ActivityImageCursor;
+import com.skklub.admin.service.event.ClubChangedEvent;
+import com.skklub.admin.storage.StorageOutbox;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -33,11 +46,19 @@ public class ClubService {
     private final LogoRepository logoRepository;
     private final ActivityImageRepository activityImageRepository;
     private final DeletedClubRepository deletedClubRepository;
-
+    private final StorageOutbox storageOutbox;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ClubPrevCache clubPrevCache;
+    private final ClubCatalog clubCatalog;
+    private final ClubSampler clubSampler;
+    //오늘의 추천 동아리 수
+    private static final int RANDOM_CLUB_COUNT = 3;
 
     public Long createClub(Club club, Logo logo) {
         club.changeLogo(logo);
         clubRepository.save(club);
+        storageOutbox.claim(List.of(logo.getUploadedName()));
+        eventPublisher.publishEvent(new ClubChangedEvent(club.getId()));
         return club.getId();
     }
 
@@ -46,12 +67,19 @@ public class ClubService {
                 .map(c -> {
                     c.appendActivityImages(activityImages);
                     activityImageRepository.saveAll(activityImages);
+                    storageOutbox.claim(activityImages.stream().map(ActivityImage::getUploadedName).collect(Collectors.toList()));
                     return c.getName();
                 }
         );
     }
 
     public Page<Club> getClubPrevsByCategories(Campus campus, ClubType clubType, String belongs, Pageable pageable) {
+        String query = ClubPrevCache.queryOf(campus, clubType, belongs, pageable);
+        return clubCatalog.browse(campus, clubType, belongs, null, pageable)
+                .orElseGet(() -> clubPrevCache.get(query, pageable, () -> findClubPrevsByCategories(campus, clubType, belongs, pageable)));
+    }
+
+    private Page<Club> findClubPrevsByCategories(Campus campus, ClubType clubType, String belongs, Pageable pageable) {
         if (!belongs.equals("전체"))
             return clubRepository.findClubByCampusAndClubTypeAndBelongs(campus, clubType, belongs, pageable);
         if (!clubType.equals(ClubType.전체))
@@ -60,6 +88,11 @@ public class ClubService {
     }
 
     public List<Club> getRandomClubsByCategories(Campus campus, ClubType clubType, String belongs) {
+        return clubSampler.sample(campus, clubType, belongs, RANDOM_CLUB_COUNT)
+                .orElseGet(() -> findRandomClubsByCategories(campus, clubType, belongs));
+    }
+
+    private List<Club> findRandomClubsByCategories(Campus campus, ClubType clubType, String belongs) {
         if (!belongs.equals("전체"))
             return clubRepository.findClubRandomByCategories(campus.toString(), clubType.toString(), belongs);
         if (!clubType.equals(ClubType.전체))
@@ -71,6 +104,7 @@ public class ClubService {
         return clubRepository.findById(clubId)
                 .map(baseClub -> {
                     baseClub.update(clubUpdateInfo);
+                    eventPublisher.publishEvent(new ClubChangedEvent(clubId));
                     return baseClub.getName();
                 });
     }
@@ -80,6 +114,9 @@ public class ClubService {
                 .map(baseLogo -> {
                     String oldUploadedName = baseLogo.getUploadedName();
                     baseLogo.update(logoUpdateInfo);
+                    storageOutbox.claim(List.of(logoUpdateInfo.getUploadedName()));
+                    storageOutbox.release(List.of(oldUploadedName));
+                    eventPublisher.publishEvent(new ClubChangedEvent(clubId, baseLogo));
                     return oldUploadedName;
                 });
     }
@@ -88,6 +125,7 @@ public class ClubService {
         return clubRepository.findById(clubId)
                 .map(club -> {
                     clubRepository.delete(club);
+                    eventPublisher.publishEvent(new ClubChangedEvent(clubId));
                     return club.getName();
                 });
     }
@@ -96,6 +134,7 @@ public class ClubService {
         return deletedClubRepository.findById(clubId)
                 .map(club -> {
                     deletedClubRepository.delete(club);
+                    eventPublisher.publishEvent(new ClubChangedEvent(clubId));
                     return club.getName();
                 });
     }
@@ -104,15 +143,54 @@ public class ClubService {
         return activityImageRepository.findByClubIdAndOriginalName(clubId, activityImageName)
                 .map(img -> {
                     activityImageRepository.delete(img);
+                    storageOutbox.release(List.of(img.getUploadedName()));
                     return img.getUploadedName();
                 });
     }
 
+    //여러 장 삭제와 남은 이미지의 순서 변경을 한 번에 반영, orderedNames에 없는 이미지는 기존 순서대로 뒤에 놓인다
+    //같은 이름의 이미지는 함께 지우고 함께 옮기며, 동아리에 없는 이름이 하나라도 있으면 아무것도 바꾸지 않고 empty
+    public Optional<List<ActivityImage>> arrangeActivityImages(Long clubId, List<String> deletingNames, List<String> orderedNames) {
+        Map<String, List<ActivityImage>> imagesByName = activityImageRepository.findAllByClubIdOrderByPosition(clubId).stream()
+                .collect(Collectors.groupingBy(ActivityImage::getOriginalName, LinkedHashMap::new, Collectors.toList()));
+        if (!imagesByName.keySet().containsAll(deletingNames) || !imagesByName.keySet().containsAll(orderedNames)) return Optional.empty();
+        if (orderedNames.stream().anyMatch(deletingNames::contains)) return Optional.empty();
+
+        List<ActivityImage> deleting = deletingNames.stream()
+                .distinct()
+                .flatMap(name -> imagesByName.remove(name).stream())
+                .collect(Collectors.toList());
+        List<ActivityImage> arranged = new ArrayList<>();
+        orderedNames.stream()
+                .distinct()
+                .forEach(name -> arranged.addAll(imagesByName.remove(name)));
+        imagesByName.values().forEach(arranged::addAll);
+        for (int i = 0; i < arranged.size(); i++) arranged.get(i).moveTo(i);
+
+        if (!deleting.isEmpty()) {
+            activityImageRepository.deleteAllByIdInBatch(deleting.stream().map(ActivityImage::getId).collect(Collectors.toList()));
+            storageOutbox.release(deleting.stream().map(ActivityImage::getUploadedName).collect(Collectors.toList()));
+        }
+        return Optional.of(arranged);
+    }
+
+    //갤러리 순서대로 size장, cursor가 없으면 첫 페이지
+    public Slice<ActivityImage> getActivityImageGallery(Long clubId, ActivityImageCursor cursor, int size) {
+        Pageable pageable = PageRequest.of(0, size);
+        if (cursor == null) return activityImageRepository.findGalleryByClubId(clubId, pageable);
+        return activityImageRepository.findGalleryByClubIdAfter(clubId, cursor.getPosition(), cursor.getId(), pageable);
+    }
+
+    public long countActivityImages(Long clubId) {
+        return activityImageRepository.countByClubId(clubId);
+    }
+
     public Optional<Club> downGrade(Long clubId) {
         return clubRepository.findById(clubId)
                 .map(
                         club -> {
                             if(!club.downGrade()) throw new CannotDownGradeClubException();
+                            eventPublisher.publishEvent(new ClubChangedEvent(clubId));
                             return club;
                         }
                 );
@@ -123,6 +201,7 @@ public class ClubService {
                 .map(
                         club -> {
                             if (!club.upGrade()) throw new CannotUpGradeClubException();
+                            eventPublisher.publishEvent(new ClubChangedEvent(clubId));
                             return club;
                         }
                 );
@@ -10,8 +10,11 @@ import com.skklub.admin.repository.NoticeRepository;
 import com.skklub.admin.repository.UserRepository;
 import com.skklub.admin.service.dto.FileNames;
 import com.skklub.admin.service.dto.NoticeDeletionDto;
+import com.skklub.admin.service.event.ExtraFilesSavedEvent;
+import com.skklub.admin.storage.StorageOutbox;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,6 +30,8 @@ public class NoticeService {
     private final NoticeRepository noticeRepository;
     private final ExtraFileRepository extraFileRepository;
     private final UserRepository userRepository;
+    private final StorageOutbox storageOutbox;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Long createNotice(String title, String content, String userName, Thumbnail thumbnail, List<ExtraFile> extraFiles) {
         User user = userRepository.findByUsername(userName);
@@ -34,6 +39,9 @@ public class NoticeService {
         noticeRepository.save(notice);
         notice.appendExtraFiles(extraFiles);
         extraFileRepository.saveAll(extraFiles);
+        storageOutbox.claim(List.of(thumbnail.getUploadedName()));
+        storageOutbox.claim(savedNamesOf(extraFiles));
+        publishSaved(extraFiles);
         return notice.getId();
     }
 
@@ -41,6 +49,8 @@ public class NoticeService {
     public int appendExtraFiles(Notice notice, List<ExtraFile> extraFiles) {
         notice.appendExtraFiles(extraFiles);
         extraFileRepository.saveAll(extraFiles);
+        storageOutbox.claim(savedNamesOf(extraFiles));
+        publishSaved(extraFiles);
         return extraFiles.size();
     }
 
@@ -61,6 +71,8 @@ public class NoticeService {
                             Thumbnail thumbnail = notice.getThumbnail();
                             FileNames fileNames = new FileNames(thumbnail);
                             thumbnail.update(changeInfo);
+                            storageOutbox.claim(List.of(changeInfo.getUploadedName()));
+                            storageOutbox.release(List.of(fileNames.getSavedName()));
                             return fileNames;
                         }
                 );
@@ -80,6 +92,8 @@ public class NoticeService {
                                     )
                                     .build();
                             noticeRepository.delete(notice);
+                            storageOutbox.release(List.of(noticeDeletionDto.getThumbnailFileName().getSavedName()));
+                            storageOutbox.release(savedNamesOf(notice.getExtraFiles()));
                             return noticeDeletionDto;
                         }
                 );
@@ -92,6 +106,7 @@ public class NoticeService {
                 .map(
                         extraFile -> {
                             extraFileRepository.delete(extraFile);
+                            storageOutbox.release(List.of(extraFile.getSavedName()));
                             return new FileNames(extraFile);
                         }
                 );
@@ -104,4 +119,17 @@ public class NoticeService {
     public Optional<Notice> findPostNotice(Notice notice) {
         return noticeRepository.findPostByCreatedAt(notice.getCreatedAt());
     }
+
+    private void publishSaved(List<ExtraFile> extraFiles) {
+        if (extraFiles.isEmpty()) return;
+        eventPublisher.publishEvent(new ExtraFilesSavedEvent(extraFiles.stream()
+                .map(ExtraFile::getId)
+                .collect(Collectors.toList())));
+    }
+
+    private List<String> savedNamesOf(List<ExtraFile> extraFiles) {
+        return extraFiles.stream()
+                .map(ExtraFile::getSavedName)
+                .collect(Collectors.toList());
+    }
 }
@@ -8,9 +8,11 @@ import com.skklub.admin.domain.enums.ClubType;
 import com.skklub.admin.repository.ClubRepository;
 import com.skklub.admin.repository.PendingClubRepository;
 import com.skklub.admin.repository.UserRepository;
+import com.skklub.admin.service.event.ClubChangedEvent;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -25,6 +27,7 @@ public class PendingClubService {
     private final ClubRepository clubRepository;
     private final UserRepository userRepository;
     private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public PendingClub requestCreation(PendingClub pendingClub) {
         pendingClubRepository.save(pendingClub);
@@ -40,6 +43,7 @@ public class PendingClubService {
                             Club club = pendingClub.toClubWithDefaultLogo(campus, clubType, belongs, user);
                             clubRepository.save(club);
                             pendingClubRepository.delete(pendingClub);
+                            eventPublisher.publishEvent(new ClubChangedEvent(club.getId()));
                             return club;
                         }
                 );
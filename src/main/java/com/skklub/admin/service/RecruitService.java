@@ -7,8 +7,10 @@ import com.skklub.admin.exception.deprecated.error.exception.RecruitIdMisMatchEx
 import com.skklub.admin.domain.Recruit;
 import com.skklub.admin.repository.ClubRepository;
 import com.skklub.admin.repository.RecruitRepository;
+import com.skklub.admin.service.event.ClubChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +24,7 @@ public class RecruitService {
 
     private final ClubRepository clubRepository;
     private final RecruitRepository recruitRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Optional<String> startRecruit(Long clubId, Recruit recruit) throws AlreadyRecruitingException {
         return clubRepository.findById(clubId)
@@ -29,6 +32,7 @@ public class RecruitService {
                     if(club.onRecruit()) throw new AlreadyRecruitingException();
                     club.startRecruit(recruit);
                     recruitRepository.save(recruit);
+                    eventPublisher.publishEvent(new ClubChangedEvent(clubId));
                     return club.getName();
                 });
     }
@@ -48,6 +52,7 @@ public class RecruitService {
                         club -> {
                             if (!club.onRecruit()) throw new NotRecruitingException();
                             club.endRecruit();
+                            eventPublisher.publishEvent(new ClubChangedEvent(clubId));
                         },
                         () -> {
                             throw new ClubIdMisMatchException();
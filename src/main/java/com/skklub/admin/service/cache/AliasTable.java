@@ -0,0 +1,55 @@
+package com.skklub.admin.service.cache;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+
+/**
+ * Walker/Vose 별칭 표, 가중치 n개로 O(n)에 만들고 한 번 뽑을 때 난수 두 개로 O(1)에 끝난다
+ * 각 칸은 확률 probability[i]로 자기 자신, 나머지는 alias[i]를 가리킨다
+ */
+final class AliasTable {
+
+    private final double[] probability;
+    private final int[] alias;
+
+    private AliasTable(double[] probability, int[] alias) {
+        this.probability = probability;
+        this.alias = alias;
+    }
+
+    //가중치는 0 이상, 합이 0이면 모두 같은 가중치로 본다
+    static AliasTable of(double[] weights) {
+        int n = weights.length;
+        double total = 0;
+        for (double weight : weights) total += weight;
+        double[] scaled = new double[n];
+        Deque<Integer> small = new ArrayDeque<>();
+        Deque<Integer> large = new ArrayDeque<>();
+        for (int i = 0; i < n; i++) {
+            scaled[i] = total > 0 ? weights[i] * n / total : 1.0;
+            if (scaled[i] < 1.0) small.push(i);
+            else large.push(i);
+        }
+        double[] probability = new double[n];
+        int[] alias = new int[n];
+        while (!small.isEmpty() && !large.isEmpty()) {
+            int less = small.pop();
+            int more = large.pop();
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1.0;
+            if (scaled[more] < 1.0) small.push(more);
+            else large.push(more);
+        }
+        //부동소수점 오차로 남은 칸은 확률 1
+        while (!large.isEmpty()) probability[large.pop()] = 1.0;
+        while (!small.isEmpty()) probability[small.pop()] = 1.0;
+        return new AliasTable(probability, alias);
+    }
+
+    int next(Random random) {
+        int column = random.nextInt(probability.length);
+        return random.nextDouble() < probability[column] ? column : alias[column];
+    }
+}
@@ -0,0 +1,204 @@
+package com.skklub.admin.service.cache;
+
+import com.skklub.admin.domain.Club;
+import com.skklub.admin.domain.enums.Campus;
+import com.skklub.admin.domain.enums.ClubType;
+import com.skklub.admin.repository.ClubRepository;
+import com.skklub.admin.service.event.ClubChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 동아리 목록 조회용 메모리 색인, 시작할 때 전체를 읽고 ClubChangedEvent마다 바뀐 동아리만 다시 읽는다
+ * 동아리는 이름 순으로 번호를 매겨 캠퍼스, 분류, 분과, 모집 여부별 BitSet에 넣어 두므로
+ * 조건 조합은 비트 교집합, 이름 순 정렬과 페이지는 켜진 비트를 차례로 세는 것으로 끝난다
+ * 다른 서버의 변경은 ClubGeneration이 바뀐 것을 보고 refresh-interval마다 전체를 다시 읽어 반영한다
+ * 아직 적재되지 않았거나 이름 순이 아닌 정렬은 empty를 반환하므로 호출하는 쪽에서 DB로 조회한다
+ */
+@Slf4j
+@Component
+public class ClubCatalog {
+
+    private static final String ALL = "전체";
+    //MySQL 기본 정렬과 같이 대소문자를 구분하지 않고, 같으면 id 순
+    private static final Comparator<Club> NAME_ORDER = Comparator.comparing(Club::getName, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(Club::getName)
+            .thenComparing(Club::getId);
+
+    private final ClubRepository clubRepository;
+    private final ClubGeneration clubGeneration;
+    private final MeterRegistry meterRegistry;
+    //id -> 동아리, 색인을 다시 만들 때의 원본, this로 동기화
+    private final Map<Long, Club> clubsById = new HashMap<>();
+    //조회는 잠금 없이 마지막으로 만든 색인을 읽음
+    private volatile Index index;
+    //이 서버에서 반영한 변경 횟수, 그 전에 시작한 전체 적재가 변경을 덮어쓰지 않도록 함
+    private long localVersion;
+    private String loadedGeneration;
+
+    public ClubCatalog(ClubRepository clubRepository, ClubGeneration clubGeneration, MeterRegistry meterRegistry) {
+        this.clubRepository = clubRepository;
+        this.clubGeneration = clubGeneration;
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gauge("club.catalog.size", this, catalog -> Optional.ofNullable(catalog.index).map(i -> i.clubs().length).orElse(0));
+    }
+
+    private record Index(Club[] clubs,
+                         String[] lowerNames,
+                         Map<Campus, BitSet> campuses,
+                         Map<ClubType, BitSet> clubTypes,
+                         Map<String, BitSet> belongs,
+                         BitSet recruiting,
+                         Map<String, List<Club>> buckets) {
+    }
+
+    //clubType, belongs가 "전체"면 조건에서 뺀다, recruiting이 null이면 모집 여부를 보지 않는다
+    public Optional<Page<Club>> browse(Campus campus, ClubType clubType, String belongs, Boolean recruiting, Pageable pageable) {
+        Index current = index;
+        if (current == null || !supports(pageable.getSort())) return fallback();
+        BitSet matched = (BitSet) current.campuses().getOrDefault(campus, new BitSet()).clone();
+        if (!clubType.equals(ClubType.전체)) matched.and(current.clubTypes().getOrDefault(clubType, new BitSet()));
+        if (!belongs.equals(ALL)) matched.and(current.belongs().getOrDefault(belongs, new BitSet()));
+        if (recruiting != null) {
+            if (recruiting) matched.and(current.recruiting());
+            else matched.andNot(current.recruiting());
+        }
+        return Optional.of(page(current, matched, pageable));
+    }
+
+    //이름 부분 일치, 대소문자 구분 없음
+    public Optional<Page<Club>> search(String keyword, Pageable pageable) {
+        Index current = index;
+        if (current == null || !supports(pageable.getSort())) return fallback();
+        String lowerKeyword = keyword.toLowerCase(Locale.ROOT);
+        BitSet matched = new BitSet(current.clubs().length);
+        for (int i = 0; i < current.lowerNames().length; i++) {
+            if (current.lowerNames()[i].contains(lowerKeyword)) matched.set(i);
+        }
+        return Optional.of(page(current, matched, pageable));
+    }
+
+    //분류 조합별 동아리 목록(id 순), 추천처럼 정렬이 필요 없는 조회에 사용하며 색인을 만들 때 미리 나눠 두므로 복사하지 않는다
+    public Optional<List<Club>> bucket(Campus campus, ClubType clubType, String belongs) {
+        Index current = index;
+        if (current == null) return Optional.empty();
+        return Optional.of(current.buckets().getOrDefault(bucketKey(campus, clubType, belongs), List.of()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        String generation = clubGeneration.current().orElse(null);
+        long version;
+        synchronized (this) {
+            version = localVersion;
+        }
+        List<Club> clubs = clubRepository.findCatalogClubsBy();
+        synchronized (this) {
+            //적재 중에 이 서버에서 반영한 변경이 있으면 다음 주기에 다시 읽음
+            if (version != localVersion) return;
+            clubsById.clear();
+            clubs.forEach(club -> clubsById.put(club.getId(), club));
+            loadedGeneration = generation;
+            rebuild();
+        }
+        meterRegistry.counter("club.catalog.loads").increment();
+        log.info("동아리 목록 색인 적재 : {}개", clubs.size());
+    }
+
+    //다른 서버에서 동아리가 바뀌었으면 전체를 다시 읽음, 세대를 알 수 없으면 항상 다시 읽는다
+    @Scheduled(initialDelayString = "${club.catalog.refresh-interval:PT30S}", fixedDelayString = "${club.catalog.refresh-interval:PT30S}")
+    public void refresh() {
+        String generation = clubGeneration.current().orElse(null);
+        synchronized (this) {
+            if (generation != null && generation.equals(loadedGeneration)) return;
+        }
+        load();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClubChanged(ClubChangedEvent event) {
+        Optional<Club> club = clubRepository.findCatalogClubsByIdIn(List.of(event.getClubId())).stream().findFirst();
+        synchronized (this) {
+            localVersion++;
+            if (club.isPresent()) clubsById.put(event.getClubId(), club.get());
+            else clubsById.remove(event.getClubId());
+            if (index != null) rebuild();
+        }
+    }
+
+    private void rebuild() {
+        Club[] clubs = clubsById.values().stream().sorted(NAME_ORDER).toArray(Club[]::new);
+        String[] lowerNames = new String[clubs.length];
+        Map<Campus, BitSet> campuses = new EnumMap<>(Campus.class);
+        Map<ClubType, BitSet> clubTypes = new EnumMap<>(ClubType.class);
+        Map<String, BitSet> belongs = new HashMap<>();
+        BitSet recruiting = new BitSet(clubs.length);
+        for (int i = 0; i < clubs.length; i++) {
+            Club club = clubs[i];
+            lowerNames[i] = club.getName().toLowerCase(Locale.ROOT);
+            if (club.getCampus() != null) campuses.computeIfAbsent(club.getCampus(), key -> new BitSet(clubs.length)).set(i);
+            if (club.getClubType() != null) clubTypes.computeIfAbsent(club.getClubType(), key -> new BitSet(clubs.length)).set(i);
+            if (club.getBelongs() != null) belongs.computeIfAbsent(club.getBelongs(), key -> new BitSet(clubs.length)).set(i);
+            if (club.onRecruit()) recruiting.set(i);
+        }
+        Map<String, List<Club>> buckets = new HashMap<>();
+        clubsById.values().stream()
+                .filter(club -> club.getCampus() != null && club.getClubType() != null && club.getBelongs() != null)
+                .sorted(Comparator.comparing(Club::getId))
+                .forEach(club -> List.of(
+                        bucketKey(club.getCampus(), ClubType.전체, ALL),
+                        bucketKey(club.getCampus(), club.getClubType(), ALL),
+                        bucketKey(club.getCampus(), ClubType.전체, club.getBelongs()),
+                        bucketKey(club.getCampus(), club.getClubType(), club.getBelongs())
+                ).forEach(key -> buckets.computeIfAbsent(key, k -> new ArrayList<>()).add(club)));
+        buckets.replaceAll((key, bucket) -> List.copyOf(bucket));
+        index = new Index(clubs, lowerNames, campuses, clubTypes, belongs, recruiting, buckets);
+    }
+
+    static String bucketKey(Campus campus, ClubType clubType, String belongs) {
+        return campus.name() + "|" + clubType.name() + "|" + belongs;
+    }
+
+    //이름이 겹치지 않으므로 첫 정렬 기준이 이름이면 나머지 기준은 결과에 영향이 없다
+    private static boolean supports(Sort sort) {
+        return sort.stream().findFirst().map(order -> order.getProperty().equals("name")).orElse(false);
+    }
+
+    private Page<Club> page(Index current, BitSet matched, Pageable pageable) {
+        meterRegistry.counter("club.catalog.queries", "outcome", "hit").increment();
+        boolean ascending = pageable.getSort().stream().findFirst().map(Sort.Order::isAscending).orElse(true);
+        long skip = pageable.getOffset();
+        List<Club> content = new ArrayList<>(pageable.getPageSize());
+        int i = ascending ? matched.nextSetBit(0) : matched.previousSetBit(current.clubs().length - 1);
+        while (i >= 0 && content.size() < pageable.getPageSize()) {
+            if (skip > 0) skip--;
+            else content.add(current.clubs()[i]);
+            i = ascending ? matched.nextSetBit(i + 1) : matched.previousSetBit(i - 1);
+        }
+        return new PageImpl<>(content, pageable, matched.cardinality());
+    }
+
+    private <T> Optional<T> fallback() {
+        meterRegistry.counter("club.catalog.queries", "outcome", "fallback").increment();
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,45 @@
+package com.skklub.admin.service.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * 동아리 목록에 보이는 정보의 세대 번호, Redis에 두어 모든 서버가 같은 값을 본다
+ * ClubPrevCache가 변경마다 올려 L2 키를 한 번에 버리고, ClubCatalog는 값이 바뀐 것을 보고 다른 서버의 변경을 다시 읽는다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClubGeneration {
+
+    static final String KEY = "club:prev:generation";
+
+    private final StringRedisTemplate redisTemplate;
+
+    //한 번도 올린 적 없으면 "0", Redis를 읽지 못하면 empty
+    public Optional<String> current() {
+        try {
+            return Optional.of(Objects.requireNonNullElse(redisTemplate.opsForValue().get(KEY), "0"));
+        } catch (DataAccessException e) {
+            log.warn("동아리 목록 세대 조회 실패", e);
+            return Optional.empty();
+        }
+    }
+
+    //올리지 못하면 false
+    public boolean advance() {
+        try {
+            redisTemplate.opsForValue().increment(KEY);
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("동아리 목록 세대 갱신 실패", e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.skklub.admin.service.cache;
+
+import com.skklub.admin.domain.Club;
+import com.skklub.admin.domain.enums.Campus;
+import com.skklub.admin.domain.enums.ClubType;
+import com.skklub.admin.repository.ClubRepository;
+import com.skklub.admin.service.event.ClubChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 동아리 목록(간소화) 페이지 캐시, 서버 메모리(L1)와 Redis(L2) 두 단계
+ * L1은 조회한 Club 페이지를 그대로 들고 있어 적중하면 DB와 Redis 모두 거치지 않는다
+ * L2는 페이지의 동아리 id 목록과 전체 개수만 보관해 다른 서버가 채운 페이지도 PK 조회 한 번으로 복원한다
+ * 목록에 보이는 정보가 바뀌면(ClubChangedEvent) 이 서버의 L1을 비우고 ClubGeneration을 올려 모든 서버의 L2 키를 한 번에 버린다
+ * 다른 서버의 L1은 l1-ttl 안에 만료되므로 그 시간만큼은 이전 목록이 보일 수 있다
+ */
+@Slf4j
+@Component
+public class ClubPrevCache {
+
+    private static final String PAGE_KEY_PREFIX = "club:prev:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ClubGeneration clubGeneration;
+    private final ClubRepository clubRepository;
+    private final MeterRegistry meterRegistry;
+    private final long l1TtlNanos;
+    private final Duration l2Ttl;
+    private final int maxEntries;
+    //조회 조건 -> 페이지(접근 순서), 모든 접근은 this로 동기화
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    //이 서버에서 무효화할 때마다 증가, 무효화 전에 시작한 조회 결과가 무효화 뒤에 L1에 들어가지 않도록 함
+    private long localGeneration;
+
+    public ClubPrevCache(StringRedisTemplate redisTemplate,
+                         ClubGeneration clubGeneration,
+                         ClubRepository clubRepository,
+                         MeterRegistry meterRegistry,
+                         @Value("${club.prev.cache.l1-ttl:PT10S}") Duration l1Ttl,
+                         @Value("${club.prev.cache.l2-ttl:PT1H}") Duration l2Ttl,
+                         @Value("${club.prev.cache.max-entries:512}") int maxEntries) {
+        this.redisTemplate = redisTemplate;
+        this.clubGeneration = clubGeneration;
+        this.clubRepository = clubRepository;
+        this.meterRegistry = meterRegistry;
+        this.l1TtlNanos = l1Ttl.toNanos();
+        this.l2Ttl = l2Ttl;
+        this.maxEntries = maxEntries;
+        meterRegistry.gauge("club.prev.cache.size", this, ClubPrevCache::size);
+    }
+
+    private record Entry(Page<Club> page, long expiresAt) {
+    }
+
+    //목록 페이지를 결정하는 조건 문자열, 같은 페이지의 로고 스프라이트도 이 문자열로 찾는다
+    public static String queryOf(Campus campus, ClubType clubType, String belongs, Pageable pageable) {
+        return String.join("|", campus.name(), clubType.name(), belongs, String.valueOf(pageable.getPageNumber()), String.valueOf(pageable.getPageSize()), pageable.getSort().toString());
+    }
+
+    //query는 queryOf()로 만든 조건 문자열
+    public Page<Club> get(String query, Pageable pageable, Supplier<Page<Club>> loader) {
+        long generation;
+        synchronized (this) {
+            Entry entry = entries.get(query);
+            if (entry != null && entry.expiresAt() - System.nanoTime() > 0) {
+                meterRegistry.counter("club.prev.cache.requests", "tier", "l1", "outcome", "hit").increment();
+                return entry.page();
+            }
+            if (entry != null) {
+                entries.remove(query);
+                meterRegistry.counter("club.prev.cache.evictions", "cause", "expired").increment();
+            }
+            generation = localGeneration;
+        }
+        meterRegistry.counter("club.prev.cache.requests", "tier", "l1", "outcome", "miss").increment();
+
+        Optional<String> pageKey = pageKeyOf(query);
+        Page<Club> page = pageKey.flatMap(key -> readL2(key, pageable)).orElse(null);
+        if (page == null) {
+            page = loader.get();
+            Page<Club> loaded = page;
+            pageKey.ifPresent(key -> writeL2(key, loaded));
+        }
+        put(query, page, generation);
+        return page;
+    }
+
+    //목록에 보이는 정보가 바뀐 트랜잭션이 커밋된 뒤 호출
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClubChanged(ClubChangedEvent event) {
+        invalidate();
+    }
+
+    public void invalidate() {
+        synchronized (this) {
+            localGeneration++;
+            if (!entries.isEmpty()) meterRegistry.counter("club.prev.cache.evictions", "cause", "invalidated").increment(entries.size());
+            entries.clear();
+        }
+        //세대를 올리지 못한 L2 항목은 l2-ttl이 지나면 사라진다
+        if (!clubGeneration.advance()) meterRegistry.counter("club.prev.cache.errors", "operation", "invalidate").increment();
+    }
+
+    //세대 번호를 읽지 못하면 L2를 건너뛰고 DB에서 읽는다
+    private Optional<String> pageKeyOf(String query) {
+        Optional<String> generation = clubGeneration.current();
+        if (generation.isEmpty()) meterRegistry.counter("club.prev.cache.errors", "operation", "generation").increment();
+        return generation.map(g -> PAGE_KEY_PREFIX + g + ":" + query);
+    }
+
+    //"전체 개수|id,id,..." 형식, 그 사이 삭제된 동아리가 있으면 적중으로 치지 않는다
+    private Optional<Page<Club>> readL2(String key, Pageable pageable) {
+        String value;
+        try {
+            value = redisTemplate.opsForValue().get(key);
+        } catch (DataAccessException e) {
+            log.warn("동아리 목록 캐시 조회 실패 : {}", key, e);
+            meterRegistry.counter("club.prev.cache.errors", "operation", "read").increment();
+            return Optional.empty();
+        }
+        Optional<Page<Club>> page = Optional.ofNullable(value).flatMap(v -> decode(v, pageable));
+        meterRegistry.counter("club.prev.cache.requests", "tier", "l2", "outcome", page.isPresent() ? "hit" : "miss").increment();
+        return page;
+    }
+
+    private Optional<Page<Club>> decode(String value, Pageable pageable) {
+        int separator = value.indexOf('|');
+        long total = Long.parseLong(value.substring(0, separator));
+        List<Long> ids = separator == value.length() - 1
+                ? List.of()
+                : Arrays.stream(value.substring(separator + 1).split(",")).map(Long::valueOf).collect(Collectors.toList());
+        if (ids.isEmpty()) return Optional.of(new PageImpl<>(List.of(), pageable, total));
+        Map<Long, Club> clubs = clubRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(Club::getId, Function.identity()));
+        if (clubs.size() != ids.size()) return Optional.empty();
+        return Optional.of(new PageImpl<>(ids.stream().map(clubs::get).collect(Collectors.toList()), pageable, total));
+    }
+
+    private void writeL2(String key, Page<Club> page) {
+        String value = page.getTotalElements() + "|" + page.getContent().stream()
+                .map(club -> club.getId().toString())
+                .collect(Collectors.joining(","));
+        try {
+            redisTemplate.opsForValue().set(key, value, l2Ttl);
+        } catch (DataAccessException e) {
+            log.warn("동아리 목록 캐시 저장 실패 : {}", key, e);
+            meterRegistry.counter("club.prev.cache.errors", "operation", "write").increment();
+        }
+    }
+
+    private synchronized void put(String query, Page<Club> page, long generation) {
+        if (generation != localGeneration) return;
+        entries.put(query, new Entry(page, System.nanoTime() + l1TtlNanos));
+        Iterator<String> eldest = entries.keySet().iterator();
+        while (entries.size() > maxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            meterRegistry.counter("club.prev.cache.evictions", "cause", "size").increment();
+        }
+    }
+
+    private synchronized int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,152 @@
+package com.skklub.admin.service.cache;
+
+import com.skklub.admin.domain.Club;
+import com.skklub.admin.domain.enums.Campus;
+import com.skklub.admin.domain.enums.ClubType;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+/**
+ * 오늘의 추천 동아리, ClubCatalog의 분류 조합별 목록에서 k개를 중복 없이 뽑는다
+ * 조회 수가 있으면 분류 조합마다 만든 별칭 표(AliasTable)로 조회 수에 비례해 뽑고, 없으면 Floyd 알고리즘으로 고르게 뽑는다
+ * 가중치는 floor + 조회 수^exponent, floor가 있어 조회가 없는 동아리도 추천에 나오고 exponent가 1보다 작으면 인기 동아리 쏠림이 줄어든다
+ * daily-seed를 켜면 날짜와 분류 조합으로 시드를 정해 같은 날에는 같은 가중치를 본 서버끼리 같은 동아리를 추천한다
+ * 색인이 아직 적재되지 않았으면 empty를 반환하므로 호출하는 쪽에서 DB로 조회한다
+ */
+@Component
+public class ClubSampler {
+
+    //이미 뽑힌 동아리가 계속 나올 때 한 자리당 다시 뽑는 횟수, 넘으면 남은 자리는 고르게 채운다
+    private static final int MAX_DRAWS_PER_PICK = 8;
+
+    private final ClubCatalog clubCatalog;
+    private final ClubViewCounter clubViewCounter;
+    private final MeterRegistry meterRegistry;
+    private final boolean dailySeed;
+    private final boolean weighted;
+    private final double floor;
+    private final double exponent;
+    private final Clock clock;
+    //동아리 id -> 조회 수, rebuildWeights마다 통째로 바뀐다
+    private volatile Map<Long, Long> views = Map.of();
+    //분류 조합 -> 별칭 표, 가중치가 바뀌면 비우고 색인의 목록이 바뀌면 그 조합만 다시 만든다
+    private final ConcurrentHashMap<String, WeightedBucket> tables = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ClubSampler(ClubCatalog clubCatalog,
+                       ClubViewCounter clubViewCounter,
+                       MeterRegistry meterRegistry,
+                       @Value("${club.random.daily-seed:false}") boolean dailySeed,
+                       @Value("${club.random.zone:Asia/Seoul}") ZoneId zone,
+                       @Value("${club.random.weight.enabled:true}") boolean weighted,
+                       @Value("${club.random.weight.floor:1.0}") double floor,
+                       @Value("${club.random.weight.exponent:0.5}") double exponent) {
+        this(clubCatalog, clubViewCounter, meterRegistry, dailySeed, Clock.system(zone), weighted, floor, exponent);
+    }
+
+    ClubSampler(ClubCatalog clubCatalog, ClubViewCounter clubViewCounter, MeterRegistry meterRegistry, boolean dailySeed, Clock clock,
+                boolean weighted, double floor, double exponent) {
+        this.clubCatalog = clubCatalog;
+        this.clubViewCounter = clubViewCounter;
+        this.meterRegistry = meterRegistry;
+        this.dailySeed = dailySeed;
+        this.clock = clock;
+        this.weighted = weighted;
+        this.floor = floor;
+        this.exponent = exponent;
+    }
+
+    //목록과 그 목록으로 만든 별칭 표, 목록이 같은 객체일 때만 다시 쓴다
+    private record WeightedBucket(List<Club> clubs, AliasTable table) {
+    }
+
+    public Optional<List<Club>> sample(Campus campus, ClubType clubType, String belongs, int count) {
+        String bucketKey = ClubCatalog.bucketKey(campus, clubType, belongs);
+        Optional<List<Club>> sampled = clubCatalog.bucket(campus, clubType, belongs)
+                .map(clubs -> weighted && !views.isEmpty()
+                        ? pick(clubs, tableOf(bucketKey, clubs), count, randomOf(bucketKey))
+                        : pick(clubs, count, randomOf(bucketKey)));
+        meterRegistry.counter("club.random.samples", "source", sampled.isPresent() ? "catalog" : "database").increment();
+        return sampled;
+    }
+
+    //조회 수를 모아 가중치를 바꾸고 별칭 표는 다음 추천 때 조합별로 다시 만든다, 집계에 실패하면 이전 가중치를 유지
+    @Scheduled(initialDelayString = "${club.random.weight.rebuild-interval:PT5M}", fixedDelayString = "${club.random.weight.rebuild-interval:PT5M}")
+    public void rebuildWeights() {
+        if (!weighted) return;
+        clubViewCounter.flushAndSum().ifPresent(sums -> {
+            views = Map.copyOf(sums);
+            tables.clear();
+            meterRegistry.counter("club.random.weight.rebuilds").increment();
+        });
+    }
+
+    private AliasTable tableOf(String bucketKey, List<Club> clubs) {
+        return tables.compute(bucketKey, (key, cached) -> cached != null && cached.clubs() == clubs
+                ? cached
+                : new WeightedBucket(clubs, AliasTable.of(weightsOf(clubs)))).table();
+    }
+
+    private double[] weightsOf(List<Club> clubs) {
+        Map<Long, Long> current = views;
+        return clubs.stream()
+                .mapToDouble(club -> floor + Math.pow(current.getOrDefault(club.getId(), 0L), exponent))
+                .toArray();
+    }
+
+    //String.hashCode와 java.util.Random은 구현이 명세로 정해져 있어 서버마다 같은 순서가 나온다
+    private Random randomOf(String bucketKey) {
+        if (!dailySeed) return ThreadLocalRandom.current();
+        return new Random(LocalDate.now(clock).toEpochDay() * 31 + bucketKey.hashCode());
+    }
+
+    //별칭 표로 뽑되 이미 뽑힌 동아리는 다시 뽑음, 가중치가 한쪽에 몰려 자리가 안 채워지면 남은 동아리 중에서 고르게 채운다
+    static <T> List<T> pick(List<T> items, AliasTable table, int count, Random random) {
+        int k = Math.min(count, items.size());
+        Set<Integer> chosen = new LinkedHashSet<>();
+        for (int draw = 0; chosen.size() < k && draw < k * MAX_DRAWS_PER_PICK; draw++) chosen.add(table.next(random));
+        List<T> picked = new ArrayList<>(k);
+        chosen.forEach(index -> picked.add(items.get(index)));
+        if (picked.size() < k) {
+            List<Integer> rest = IntStream.range(0, items.size()).filter(index -> !chosen.contains(index)).boxed().toList();
+            pick(rest, k - picked.size(), random).forEach(index -> picked.add(items.get(index)));
+        }
+        return picked;
+    }
+
+    //Floyd 표본 추출, 새로 뽑힌 칸은 맨 앞에, 이미 뽑힌 칸과 겹치면 j를 그 칸 바로 뒤에 넣어 순서까지 고르게 섞는다
+    static <T> List<T> pick(List<T> items, int count, Random random) {
+        int size = items.size();
+        int k = Math.min(count, size);
+        Set<Integer> chosen = new HashSet<>();
+        List<Integer> order = new ArrayList<>(k);
+        for (int j = size - k; j < size; j++) {
+            int t = random.nextInt(j + 1);
+            if (chosen.add(t)) {
+                order.add(0, t);
+            } else {
+                chosen.add(j);
+                order.add(order.indexOf(t) + 1, j);
+            }
+        }
+        return order.stream().map(items::get).toList();
+    }
+}
@@ -0,0 +1,92 @@
+package com.skklub.admin.service.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 동아리 상세 조회 수, 요청마다 메모리에만 더하고 flush할 때 Redis의 날짜별 해시(club:views:yyyy-MM-dd)에 합친다
+ * 모든 서버의 조회 수가 같은 해시에 모이므로 추천 가중치는 서버마다 같은 값을 본다
+ */
+@Slf4j
+@Component
+public class ClubViewCounter {
+
+    private static final String KEY_PREFIX = "club:views:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int windowDays;
+    private final Clock clock;
+    //동아리 id -> 아직 Redis에 합치지 않은 조회 수
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ClubViewCounter(StringRedisTemplate redisTemplate,
+                           MeterRegistry meterRegistry,
+                           @Value("${club.random.weight.window-days:7}") int windowDays,
+                           @Value("${club.random.zone:Asia/Seoul}") ZoneId zone) {
+        this(redisTemplate, meterRegistry, windowDays, Clock.system(zone));
+    }
+
+    ClubViewCounter(StringRedisTemplate redisTemplate, MeterRegistry meterRegistry, int windowDays, Clock clock) {
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.windowDays = windowDays;
+        this.clock = clock;
+    }
+
+    public void record(Long clubId) {
+        pending.computeIfAbsent(clubId, id -> new LongAdder()).increment();
+    }
+
+    //쌓인 조회 수를 오늘 해시에 더하고 최근 window-days일의 합을 반환, Redis에 닿지 못하면 아직 더하지 못한 조회 수만 되돌려 놓고 empty
+    public Optional<Map<Long, Long>> flushAndSum() {
+        Map<Long, Long> deltas = new HashMap<>();
+        pending.forEach((clubId, count) -> {
+            long delta = count.sumThenReset();
+            if (delta > 0) deltas.put(clubId, delta);
+        });
+        LocalDate today = LocalDate.now(clock);
+        HashOperations<String, String, String> hash = redisTemplate.opsForHash();
+        try {
+            if (!deltas.isEmpty()) {
+                //더한 항목은 바로 지워, 중간에 실패했을 때 이미 더한 조회 수를 다음 flush에서 두 번 더하지 않음
+                Iterator<Map.Entry<Long, Long>> unapplied = deltas.entrySet().iterator();
+                while (unapplied.hasNext()) {
+                    Map.Entry<Long, Long> entry = unapplied.next();
+                    hash.increment(KEY_PREFIX + today, entry.getKey().toString(), entry.getValue());
+                    unapplied.remove();
+                }
+                redisTemplate.expire(KEY_PREFIX + today, Duration.ofDays(windowDays + 1L));
+            }
+            Map<Long, Long> sums = new HashMap<>();
+            for (int day = 0; day < windowDays; day++) {
+                hash.entries(KEY_PREFIX + today.minusDays(day))
+                        .forEach((clubId, count) -> sums.merge(Long.valueOf(clubId), Long.valueOf(count), Long::sum));
+            }
+            return Optional.of(sums);
+        } catch (DataAccessException e) {
+            log.warn("동아리 조회 수 집계 실패", e);
+            meterRegistry.counter("club.views.flush.errors").increment();
+            deltas.forEach((clubId, delta) -> pending.computeIfAbsent(clubId, id -> new LongAdder()).add(delta));
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.skklub.admin.service.dto;
+
+import com.skklub.admin.domain.ActivityImage;
+import com.skklub.admin.service.exception.InvalidCursorException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Optional;
+
+/**
+ * 활동 사진 갤러리 키셋 페이지의 위치, 앞 페이지 마지막 이미지의 (position, id)
+ * 클라이언트에는 "position_id" 문자열로만 주고받는다
+ */
+@Getter
+@RequiredArgsConstructor
+public class ActivityImageCursor {
+    private final int position;
+    private final Long id;
+
+    public static ActivityImageCursor of(ActivityImage activityImage) {
+        return new ActivityImageCursor(Optional.ofNullable(activityImage.getPosition()).orElse(-1), activityImage.getId());
+    }
+
+    public static ActivityImageCursor parse(String cursor) {
+        String[] parts = cursor.split("_");
+        try {
+            if (parts.length != 2) throw new NumberFormatException();
+            return new ActivityImageCursor(Integer.parseInt(parts[0]), Long.parseLong(parts[1]));
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("잘못된 갤러리 커서입니다 : " + cursor);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return position + "_" + id;
+    }
+}
@@ -40,6 +40,8 @@ public class ClubDetailInfoDto {
     //Files
     private FileNames logo;
     private List<FileNames> activityImages = new ArrayList<>();
+    //activityImages에 담기지 않은 사진까지 포함한 전체 개수
+    private long activityImageCount;
     private String webLink1;
     private String webLink2;
 
@@ -52,8 +54,12 @@ public class ClubDetailInfoDto {
     private String presidentContact;
 
     public ClubDetailInfoDto(Club club) {
+        this(club, club.getActivityImages(), club.getActivityImages().size());
+    }
+
+    //활동 사진은 갤러리 앞쪽 일부만 담는 경우
+    public ClubDetailInfoDto(Club club, List<ActivityImage> activityImages, long activityImageCount) {
         Logo logo = club.getLogo();
-        List<ActivityImage> activityImages = club.getActivityImages();
         Optional<Recruit> recruit = Optional.ofNullable(club.getRecruit());
         User user = club.getPresident();
         this.id = club.getId();
@@ -74,6 +80,7 @@ public class ClubDetailInfoDto {
         this.activityImages = activityImages.stream()
                 .map(FileNames::new)
                 .collect(Collectors.toList());
+        this.activityImageCount = activityImageCount;
         this.webLink1 = club.getWebLink1();
         this.webLink2 = club.getWebLink2();
         this.recruit = recruit.map(RecruitDto::new);
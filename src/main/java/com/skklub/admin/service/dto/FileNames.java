@@ -1,7 +1,11 @@
 package com.skklub.admin.service.dto;
 
 import com.skklub.admin.domain.ActivityImage;
+import com.skklub.admin.domain.DocumentPreview;
 import com.skklub.admin.domain.ExtraFile;
+import com.skklub.admin.domain.FileMetadata;
+import com.skklub.admin.domain.ImagePreview;
+import com.skklub.admin.domain.ImageVariants;
 import com.skklub.admin.domain.Logo;
 import com.skklub.admin.domain.Thumbnail;
 import lombok.AllArgsConstructor;
@@ -15,21 +19,49 @@ public class FileNames {
     private Long id;
     private String originalName;
     private String savedName;
+    private ImageVariants variants;
+    private ImagePreview preview;
+    private DocumentPreview documentPreview;
+    private FileMetadata metadata;
 
     public Logo toLogoEntity() {
-        return new Logo(originalName, savedName);
+        return new Logo(originalName, savedName, variants, preview, metadata);
     }
 
     public ActivityImage toActivityImageEntity() {
-        return new ActivityImage(originalName, savedName);
+        return new ActivityImage(originalName, savedName, variants, preview, metadata);
     }
 
     public ExtraFile toExtraFileEntity(){
-        return new ExtraFile(originalName, savedName);
+        return new ExtraFile(originalName, savedName, metadata);
     }
     public Thumbnail toThumbnailEntity() {
-        return new Thumbnail(originalName, savedName);
+        return new Thumbnail(originalName, savedName, variants, preview, metadata);
     }
+    public FileNames(Long id, String originalName, String savedName) {
+        this.id = id;
+        this.originalName = originalName;
+        this.savedName = savedName;
+    }
+
+    public FileNames(String originalName, String savedName, ImageVariants variants) {
+        this.originalName = originalName;
+        this.savedName = savedName;
+        this.variants = variants;
+    }
+
+    public FileNames(String originalName, String savedName, ImageVariants variants, ImagePreview preview) {
+        this.originalName = originalName;
+        this.savedName = savedName;
+        this.variants = variants;
+        this.preview = preview;
+    }
+
+    public FileNames(String originalName, String savedName, ImageVariants variants, ImagePreview preview, FileMetadata metadata) {
+        this(originalName, savedName, variants, preview);
+        this.metadata = metadata;
+    }
+
     public FileNames(String originalName, String savedName) {
         this.originalName = originalName;
         this.savedName = savedName;
@@ -38,24 +70,35 @@ public class FileNames {
         this.id = logo.getId();
         this.originalName = logo.getOriginalName();
         this.savedName = logo.getUploadedName();
+        this.variants = logo.getVariants();
+        this.preview = logo.getPreview();
+        this.metadata = logo.getMetadata();
     }
 
     public FileNames(ActivityImage activityImage) {
         this.id = activityImage.getId();
         this.originalName = activityImage.getOriginalName();
         this.savedName = activityImage.getUploadedName();
+        this.variants = activityImage.getVariants();
+        this.preview = activityImage.getPreview();
+        this.metadata = activityImage.getMetadata();
     }
     public FileNames(Thumbnail thumbnail) {
         this.id = thumbnail.getId();
         this.originalName = thumbnail.getOriginalName();
 
         this.savedName = thumbnail.getUploadedName();
+        this.variants = thumbnail.getVariants();
+        this.preview = thumbnail.getPreview();
+        this.metadata = thumbnail.getMetadata();
     }
 
     public FileNames(ExtraFile extraFile) {
         this.id = extraFile.getId();
         this.originalName = extraFile.getOriginalName();
         this.savedName = extraFile.getSavedName();
+        this.documentPreview = extraFile.getPreview();
+        this.metadata = extraFile.getMetadata();
 
     }
 }
@@ -0,0 +1,20 @@
+package com.skklub.admin.service.event;
+
+import com.skklub.admin.domain.Logo;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 목록 화면에 보이는 동아리 정보(이름, 분류, 로고, 모집 여부)가 바뀌었거나 동아리가 생성, 삭제됨
+ * 로고가 바뀐 경우에만 logo에 새 로고가 담긴다
+ */
+@Getter
+@RequiredArgsConstructor
+public class ClubChangedEvent {
+    private final Long clubId;
+    private final Logo logo;
+
+    public ClubChangedEvent(Long clubId) {
+        this(clubId, null);
+    }
+}
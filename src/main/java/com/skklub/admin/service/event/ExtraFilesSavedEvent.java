@@ -0,0 +1,15 @@
+package com.skklub.admin.service.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 공지 첨부 파일 행이 저장됨, 커밋 이후 미리보기 생성에 사용
+ */
+@Getter
+@RequiredArgsConstructor
+public class ExtraFilesSavedEvent {
+    private final List<Long> extraFileIds;
+}
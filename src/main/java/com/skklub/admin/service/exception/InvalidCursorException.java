@@ -0,0 +1,9 @@
+package com.skklub.admin.service.exception;
+
+import com.skklub.admin.exception.ClientSideException;
+
+public class InvalidCursorException extends ClientSideException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
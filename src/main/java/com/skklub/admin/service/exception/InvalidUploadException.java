@@ -0,0 +1,9 @@
+package com.skklub.admin.service.exception;
+
+import com.skklub.admin.exception.ClientSideException;
+
+public class InvalidUploadException extends ClientSideException {
+    public InvalidUploadException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.skklub.admin.service.exception;
+
+import com.skklub.admin.exception.ClientSideException;
+
+//현재 저장소가 presigned 업로드를 지원하지 않음, 클라이언트는 multipart 업로드를 사용해야 한다
+public class PresignedUploadUnsupportedException extends ClientSideException {
+    public PresignedUploadUnsupportedException(String message) {
+        super(message);
+    }
+}
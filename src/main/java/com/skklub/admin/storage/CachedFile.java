@@ -0,0 +1,39 @@
+package com.skklub.admin.storage;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.io.Closeable;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ObjectDiskCache가 내려줄 파일, 닫기 전까지 캐시는 이 파일을 지우지 않는다
+ * 커넥터가 sendfile로 이름을 보고 다시 열 수 있도록 응답이 끝난 뒤에 닫는다
+ */
+@Getter
+public class CachedFile implements Closeable {
+    private final Path path;
+    private final long size;
+    @Getter(AccessLevel.NONE)
+    private final Runnable release;
+    @Getter(AccessLevel.NONE)
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    CachedFile(Path path, long size, Runnable release) {
+        this.path = path;
+        this.size = size;
+        this.release = release;
+    }
+
+    //캐시가 관리하지 않는 파일(로컬 저장소)은 닫아도 할 일이 없음
+    public static CachedFile unpinned(Path path, long size) {
+        return new CachedFile(path, size, () -> {});
+    }
+
+    //여러 번 닫아도 고정은 한 번만 푼다
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) release.run();
+    }
+}
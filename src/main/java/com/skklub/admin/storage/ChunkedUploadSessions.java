@@ -0,0 +1,157 @@
+package com.skklub.admin.storage;
+
+import com.skklub.admin.domain.FileMetadata;
+import com.skklub.admin.domain.UploadPart;
+import com.skklub.admin.domain.UploadSession;
+import com.skklub.admin.exception.ServerSideException;
+import com.skklub.admin.repository.UploadPartRepository;
+import com.skklub.admin.repository.UploadSessionRepository;
+import com.skklub.admin.service.dto.FileNames;
+import com.skklub.admin.service.exception.InvalidUploadException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * 큰 첨부 파일을 파트 단위로 받는 재개 가능한 업로드
+ * 저장소의 multipart 업로드에 그대로 대응하며, 받은 파트는 upload_part 테이블에 기록해 끊긴 지점부터 이어 올릴 수 있다
+ */
+@Slf4j
+@Component
+public class ChunkedUploadSessions {
+
+    //S3 multipart 제약, 마지막 파트를 제외한 최소 파트 크기와 최대 파트 수
+    private static final long MIN_PART_SIZE = DataSize.ofMegabytes(5).toBytes();
+    private static final int MAX_PARTS = 10000;
+    private static final int CLEANUP_BATCH_SIZE = 100;
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final UploadPartRepository uploadPartRepository;
+    private final ObjectStore objectStore;
+    private final StorageOutbox storageOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final DataSize partSize;
+    private final Duration expiry;
+
+    public ChunkedUploadSessions(UploadSessionRepository uploadSessionRepository,
+                                 UploadPartRepository uploadPartRepository,
+                                 ObjectStore objectStore,
+                                 StorageOutbox storageOutbox,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${storage.chunked.part-size:8MB}") DataSize partSize,
+                                 @Value("${storage.chunked.expiry:PT24H}") Duration expiry) {
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.uploadPartRepository = uploadPartRepository;
+        this.objectStore = objectStore;
+        this.storageOutbox = storageOutbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.partSize = partSize;
+        this.expiry = expiry;
+    }
+
+    public UploadSession initiate(Long noticeId, String originalName) {
+        String objectKey = ObjectKeys.newKey("." + originalName.split("\\.(?=[^\\.]+$)")[1]);
+        //분할 업로드는 첫 파트보다 메타데이터를 먼저 정해야 하므로 내용 대신 확장자로 형식을 정함
+        String storeUploadId = objectStore.initiateUpload(objectKey, ObjectHeaders.immutable(ContentTypes.guess(originalName)));
+        return uploadSessionRepository.save(new UploadSession(noticeId, originalName, objectKey, storeUploadId, LocalDateTime.now().plus(expiry)));
+    }
+
+    //파트를 전송하는 동안에는 DB 커넥션을 잡지 않고, 전송이 끝난 뒤 기록만 트랜잭션으로 처리
+    public void uploadPart(Long noticeId, String uploadKey, int partNumber, InputStream inputStream, long size) throws IOException {
+        UploadSession session = find(noticeId, uploadKey);
+        if (partNumber < 1 || partNumber > MAX_PARTS) throw new InvalidUploadException("파트 번호는 1 ~ " + MAX_PARTS + " 사이여야 합니다 : " + partNumber);
+        if (size <= 0 || size > partSize.toBytes()) throw new InvalidUploadException("파트 크기는 1 ~ " + partSize.toBytes() + " 바이트여야 합니다 : " + size);
+        String etag = objectStore.uploadPart(session.getObjectKey(), session.getStoreUploadId(), partNumber, inputStream, size);
+        try {
+            transactionTemplate.executeWithoutResult(status -> recordPart(session, partNumber, etag, size));
+        } catch (DataIntegrityViolationException e) {
+            //같은 번호의 파트가 동시에 올라와 다른 요청이 먼저 행을 만들었으면 그 행을 덮어씀
+            transactionTemplate.executeWithoutResult(status -> recordPart(session, partNumber, etag, size));
+        }
+    }
+
+    //받은 파트가 1번부터 빠짐없이 있어야 완료, 완성된 객체는 업로드 가드를 걸고 파일 행을 저장하는 서비스가 claim
+    public FileNames complete(Long noticeId, String uploadKey) {
+        UploadSession session = find(noticeId, uploadKey);
+        String objectKey = session.getObjectKey();
+        List<UploadPart> parts = partsOf(session);
+        validateParts(parts);
+        try {
+            objectStore.completeUpload(objectKey, session.getStoreUploadId(), parts.stream()
+                    .collect(Collectors.toMap(UploadPart::getPartNumber, UploadPart::getEtag, (a, b) -> b, TreeMap::new)));
+        } catch (IOException e) {
+            throw new ServerSideException("분할 업로드 완료에 실패했습니다 : " + session.getOriginalName(), e);
+        }
+        storageOutbox.guard(objectKey);
+        remove(session);
+        FileMetadata metadata = new FileMetadata(parts.stream().mapToLong(UploadPart::getSize).sum(), ContentTypes.guess(session.getOriginalName()));
+        return new FileNames(session.getOriginalName(), objectKey, null, null, metadata);
+    }
+
+    //uploadKey는 URL 경로에 들어가도록 월 접두사를 뺀 객체 키(ObjectKeys.nameOf)
+    public UploadSession find(Long noticeId, String uploadKey) {
+        return uploadSessionRepository.findByObjectKey(ObjectKeys.keyOf(uploadKey))
+                .filter(session -> session.getNoticeId().equals(noticeId))
+                .filter(session -> !session.isExpired())
+                .orElseThrow(() -> new InvalidUploadException("존재하지 않거나 만료된 업로드입니다 : " + uploadKey));
+    }
+
+    public List<UploadPart> partsOf(UploadSession session) {
+        return uploadPartRepository.findByUploadSessionOrderByPartNumberAsc(session);
+    }
+
+    public long partSize() {
+        return partSize.toBytes();
+    }
+
+    //중단에 실패한 저장소 업로드는 버킷 수명 주기 규칙(AbortIncompleteMultipartUpload)이 마저 정리
+    @Scheduled(fixedDelayString = "${storage.chunked.cleanup-interval:PT10M}")
+    public void expire() {
+        List<UploadSession> expired;
+        do {
+            expired = uploadSessionRepository.findByExpiresAtBeforeOrderByIdAsc(LocalDateTime.now(), PageRequest.of(0, CLEANUP_BATCH_SIZE));
+            expired.forEach(session -> {
+                objectStore.abortUpload(session.getObjectKey(), session.getStoreUploadId());
+                remove(session);
+            });
+        } while (expired.size() == CLEANUP_BATCH_SIZE);
+    }
+
+    private void validateParts(List<UploadPart> parts) {
+        if (parts.isEmpty()) throw new InvalidUploadException("받은 파트가 없습니다");
+        for (int i = 0; i < parts.size(); i++) {
+            UploadPart part = parts.get(i);
+            if (part.getPartNumber() != i + 1) throw new InvalidUploadException("받지 않은 파트가 있습니다 : " + (i + 1));
+            if (i < parts.size() - 1 && part.getSize() < MIN_PART_SIZE) throw new InvalidUploadException("마지막 파트를 제외한 파트는 " + MIN_PART_SIZE + " 바이트 이상이어야 합니다 : " + part.getPartNumber());
+        }
+    }
+
+    private void recordPart(UploadSession session, int partNumber, String etag, long size) {
+        uploadPartRepository.findByUploadSessionAndPartNumber(session, partNumber)
+                .ifPresentOrElse(
+                        part -> part.replace(etag, size),
+                        () -> uploadPartRepository.save(new UploadPart(session, partNumber, etag, size))
+                );
+    }
+
+    private void remove(UploadSession session) {
+        transactionTemplate.executeWithoutResult(status -> {
+            uploadPartRepository.deleteByUploadSession(session);
+            uploadSessionRepository.deleteById(session.getId());
+        });
+    }
+}
@@ -0,0 +1,76 @@
+package com.skklub.admin.storage;
+
+import com.skklub.admin.domain.ImagePreview;
+import com.skklub.admin.domain.ImageVariants;
+import com.skklub.admin.domain.StoredContent;
+import com.skklub.admin.repository.StoredContentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * 업로드 파일의 SHA-256으로 이미 저장된 객체를 찾아 재사용하고 참조 수를 관리
+ * 색인에 없는 키(도입 이전 업로드, 기본 이미지)는 참조 수 없이 기존처럼 바로 삭제된다
+ */
+@Component
+@RequiredArgsConstructor
+public class ContentIndex {
+
+    private final StoredContentRepository storedContentRepository;
+
+    //같은 내용이 이미 있으면 참조 수를 올리고 반환
+    @Transactional
+    public Optional<StoredContent> acquire(String contentHash) {
+        if (storedContentRepository.incrementReference(contentHash) == 0) return Optional.empty();
+        return storedContentRepository.findByContentHash(contentHash);
+    }
+
+    //같은 해시가 동시에 등록되면 unique 제약 위반(DataIntegrityViolationException)
+    @Transactional
+    public void register(String contentHash, String objectKey, long size, String contentType, ImageVariants variants, ImagePreview preview) {
+        storedContentRepository.saveAndFlush(new StoredContent(contentHash, objectKey, size, contentType, variants, preview));
+    }
+
+    //참조 하나를 반납하고 객체를 실제로 지워야 하면 true
+    @Transactional
+    public boolean release(String objectKey) {
+        if (storedContentRepository.decrementReference(objectKey) == 0) return true;
+        return storedContentRepository.deleteUnreferenced(objectKey) > 0;
+    }
+
+    //색인을 거치지 않고 지워지는 객체(고아 객체 정리)의 색인 행 제거
+    @Transactional
+    public void forget(Collection<String> objectKeys) {
+        if (objectKeys.isEmpty()) return;
+        storedContentRepository.deleteByObjectKeyIn(objectKeys);
+    }
+
+    public static String hash(MultipartFile multipartFile) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream inputStream = multipartFile.getInputStream()) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
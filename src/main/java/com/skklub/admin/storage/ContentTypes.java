@@ -0,0 +1,93 @@
+package com.skklub.admin.storage;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 파일 앞부분의 매직 넘버로 실제 형식을 판별, 클라이언트가 보낸 Content-Type은 사용하지 않는다
+ * 확장자는 zip, OLE처럼 여러 형식이 같은 컨테이너를 쓰는 경우 세부 형식을 고를 때만 참고한다
+ */
+public final class ContentTypes {
+
+    public static final String OCTET_STREAM = "application/octet-stream";
+    static final int SNIFF_LENGTH = 12;
+
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] GIF = {'G', 'I', 'F', '8'};
+    private static final byte[] RIFF = {'R', 'I', 'F', 'F'};
+    private static final byte[] WEBP = {'W', 'E', 'B', 'P'};
+    private static final byte[] PDF = {'%', 'P', 'D', 'F', '-'};
+    private static final byte[] ZIP = {'P', 'K', 0x03, 0x04};
+    private static final byte[] OLE = {(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0, (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1};
+
+    private static final Map<String, String> BY_EXTENSION = Map.ofEntries(
+            Map.entry("jpg", "image/jpeg"),
+            Map.entry("jpeg", "image/jpeg"),
+            Map.entry("png", "image/png"),
+            Map.entry("gif", "image/gif"),
+            Map.entry("webp", "image/webp"),
+            Map.entry("pdf", "application/pdf"),
+            Map.entry("zip", "application/zip"),
+            Map.entry("docx", "application/vnd.openxmlformats-officedocument.wordprocessingml.document"),
+            Map.entry("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"),
+            Map.entry("pptx", "application/vnd.openxmlformats-officedocument.presentationml.presentation"),
+            Map.entry("hwpx", "application/hwp+zip"),
+            Map.entry("doc", "application/msword"),
+            Map.entry("xls", "application/vnd.ms-excel"),
+            Map.entry("ppt", "application/vnd.ms-powerpoint"),
+            Map.entry("hwp", "application/x-hwp")
+    );
+    private static final Set<String> ZIP_BASED = Set.of("zip", "docx", "xlsx", "pptx", "hwpx");
+    private static final Set<String> OLE_BASED = Set.of("doc", "xls", "ppt", "hwp");
+    //브라우저가 그대로 보여줘도 스크립트가 실행되지 않는 형식만 inline
+    private static final Set<String> INLINE = Set.of("image/jpeg", "image/png", "image/gif", "image/webp", "application/pdf");
+
+    private ContentTypes() {
+    }
+
+    public static String sniff(MultipartFile multipartFile) throws IOException {
+        try (InputStream inputStream = multipartFile.getInputStream()) {
+            return sniff(inputStream.readNBytes(SNIFF_LENGTH), multipartFile.getOriginalFilename());
+        }
+    }
+
+    //판별할 수 없는 형식은 application/octet-stream
+    public static String sniff(byte[] head, String originalName) {
+        if (startsWith(head, 0, JPEG)) return "image/jpeg";
+        if (startsWith(head, 0, PNG)) return "image/png";
+        if (startsWith(head, 0, GIF)) return "image/gif";
+        if (startsWith(head, 0, RIFF) && startsWith(head, 8, WEBP)) return "image/webp";
+        if (startsWith(head, 0, PDF)) return "application/pdf";
+        String ext = extensionOf(originalName);
+        if (startsWith(head, 0, ZIP)) return ZIP_BASED.contains(ext) ? BY_EXTENSION.get(ext) : "application/zip";
+        if (startsWith(head, 0, OLE)) return OLE_BASED.contains(ext) ? BY_EXTENSION.get(ext) : OCTET_STREAM;
+        return OCTET_STREAM;
+    }
+
+    //내용을 아직 받지 않은 분할 업로드처럼 확장자밖에 없을 때 사용
+    public static String guess(String originalName) {
+        return BY_EXTENSION.getOrDefault(extensionOf(originalName), OCTET_STREAM);
+    }
+
+    public static boolean isInline(String contentType) {
+        return INLINE.contains(contentType);
+    }
+
+    private static boolean startsWith(byte[] head, int offset, byte[] magic) {
+        return head.length >= offset + magic.length
+                && Arrays.equals(head, offset, offset + magic.length, magic, 0, magic.length);
+    }
+
+    private static String extensionOf(String originalName) {
+        if (originalName == null) return "";
+        int dot = originalName.lastIndexOf('.');
+        return dot < 0 ? "" : originalName.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,163 @@
+package com.skklub.admin.storage;
+
+import com.skklub.admin.domain.DocumentPreview;
+import com.skklub.admin.domain.ExtraFile;
+import com.skklub.admin.repository.ExtraFileRepository;
+import com.skklub.admin.service.event.ExtraFilesSavedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 공지 첨부 PDF의 첫 페이지 미리보기 이미지를 만들고 페이지 수, 본문 글자 수를 함께 기록
+ * 렌더링은 StorageExecutors.preview() 풀에서만 실행되며 풀이 가득 차면 미리보기 없이 넘어간다
+ * 그렇게 건너뛴 PDF는 sweep()이 주기적으로 찾아 다시 넘기고, sweep-lookback보다 오래된 파일은 더 시도하지 않는다
+ */
+@Slf4j
+@Component
+public class DocumentPreviewGenerator {
+
+    private final ObjectStore objectStore;
+    private final ExtraFileRepository extraFileRepository;
+    private final StorageExecutors storageExecutors;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int previewWidth;
+    //본문 글자 수는 앞쪽 페이지까지만 센다, 수천 페이지 문서가 풀을 오래 붙잡지 않도록
+    private final int maxTextPages;
+    //방금 넘겨 아직 대기 중인 작업을 다시 넘기지 않도록 이만큼 지난 파일만 찾음
+    private final Duration sweepGrace;
+    //계속 실패하는 문서를 끝없이 다시 렌더링하지 않도록 이보다 오래된 파일은 찾지 않음
+    private final Duration sweepLookback;
+    private final int sweepBatchSize;
+
+    public DocumentPreviewGenerator(ObjectStore objectStore,
+                                    ExtraFileRepository extraFileRepository,
+                                    StorageExecutors storageExecutors,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${storage.preview.width:800}") int previewWidth,
+                                    @Value("${storage.preview.max-text-pages:200}") int maxTextPages,
+                                    @Value("${storage.preview.sweep-grace:PT5M}") Duration sweepGrace,
+                                    @Value("${storage.preview.sweep-lookback:PT6H}") Duration sweepLookback,
+                                    @Value("${storage.preview.sweep-batch-size:32}") int sweepBatchSize) {
+        this.objectStore = objectStore;
+        this.extraFileRepository = extraFileRepository;
+        this.storageExecutors = storageExecutors;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.previewWidth = previewWidth;
+        this.maxTextPages = maxTextPages;
+        this.sweepGrace = sweepGrace;
+        this.sweepLookback = sweepLookback;
+        this.sweepBatchSize = sweepBatchSize;
+    }
+
+    //파일 행이 커밋된 뒤에 작업을 넘기므로 렌더링 중에 행이 보이지 않는 일은 없다
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExtraFilesSaved(ExtraFilesSavedEvent event) {
+        event.getExtraFileIds().forEach(this::submit);
+    }
+
+    //풀이 가득 차 건너뛴 PDF를 다시 넘김, 풀이 또 가득 차면 남은 파일은 다음 주기로 미룬다
+    @Scheduled(initialDelayString = "${storage.preview.sweep-interval:PT10M}", fixedDelayString = "${storage.preview.sweep-interval:PT10M}")
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> extraFileIds = extraFileRepository.findPdfIdsWithoutPreview(now.minus(sweepLookback), now.minus(sweepGrace), PageRequest.of(0, sweepBatchSize));
+        for (Long extraFileId : extraFileIds) {
+            if (!submit(extraFileId)) return;
+        }
+    }
+
+    private boolean submit(Long extraFileId) {
+        try {
+            storageExecutors.preview().execute(() -> generate(extraFileId));
+            return true;
+        } catch (RejectedExecutionException e) {
+            log.warn("미리보기 작업이 밀려 건너뜁니다 : extraFileId={}", extraFileId);
+            meterRegistry.counter("storage.preview.documents", "outcome", "rejected").increment();
+            return false;
+        }
+    }
+
+    void generate(Long extraFileId) {
+        Optional<ExtraFile> extraFile = extraFileRepository.findById(extraFileId);
+        if (extraFile.isEmpty() || !DocumentPreview.supports(extraFile.get().getSavedName())) return;
+        String savedName = extraFile.get().getSavedName();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            //같은 내용을 공유하는 첨부 파일에 이미 있으면 다시 렌더링하지 않음
+            DocumentPreview preview = extraFileRepository.findFirstBySavedNameAndPreviewPageCountIsNotNull(savedName)
+                    .map(ExtraFile::getPreview)
+                    .orElse(null);
+            if (preview == null) preview = render(savedName);
+            attach(savedName, preview);
+            sample.stop(meterRegistry.timer("storage.preview.documents", "outcome", "success"));
+        } catch (IOException | RuntimeException e) {
+            log.warn("문서 미리보기 생성 실패 : {}", savedName, e);
+            sample.stop(meterRegistry.timer("storage.preview.documents", "outcome", "failure"));
+        }
+    }
+
+    //파싱 중 버퍼는 임시 파일에만 두어 큰 PDF도 힙을 차지하지 않는다
+    private DocumentPreview render(String savedName) throws IOException {
+        try (InputStream inputStream = objectStore.open(savedName);
+             PDDocument document = PDDocument.load(inputStream, MemoryUsageSetting.setupTempFileOnly())) {
+            int pageCount = document.getNumberOfPages();
+            if (pageCount == 0) throw new IOException("페이지가 없는 문서입니다");
+            byte[] image = encode(renderFirstPage(document));
+            objectStore.put(DocumentPreview.keyOf(savedName), new ByteArrayInputStream(image), image.length, ObjectHeaders.immutable("image/jpeg"));
+            return new DocumentPreview(savedName, pageCount, textLength(document, pageCount));
+        }
+    }
+
+    //가로를 previewWidth에 맞추되 아주 긴 페이지는 세로가 가로의 네 배를 넘지 않도록 줄임
+    private BufferedImage renderFirstPage(PDDocument document) throws IOException {
+        PDRectangle page = document.getPage(0).getCropBox();
+        float scale = Math.min(previewWidth / page.getWidth(), previewWidth * 4 / page.getHeight());
+        return new PDFRenderer(document).renderImage(0, scale, ImageType.RGB);
+    }
+
+    private int textLength(PDDocument document, int pageCount) throws IOException {
+        PDFTextStripper stripper = new PDFTextStripper();
+        stripper.setEndPage(Math.min(pageCount, maxTextPages));
+        return stripper.getText(document).strip().length();
+    }
+
+    private void attach(String savedName, DocumentPreview preview) {
+        transactionTemplate.executeWithoutResult(status ->
+                extraFileRepository.findBySavedName(savedName).forEach(extraFile ->
+                        extraFile.attachPreview(new DocumentPreview(savedName, preview.getPageCount(), preview.getTextLength()))));
+    }
+
+    private static byte[] encode(BufferedImage image) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", outputStream);
+        return outputStream.toByteArray();
+    }
+}
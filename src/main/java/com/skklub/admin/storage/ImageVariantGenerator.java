@@ -0,0 +1,251 @@
+package com.skklub.admin.storage;
+
+import com.skklub.admin.domain.ImagePreview;
+import com.skklub.admin.domain.enums.ImageVariant;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 업로드된 이미지를 ImageVariant 크기별로 다시 인코딩하고 목록 화면용 미리보기(ImagePreview)를 계산
+ * 픽셀만 새로 쓰므로 EXIF 등 원본 메타데이터는 사본에 남지 않는다, 대신 EXIF Orientation은 줄이기 전에 픽셀에 적용해 둔다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ImageVariantGenerator {
+
+    //EXIF Orientation 태그 번호
+    private static final int ORIENTATION_TAG = 0x0112;
+    //자리 표시 이미지의 긴 변 길이
+    private static final int PLACEHOLDER_SIZE = 16;
+    //ImagePreview.placeholder 컬럼 길이, 넘으면 자리 표시 이미지 없이 크기와 대표 색만 저장
+    private static final int MAX_PLACEHOLDER_LENGTH = 2048;
+
+    private final StorageExecutors storageExecutors;
+    //디코딩 전에 헤더의 크기만 보고 거르는 상한, 압축 폭탄으로 힙이 터지는 것을 막는다
+    @Value("${storage.image.max-pixels:50000000}")
+    private long maxPixels;
+
+    //이미지가 아니거나 디코딩할 수 없으면 empty, 사본 생성 실패로 원본 업로드까지 실패시키지 않는다
+    public CompletableFuture<Optional<ResizedImage>> generate(MultipartFile multipartFile, String savedName) {
+        if (!ImageVariant.supports(savedName)) return CompletableFuture.completedFuture(Optional.empty());
+        return CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return decode(multipartFile, ImageVariant.formatOf(savedName));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, storageExecutors.cpu())
+                .exceptionally(e -> {
+                    log.warn("이미지 사본 생성 실패 : {}", savedName, e);
+                    return Optional.empty();
+                });
+    }
+
+    private Optional<ResizedImage> decode(MultipartFile multipartFile, String format) throws IOException {
+        int orientation;
+        try (InputStream inputStream = multipartFile.getInputStream()) {
+            orientation = readOrientation(inputStream);
+        }
+        try (InputStream inputStream = multipartFile.getInputStream();
+             ImageInputStream imageInputStream = ImageIO.createImageInputStream(inputStream)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInputStream);
+            if (!readers.hasNext()) return Optional.empty();
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageInputStream, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    log.warn("이미지 크기가 너무 커서 사본을 만들지 않습니다 : {}x{}", width, height);
+                    return Optional.empty();
+                }
+                //긴 변이 가장 큰 사본의 두 배 이상인 이미지는 디코딩 단계에서 솎아내 메모리를 줄임
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, Math.max(width, height) / (ImageVariant.FULL.getMaxSize() * 2));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                BufferedImage image = orient(reader.read(0, param), orientation);
+                //5~8은 90도 회전이므로 미리보기에 저장하는 원본 크기도 가로세로를 바꿈
+                return orientation >= 5
+                        ? Optional.of(resizeAll(image, height, width, format))
+                        : Optional.of(resizeAll(image, width, height, format));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private ResizedImage resizeAll(BufferedImage image, int width, int height, String format) {
+        Map<ImageVariant, byte[]> variants = new EnumMap<>(ImageVariant.class);
+        //큰 사본부터 만들어 다음 사본의 입력으로 재사용
+        BufferedImage source = image;
+        for (ImageVariant variant : new ImageVariant[]{ImageVariant.FULL, ImageVariant.CARD, ImageVariant.THUMB}) {
+            source = resize(source, variant.getMaxSize(), format);
+            variants.put(variant, encode(source, format));
+        }
+        return new ResizedImage(variants, preview(source, width, height, format));
+    }
+
+    //가장 작은 사본을 다시 줄여 자리 표시 이미지와 대표 색을 만듦
+    private ImagePreview preview(BufferedImage thumb, int width, int height, String format) {
+        BufferedImage tiny = resize(thumb, PLACEHOLDER_SIZE, format);
+        String placeholder = "data:image/" + (format.equals("jpg") ? "jpeg" : format) + ";base64,"
+                + Base64.getEncoder().encodeToString(encode(tiny, format));
+        return new ImagePreview(width, height, dominantColor(tiny), placeholder.length() > MAX_PLACEHOLDER_LENGTH ? null : placeholder);
+    }
+
+    //채널당 4비트로 묶은 색 중 픽셀이 가장 많은 칸의 평균, 투명한 픽셀은 세지 않음
+    private static String dominantColor(BufferedImage image) {
+        int[] counts = new int[1 << 12];
+        long[][] sums = new long[1 << 12][3];
+        int best = -1;
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                int argb = image.getRGB(x, y);
+                if ((argb >>> 24) < 128) continue;
+                int r = (argb >> 16) & 0xff, g = (argb >> 8) & 0xff, b = argb & 0xff;
+                int bucket = (r >> 4) << 8 | (g >> 4) << 4 | (b >> 4);
+                counts[bucket]++;
+                sums[bucket][0] += r;
+                sums[bucket][1] += g;
+                sums[bucket][2] += b;
+                if (best < 0 || counts[bucket] > counts[best]) best = bucket;
+            }
+        }
+        if (best < 0) return null;
+        return String.format("#%02x%02x%02x", sums[best][0] / counts[best], sums[best][1] / counts[best], sums[best][2] / counts[best]);
+    }
+
+    //긴 변을 maxSize에 맞추되 원본보다 크게 늘리지 않으며, 여러 번 절반씩 줄여 한 번에 줄일 때 생기는 계단 현상을 줄임
+    private BufferedImage resize(BufferedImage image, int maxSize, String format) {
+        int type = format.equals("png") ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        int longSide = Math.max(image.getWidth(), image.getHeight());
+        int targetWidth = longSide <= maxSize
+                ? image.getWidth()
+                : Math.max(1, (int) ((long) image.getWidth() * maxSize / longSide));
+        BufferedImage current = image;
+        do {
+            int width = Math.max(targetWidth, current.getWidth() / 2);
+            int height = Math.max(1, (int) ((long) current.getHeight() * width / current.getWidth()));
+            current = draw(current, width, height, type);
+        } while (current.getWidth() > targetWidth);
+        return current;
+    }
+
+    //EXIF Orientation(1~8)대로 뒤집거나 돌린 이미지, 1이거나 알 수 없는 값이면 그대로 반환
+    static BufferedImage orient(BufferedImage image, int orientation) {
+        if (orientation < 2 || orientation > 8) return image;
+        int width = image.getWidth(), height = image.getHeight();
+        boolean swap = orientation >= 5;
+        int type = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage oriented = new BufferedImage(swap ? height : width, swap ? width : height, type);
+        int[] row = new int[width];
+        for (int y = 0; y < height; y++) {
+            image.getRGB(0, y, width, 1, row, 0, width);
+            for (int x = 0; x < width; x++) {
+                switch (orientation) {
+                    case 2 -> oriented.setRGB(width - 1 - x, y, row[x]);
+                    case 3 -> oriented.setRGB(width - 1 - x, height - 1 - y, row[x]);
+                    case 4 -> oriented.setRGB(x, height - 1 - y, row[x]);
+                    case 5 -> oriented.setRGB(y, x, row[x]);
+                    case 6 -> oriented.setRGB(height - 1 - y, x, row[x]);
+                    case 7 -> oriented.setRGB(height - 1 - y, width - 1 - x, row[x]);
+                    default -> oriented.setRGB(y, width - 1 - x, row[x]);
+                }
+            }
+        }
+        return oriented;
+    }
+
+    //JPEG APP1(Exif) 세그먼트의 첫 IFD에서 Orientation 값을 읽음, JPEG가 아니거나 태그가 없으면 1
+    static int readOrientation(InputStream inputStream) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(inputStream));
+        try {
+            if (data.readUnsignedShort() != 0xFFD8) return 1;
+            while (true) {
+                int marker = data.readUnsignedShort();
+                //마커가 아니거나 이미지 데이터(SOS)가 시작되면 더 볼 세그먼트가 없음
+                if ((marker & 0xFF00) != 0xFF00 || marker == 0xFFDA || marker == 0xFFD9) return 1;
+                int length = data.readUnsignedShort() - 2;
+                if (length < 0) return 1;
+                if (marker == 0xFFE1) {
+                    int orientation = orientationOf(data.readNBytes(length));
+                    if (orientation > 0) return orientation;
+                } else {
+                    data.skipNBytes(length);
+                }
+            }
+        } catch (EOFException e) {
+            return 1;
+        }
+    }
+
+    //Exif 헤더 뒤의 TIFF 구조에서 Orientation을 찾음, Exif가 아니거나 없으면 0
+    private static int orientationOf(byte[] segment) {
+        byte[] header = "Exif\0\0".getBytes(StandardCharsets.US_ASCII);
+        if (segment.length < header.length + 8 || !Arrays.equals(Arrays.copyOf(segment, header.length), header)) return 0;
+        ByteBuffer tiff = ByteBuffer.wrap(segment, header.length, segment.length - header.length).slice();
+        if (tiff.getShort(0) == 0x4949) tiff.order(ByteOrder.LITTLE_ENDIAN);
+        else if (tiff.getShort(0) != 0x4D4D) return 0;
+        long ifd = Integer.toUnsignedLong(tiff.getInt(4));
+        if (ifd + 2 > tiff.limit()) return 0;
+        int entries = Short.toUnsignedInt(tiff.getShort((int) ifd));
+        for (int i = 0; i < entries; i++) {
+            int entry = (int) ifd + 2 + i * 12;
+            if (entry + 12 > tiff.limit()) return 0;
+            if (Short.toUnsignedInt(tiff.getShort(entry)) == ORIENTATION_TAG) return Short.toUnsignedInt(tiff.getShort(entry + 8));
+        }
+        return 0;
+    }
+
+    private BufferedImage draw(BufferedImage image, int width, int height, int type) {
+        BufferedImage resized = new BufferedImage(width, height, type);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return resized;
+    }
+
+    private byte[] encode(BufferedImage image, String format) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, format, outputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,232 @@
+package com.skklub.admin.storage;
+
+import com.skklub.admin.service.exception.PresignedUploadUnsupportedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 단일 노드 배포, 벤치마크용 로컬 디스크 저장소
+ * 파일은 LocalFileController가 sendfile/transferTo로 직접 내려준다
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "local")
+public class LocalObjectStore implements ObjectStore {
+
+    private final Path root;
+    private final Path multipartRoot;
+    private final String baseUrl;
+
+    public LocalObjectStore(@Value("${storage.local.root:./storage}") Path root,
+                            @Value("${storage.local.base-url:}") String baseUrl) throws IOException {
+        this.root = Files.createDirectories(root).toAbsolutePath().normalize();
+        this.multipartRoot = this.root.resolve(".multipart");
+        this.baseUrl = baseUrl;
+    }
+
+    //같은 디렉토리의 임시 파일에 쓴 뒤 rename 해서 읽는 쪽이 쓰다 만 파일을 보지 않도록 함
+    //헤더는 보관하지 않고 LocalFileController가 내려줄 때 확장자로 다시 정함
+    @Override
+    public void put(String key, InputStream inputStream, long contentLength, ObjectHeaders headers) throws IOException {
+        Path target = pathOf(key);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), ".upload-", null);
+        try {
+            Files.copy(inputStream, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public void put(String key, Path file, ObjectHeaders headers) throws IOException {
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            put(key, inputStream, Files.size(file), headers);
+        }
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return Files.newInputStream(find(key).orElseThrow(() -> new NoSuchFileException(key)));
+    }
+
+    @Override
+    public String url(String key) {
+        return baseUrl + "/files/" + key;
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return find(key).isPresent();
+    }
+
+    @Override
+    public void copy(String sourceKey, String targetKey) throws IOException {
+        try (InputStream inputStream = open(sourceKey)) {
+            put(targetKey, inputStream, Files.size(pathOf(sourceKey)), null);
+        }
+    }
+
+    //서명된 URL을 검증할 주체가 없으므로 직접 업로드는 S3 저장소에서만 지원, 요청은 400으로 끝난다
+    @Override
+    public String presignPut(String key, Duration expiry) {
+        throw new PresignedUploadUnsupportedException("로컬 저장소는 presigned 업로드를 지원하지 않습니다");
+    }
+
+    //분할 업로드 중인 파트는 키 공간 밖의 .multipart/{uploadId}/{partNumber} 파일로 보관
+    @Override
+    public String initiateUpload(String key, ObjectHeaders headers) {
+        pathOf(key);
+        String uploadId = UUID.randomUUID().toString();
+        try {
+            Files.createDirectories(multipartRoot.resolve(uploadId));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return uploadId;
+    }
+
+    @Override
+    public String uploadPart(String key, String uploadId, int partNumber, InputStream inputStream, long size) throws IOException {
+        Path partDir = partDirOf(uploadId);
+        Path temp = Files.createTempFile(partDir, ".upload-", null);
+        try {
+            Files.copy(inputStream, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, partDir.resolve(String.valueOf(partNumber)), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return uploadId + "-" + partNumber;
+    }
+
+    //파트를 순서대로 이어 붙인 임시 파일을 rename 해서 완성된 객체만 보이도록 함
+    @Override
+    public void completeUpload(String key, String uploadId, SortedMap<Integer, String> partETags) throws IOException {
+        Path partDir = partDirOf(uploadId);
+        Path target = pathOf(key);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), ".upload-", null);
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            for (Integer partNumber : partETags.keySet()) {
+                try (FileChannel in = FileChannel.open(partDir.resolve(String.valueOf(partNumber)), StandardOpenOption.READ)) {
+                    long position = 0;
+                    long size = in.size();
+                    while (position < size) {
+                        position += in.transferTo(position, size - position, out);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        abortUpload(key, uploadId);
+    }
+
+    @Override
+    public void abortUpload(String key, String uploadId) {
+        try (Stream<Path> files = Files.walk(partDirOf(uploadId))) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("분할 업로드 파트 정리 실패 : {}", key, e);
+        }
+    }
+
+    @Override
+    public Set<String> deleteAll(Collection<String> keys) {
+        Set<String> failedKeys = new HashSet<>();
+        for (String key : keys) {
+            try {
+                Files.deleteIfExists(pathOf(key));
+            } catch (IOException e) {
+                log.warn("로컬 파일 삭제 실패 : {}", key, e);
+                failedKeys.add(key);
+            }
+        }
+        return failedKeys;
+    }
+
+    @Override
+    public void forEachPage(String prefix, Consumer<List<StoredObject>> consumer) {
+        //접두사의 디렉토리 부분까지만 내려가서 걷고 나머지는 키로 거름
+        String directory = prefix.substring(0, prefix.lastIndexOf('/') + 1);
+        Path start = directory.isEmpty() ? root : pathOf(directory);
+        if (!Files.isDirectory(start)) return;
+        try (Stream<Path> files = Files.walk(start)) {
+            List<StoredObject> page = new ArrayList<>(PAGE_SIZE);
+            files.filter(Files::isRegularFile)
+                    .filter(path -> !path.startsWith(multipartRoot))
+                    .filter(path -> !path.getFileName().toString().startsWith(".upload-"))
+                    .map(this::toStoredObject)
+                    .filter(object -> object.getKey().startsWith(prefix))
+                    .forEach(object -> {
+                        page.add(object);
+                        if (page.size() == PAGE_SIZE) {
+                            consumer.accept(List.copyOf(page));
+                            page.clear();
+                        }
+                    });
+            if (!page.isEmpty()) consumer.accept(page);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    //버킷 밖의 경로를 가리키는 키이거나 파일이 없으면 empty
+    public Optional<Path> find(String key) {
+        try {
+            Path path = pathOf(key);
+            return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private Path pathOf(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root) || path.equals(root)) throw new IllegalArgumentException("허용되지 않는 객체 키입니다 : " + key);
+        return path;
+    }
+
+    private Path partDirOf(String uploadId) throws IOException {
+        Path partDir = multipartRoot.resolve(uploadId).normalize();
+        if (!partDir.getParent().equals(multipartRoot)) throw new IllegalArgumentException("허용되지 않는 업로드 ID입니다 : " + uploadId);
+        if (!Files.isDirectory(partDir)) throw new NoSuchFileException(uploadId);
+        return partDir;
+    }
+
+    private StoredObject toStoredObject(Path path) {
+        try {
+            String key = root.relativize(path).toString().replace(path.getFileSystem().getSeparator(), "/");
+            return new StoredObject(key, Files.getLastModifiedTime(path).toInstant());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
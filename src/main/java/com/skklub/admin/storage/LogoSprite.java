@@ -0,0 +1,39 @@
+package com.skklub.admin.storage;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 동아리 목록 한 페이지의 로고를 한 장으로 합친 스프라이트 아틀라스
+ * id는 (동아리 id, 로고 키) 목록과 칸 크기의 해시라 구성이 같으면 언제 만들어도 같다
+ */
+@Getter
+@RequiredArgsConstructor
+public class LogoSprite {
+    private final String id;
+    //페이지 순서대로 동아리 id -> 로고 키
+    private final Map<Long, String> logoKeys;
+    //읽지 못한 로고는 칸이 없으며 클라이언트는 로고 URL을 그대로 쓴다
+    private final List<Tile> tiles;
+    private final byte[] image;
+
+    public Optional<Tile> tileOf(Long clubId) {
+        return tiles.stream()
+                .filter(tile -> tile.getClubId().equals(clubId))
+                .findFirst();
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Tile {
+        private final Long clubId;
+        private final int x;
+        private final int y;
+        private final int width;
+        private final int height;
+    }
+}
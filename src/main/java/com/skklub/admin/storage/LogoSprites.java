@@ -0,0 +1,243 @@
+package com.skklub.admin.storage;
+
+import com.skklub.admin.domain.Club;
+import com.skklub.admin.domain.Logo;
+import com.skklub.admin.service.event.ClubChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 동아리 목록 조회 조건(캠퍼스, 분류, 분과, 페이지)마다 로고 스프라이트 아틀라스를 만들어 메모리에 보관
+ * 조회한 페이지의 구성과 보관 중인 아틀라스의 id가 다르면 백그라운드에서 다시 만들고, 그동안은 아틀라스 없이 응답한다
+ * 로고는 칸 크기로 줄인 상태로 따로 보관하므로 로고 하나가 바뀐 페이지는 그 로고만 새로 읽어 다시 합친다
+ */
+@Slf4j
+@Component
+public class LogoSprites {
+
+    private final ObjectStore objectStore;
+    private final StorageExecutors storageExecutors;
+    private final MeterRegistry meterRegistry;
+    private final int tileSize;
+    private final int maxSprites;
+    private final int maxTiles;
+    //조회 조건 -> 아틀라스(접근 순서), id -> 아틀라스, 모든 접근은 this로 동기화
+    private final LinkedHashMap<String, LogoSprite> sprites = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<String, LogoSprite> spritesById = new HashMap<>();
+    //로고 키 -> 칸 크기로 줄인 로고(접근 순서), this로 동기화
+    private final LinkedHashMap<String, BufferedImage> tiles = new LinkedHashMap<>(256, 0.75f, true);
+    //같은 조회 조건의 아틀라스를 동시에 여러 번 만들지 않도록 진행 중인 작업을 기록
+    private final ConcurrentHashMap<String, CompletableFuture<LogoSprite>> building = new ConcurrentHashMap<>();
+
+    public LogoSprites(ObjectStore objectStore,
+                       StorageExecutors storageExecutors,
+                       MeterRegistry meterRegistry,
+                       @Value("${storage.sprite.tile-size:96}") int tileSize,
+                       @Value("${storage.sprite.max-sprites:256}") int maxSprites,
+                       @Value("${storage.sprite.max-tiles:512}") int maxTiles) {
+        this.objectStore = objectStore;
+        this.storageExecutors = storageExecutors;
+        this.meterRegistry = meterRegistry;
+        this.tileSize = tileSize;
+        this.maxSprites = maxSprites;
+        this.maxTiles = maxTiles;
+    }
+
+    //페이지 구성과 맞는 아틀라스가 있으면 반환, 없으면 만들기 시작하고 empty
+    public Optional<LogoSprite> find(String query, List<Club> clubs) {
+        if (clubs.isEmpty()) return Optional.empty();
+        Map<Long, String> logoKeys = new LinkedHashMap<>();
+        clubs.stream()
+                .filter(club -> club.getLogo() != null)
+                .forEach(club -> logoKeys.put(club.getId(), keyOf(club.getLogo())));
+        String id = idOf(logoKeys);
+        synchronized (this) {
+            LogoSprite sprite = sprites.get(query);
+            if (sprite != null && sprite.getId().equals(id)) {
+                meterRegistry.counter("storage.sprite.requests", "outcome", "hit").increment();
+                return Optional.of(sprite);
+            }
+        }
+        meterRegistry.counter("storage.sprite.requests", "outcome", "miss").increment();
+        rebuild(query, logoKeys);
+        return Optional.empty();
+    }
+
+    public synchronized Optional<LogoSprite> get(String id) {
+        return Optional.ofNullable(spritesById.get(id));
+    }
+
+    //로고가 바뀌면 그 동아리가 들어 있는 아틀라스를 새 로고로 다시 합치고, 그 밖의 변경은 아틀라스를 버린다
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClubChanged(ClubChangedEvent event) {
+        List<Map.Entry<String, LogoSprite>> affected = new ArrayList<>();
+        synchronized (this) {
+            sprites.forEach((query, sprite) -> {
+                if (sprite.getLogoKeys().containsKey(event.getClubId())) affected.add(Map.entry(query, sprite));
+            });
+            if (event.getLogo() == null) affected.forEach(entry -> remove(entry.getKey()));
+        }
+        if (event.getLogo() == null) return;
+        String logoKey = keyOf(event.getLogo());
+        affected.forEach(entry -> {
+            Map<Long, String> logoKeys = new LinkedHashMap<>(entry.getValue().getLogoKeys());
+            logoKeys.put(event.getClubId(), logoKey);
+            rebuild(entry.getKey(), logoKeys);
+        });
+    }
+
+    //이미 같은 조건을 만드는 중이면 그 작업의 future, 완료되었을 때는 만든 아틀라스가 이미 등록되어 있다
+    CompletableFuture<LogoSprite> rebuild(String query, Map<Long, String> logoKeys) {
+        CompletableFuture<LogoSprite> started = new CompletableFuture<>();
+        CompletableFuture<LogoSprite> inProgress = building.putIfAbsent(query, started);
+        if (inProgress != null) return inProgress;
+        CompletableFuture.supplyAsync(() -> build(logoKeys), storageExecutors.io())
+                .whenComplete((sprite, e) -> {
+                    if (e != null) log.warn("로고 스프라이트 생성 실패 : {}", query, e);
+                    else put(query, sprite);
+                    building.remove(query, started);
+                    if (e != null) started.completeExceptionally(e);
+                    else started.complete(sprite);
+                });
+        return started;
+    }
+
+    //조건에 맞는 아틀라스를 만드는 중이면 그 작업의 future, 아니면 null로 완료된 future
+    CompletableFuture<LogoSprite> pending(String query) {
+        return building.getOrDefault(query, CompletableFuture.completedFuture(null));
+    }
+
+    private LogoSprite build(Map<Long, String> logoKeys) {
+        int columns = (int) Math.ceil(Math.sqrt(logoKeys.size()));
+        int rows = (logoKeys.size() + columns - 1) / columns;
+        BufferedImage atlas = new BufferedImage(columns * tileSize, rows * tileSize, BufferedImage.TYPE_INT_RGB);
+        List<LogoSprite.Tile> placed = new ArrayList<>();
+        Graphics2D graphics = atlas.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, atlas.getWidth(), atlas.getHeight());
+            int index = 0;
+            for (Map.Entry<Long, String> entry : logoKeys.entrySet()) {
+                int x = index % columns * tileSize;
+                int y = index / columns * tileSize;
+                index++;
+                Optional<BufferedImage> tile = tileOf(entry.getValue());
+                if (tile.isEmpty()) continue;
+                graphics.drawImage(tile.get(), x, y, null);
+                placed.add(new LogoSprite.Tile(entry.getKey(), x, y, tileSize, tileSize));
+            }
+        } finally {
+            graphics.dispose();
+        }
+        meterRegistry.counter("storage.sprite.builds").increment();
+        return new LogoSprite(idOf(logoKeys), Collections.unmodifiableMap(new LinkedHashMap<>(logoKeys)), List.copyOf(placed), encode(atlas));
+    }
+
+    private Optional<BufferedImage> tileOf(String key) {
+        synchronized (this) {
+            BufferedImage cached = tiles.get(key);
+            if (cached != null) return Optional.of(cached);
+        }
+        BufferedImage logo;
+        try (InputStream inputStream = objectStore.open(key)) {
+            logo = ImageIO.read(inputStream);
+        } catch (IOException e) {
+            log.warn("스프라이트에 넣을 로고를 읽지 못했습니다 : {}", key, e);
+            return Optional.empty();
+        }
+        if (logo == null) return Optional.empty();
+        BufferedImage tile = fit(logo);
+        synchronized (this) {
+            tiles.put(key, tile);
+            while (tiles.size() > maxTiles) tiles.remove(tiles.keySet().iterator().next());
+        }
+        return Optional.of(tile);
+    }
+
+    //비율을 유지한 채 칸 가운데에 맞춤, 투명한 부분은 흰 배경
+    private BufferedImage fit(BufferedImage logo) {
+        double scale = Math.min((double) tileSize / logo.getWidth(), (double) tileSize / logo.getHeight());
+        int width = Math.max(1, (int) Math.round(logo.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(logo.getHeight() * scale));
+        BufferedImage tile = new BufferedImage(tileSize, tileSize, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = tile.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, tileSize, tileSize);
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(logo, (tileSize - width) / 2, (tileSize - height) / 2, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return tile;
+    }
+
+    private synchronized void put(String query, LogoSprite sprite) {
+        remove(query);
+        sprites.put(query, sprite);
+        spritesById.put(sprite.getId(), sprite);
+        while (sprites.size() > maxSprites) remove(sprites.keySet().iterator().next());
+    }
+
+    //같은 구성의 페이지가 다른 조회 조건에도 있을 수 있으므로 더 쓰는 곳이 없을 때만 id 색인에서 제거
+    private void remove(String query) {
+        LogoSprite removed = sprites.remove(query);
+        if (removed == null) return;
+        boolean shared = sprites.values().stream().anyMatch(sprite -> sprite.getId().equals(removed.getId()));
+        if (!shared) spritesById.remove(removed.getId());
+    }
+
+    //사본이 있으면 가장 작은 사본을 사용
+    private static String keyOf(Logo logo) {
+        return logo.getVariants() == null ? logo.getUploadedName() : logo.getVariants().getThumbName();
+    }
+
+    private String idOf(Map<Long, String> logoKeys) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update(Integer.toString(tileSize).getBytes(StandardCharsets.UTF_8));
+        logoKeys.forEach((clubId, logoKey) -> digest.update(("\n" + clubId + ":" + logoKey).getBytes(StandardCharsets.UTF_8)));
+        return HexFormat.of().formatHex(digest.digest(), 0, 16);
+    }
+
+    private static byte[] encode(BufferedImage atlas) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(atlas, "jpg", outputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return outputStream.toByteArray();
+    }
+}
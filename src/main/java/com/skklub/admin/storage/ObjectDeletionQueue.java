@@ -0,0 +1,85 @@
+package com.skklub.admin.storage;
+
+import com.skklub.admin.domain.PendingDeletion;
+import com.skklub.admin.domain.enums.PendingDeletionType;
+import com.skklub.admin.repository.PendingDeletionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 객체 삭제 요청을 DB에 적재해 두고 짧은 주기로 모아서 저장소에 한 번에 삭제 요청
+ * 실패한 키는 지수 백오프로 재시도하며, 적재된 키는 재시작 후에도 남아 있다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ObjectDeletionQueue {
+
+    //S3 DeleteObjectsRequest 한 번에 담을 수 있는 최대 키 개수
+    private static final int BATCH_SIZE = 1000;
+
+    private final ObjectStore objectStore;
+    private final ObjectDiskCache objectDiskCache;
+    private final PendingDeletionRepository pendingDeletionRepository;
+    private final MeterRegistry meterRegistry;
+    @Value("${storage.delete.initial-backoff:PT5S}")
+    private Duration initialBackoff;
+    @Value("${storage.delete.max-backoff:PT30M}")
+    private Duration maxBackoff;
+
+    @Transactional
+    public void enqueue(Collection<String> keys) {
+        if (keys.isEmpty()) return;
+        LocalDateTime now = LocalDateTime.now();
+        pendingDeletionRepository.saveAll(keys.stream()
+                .map(key -> new PendingDeletion(key, now))
+                .collect(Collectors.toList()));
+    }
+
+    @Scheduled(fixedDelayString = "${storage.delete.window:PT0.5S}")
+    public void flush() {
+        List<PendingDeletion> batch;
+        do {
+            batch = pendingDeletionRepository.findByTypeInAndNextAttemptAtLessThanEqualOrderByIdAsc(List.of(PendingDeletionType.OBJECT), LocalDateTime.now(), PageRequest.of(0, BATCH_SIZE));
+            if (batch.isEmpty()) return;
+            deleteBatch(batch);
+        } while (batch.size() == BATCH_SIZE);
+    }
+
+    private void deleteBatch(List<PendingDeletion> batch) {
+        Set<String> failedKeys = objectStore.deleteAll(batch.stream()
+                .map(PendingDeletion::getObjectKey)
+                .collect(Collectors.toList()));
+        Map<Boolean, List<PendingDeletion>> result = batch.stream()
+                .collect(Collectors.partitioningBy(p -> failedKeys.contains(p.getObjectKey())));
+        List<PendingDeletion> deleted = result.get(false);
+        List<PendingDeletion> failed = result.get(true);
+        pendingDeletionRepository.deleteAllInBatch(deleted);
+        //이 서버의 디스크 캐시가 지워진 객체를 계속 내려주지 않도록 함께 지움
+        objectDiskCache.evict(deleted.stream().map(PendingDeletion::getObjectKey).collect(Collectors.toList()));
+        failed.forEach(p -> p.retryAfter(backoff(p.getAttempts())));
+        pendingDeletionRepository.saveAll(failed);
+        meterRegistry.counter("storage.delete.objects", "outcome", "success").increment(deleted.size());
+        meterRegistry.counter("storage.delete.objects", "outcome", "retry").increment(failed.size());
+        if (!failed.isEmpty()) log.warn("객체 {}개 삭제 실패, 재시도 예정", failed.size());
+    }
+
+    private Duration backoff(int attempts) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts, 20));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+}
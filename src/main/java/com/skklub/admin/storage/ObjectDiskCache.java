@@ -0,0 +1,258 @@
+package com.skklub.admin.storage;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * 자주 요청되는 객체를 로컬 디스크에 보관하는 크기 제한 LRU 캐시
+ * 객체 키는 한 번 쓰이면 덮어쓰지 않으므로 용량을 넘으면 가장 오래 쓰이지 않은 객체부터 지우고, 저장소에서 지워진 객체는 evict()로 뺀다
+ * 내려주는 파일은 CachedFile을 닫을 때까지 키별 참조 수로 고정해, 커넥터가 sendfile로 다시 열기 전에 지워지지 않게 한다
+ */
+@Slf4j
+@Component
+public class ObjectDiskCache {
+
+    private final ObjectStore objectStore;
+    private final Path root;
+    private final long maxBytes;
+    private final MeterRegistry meterRegistry;
+    //접근 순서로 정렬되는 키 -> 파일 크기, 모든 접근은 this로 동기화
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(256, 0.75f, true);
+    //같은 객체를 동시에 여러 번 내려받지 않도록 진행 중인 적재를 공유
+    private final ConcurrentHashMap<String, CompletableFuture<Optional<Path>>> loading = new ConcurrentHashMap<>();
+    //내려주는 중인 키 -> 참조 수, 고정된 파일은 용량을 넘어도 지우지 않음
+    private final Map<String, Integer> pins = new HashMap<>();
+    //고정된 채로 evict()된 키, 마지막 참조가 풀릴 때 파일을 지움
+    private final Set<String> unlinkOnRelease = new HashSet<>();
+    private long totalBytes;
+
+    public ObjectDiskCache(ObjectStore objectStore,
+                           @Value("${storage.cache.root:${java.io.tmpdir}/skklub-object-cache}") Path root,
+                           @Value("${storage.cache.max-size:1GB}") DataSize maxSize,
+                           MeterRegistry meterRegistry) throws IOException {
+        this.objectStore = objectStore;
+        this.root = Files.createDirectories(root).toAbsolutePath().normalize();
+        this.maxBytes = maxSize.toBytes();
+        this.meterRegistry = meterRegistry;
+        restore();
+        meterRegistry.gauge("storage.cache.size", this, cache -> cache.totalBytes);
+    }
+
+    //로컬 저장소는 파일이 이미 디스크에 있으므로 그대로 사용, 반환한 파일은 호출한 쪽이 다 내려준 뒤 닫는다
+    public Optional<CachedFile> get(String key) throws IOException {
+        if (objectStore instanceof LocalObjectStore localObjectStore) return openLocal(localObjectStore, key);
+        Optional<Path> resolved = find(key);
+        if (resolved.isEmpty()) return Optional.empty();
+        Path path = resolved.get();
+        Optional<CachedFile> hit = pinCached(key, path);
+        if (hit.isPresent()) {
+            meterRegistry.counter("storage.cache.requests", "outcome", "hit").increment();
+            return hit;
+        }
+        CompletableFuture<Optional<Path>> load = new CompletableFuture<>();
+        CompletableFuture<Optional<Path>> inProgress = loading.putIfAbsent(key, load);
+        //다른 요청이 적재한 파일은 고정하기 전에 지워졌을 수 있으므로 처음부터 다시 찾음
+        if (inProgress != null) return join(inProgress).isEmpty() ? Optional.empty() : get(key);
+        try {
+            meterRegistry.counter("storage.cache.requests", "outcome", "miss").increment();
+            Optional<CachedFile> loaded = load(key, path);
+            load.complete(loaded.map(CachedFile::getPath));
+            return loaded;
+        } catch (IOException | RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, load);
+        }
+    }
+
+    //저장소에 요청하지 않고 이미 디스크에 있는 객체만 찾음, 저장소 회로가 열려 있을 때 사용
+    public Optional<CachedFile> cached(String key) throws IOException {
+        if (objectStore instanceof LocalObjectStore localObjectStore) return openLocal(localObjectStore, key);
+        Optional<Path> resolved = find(key);
+        if (resolved.isEmpty()) return Optional.empty();
+        return pinCached(key, resolved.get());
+    }
+
+    //저장소에서 지워진 객체를 캐시에서도 뺌, 내려주는 중인 파일은 마지막 응답이 끝난 뒤 지운다
+    public synchronized void evict(Collection<String> keys) {
+        if (objectStore instanceof LocalObjectStore) return;
+        for (String key : keys) {
+            Long size = entries.remove(key);
+            if (size == null) continue;
+            totalBytes -= size;
+            if (pins.containsKey(key)) unlinkOnRelease.add(key);
+            else deleteQuietly(key);
+        }
+    }
+
+    //기본 이미지를 미리 받아 두어 저장소 장애가 시작되기 전에 요청이 없었더라도 대신 내려줄 수 있게 함
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmDefaults() {
+        StorageOutbox.DEFAULT_KEYS.forEach(key -> {
+            try {
+                Optional<CachedFile> file = get(key);
+                if (file.isEmpty()) log.warn("저장소에 기본 이미지가 없습니다 : {}", key);
+                else file.get().close();
+            } catch (IOException | RuntimeException e) {
+                log.warn("기본 이미지 캐시 실패 : {}", key, e);
+            }
+        });
+    }
+
+    private Optional<CachedFile> load(String key, Path path) throws IOException {
+        Path temp = Files.createTempFile(root, ".download-", null);
+        try (InputStream inputStream = objectStore.open(key)) {
+            Files.copy(inputStream, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.createDirectories(path.getParent());
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        //넣자마자 다른 요청의 admit()이 지우지 않도록 같은 잠금 안에서 고정
+        synchronized (this) {
+            //새로 받은 파일이 자리를 차지했으므로 예전 파일의 지연 삭제는 취소
+            unlinkOnRelease.remove(key);
+            long size = Files.size(path);
+            admit(key, size);
+            return Optional.of(pin(key, path, size));
+        }
+    }
+
+    //항목이 있을 때만 잠금 안에서 고정해, 내려주는 동안 admit()이나 evict()가 지우지 않게 함
+    private synchronized Optional<CachedFile> pinCached(String key, Path path) {
+        Long size = entries.get(key);
+        if (size == null) return Optional.empty();
+        if (!Files.isRegularFile(path)) {
+            //디스크에서 직접 지워진 파일은 항목도 지워 다음 요청이 다시 적재하게 함
+            totalBytes -= entries.remove(key);
+            return Optional.empty();
+        }
+        return Optional.of(pin(key, path, size));
+    }
+
+    private CachedFile pin(String key, Path path, long size) {
+        pins.merge(key, 1, Integer::sum);
+        return new CachedFile(path, size, () -> release(key));
+    }
+
+    private synchronized void release(String key) {
+        Integer remaining = pins.computeIfPresent(key, (pinned, count) -> count == 1 ? null : count - 1);
+        if (remaining == null && unlinkOnRelease.remove(key)) deleteQuietly(key);
+    }
+
+    private static Optional<CachedFile> openLocal(LocalObjectStore localObjectStore, String key) throws IOException {
+        Optional<Path> found = localObjectStore.find(key);
+        if (found.isEmpty()) return Optional.empty();
+        try {
+            return Optional.of(CachedFile.unpinned(found.get(), Files.size(found.get())));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    //방금 넣은 객체와 내려주는 중인 객체는 지우지 않으므로 잠시 용량을 넘을 수 있다
+    private synchronized void admit(String key, long size) {
+        Long previous = entries.put(key, size);
+        totalBytes += size - (previous == null ? 0 : previous);
+        Iterator<Map.Entry<String, Long>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            //저장소 장애 때 대신 내려줄 기본 이미지와 내려주는 중인 파일은 지우지 않음
+            if (entry.getKey().equals(key) || StorageOutbox.DEFAULT_KEYS.contains(entry.getKey()) || pins.containsKey(entry.getKey())) continue;
+            deleteQuietly(entry.getKey());
+            totalBytes -= entry.getValue();
+            eldest.remove();
+            meterRegistry.counter("storage.cache.evictions").increment();
+        }
+    }
+
+    private void deleteQuietly(String key) {
+        try {
+            Files.deleteIfExists(pathOf(key));
+        } catch (IOException e) {
+            log.warn("캐시 파일 삭제 실패 : {}", key, e);
+        }
+    }
+
+    //재시작 후에도 디스크에 남은 객체를 마지막 수정 시각 순으로 다시 등록
+    private void restore() throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            files.filter(Files::isRegularFile)
+                    .filter(path -> !path.getFileName().toString().startsWith(".download-"))
+                    .sorted(Comparator.comparing(ObjectDiskCache::lastModified))
+                    .forEach(path -> admit(root.relativize(path).toString().replace(path.getFileSystem().getSeparator(), "/"), size(path)));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Optional<Path> join(CompletableFuture<Optional<Path>> inProgress) throws IOException {
+        try {
+            return inProgress.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException ioException) throw ioException;
+            throw e;
+        }
+    }
+
+    //캐시 디렉토리 밖을 가리키는 키는 없는 객체로 취급
+    private Optional<Path> find(String key) {
+        try {
+            return Optional.of(pathOf(key));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private Path pathOf(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root) || path.equals(root)) throw new IllegalArgumentException("허용되지 않는 객체 키입니다 : " + key);
+        return path;
+    }
+
+    private static long size(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static FileTime lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
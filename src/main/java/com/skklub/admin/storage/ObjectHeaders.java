@@ -0,0 +1,26 @@
+package com.skklub.admin.storage;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 저장소 객체에 함께 기록해 내려줄 때 그대로 응답 헤더가 되는 값
+ */
+@Getter
+@EqualsAndHashCode
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class ObjectHeaders {
+    //키는 업로드마다 새로 만들고 덮어쓰지 않으므로 내용이 바뀌지 않는다, 1년 동안 재검증 없이 캐시
+    public static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
+    private final String contentType;
+    private final String contentDisposition;
+    private final String cacheControl;
+
+    //같은 내용의 파일은 한 객체를 공유하므로 처음 올린 사람의 파일 이름은 넣지 않음
+    public static ObjectHeaders immutable(String contentType) {
+        return new ObjectHeaders(contentType, ContentTypes.isInline(contentType) ? "inline" : "attachment", IMMUTABLE);
+    }
+}
@@ -0,0 +1,154 @@
+package com.skklub.admin.storage;
+
+import com.skklub.admin.domain.DocumentPreview;
+import com.skklub.admin.domain.enums.ImageVariant;
+import com.skklub.admin.repository.ActivityImageRepository;
+import com.skklub.admin.repository.ExtraFileRepository;
+import com.skklub.admin.repository.LogoRepository;
+import com.skklub.admin.repository.StoredContentRepository;
+import com.skklub.admin.repository.ThumbnailRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 접두사 없는 이전 규칙(UUID)의 키를 마지막 수정 월의 yyyy/MM/ 접두사 아래로 옮긴다
+ * 새 키는 옛 키 앞에 접두사만 붙인 것이라 이미지 사본, 문서 미리보기 키도 같은 규칙으로 따라온다
+ * 객체를 먼저 복사한 뒤 파일 행의 키를 바꾸고, 가리키는 행이 없는 옛 키는 다음 실행에서 삭제 큐에 넣는다
+ * 옛 키가 모두 사라지면 storage.migration.enabled를 끄고 storage.gc.lookback으로 고아 객체 수집 범위를 줄인다
+ */
+@Slf4j
+@Component
+public class ObjectKeyMigration {
+
+    //사본, 미리보기 키는 원본을 옮길 때 함께 옮기므로 목록에서는 건너뜀
+    private static final Pattern DERIVED = Pattern.compile(".*_(" + Stream.concat(
+            Arrays.stream(ImageVariant.values()).map(ImageVariant::getSuffix),
+            Stream.of("preview")
+    ).collect(Collectors.joining("|")) + ")\\.[^.]+$");
+
+    private final ObjectStore objectStore;
+    private final LogoRepository logoRepository;
+    private final ActivityImageRepository activityImageRepository;
+    private final ThumbnailRepository thumbnailRepository;
+    private final ExtraFileRepository extraFileRepository;
+    private final StoredContentRepository storedContentRepository;
+    private final ContentIndex contentIndex;
+    private final ObjectDeletionQueue objectDeletionQueue;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration grace;
+
+    public ObjectKeyMigration(ObjectStore objectStore,
+                              LogoRepository logoRepository,
+                              ActivityImageRepository activityImageRepository,
+                              ThumbnailRepository thumbnailRepository,
+                              ExtraFileRepository extraFileRepository,
+                              StoredContentRepository storedContentRepository,
+                              ContentIndex contentIndex,
+                              ObjectDeletionQueue objectDeletionQueue,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${storage.migration.enabled:false}") boolean enabled,
+                              @Value("${storage.migration.grace:P1D}") Duration grace) {
+        this.objectStore = objectStore;
+        this.logoRepository = logoRepository;
+        this.activityImageRepository = activityImageRepository;
+        this.thumbnailRepository = thumbnailRepository;
+        this.extraFileRepository = extraFileRepository;
+        this.storedContentRepository = storedContentRepository;
+        this.contentIndex = contentIndex;
+        this.objectDeletionQueue = objectDeletionQueue;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.grace = grace;
+    }
+
+    //옛 키는 접두사 없이 버킷 최상위에 있지만 S3는 구분자 없이 나열하므로 이전이 끝날 때까지는 전체를 훑는다
+    @Scheduled(cron = "${storage.migration.cron:0 30 4 * * *}")
+    public void migrate() {
+        if (!enabled) return;
+        Instant threshold = Instant.now().minus(grace);
+        objectStore.forEachPage(page -> page.stream()
+                .filter(object -> ObjectKeys.isLegacy(object.getKey()))
+                .filter(object -> !StorageOutbox.DEFAULT_KEYS.contains(object.getKey()))
+                .filter(object -> !DERIVED.matcher(object.getKey()).matches())
+                .forEach(object -> migrate(object, threshold)));
+    }
+
+    void migrate(StoredObject object, Instant threshold) {
+        String key = object.getKey();
+        if (!Boolean.TRUE.equals(transactionTemplate.execute(status -> isReferenced(key)))) {
+            drop(object, threshold);
+            return;
+        }
+        String prefix = ObjectKeys.prefixOf(object.getLastModified());
+        try {
+            copy(key, prefix);
+        } catch (IOException | RuntimeException e) {
+            log.warn("객체 키 이전 실패 : {}", key, e);
+            meterRegistry.counter("storage.migration.objects", "outcome", "failure").increment();
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> relocate(key, prefix + key));
+        meterRegistry.counter("storage.migration.objects", "outcome", "moved").increment();
+    }
+
+    //사본과 미리보기는 없을 수도 있으므로 원본만 반드시 있어야 한다
+    private void copy(String key, String prefix) throws IOException {
+        objectStore.copy(key, prefix + key);
+        for (String derived : derivedKeysOf(key)) {
+            try {
+                objectStore.copy(derived, prefix + derived);
+            } catch (NoSuchFileException e) {
+                log.debug("옮길 파생 객체가 없습니다 : {}", derived);
+            }
+        }
+    }
+
+    private boolean isReferenced(String key) {
+        return !logoRepository.findByUploadedName(key).isEmpty()
+                || !activityImageRepository.findByUploadedName(key).isEmpty()
+                || !thumbnailRepository.findByUploadedName(key).isEmpty()
+                || !extraFileRepository.findBySavedName(key).isEmpty();
+    }
+
+    private void relocate(String key, String target) {
+        logoRepository.findByUploadedName(key).forEach(logo -> logo.relocate(target));
+        activityImageRepository.findByUploadedName(key).forEach(image -> image.relocate(target));
+        thumbnailRepository.findByUploadedName(key).forEach(thumbnail -> thumbnail.relocate(target));
+        extraFileRepository.findBySavedName(key).forEach(extraFile -> extraFile.relocate(target));
+        storedContentRepository.findByObjectKey(key).ifPresent(content -> content.relocate(target));
+    }
+
+    //이미 옮겼거나 처음부터 가리키는 행이 없던 키, 업로드 직후 아직 커밋되지 않은 행을 위해 grace 이전 객체만 지운다
+    private void drop(StoredObject object, Instant threshold) {
+        if (!object.getLastModified().isBefore(threshold)) return;
+        List<String> keys = Stream.concat(Stream.of(object.getKey()), derivedKeysOf(object.getKey()).stream())
+                .collect(Collectors.toList());
+        contentIndex.forget(keys);
+        objectDeletionQueue.enqueue(keys);
+        meterRegistry.counter("storage.migration.objects", "outcome", "dropped").increment();
+    }
+
+    private static List<String> derivedKeysOf(String key) {
+        return Stream.concat(ImageVariant.keysOf(key).stream(), DocumentPreview.keysOf(key).stream())
+                .collect(Collectors.toList());
+    }
+}
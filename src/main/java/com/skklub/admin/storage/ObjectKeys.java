@@ -0,0 +1,113 @@
+package com.skklub.admin.storage;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 저장소 객체 키 규칙, yyyy/MM/{id}{확장자}
+ * id는 앞 10자가 생성 시각(밀리초), 뒤 16자가 난수인 26자 Crockford base32라 사전순이 곧 생성 순서이고
+ * 월 접두사로 나뉘어 있어 배치 작업이 필요한 기간의 접두사만 나열할 수 있다
+ * 접두사가 없는 키는 이전 규칙(UUID)으로 저장된 객체로, ObjectKeyMigration이 옮긴다
+ */
+public final class ObjectKeys {
+
+    static final int ID_LENGTH = 26;
+    private static final int TIME_LENGTH = 10;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final DateTimeFormatter PREFIX = DateTimeFormatter.ofPattern("yyyy/MM/").withZone(ZoneOffset.UTC);
+    //스레드마다 따로 두어 업로드가 몰려도 SecureRandom 하나의 잠금을 두고 경쟁하지 않음
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(ObjectKeys::newRandom);
+
+    private ObjectKeys() {
+    }
+
+    //ext는 "."을 포함한 확장자
+    public static String newKey(String ext) {
+        return newKey(Instant.now(), ext);
+    }
+
+    static String newKey(Instant now, String ext) {
+        return prefixOf(now) + newId(now.toEpochMilli()) + ext;
+    }
+
+    public static String prefixOf(Instant instant) {
+        return PREFIX.format(instant);
+    }
+
+    //from ~ to 가 걸친 달의 접두사, 오래된 달부터
+    public static List<String> prefixesBetween(Instant from, Instant to) {
+        List<String> prefixes = new ArrayList<>();
+        YearMonth last = YearMonth.from(to.atZone(ZoneOffset.UTC));
+        for (YearMonth month = YearMonth.from(from.atZone(ZoneOffset.UTC)); !month.isAfter(last); month = month.plusMonths(1)) {
+            prefixes.add(PREFIX.format(month.atDay(1).atStartOfDay(ZoneOffset.UTC)));
+        }
+        return prefixes;
+    }
+
+    public static boolean isLegacy(String key) {
+        return key.indexOf('/') < 0;
+    }
+
+    //경로 변수처럼 '/'를 담을 수 없는 곳에서 쓰는 키의 마지막 부분
+    public static String nameOf(String key) {
+        return key.substring(key.lastIndexOf('/') + 1);
+    }
+
+    //nameOf의 역, id 앞부분의 시각으로 접두사를 다시 만든다, 이 규칙의 이름이 아니면 그대로 반환
+    public static String keyOf(String name) {
+        if (name.length() < ID_LENGTH || (name.length() > ID_LENGTH && name.charAt(ID_LENGTH) != '.')) return name;
+        long millis = 0;
+        for (int i = 0; i < ID_LENGTH; i++) {
+            int value = valueOf(name.charAt(i));
+            if (value < 0) return name;
+            if (i < TIME_LENGTH) millis = millis << 5 | value;
+        }
+        return prefixOf(Instant.ofEpochMilli(millis)) + name;
+    }
+
+    static String newId(long millis) {
+        byte[] random = new byte[10];
+        RANDOM.get().nextBytes(random);
+        char[] id = new char[ID_LENGTH];
+        encode(millis, id, 0, TIME_LENGTH);
+        encode(toLong(random, 0), id, TIME_LENGTH, 8);
+        encode(toLong(random, 5), id, TIME_LENGTH + 8, 8);
+        return new String(id);
+    }
+
+    //value의 하위 length * 5 비트를 id[from, from + length)에 큰 자리부터 기록
+    private static void encode(long value, char[] id, int from, int length) {
+        for (int i = from + length - 1; i >= from; i--) {
+            id[i] = ALPHABET[(int) (value & 31)];
+            value >>>= 5;
+        }
+    }
+
+    //5바이트(40비트)
+    private static long toLong(byte[] bytes, int from) {
+        long value = 0;
+        for (int i = from; i < from + 5; i++) value = value << 8 | (bytes[i] & 0xFF);
+        return value;
+    }
+
+    private static int valueOf(char c) {
+        for (int i = 0; i < ALPHABET.length; i++) {
+            if (ALPHABET[i] == c) return i;
+        }
+        return -1;
+    }
+
+    private static SecureRandom newRandom() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.skklub.admin.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.function.Consumer;
+
+/**
+ * 업로드 파일을 저장하는 저장소 추상화
+ * storage.type 값에 따라 S3(s3, 기본값) 또는 로컬 디스크(local) 구현이 등록된다
+ */
+public interface ObjectStore {
+
+    int PAGE_SIZE = 1000;
+
+    //headers는 객체와 함께 기록되어 내려줄 때 응답 헤더가 된다, 헤더를 보관할 수 없는 구현은 무시
+    void put(String key, InputStream inputStream, long contentLength, ObjectHeaders headers) throws IOException;
+
+    //크기가 큰 파일은 임시 파일 경로로 받아 구현별로 가장 효율적인 방식으로 저장
+    void put(String key, Path file, ObjectHeaders headers) throws IOException, InterruptedException;
+
+    //본문 스트림은 호출한 쪽이 닫는다
+    InputStream open(String key) throws IOException;
+
+    //저장소 요청 없이 키만으로 만드는 공개 URL
+    String url(String key);
+
+    boolean exists(String key);
+
+    //같은 저장소 안에서 복사, 메타데이터도 함께 옮겨지며 원본이 없으면 NoSuchFileException
+    void copy(String sourceKey, String targetKey) throws IOException;
+
+    //클라이언트가 서버를 거치지 않고 직접 올릴 수 있는 PUT URL, 만료 시간이 지나면 사용할 수 없다
+    String presignPut(String key, Duration expiry);
+
+    //재개 가능한 분할 업로드, 파트는 순서와 무관하게 올릴 수 있고 같은 번호로 다시 올리면 덮어쓴다
+    String initiateUpload(String key, ObjectHeaders headers);
+
+    //파트의 ETag 반환, 완료 요청에 그대로 넘긴다
+    String uploadPart(String key, String uploadId, int partNumber, InputStream inputStream, long size) throws IOException;
+
+    void completeUpload(String key, String uploadId, SortedMap<Integer, String> partETags) throws IOException;
+
+    void abortUpload(String key, String uploadId);
+
+    //삭제에 실패한 키만 반환
+    Set<String> deleteAll(Collection<String> keys);
+
+    //전체 목록을 한 번에 들고 있지 않도록 PAGE_SIZE 개씩 넘겨준다
+    default void forEachPage(Consumer<List<StoredObject>> consumer) {
+        forEachPage("", consumer);
+    }
+
+    //prefix로 시작하는 키만 나열, ObjectKeys.prefixOf로 만든 월 접두사를 넘기면 그 달의 객체만 본다
+    void forEachPage(String prefix, Consumer<List<StoredObject>> consumer);
+}
@@ -0,0 +1,116 @@
+package com.skklub.admin.storage;
+
+import com.skklub.admin.service.dto.FileNames;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 여러 객체를 임시 파일 없이 하나의 ZIP 스트림으로 이어 씀
+ * 현재 객체를 쓰는 동안 다음 객체를 미리 열어 앞부분(storage.zip.prefetch)만 읽어 두므로 메모리는 객체 크기와 무관하다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ObjectZipWriter {
+
+    private final ObjectStore objectStore;
+    private final StorageExecutors storageExecutors;
+    @Value("${storage.zip.prefetch:1MB}")
+    private DataSize prefetchSize;
+
+    //첨부 파일 대부분이 이미 압축된 형식(PDF, 이미지)이므로 압축률보다 속도를 우선
+    public void write(List<FileNames> files, OutputStream outputStream) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(outputStream);
+        zip.setLevel(Deflater.BEST_SPEED);
+        Set<String> entryNames = new HashSet<>();
+        CompletableFuture<InputStream> next = files.isEmpty() ? null : prefetch(files.get(0).getSavedName());
+        try {
+            for (int i = 0; i < files.size(); i++) {
+                CompletableFuture<InputStream> current = next;
+                next = i + 1 < files.size() ? prefetch(files.get(i + 1).getSavedName()) : null;
+                try (InputStream inputStream = join(current)) {
+                    zip.putNextEntry(new ZipEntry(entryNameOf(files.get(i).getOriginalName(), entryNames)));
+                    inputStream.transferTo(zip);
+                    zip.closeEntry();
+                }
+            }
+            zip.finish();
+        } finally {
+            //중간에 실패하면 미리 열어 둔 다음 객체 연결을 닫는다
+            if (next != null) next.thenAccept(this::closeQuietly);
+        }
+    }
+
+    private CompletableFuture<InputStream> prefetch(String key) {
+        return CompletableFuture.supplyAsync(() -> {
+            InputStream inputStream = null;
+            try {
+                inputStream = objectStore.open(key);
+                byte[] head = inputStream.readNBytes((int) prefetchSize.toBytes());
+                return new SequenceInputStream(new ByteArrayInputStream(head), inputStream);
+            } catch (IOException e) {
+                closeQuietly(inputStream);
+                throw new UncheckedIOException("객체를 읽지 못했습니다 : " + key, e);
+            }
+        }, storageExecutors.io());
+    }
+
+    private InputStream join(CompletableFuture<InputStream> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException uncheckedIOException) throw uncheckedIOException.getCause();
+            throw new IOException(e.getCause());
+        }
+    }
+
+    //같은 이름의 첨부 파일이 있으면 ZIP 항목이 겹치지 않도록 "이름 (n).확장자"로 바꿈
+    private static String entryNameOf(String originalName, Set<String> entryNames) {
+        String safeName = safeNameOf(originalName);
+        String name = safeName;
+        int dot = safeName.lastIndexOf('.');
+        String base = dot > 0 ? safeName.substring(0, dot) : safeName;
+        String ext = dot > 0 ? safeName.substring(dot) : "";
+        for (int n = 1; !entryNames.add(name); n++) {
+            name = base + " (" + n + ")" + ext;
+        }
+        return name;
+    }
+
+    //경로 구분자와 . .. 경로 조각을 지워 압축을 풀 때 대상 폴더 밖에 쓰이지 않게 함(zip slip)
+    static String safeNameOf(String originalName) {
+        String name = Arrays.stream(originalName.split("[/\\\\:]"))
+                .filter(segment -> !segment.isBlank() && !segment.equals(".") && !segment.equals(".."))
+                .collect(Collectors.joining("_"));
+        return name.isEmpty() ? "file" : name;
+    }
+
+    private void closeQuietly(InputStream inputStream) {
+        if (inputStream == null) return;
+        try {
+            inputStream.close();
+        } catch (IOException e) {
+            log.debug("객체 스트림 닫기 실패", e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.skklub.admin.storage;
+
+import com.skklub.admin.collections.BloomFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * 어떤 파일 테이블도 가리키지 않는 버킷 객체를 주기적으로 찾아 삭제 큐에 넣는다
+ * DB 키는 Bloom filter에만 담고 버킷 목록은 페이지 단위로 흘려보내므로 키 개수와 무관하게 메모리 사용량이 일정하다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrphanObjectCollector {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final ObjectStore objectStore;
+    private final StoredKeyScanner storedKeyScanner;
+    private final ContentIndex contentIndex;
+    private final ObjectDeletionQueue objectDeletionQueue;
+    private final MeterRegistry meterRegistry;
+    @Value("${storage.gc.enabled:true}")
+    private boolean enabled;
+    @Value("${storage.gc.grace:P1D}")
+    private Duration grace;
+    //0이면 버킷 전체를 나열
+    @Value("${storage.gc.lookback:P0D}")
+    private Duration lookback;
+
+    @Scheduled(cron = "${storage.gc.cron:0 0 4 * * *}")
+    public void collect() {
+        if (!enabled) return;
+        //스캔 도중 새로 저장된 행이 늘어나도 오탐률이 크게 흔들리지 않도록 여유를 둔다
+        BloomFilter storedKeys = new BloomFilter((long) (storedKeyScanner.count() * 1.2), FALSE_POSITIVE_RATE);
+        storedKeyScanner.scan(keys -> keys.forEach(storedKeys::put));
+
+        //업로드 직후 아직 커밋되지 않은 행의 객체를 지우지 않도록 grace 이전 객체만 대상
+        Instant threshold = Instant.now().minus(grace);
+        long[] orphanCount = {0};
+        Consumer<List<StoredObject>> collector = page -> orphanCount[0] += collectPage(page, threshold, storedKeys);
+        //lookback을 정하면 그 기간의 월 접두사만 나열, 접두사 없는 이전 규칙의 키는 ObjectKeyMigration이 정리
+        if (lookback == null || lookback.isZero()) objectStore.forEachPage(collector);
+        else ObjectKeys.prefixesBetween(threshold.minus(lookback), threshold).forEach(prefix -> objectStore.forEachPage(prefix, collector));
+        meterRegistry.counter("storage.gc.orphans").increment(orphanCount[0]);
+        if (orphanCount[0] > 0) log.info("고아 객체 {}건 삭제 요청", orphanCount[0]);
+    }
+
+    private int collectPage(List<StoredObject> page, Instant threshold, BloomFilter storedKeys) {
+        List<String> orphans = page.stream()
+                .filter(object -> object.getLastModified().isBefore(threshold))
+                .map(StoredObject::getKey)
+                .filter(key -> !StorageOutbox.DEFAULT_KEYS.contains(key))
+                .filter(key -> !storedKeys.mightContain(key))
+                .collect(Collectors.toList());
+        //지운 객체를 업로드 중복 제거가 다시 가리키지 않도록 색인에서도 제거
+        contentIndex.forget(orphans);
+        objectDeletionQueue.enqueue(orphans);
+        return orphans.size();
+    }
+}
@@ -0,0 +1,199 @@
+package com.skklub.admin.storage;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonServiceException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.function.Consumer;
+
+/**
+ * S3 저장소 호출을 StorageCircuitBreaker와 RetryBudget으로 감싸는 ObjectStore
+ * 회로가 열려 있으면 저장소에 요청하지 않고 StorageUnavailableException으로 바로 실패하며,
+ * 저장소 요청이 없는 url, presignPut은 회로와 관계없이 그대로 넘긴다
+ * 걸린 시간이 크기나 클라이언트 전송 속도에 달린 업로드와 일괄 삭제는 느린 호출로 치지 않고 성공과 실패만 기록한다
+ */
+@Slf4j
+@Primary
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3", matchIfMissing = true)
+public class ResilientObjectStore implements ObjectStore {
+
+    private final S3ObjectStore delegate;
+    private final StorageCircuitBreaker circuitBreaker;
+    private final RetryBudget retryBudget;
+
+    public ResilientObjectStore(S3ObjectStore delegate, StorageCircuitBreaker circuitBreaker, RetryBudget retryBudget) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+        this.retryBudget = retryBudget;
+    }
+
+    @FunctionalInterface
+    private interface Call<T> {
+        T run() throws IOException, InterruptedException;
+    }
+
+    @Override
+    public void put(String key, InputStream inputStream, long contentLength, ObjectHeaders headers) throws IOException {
+        call("put", false, () -> {
+            delegate.put(key, inputStream, contentLength, headers);
+            return null;
+        });
+    }
+
+    @Override
+    public void put(String key, Path file, ObjectHeaders headers) throws IOException, InterruptedException {
+        callInterruptibly("put", false, () -> {
+            delegate.put(key, file, headers);
+            return null;
+        });
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return call("open", true, () -> delegate.open(key));
+    }
+
+    @Override
+    public String url(String key) {
+        return delegate.url(key);
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return unchecked("exists", () -> delegate.exists(key));
+    }
+
+    @Override
+    public void copy(String sourceKey, String targetKey) throws IOException {
+        call("copy", true, () -> {
+            delegate.copy(sourceKey, targetKey);
+            return null;
+        });
+    }
+
+    @Override
+    public String presignPut(String key, Duration expiry) {
+        return delegate.presignPut(key, expiry);
+    }
+
+    @Override
+    public String initiateUpload(String key, ObjectHeaders headers) {
+        return unchecked("initiateUpload", () -> delegate.initiateUpload(key, headers));
+    }
+
+    @Override
+    public String uploadPart(String key, String uploadId, int partNumber, InputStream inputStream, long size) throws IOException {
+        return call("uploadPart", false, () -> delegate.uploadPart(key, uploadId, partNumber, inputStream, size));
+    }
+
+    @Override
+    public void completeUpload(String key, String uploadId, SortedMap<Integer, String> partETags) throws IOException {
+        call("completeUpload", true, () -> {
+            delegate.completeUpload(key, uploadId, partETags);
+            return null;
+        });
+    }
+
+    //중단은 정리 작업이므로 회로가 열려 있으면 건너뛰고, 남은 업로드는 버킷 수명 주기 규칙이 지운다
+    @Override
+    public void abortUpload(String key, String uploadId) {
+        try {
+            unchecked("abortUpload", () -> {
+                delegate.abortUpload(key, uploadId);
+                return null;
+            });
+        } catch (UncheckedIOException e) {
+            log.warn("분할 업로드 중단 건너뜀 : {}", key, e.getCause());
+        }
+    }
+
+    //회로가 열려 있으면 모두 실패로 돌려주어 삭제 큐가 나중에 다시 시도하도록 함
+    @Override
+    public Set<String> deleteAll(Collection<String> keys) {
+        if (!circuitBreaker.tryAcquire()) return Set.copyOf(keys);
+        retryBudget.deposit();
+        Set<String> failed = delegate.deleteAll(keys);
+        //키 일부만 실패한 것은 권한이나 키 문제, 요청 전체가 실패했을 때만 저장소 장애로 본다
+        if (!keys.isEmpty() && failed.size() == keys.stream().distinct().count()) circuitBreaker.onFailure();
+        else circuitBreaker.onSuccess();
+        return failed;
+    }
+
+    //페이지 요청마다 회로를 거치므로 목록 전체에 걸린 시간이나 consumer가 던진 예외는 저장소 결과로 치지 않는다
+    @Override
+    public void forEachPage(String prefix, Consumer<List<StoredObject>> consumer) {
+        String continuationToken = null;
+        do {
+            String token = continuationToken;
+            S3ObjectStore.ObjectPage page = unchecked("listPage", () -> delegate.listPage(prefix, token));
+            consumer.accept(page.objects());
+            continuationToken = page.continuationToken();
+        } while (continuationToken != null);
+    }
+
+    private <T> T call(String operation, boolean timed, Call<T> call) throws IOException {
+        try {
+            return callInterruptibly(operation, timed, call);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+
+    private <T> T unchecked(String operation, Call<T> call) {
+        try {
+            return call(operation, true, call);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    //timed가 false면 걸린 시간과 관계없이 성공과 실패만 기록
+    private <T> T callInterruptibly(String operation, boolean timed, Call<T> call) throws IOException, InterruptedException {
+        if (!circuitBreaker.tryAcquire()) throw new StorageUnavailableException(operation);
+        retryBudget.deposit();
+        long start = System.nanoTime();
+        try {
+            T result = call.run();
+            onSuccess(timed, start);
+            return result;
+        } catch (IOException | RuntimeException e) {
+            if (isStorageFailure(e)) circuitBreaker.onFailure();
+            else onSuccess(timed, start);
+            throw e;
+        } catch (InterruptedException e) {
+            circuitBreaker.onIgnored();
+            throw e;
+        }
+    }
+
+    private void onSuccess(boolean timed, long start) {
+        if (timed) circuitBreaker.onSuccess(System.nanoTime() - start);
+        else circuitBreaker.onSuccess();
+    }
+
+    //없는 객체, 잘못된 요청, 권한 오류는 저장소가 응답한 것이므로 장애로 치지 않는다
+    static boolean isStorageFailure(Exception e) {
+        if (e instanceof NoSuchFileException) return false;
+        if (e instanceof UncheckedIOException unchecked) return isStorageFailure(unchecked.getCause());
+        if (e instanceof AmazonServiceException service) {
+            int status = service.getStatusCode();
+            return status >= 500 || status == 429;
+        }
+        return e instanceof AmazonClientException || e instanceof IOException;
+    }
+}
@@ -0,0 +1,18 @@
+package com.skklub.admin.storage;
+
+import com.skklub.admin.domain.ImagePreview;
+import com.skklub.admin.domain.enums.ImageVariant;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * ImageVariantGenerator 결과, 크기별로 다시 인코딩한 사본과 미리보기 정보
+ */
+@Getter
+@RequiredArgsConstructor
+public class ResizedImage {
+    private final Map<ImageVariant, byte[]> variants;
+    private final ImagePreview preview;
+}
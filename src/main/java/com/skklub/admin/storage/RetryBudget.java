@@ -0,0 +1,49 @@
+package com.skklub.admin.storage;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 저장소 재시도 예산, 호출마다 ratio만큼 쌓이고 재시도마다 1씩 쓴다
+ * 저장소가 장애일 때 재시도가 전체 호출의 ratio 비율을 넘지 않아 재시도가 부하를 몇 배로 키우지 않는다
+ * 평소의 드문 실패는 쌓아 둔 최대 maxTokens까지 바로 재시도할 수 있다
+ */
+@Component
+public class RetryBudget {
+
+    private final double ratio;
+    private final double maxTokens;
+    private final MeterRegistry meterRegistry;
+    //this로 동기화
+    private double tokens;
+
+    public RetryBudget(@Value("${storage.retry.ratio:0.1}") double ratio,
+                       @Value("${storage.retry.max-tokens:10}") double maxTokens,
+                       MeterRegistry meterRegistry) {
+        this.ratio = ratio;
+        this.maxTokens = maxTokens;
+        this.meterRegistry = meterRegistry;
+        this.tokens = maxTokens;
+        meterRegistry.gauge("storage.retry.budget", Tags.empty(), this, RetryBudget::tokens);
+    }
+
+    public synchronized void deposit() {
+        tokens = Math.min(maxTokens, tokens + ratio);
+    }
+
+    public synchronized boolean tryWithdraw() {
+        if (tokens < 1) {
+            meterRegistry.counter("storage.retry", "outcome", "denied").increment();
+            return false;
+        }
+        tokens -= 1;
+        meterRegistry.counter("storage.retry", "outcome", "allowed").increment();
+        return true;
+    }
+
+    synchronized double tokens() {
+        return tokens;
+    }
+}
@@ -0,0 +1,256 @@
+package com.skklub.admin.storage;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.HttpMethod;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CopyObjectRequest;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import com.amazonaws.services.s3.model.GetObjectMetadataRequest;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.TransferManagerBuilder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static com.amazonaws.services.s3.model.DeleteObjectsRequest.KeyVersion;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3", matchIfMissing = true)
+public class S3ObjectStore implements ObjectStore {
+
+    private final AmazonS3 amazonS3;
+    @Value("${cloud.aws.s3.bucket}")
+    private String bucket;
+    @Value("${cloud.aws.region.static}")
+    private String area;
+    @Value("${storage.multipart.threshold:16MB}")
+    private DataSize multipartThreshold;
+    @Value("${storage.multipart.part-size:8MB}")
+    private DataSize multipartPartSize;
+    @Value("${storage.multipart.concurrency:4}")
+    private int multipartConcurrency;
+    //요청 하나가 재시도를 포함해 끝나야 하는 시간, 저장소가 느려져도 요청 스레드가 소켓 타임아웃을 여러 번 기다리지 않도록 함
+    @Value("${storage.timeout.metadata:PT3S}")
+    private Duration metadataTimeout;
+    @Value("${storage.timeout.read:PT10S}")
+    private Duration readTimeout;
+    @Value("${storage.timeout.write:PT60S}")
+    private Duration writeTimeout;
+    private TransferManager transferManager;
+
+    @PostConstruct
+    public void initTransferManager() {
+        transferManager = TransferManagerBuilder.standard()
+                .withS3Client(amazonS3)
+                .withMultipartUploadThreshold(multipartThreshold.toBytes())
+                .withMinimumUploadPartSize(multipartPartSize.toBytes())
+                .withExecutorFactory(() -> Executors.newFixedThreadPool(multipartConcurrency, new CustomizableThreadFactory("s3-part-")))
+                .withShutDownThreadPools(true)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdownTransferManager() {
+        //S3 클라이언트는 다른 빈과 공유하므로 스레드 풀만 종료
+        transferManager.shutdownNow(false);
+    }
+
+    @Override
+    public void put(String key, InputStream inputStream, long contentLength, ObjectHeaders headers) {
+        ObjectMetadata metadata = metadataOf(headers);
+        metadata.setContentLength(contentLength);
+        amazonS3.putObject(new PutObjectRequest(bucket, key, inputStream, metadata)
+                .withSdkClientExecutionTimeout(millisOf(writeTimeout)));
+    }
+
+    //파트 단위 병렬 업로드, 메모리는 파트 크기만큼만 사용
+    @Override
+    public void put(String key, Path file, ObjectHeaders headers) throws InterruptedException {
+        transferManager.upload(new PutObjectRequest(bucket, key, file.toFile()).withMetadata(metadataOf(headers))).waitForCompletion();
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        try {
+            //본문 스트림을 읽는 시간은 포함되지 않고 응답 헤더를 받을 때까지만 제한
+            return amazonS3.getObject(new GetObjectRequest(bucket, key)
+                    .withSdkClientExecutionTimeout(millisOf(readTimeout))).getObjectContent();
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == 404) throw new NoSuchFileException(key);
+            throw e;
+        }
+    }
+
+    @Override
+    public String url(String key) {
+        return "https://s3." + area + ".amazonaws.com/" + bucket + "/" + key;
+    }
+
+    @Override
+    public boolean exists(String key) {
+        try {
+            amazonS3.getObjectMetadata(new GetObjectMetadataRequest(bucket, key)
+                    .withSdkClientExecutionTimeout(millisOf(metadataTimeout)));
+            return true;
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == 404) return false;
+            throw e;
+        }
+    }
+
+    //서버 쪽 복사라 본문이 앱 서버를 거치지 않는다
+    @Override
+    public void copy(String sourceKey, String targetKey) throws IOException {
+        try {
+            amazonS3.copyObject(new CopyObjectRequest(bucket, sourceKey, bucket, targetKey)
+                    .withSdkClientExecutionTimeout(millisOf(writeTimeout)));
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == 404) throw new NoSuchFileException(sourceKey);
+            throw e;
+        }
+    }
+
+    @Override
+    public String presignPut(String key, Duration expiry) {
+        GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucket, key, HttpMethod.PUT)
+                .withExpiration(Date.from(Instant.now().plus(expiry)));
+        return amazonS3.generatePresignedUrl(request).toString();
+    }
+
+    @Override
+    public String initiateUpload(String key, ObjectHeaders headers) {
+        InitiateMultipartUploadRequest request = new InitiateMultipartUploadRequest(bucket, key, metadataOf(headers))
+                .withSdkClientExecutionTimeout(millisOf(metadataTimeout));
+        return amazonS3.initiateMultipartUpload(request).getUploadId();
+    }
+
+    @Override
+    public String uploadPart(String key, String uploadId, int partNumber, InputStream inputStream, long size) {
+        UploadPartRequest request = new UploadPartRequest()
+                .withBucketName(bucket)
+                .withKey(key)
+                .withUploadId(uploadId)
+                .withPartNumber(partNumber)
+                .withInputStream(inputStream)
+                .withPartSize(size)
+                .withSdkClientExecutionTimeout(millisOf(writeTimeout));
+        return amazonS3.uploadPart(request).getETag();
+    }
+
+    @Override
+    public void completeUpload(String key, String uploadId, SortedMap<Integer, String> partETags) {
+        List<PartETag> parts = partETags.entrySet().stream()
+                .map(part -> new PartETag(part.getKey(), part.getValue()))
+                .collect(Collectors.toList());
+        amazonS3.completeMultipartUpload(new CompleteMultipartUploadRequest(bucket, key, uploadId, parts)
+                .withSdkClientExecutionTimeout(millisOf(writeTimeout)));
+    }
+
+    //이미 완료되었거나 중단된 업로드여도 정리 작업이 멈추지 않도록 실패는 기록만 한다
+    @Override
+    public void abortUpload(String key, String uploadId) {
+        try {
+            amazonS3.abortMultipartUpload(new AbortMultipartUploadRequest(bucket, key, uploadId)
+                    .withSdkClientExecutionTimeout(millisOf(metadataTimeout)));
+        } catch (AmazonClientException e) {
+            log.warn("분할 업로드 중단 실패 : {}", key, e);
+        }
+    }
+
+    @Override
+    public Set<String> deleteAll(Collection<String> keys) {
+        List<KeyVersion> keyVersions = keys.stream()
+                .distinct()
+                .map(KeyVersion::new)
+                .collect(Collectors.toList());
+        try {
+            amazonS3.deleteObjects(new DeleteObjectsRequest(bucket).withKeys(keyVersions).withQuiet(true)
+                    .withSdkClientExecutionTimeout(millisOf(metadataTimeout)));
+            return Set.of();
+        } catch (MultiObjectDeleteException e) {
+            log.warn("객체 {}개 삭제 실패", e.getErrors().size());
+            return e.getErrors().stream()
+                    .map(MultiObjectDeleteException.DeleteError::getKey)
+                    .collect(Collectors.toSet());
+        } catch (AmazonClientException e) {
+            log.warn("객체 일괄 삭제 요청 실패, {}개", keyVersions.size(), e);
+            return Set.copyOf(keys);
+        }
+    }
+
+    @Override
+    public void forEachPage(String prefix, Consumer<List<StoredObject>> consumer) {
+        String continuationToken = null;
+        do {
+            ObjectPage page = listPage(prefix, continuationToken);
+            consumer.accept(page.objects());
+            continuationToken = page.continuationToken();
+        } while (continuationToken != null);
+    }
+
+    //목록 한 페이지 요청, continuationToken이 null이면 첫 페이지이고 돌려받은 값이 null이면 마지막 페이지
+    ObjectPage listPage(String prefix, String continuationToken) {
+        ListObjectsV2Result result = amazonS3.listObjectsV2(new ListObjectsV2Request()
+                .withBucketName(bucket)
+                .withPrefix(prefix)
+                .withMaxKeys(PAGE_SIZE)
+                .withContinuationToken(continuationToken)
+                .withSdkClientExecutionTimeout(millisOf(metadataTimeout)));
+        List<StoredObject> objects = result.getObjectSummaries().stream()
+                .map(summary -> new StoredObject(summary.getKey(), summary.getLastModified().toInstant()))
+                .collect(Collectors.toList());
+        return new ObjectPage(objects, result.isTruncated() ? result.getNextContinuationToken() : null);
+    }
+
+    record ObjectPage(List<StoredObject> objects, String continuationToken) {
+    }
+
+    private static int millisOf(Duration timeout) {
+        return (int) timeout.toMillis();
+    }
+
+    //S3와 CloudFront는 GET 응답에 이 값들을 그대로 실어 보낸다
+    private static ObjectMetadata metadataOf(ObjectHeaders headers) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(headers.getContentType());
+        metadata.setContentDisposition(headers.getContentDisposition());
+        metadata.setCacheControl(headers.getCacheControl());
+        return metadata;
+    }
+}
@@ -0,0 +1,65 @@
+package com.skklub.admin.storage;
+
+import com.skklub.admin.collections.BloomFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * 파일 테이블이 가리키는 객체가 버킷에 실제로 존재하는지 백그라운드에서 확인
+ * 조회 API는 S3에 요청하지 않고 여기서 표시한 누락 여부만 참고한다
+ * 버킷 목록은 페이지 단위로 Bloom filter에만 담으므로 키 개수와 무관하게 메모리 사용량이 일정하다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class S3ObjectVerifier {
+
+    private static final double FALSE_POSITIVE_RATE = 0.001;
+
+    private final ObjectStore objectStore;
+    private final StoredKeyScanner storedKeyScanner;
+    private final StorageExecutors storageExecutors;
+
+    private volatile Set<String> missingKeys = Collections.emptySet();
+
+    @Scheduled(initialDelayString = "${cloud.aws.s3.verify.initial-delay:PT1M}", fixedDelayString = "${cloud.aws.s3.verify.interval:PT1H}")
+    public void verify() {
+        BloomFilter bucketKeys = listBucketKeys();
+        //목록에 없다고 확실한 키만 후보, 오탐은 누락을 한 번 놓칠 뿐 잘못 표시하지는 않는다
+        Set<String> candidates = new HashSet<>();
+        storedKeyScanner.scan(keys -> keys.stream()
+                .filter(key -> !bucketKeys.mightContain(key))
+                .forEach(candidates::add));
+        //목록 조회 이후 업로드된 객체일 수 있으므로 후보만 io 풀에서 동시에 한 번 더 확인
+        List<CompletableFuture<String>> confirmations = candidates.stream()
+                .map(key -> CompletableFuture.supplyAsync(() -> objectStore.exists(key) ? null : key, storageExecutors.io()))
+                .collect(Collectors.toList());
+        Set<String> missing = confirmations.stream()
+                .map(CompletableFuture::join)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toUnmodifiableSet());
+        if (!missing.isEmpty()) log.warn("버킷에 존재하지 않는 객체 {}건 : {}", missing.size(), missing);
+        this.missingKeys = missing;
+    }
+
+    public boolean isMissing(String key) {
+        return missingKeys.contains(key);
+    }
+
+    //버킷 객체 수는 파일 행이 가리키는 키 수와 비슷하므로 그 수로 크기를 정한다
+    private BloomFilter listBucketKeys() {
+        BloomFilter keys = new BloomFilter(Math.max(1024, (long) (storedKeyScanner.count() * 1.2)), FALSE_POSITIVE_RATE);
+        objectStore.forEachPage(page -> page.forEach(object -> keys.put(object.getKey())));
+        return keys;
+    }
+}
@@ -0,0 +1,163 @@
+package com.skklub.admin.storage;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * 저장소 호출이 계속 실패하거나 느려지면 잠시 호출을 막아 요청 스레드가 저장소 타임아웃을 기다리며 쌓이지 않도록 한다
+ * 최근 windowSize번의 호출 중 minimumCalls번 이상이 기록되었고 실패(느린 호출 포함) 비율이 failureRate 이상이면 열리고,
+ * 느린 호출은 걸린 시간을 넘겨 받는 onSuccess(elapsedNanos)로 알린 작은 단건 호출만 따진다
+ * openDuration이 지나면 halfOpenCalls번의 시험 호출을 보내 모두 성공하면 닫는다
+ */
+@Slf4j
+@Component
+public class StorageCircuitBreaker {
+
+    public enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRate;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoTime;
+    private final MeterRegistry meterRegistry;
+    //최근 호출 결과의 링 버퍼(true가 실패), 모든 상태는 this로 동기화
+    private final boolean[] outcomes;
+    private int next;
+    private int recorded;
+    private int failures;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int trialsLeft;
+    private int trialSuccesses;
+
+    public StorageCircuitBreaker(@Value("${storage.circuit.window-size:20}") int windowSize,
+                                 @Value("${storage.circuit.minimum-calls:10}") int minimumCalls,
+                                 @Value("${storage.circuit.failure-rate:0.5}") double failureRate,
+                                 @Value("${storage.circuit.slow-call:PT3S}") Duration slowCall,
+                                 @Value("${storage.circuit.open-duration:PT30S}") Duration openDuration,
+                                 @Value("${storage.circuit.half-open-calls:3}") int halfOpenCalls,
+                                 MeterRegistry meterRegistry) {
+        this(windowSize, minimumCalls, failureRate, slowCall, openDuration, halfOpenCalls, meterRegistry, System::nanoTime);
+    }
+
+    StorageCircuitBreaker(int windowSize, int minimumCalls, double failureRate, Duration slowCall, Duration openDuration,
+                          int halfOpenCalls, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRate = failureRate;
+        this.slowCallNanos = slowCall.toNanos();
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+        this.nanoTime = nanoTime;
+        this.meterRegistry = meterRegistry;
+        this.outcomes = new boolean[windowSize];
+        //0 닫힘, 1 시험 중, 2 열림
+        meterRegistry.gauge("storage.circuit.state", Tags.empty(), this, breaker -> breaker.getState().ordinal());
+    }
+
+    //false면 호출하지 말고 바로 실패 처리, true를 받았으면 반드시 onSuccess, onFailure, onIgnored 중 하나로 결과를 알린다
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (nanoTime.getAsLong() - openedAt < openNanos) {
+                meterRegistry.counter("storage.circuit.calls", "outcome", "rejected").increment();
+                return false;
+            }
+            transition(State.HALF_OPEN);
+            trialsLeft = halfOpenCalls;
+            trialSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialsLeft == 0) {
+                meterRegistry.counter("storage.circuit.calls", "outcome", "rejected").increment();
+                return false;
+            }
+            trialsLeft--;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess(long elapsedNanos) {
+        if (elapsedNanos >= slowCallNanos) {
+            meterRegistry.counter("storage.circuit.calls", "outcome", "slow").increment();
+            fail();
+            return;
+        }
+        succeed();
+    }
+
+    //걸린 시간이 객체 크기나 클라이언트 전송 속도에 달린 호출(대용량 업로드, 일괄 삭제)은 느린 호출 규칙 없이 성공으로만 기록
+    public synchronized void onSuccess() {
+        succeed();
+    }
+
+    private void succeed() {
+        meterRegistry.counter("storage.circuit.calls", "outcome", "success").increment();
+        //열리기 전에 시작한 호출이 늦게 끝난 경우, 열린 시각을 바꾸지 않음
+        if (state == State.OPEN) return;
+        if (state == State.HALF_OPEN) {
+            if (++trialSuccesses == halfOpenCalls) close();
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        meterRegistry.counter("storage.circuit.calls", "outcome", "failure").increment();
+        fail();
+    }
+
+    private void fail() {
+        if (state == State.OPEN) return;
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (recorded >= minimumCalls && failures >= failureRate * recorded) open();
+    }
+
+    //스레드 중단처럼 저장소 상태와 무관하게 끝난 호출, 결과로 치지 않고 시험 호출 자리만 되돌려 줌
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN) trialsLeft++;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == windowSize && outcomes[next]) failures--;
+        outcomes[next] = failure;
+        if (failure) failures++;
+        next = (next + 1) % windowSize;
+        recorded = Math.min(recorded + 1, windowSize);
+    }
+
+    private void open() {
+        transition(State.OPEN);
+        openedAt = nanoTime.getAsLong();
+    }
+
+    private void close() {
+        transition(State.CLOSED);
+        next = 0;
+        recorded = 0;
+        failures = 0;
+    }
+
+    private void transition(State to) {
+        if (state == to) return;
+        log.warn("저장소 회로 상태 변경 : {} -> {}", state, to);
+        meterRegistry.counter("storage.circuit.transitions", "to", to.name()).increment();
+        state = to;
+    }
+}
@@ -0,0 +1,76 @@
+package com.skklub.admin.storage;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 스토리지 I/O, 이미지 처리(CPU) 전용 스레드 풀
+ * 큐가 가득 차면 호출한 스레드가 직접 실행해 동시 작업 수를 제한한다
+ * 문서 미리보기 풀은 요청 스레드가 렌더링을 떠안지 않도록 큐가 가득 차면 작업을 거절한다
+ */
+@Component
+public class StorageExecutors {
+
+    private final ExecutorService io;
+    private final ExecutorService cpu;
+    private final ExecutorService preview;
+
+    @Autowired
+    public StorageExecutors(@Value("${storage.io.concurrency:8}") int ioConcurrency,
+                            @Value("${storage.io.queue-capacity:64}") int ioQueueCapacity,
+                            @Value("${storage.cpu.concurrency:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int cpuConcurrency,
+                            @Value("${storage.preview.concurrency:2}") int previewConcurrency,
+                            @Value("${storage.preview.queue-capacity:32}") int previewQueueCapacity,
+                            MeterRegistry meterRegistry) {
+        this.io = ExecutorServiceMetrics.monitor(meterRegistry, boundedPool(ioConcurrency, ioQueueCapacity, "storage-io-", new ThreadPoolExecutor.CallerRunsPolicy()), "storage.io", Collections.emptyList());
+        this.cpu = ExecutorServiceMetrics.monitor(meterRegistry, boundedPool(cpuConcurrency, cpuConcurrency * 4, "storage-cpu-", new ThreadPoolExecutor.CallerRunsPolicy()), "storage.cpu", Collections.emptyList());
+        this.preview = ExecutorServiceMetrics.monitor(meterRegistry, boundedPool(previewConcurrency, previewQueueCapacity, "storage-preview-", new ThreadPoolExecutor.AbortPolicy()), "storage.preview", Collections.emptyList());
+    }
+
+    public StorageExecutors(int ioConcurrency, int ioQueueCapacity, int cpuConcurrency, MeterRegistry meterRegistry) {
+        this(ioConcurrency, ioQueueCapacity, cpuConcurrency, 1, 8, meterRegistry);
+    }
+
+    public ExecutorService io() {
+        return io;
+    }
+
+    public ExecutorService cpu() {
+        return cpu;
+    }
+
+    //큐가 가득 차면 RejectedExecutionException
+    public ExecutorService preview() {
+        return preview;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        io.shutdown();
+        cpu.shutdown();
+        preview.shutdown();
+    }
+
+    private static ThreadPoolExecutor boundedPool(int concurrency, int queueCapacity, String threadNamePrefix, RejectedExecutionHandler rejectedExecutionHandler) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                concurrency, concurrency,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory(threadNamePrefix),
+                rejectedExecutionHandler);
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+}
@@ -0,0 +1,123 @@
+package com.skklub.admin.storage;
+
+import com.skklub.admin.domain.PendingDeletion;
+import com.skklub.admin.domain.DocumentPreview;
+import com.skklub.admin.domain.enums.ImageVariant;
+import com.skklub.admin.domain.enums.PendingDeletionType;
+import com.skklub.admin.repository.PendingDeletionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 파일 행 변경과 같은 트랜잭션에 저장소 작업(참조 반납)을 기록하는 outbox
+ * 기록된 작업은 relay()가 배치로 처리하므로 커밋된 변경의 정리 작업은 재시작 후에도 반드시 수행된다
+ */
+@Slf4j
+@Component
+public class StorageOutbox {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final List<PendingDeletionType> RELEASE_TYPES = List.of(PendingDeletionType.REFERENCE, PendingDeletionType.UPLOAD_GUARD);
+    //기본 로고, 썸네일은 여러 행이 공유하므로 반납하지 않는다
+    public static final Set<String> DEFAULT_KEYS = Set.of("alt.jpg", "default_thumb.png");
+
+    private final PendingDeletionRepository pendingDeletionRepository;
+    private final ContentIndex contentIndex;
+    private final ObjectDeletionQueue objectDeletionQueue;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration uploadGrace;
+
+    public StorageOutbox(PendingDeletionRepository pendingDeletionRepository,
+                         ContentIndex contentIndex,
+                         ObjectDeletionQueue objectDeletionQueue,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${storage.outbox.upload-grace:PT1H}") Duration uploadGrace) {
+        this.pendingDeletionRepository = pendingDeletionRepository;
+        this.contentIndex = contentIndex;
+        this.objectDeletionQueue = objectDeletionQueue;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.uploadGrace = uploadGrace;
+    }
+
+    //호출한 트랜잭션이 커밋될 때만 반납이 기록된다
+    @Transactional
+    public void release(Collection<String> keys) {
+        LocalDateTime now = LocalDateTime.now();
+        pendingDeletionRepository.saveAll(keys.stream()
+                .filter(key -> !DEFAULT_KEYS.contains(key))
+                .map(key -> new PendingDeletion(key, PendingDeletionType.REFERENCE, now))
+                .collect(Collectors.toList()));
+    }
+
+    //업로드 전에 별도 트랜잭션으로 기록, 이후 서비스 트랜잭션이 claim()하지 않으면 유예 시간 뒤 반납된다
+    //반환한 가드 id로 이 요청이 만든 가드만 expire()할 수 있다
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Long guard(String key) {
+        return pendingDeletionRepository.save(new PendingDeletion(key, PendingDeletionType.UPLOAD_GUARD, LocalDateTime.now().plus(uploadGrace))).getId();
+    }
+
+    //키를 파일 행으로 저장하는 트랜잭션 안에서 호출, 키마다 업로드 가드 하나를 지운다
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void claim(Collection<String> keys) {
+        keys.stream()
+                .filter(key -> !DEFAULT_KEYS.contains(key))
+                .forEach(this::claimOne);
+    }
+
+    //presigned 업로드 확인 시 이 서버가 발급했고 아직 정리되지 않은 키인지 확인
+    @Transactional(readOnly = true)
+    public boolean isGuarded(String key) {
+        return pendingDeletionRepository.existsByObjectKeyAndType(key, PendingDeletionType.UPLOAD_GUARD);
+    }
+
+    //쓰이지 않을 업로드(일괄 업로드 실패 등)의 가드를 유예 없이 바로 처리하도록 당김
+    //키가 아닌 가드 id로 당기므로 같은 키를 공유하는 다른 요청의 가드는 유예 시간을 그대로 유지한다
+    @Transactional
+    public void expire(Collection<Long> guardIds) {
+        if (guardIds.isEmpty()) return;
+        pendingDeletionRepository.rescheduleByIdIn(guardIds, PendingDeletionType.UPLOAD_GUARD, LocalDateTime.now());
+    }
+
+    @Scheduled(fixedDelayString = "${storage.delete.window:PT0.5S}")
+    public void relay() {
+        Integer relayed;
+        do {
+            relayed = transactionTemplate.execute(status -> relayBatch());
+        } while (relayed != null && relayed == BATCH_SIZE);
+    }
+
+    //참조 반납과 삭제 요청 적재를 한 트랜잭션으로 묶어 중간에 실패해도 반납이 두 번 일어나지 않는다
+    private int relayBatch() {
+        List<PendingDeletion> batch = pendingDeletionRepository.findByTypeInAndNextAttemptAtLessThanEqualOrderByIdAsc(RELEASE_TYPES, LocalDateTime.now(), PageRequest.of(0, BATCH_SIZE));
+        List<String> unreferenced = batch.stream()
+                .map(PendingDeletion::getObjectKey)
+                .filter(contentIndex::release)
+                .flatMap(key -> Stream.of(List.of(key), ImageVariant.keysOf(key), DocumentPreview.keysOf(key)).flatMap(List::stream))
+                .collect(Collectors.toList());
+        objectDeletionQueue.enqueue(unreferenced);
+        pendingDeletionRepository.deleteAllInBatch(batch);
+        return batch.size();
+    }
+
+    private void claimOne(String key) {
+        for (PendingDeletion guard : pendingDeletionRepository.findByObjectKeyAndTypeOrderByIdAsc(key, PendingDeletionType.UPLOAD_GUARD)) {
+            if (pendingDeletionRepository.deleteByIdReturningCount(guard.getId()) > 0) return;
+        }
+        log.warn("업로드 가드가 없는 키를 저장합니다 : {}", key);
+    }
+}
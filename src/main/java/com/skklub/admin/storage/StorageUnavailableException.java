@@ -0,0 +1,13 @@
+package com.skklub.admin.storage;
+
+import java.io.IOException;
+
+/**
+ * 저장소 회로가 열려 있어 호출하지 않고 바로 실패한 경우
+ * IOException이므로 저장소 실패를 이미 처리하는 곳(스프라이트, 미리보기, ZIP)은 그대로 건너뛴다
+ */
+public class StorageUnavailableException extends IOException {
+    public StorageUnavailableException(String operation) {
+        super("저장소 회로가 열려 있어 요청하지 않았습니다 : " + operation);
+    }
+}
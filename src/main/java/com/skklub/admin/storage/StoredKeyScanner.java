@@ -0,0 +1,77 @@
+package com.skklub.admin.storage;
+
+import com.skklub.admin.domain.ActivityImage;
+import com.skklub.admin.domain.DocumentPreview;
+import com.skklub.admin.domain.ExtraFile;
+import com.skklub.admin.domain.ImageVariants;
+import com.skklub.admin.domain.Logo;
+import com.skklub.admin.domain.Thumbnail;
+import com.skklub.admin.domain.enums.ImageVariant;
+import com.skklub.admin.repository.ActivityImageRepository;
+import com.skklub.admin.repository.ExtraFileRepository;
+import com.skklub.admin.repository.LogoRepository;
+import com.skklub.admin.repository.ThumbnailRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Component
+@RequiredArgsConstructor
+public class StoredKeyScanner {
+
+    private static final int PAGE_SIZE = 1000;
+
+    private final LogoRepository logoRepository;
+    private final ActivityImageRepository activityImageRepository;
+    private final ThumbnailRepository thumbnailRepository;
+    private final ExtraFileRepository extraFileRepository;
+
+    /**
+     * 파일 테이블(logo, activity_image, thumbnail, extra_file)에 저장된 객체 키를
+     * id 기준 keyset 페이징으로 PAGE_SIZE 행씩 넘겨준다, 이미지 사본과 문서 미리보기 키도 함께 포함
+     */
+    public void scan(Consumer<List<String>> consumer) {
+        scan(logoRepository::findByIdGreaterThan, Logo::getId, logo -> withVariants(logo.getUploadedName(), logo.getVariants()), consumer);
+        scan(activityImageRepository::findByIdGreaterThan, ActivityImage::getId, image -> withVariants(image.getUploadedName(), image.getVariants()), consumer);
+        scan(thumbnailRepository::findByIdGreaterThan, Thumbnail::getId, thumbnail -> withVariants(thumbnail.getUploadedName(), thumbnail.getVariants()), consumer);
+        scan(extraFileRepository::findByIdGreaterThan, ExtraFile::getId, extraFile -> withPreview(extraFile.getSavedName(), extraFile.getPreview()), consumer);
+    }
+
+    //scan()이 넘겨줄 키 개수의 상한, 이미지 테이블은 행마다 사본 키, 첨부 파일은 미리보기 키까지 포함
+    public long count() {
+        long imageRows = logoRepository.count() + activityImageRepository.count() + thumbnailRepository.count();
+        return imageRows * (1 + ImageVariant.values().length) + extraFileRepository.count() * 2;
+    }
+
+    private static Stream<String> withVariants(String uploadedName, ImageVariants variants) {
+        if (variants == null) return Stream.of(uploadedName);
+        return Stream.concat(Stream.of(uploadedName), variants.keys().stream());
+    }
+
+    private static Stream<String> withPreview(String savedName, DocumentPreview preview) {
+        if (preview == null) return Stream.of(savedName);
+        return Stream.of(savedName, preview.getPreviewName());
+    }
+
+    private <T> void scan(BiFunction<Long, Pageable, Slice<T>> finder, Function<T, Long> idGetter, Function<T, Stream<String>> keyGetter, Consumer<List<String>> consumer) {
+        Long lastId = 0L;
+        Slice<T> slice;
+        do {
+            slice = finder.apply(lastId, PageRequest.of(0, PAGE_SIZE, Sort.by("id")));
+            List<T> content = slice.getContent();
+            if (content.isEmpty()) return;
+            consumer.accept(content.stream().flatMap(keyGetter).collect(Collectors.toList()));
+            lastId = idGetter.apply(content.get(content.size() - 1));
+        } while (slice.hasNext());
+    }
+}
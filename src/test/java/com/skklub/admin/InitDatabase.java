@@ -8,6 +8,9 @@ import com.skklub.admin.controller.dto.ClubCreateRequestDTO;
 import com.skklub.admin.domain.*;
 import com.skklub.admin.domain.enums.Role;
 import com.skklub.admin.service.dto.FileNames;
+import com.skklub.admin.repository.PendingDeletionRepository;
+import com.skklub.admin.storage.ContentIndex;
+import com.skklub.admin.storage.ObjectDeletionQueue;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import jakarta.persistence.EntityManager;
@@ -68,6 +71,12 @@ public class InitDatabase {
         @Autowired
         private S3Transferer s3Transferer;
         @Autowired
+        private ObjectDeletionQueue objectDeletionQueue;
+        @Autowired
+        private ContentIndex contentIndex;
+        @Autowired
+        private PendingDeletionRepository pendingDeletionRepository;
+        @Autowired
         private AmazonS3 amazonS3;
         @Value("${cloud.aws.s3.bucket}")
         private String bucket;
@@ -84,6 +93,8 @@ public class InitDatabase {
             readyNoticeDomains();
             readyMaster();
             readyPendingClubs();
+            //서비스를 거치지 않고 em으로 저장했으므로 업로드 가드를 직접 정리
+            pendingDeletionRepository.deleteAllInBatch();
         }
 
         private void readyMaster() {
@@ -285,7 +296,9 @@ public class InitDatabase {
             List<String> keys = objectListing.getObjectSummaries().stream()
                     .map(S3ObjectSummary::getKey)
                     .collect(Collectors.toList());
-            s3Transferer.deleteAll(keys);
+            contentIndex.forget(keys);
+            objectDeletionQueue.enqueue(keys);
+            objectDeletionQueue.flush();
         }
     }
 }
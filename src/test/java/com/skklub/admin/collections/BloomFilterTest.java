@@ -0,0 +1,36 @@
+package com.skklub.admin.collections;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+class BloomFilterTest {
+
+    @Test
+    public void mightContain_PutKeys_NoFalseNegative() throws Exception{
+        //given
+        BloomFilter bloomFilter = new BloomFilter(10000, 0.01);
+
+        //when
+        IntStream.range(0, 10000).forEach(i -> bloomFilter.put("key" + i));
+
+        //then
+        IntStream.range(0, 10000).forEach(i -> Assertions.assertThat(bloomFilter.mightContain("key" + i)).isTrue());
+    }
+
+    @Test
+    public void mightContain_AbsentKeys_FalsePositiveRateWithinBound() throws Exception{
+        //given
+        BloomFilter bloomFilter = new BloomFilter(10000, 0.01);
+        IntStream.range(0, 10000).forEach(i -> bloomFilter.put("key" + i));
+
+        //when
+        long falsePositives = IntStream.range(0, 100000)
+                .filter(i -> bloomFilter.mightContain("absent" + i))
+                .count();
+
+        //then
+        Assertions.assertThat(falsePositives / 100000.0).isLessThan(0.02);
+    }
+}
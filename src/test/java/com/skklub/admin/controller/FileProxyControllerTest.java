@@ -0,0 +1,155 @@
+package com.skklub.admin.controller;
+
+import com.skklub.admin.storage.CachedFile;
+import com.skklub.admin.storage.ObjectDiskCache;
+import com.skklub.admin.storage.StorageUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WithMockUser
+@AutoConfigureMockMvc
+@WebMvcTest(controllers = FileProxyController.class)
+@MockBean(JpaMetamodelMappingContext.class)
+class FileProxyControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private ObjectDiskCache objectDiskCache;
+    @TempDir
+    private Path dir;
+    private CachedFile file;
+    private String etag;
+
+    @BeforeEach
+    public void beforeEach() throws Exception {
+        Path saved = Files.writeString(dir.resolve("saved.pdf"), "0123456789");
+        file = spy(CachedFile.unpinned(saved, Files.size(saved)));
+        given(objectDiskCache.get("saved.pdf")).willReturn(Optional.of(file));
+        etag = "\"" + DigestUtils.md5DigestAsHex("saved.pdf".getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    @Test
+    public void proxyFile_Default_WholeFileWithETag() throws Exception {
+        //when, then
+        mockMvc.perform(get("/file/saved.pdf"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 10))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable"))
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/pdf"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "inline"))
+                .andExpect(content().string("0123456789"));
+    }
+
+    @Test
+    public void proxyFile_Sendfile_ReleaseAfterRequest() throws Exception {
+        //when, then
+        mockMvc.perform(get("/file/saved.pdf").requestAttr("org.apache.tomcat.sendfile.support", true))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 10))
+                .andExpect(request().attribute("org.apache.tomcat.sendfile.filename", file.getPath().toString()))
+                .andExpect(content().string(""));
+        verify(file).close();
+    }
+
+    @Test
+    public void proxyFile_Range_PartialContent() throws Exception {
+        //when, then
+        mockMvc.perform(get("/file/saved.pdf").header(HttpHeaders.RANGE, "bytes=2-4"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-4/10"))
+                .andExpect(content().string("234"));
+    }
+
+    @Test
+    public void proxyFile_SuffixRange_LastBytes() throws Exception {
+        //when, then
+        mockMvc.perform(get("/file/saved.pdf").header(HttpHeaders.RANGE, "bytes=-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 7-9/10"))
+                .andExpect(content().string("789"));
+    }
+
+    @Test
+    public void proxyFile_RangeOutOfFile_NotSatisfiable() throws Exception {
+        //when, then
+        mockMvc.perform(get("/file/saved.pdf").header(HttpHeaders.RANGE, "bytes=20-30"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+    }
+
+    @Test
+    public void proxyFile_IfNoneMatch_NotModifiedWithoutCache() throws Exception {
+        //when
+        mockMvc.perform(get("/file/saved.pdf").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        //then
+        verify(objectDiskCache, never()).get(anyString());
+    }
+
+    @Test
+    public void proxyFile_NotInStore_NotFound() throws Exception {
+        //given
+        given(objectDiskCache.get("neverSaved.pdf")).willReturn(Optional.empty());
+
+        //when, then
+        mockMvc.perform(get("/file/neverSaved.pdf"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void proxyFile_StorageUnavailableImage_ServeDefaultImage() throws Exception {
+        //given
+        Path alt = Files.writeString(dir.resolve("alt.jpg"), "alt");
+        given(objectDiskCache.get("2026/10/logo.png")).willThrow(new StorageUnavailableException("open"));
+        given(objectDiskCache.cached("alt.jpg")).willReturn(Optional.of(CachedFile.unpinned(alt, Files.size(alt))));
+
+        //when, then
+        mockMvc.perform(get("/file/2026/10/logo.png"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"))
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/jpeg"))
+                .andExpect(content().string("alt"));
+    }
+
+    @Test
+    public void proxyFile_StorageUnavailableDocument_ServiceUnavailable() throws Exception {
+        //given
+        given(objectDiskCache.get("saved.pdf")).willThrow(new StorageUnavailableException("open"));
+
+        //when, then
+        mockMvc.perform(get("/file/saved.pdf"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "30"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"));
+        verify(objectDiskCache, never()).cached(anyString());
+    }
+}
@@ -0,0 +1,271 @@
+package com.skklub.admin.controller;
+
+import com.amazonaws.AmazonClientException;
+import com.skklub.admin.controller.dto.PresignedUploadDto;
+import com.skklub.admin.domain.StoredContent;
+import com.skklub.admin.exception.ServerSideException;
+import com.skklub.admin.service.dto.FileNames;
+import com.skklub.admin.service.exception.InvalidUploadException;
+import com.skklub.admin.storage.ContentIndex;
+import com.skklub.admin.storage.ImageVariantGenerator;
+import com.skklub.admin.storage.ObjectHeaders;
+import com.skklub.admin.storage.ObjectStore;
+import com.skklub.admin.storage.S3ObjectVerifier;
+import com.skklub.admin.storage.StorageExecutors;
+import com.skklub.admin.storage.StorageOutbox;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class S3TransfererTest {
+    @Mock
+    private ObjectStore objectStore;
+    @Mock
+    private S3ObjectVerifier s3ObjectVerifier;
+    @Mock
+    private ContentIndex contentIndex;
+    @Mock
+    private StorageOutbox storageOutbox;
+    private MeterRegistry meterRegistry;
+    private S3Transferer s3Transferer;
+
+    @BeforeEach
+    public void beforeEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        StorageExecutors storageExecutors = new StorageExecutors(4, 4, 2, meterRegistry);
+        ImageVariantGenerator imageVariantGenerator = new ImageVariantGenerator(storageExecutors);
+        ReflectionTestUtils.setField(imageVariantGenerator, "maxPixels", 50_000_000L);
+        s3Transferer = new S3Transferer(objectStore, s3ObjectVerifier, storageExecutors, imageVariantGenerator, contentIndex, storageOutbox, meterRegistry);
+        ReflectionTestUtils.setField(s3Transferer, "storageType", "s3");
+        ReflectionTestUtils.setField(s3Transferer, "multipartThreshold", DataSize.ofMegabytes(16));
+    }
+
+    @Test
+    public void uploadAll_Default_KeepInputOrder() throws Exception{
+        //given
+        List<MultipartFile> files = getMockFiles(10);
+
+        //when
+        List<FileNames> fileNames = s3Transferer.uploadAll(files);
+
+        //then
+        Assertions.assertThat(fileNames)
+                .extracting(FileNames::getOriginalName)
+                .containsExactlyElementsOf(files.stream().map(MultipartFile::getOriginalFilename).collect(Collectors.toList()));
+        verify(objectStore, times(10)).put(anyString(), any(InputStream.class), anyLong(), any(ObjectHeaders.class));
+        Assertions.assertThat(meterRegistry.get("storage.upload.batch").tag("outcome", "success").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void uploadAll_OneUploadFails_DeleteUploadedAndServerSideException() throws Exception{
+        //given
+        List<MultipartFile> files = getMockFiles(5);
+        doNothing()
+                .doNothing()
+                .doThrow(new AmazonClientException("upload failed"))
+                .doNothing()
+                .when(objectStore).put(anyString(), any(InputStream.class), anyLong(), any(ObjectHeaders.class));
+        AtomicLong guardIds = new AtomicLong();
+        given(storageOutbox.guard(anyString())).willAnswer(invocation -> guardIds.incrementAndGet());
+
+        //when
+        org.junit.jupiter.api.Assertions.assertThrows(ServerSideException.class, () -> s3Transferer.uploadAll(files));
+
+        //then
+        ArgumentCaptor<Collection<Long>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(storageOutbox).expire(captor.capture());
+        Assertions.assertThat(captor.getValue()).hasSize(4).doesNotContainNull();
+    }
+
+    @Test
+    public void uploadOne_LostRegisterRace_ExpireOnlyOwnGuard() throws Exception{
+        //given
+        MultipartFile file = getMockFiles(1).get(0);
+        String contentHash = ContentIndex.hash(file);
+        given(contentIndex.acquire(contentHash))
+                .willReturn(Optional.empty())
+                .willReturn(Optional.of(new StoredContent(contentHash, "winner.pdf", 1, null)));
+        doThrow(new DataIntegrityViolationException("duplicate hash"))
+                .when(contentIndex).register(eq(contentHash), anyString(), anyLong(), any(), any(), any());
+        given(storageOutbox.guard(anyString())).willAnswer(invocation -> "winner.pdf".equals(invocation.getArgument(0)) ? 2L : 1L);
+
+        //when
+        FileNames fileNames = s3Transferer.uploadOne(file);
+
+        //then
+        Assertions.assertThat(fileNames.getSavedName()).isEqualTo("winner.pdf");
+        verify(storageOutbox).expire(List.of(1L));
+    }
+
+    @Test
+    public void uploadOne_Image_PutVariantsAndRecordKeys() throws Exception{
+        //given
+        BufferedImage image = new BufferedImage(800, 400, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", outputStream);
+        MultipartFile file = new MockMultipartFile("logo", "logo.jpg", "image/jpeg", outputStream.toByteArray());
+
+        //when
+        FileNames fileNames = s3Transferer.uploadOne(file);
+
+        //then
+        Assertions.assertThat(fileNames.getVariants()).isNotNull();
+        Assertions.assertThat(fileNames.getPreview().getWidth()).isEqualTo(800);
+        Assertions.assertThat(fileNames.getPreview().getPlaceholder()).startsWith("data:image/jpeg;base64,");
+        verify(objectStore, times(4)).put(anyString(), any(InputStream.class), anyLong(), any(ObjectHeaders.class));
+        verify(objectStore).put(eq(fileNames.getVariants().getThumbName()), any(InputStream.class), anyLong(), any(ObjectHeaders.class));
+    }
+
+    @Test
+    public void uploadAllAttachments_Image_NoVariants() throws Exception{
+        //given
+        BufferedImage image = new BufferedImage(800, 400, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", outputStream);
+        MultipartFile file = new MockMultipartFile("files", "poster.jpg", "image/jpeg", outputStream.toByteArray());
+
+        //when
+        List<FileNames> fileNames = s3Transferer.uploadAllAttachments(List.of(file));
+
+        //then
+        Assertions.assertThat(fileNames.get(0).getVariants()).isNull();
+        verify(objectStore, times(1)).put(anyString(), any(InputStream.class), anyLong(), any(ObjectHeaders.class));
+        verify(contentIndex).register(anyString(), eq(fileNames.get(0).getSavedName()), anyLong(), anyString(), isNull(), isNull());
+    }
+
+    @Test
+    public void uploadOne_Image_SniffTypeAndPutImmutable() throws Exception{
+        //given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(40, 20, BufferedImage.TYPE_INT_ARGB), "png", outputStream);
+        MultipartFile file = new MockMultipartFile("logo", "logo.jpg", "text/html", outputStream.toByteArray());
+
+        //when
+        FileNames fileNames = s3Transferer.uploadOne(file);
+
+        //then
+        ArgumentCaptor<ObjectHeaders> captor = ArgumentCaptor.forClass(ObjectHeaders.class);
+        verify(objectStore).put(eq(fileNames.getSavedName()), any(InputStream.class), anyLong(), captor.capture());
+        Assertions.assertThat(captor.getValue().getContentType()).isEqualTo("image/png");
+        Assertions.assertThat(captor.getValue().getContentDisposition()).isEqualTo("inline");
+        Assertions.assertThat(captor.getValue().getCacheControl()).isEqualTo(ObjectHeaders.IMMUTABLE);
+        Assertions.assertThat(fileNames.getMetadata().getContentType()).isEqualTo("image/png");
+        Assertions.assertThat(fileNames.getMetadata().getSize()).isEqualTo(file.getSize());
+        verify(contentIndex).register(anyString(), eq(fileNames.getSavedName()), eq(file.getSize()), eq("image/png"), any(), any());
+    }
+
+    @Test
+    public void uploadOne_Default_GuardBeforePut() throws Exception{
+        //given
+        MultipartFile file = getMockFiles(1).get(0);
+
+        //when
+        FileNames fileNames = s3Transferer.uploadOne(file);
+
+        //then
+        InOrder inOrder = inOrder(storageOutbox, objectStore);
+        inOrder.verify(storageOutbox).guard(fileNames.getSavedName());
+        inOrder.verify(objectStore).put(eq(fileNames.getSavedName()), any(InputStream.class), anyLong(), any(ObjectHeaders.class));
+    }
+
+    @Test
+    public void uploadOne_SameContent_ReuseKeyWithoutPut() throws Exception{
+        //given
+        MultipartFile file = getMockFiles(1).get(0);
+        given(contentIndex.acquire(ContentIndex.hash(file)))
+                .willReturn(Optional.of(new StoredContent(ContentIndex.hash(file), "shared.pdf", 1, null)));
+
+        //when
+        FileNames fileNames = s3Transferer.uploadOne(file);
+
+        //then
+        Assertions.assertThat(fileNames.getSavedName()).isEqualTo("shared.pdf");
+        Assertions.assertThat(fileNames.getOriginalName()).isEqualTo(file.getOriginalFilename());
+        verify(objectStore, never()).put(anyString(), any(InputStream.class), anyLong(), any(ObjectHeaders.class));
+        verify(contentIndex, never()).register(anyString(), anyString(), anyLong(), any(), any(), any());
+        verify(storageOutbox).guard("shared.pdf");
+    }
+
+    @Test
+    public void deleteOne_Default_ReleaseThroughOutbox() throws Exception{
+        //when
+        s3Transferer.deleteOne("shared.pdf");
+
+        //then
+        verify(storageOutbox).release(List.of("shared.pdf"));
+        verifyNoInteractions(objectStore);
+    }
+
+    @Test
+    public void presignAll_Default_GuardEachKey() throws Exception{
+        //given
+        given(objectStore.presignPut(anyString(), any(Duration.class))).willReturn("https://presigned");
+
+        //when
+        List<PresignedUploadDto> uploads = s3Transferer.presignAll(List.of("a.jpg", "b.pdf"));
+
+        //then
+        Assertions.assertThat(uploads).extracting(PresignedUploadDto::getSavedName)
+                .allMatch(savedName -> savedName.endsWith(".jpg") || savedName.endsWith(".pdf"));
+        uploads.forEach(upload -> verify(storageOutbox).guard(upload.getSavedName()));
+    }
+
+    @Test
+    public void confirmAll_NotIssuedKey_InvalidUploadException() throws Exception{
+        //given
+        given(storageOutbox.isGuarded("forged.jpg")).willReturn(false);
+
+        //when
+        org.junit.jupiter.api.Assertions.assertThrows(InvalidUploadException.class,
+                () -> s3Transferer.confirmAll(List.of("a.jpg"), List.of("forged.jpg")));
+
+        //then
+        verify(objectStore, never()).exists(anyString());
+    }
+
+    @Test
+    public void confirmAll_NotUploaded_InvalidUploadException() throws Exception{
+        //given
+        given(storageOutbox.isGuarded("saved.jpg")).willReturn(true);
+        given(objectStore.exists("saved.jpg")).willReturn(false);
+
+        //when, then
+        org.junit.jupiter.api.Assertions.assertThrows(InvalidUploadException.class,
+                () -> s3Transferer.confirmAll(List.of("a.jpg"), List.of("saved.jpg")));
+    }
+
+    private List<MultipartFile> getMockFiles(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new MockMultipartFile("files", i + ".pdf", "application/pdf", new byte[]{(byte) i}))
+                .collect(Collectors.toList());
+    }
+}
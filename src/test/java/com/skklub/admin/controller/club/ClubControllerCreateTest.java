@@ -15,7 +15,10 @@ import com.skklub.admin.exception.deprecated.error.exception.InvalidBelongsExcep
 import com.skklub.admin.repository.ClubRepository;
 import com.skklub.admin.repository.UserRepository;
 import com.skklub.admin.service.ClubService;
+import com.skklub.admin.service.cache.ClubCatalog;
+import com.skklub.admin.service.cache.ClubViewCounter;
 import com.skklub.admin.service.dto.FileNames;
+import com.skklub.admin.storage.LogoSprites;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.http.entity.ContentType;
@@ -82,6 +85,12 @@ class ClubControllerCreateTest {
     private TestDataRepository testDataRepository;
     @MockBean
     private AuthValidator authValidator;
+    @MockBean
+    private LogoSprites logoSprites;
+    @MockBean
+    private ClubCatalog clubCatalog;
+    @MockBean
+    private ClubViewCounter clubViewCounter;
 
     private MockMultipartFile mockLogo;
     private List<MockMultipartFile> mockActivityImages = new ArrayList<>();
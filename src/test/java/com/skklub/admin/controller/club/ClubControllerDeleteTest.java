@@ -10,6 +10,9 @@ import com.skklub.admin.exception.deprecated.error.exception.MissingDeletedClubE
 import com.skklub.admin.repository.ClubRepository;
 import com.skklub.admin.repository.UserRepository;
 import com.skklub.admin.service.ClubService;
+import com.skklub.admin.service.cache.ClubCatalog;
+import com.skklub.admin.service.cache.ClubViewCounter;
+import com.skklub.admin.storage.LogoSprites;
 import lombok.extern.slf4j.Slf4j;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -57,6 +60,12 @@ class ClubControllerDeleteTest {
     private S3Transferer s3Transferer;
     @MockBean
     private AuthValidator authValidator;
+    @MockBean
+    private LogoSprites logoSprites;
+    @MockBean
+    private ClubCatalog clubCatalog;
+    @MockBean
+    private ClubViewCounter clubViewCounter;
     @Autowired
     private MockMvc mockMvc;
 
@@ -8,6 +8,7 @@ import com.skklub.admin.controller.RestDocsUtils;
 import com.skklub.admin.controller.S3Transferer;
 import com.skklub.admin.controller.dto.RecruitDto;
 import com.skklub.admin.controller.dto.S3DownloadDto;
+import com.skklub.admin.domain.ActivityImage;
 import com.skklub.admin.domain.Club;
 import com.skklub.admin.domain.User;
 import com.skklub.admin.domain.enums.Campus;
@@ -20,8 +21,14 @@ import com.skklub.admin.exception.deprecated.error.exception.InvalidBelongsExcep
 import com.skklub.admin.repository.ClubRepository;
 import com.skklub.admin.repository.UserRepository;
 import com.skklub.admin.service.ClubService;
+import com.skklub.admin.service.cache.ClubCatalog;
+import com.skklub.admin.service.cache.ClubViewCounter;
+import com.skklub.admin.service.dto.ActivityImageCursor;
 import com.skklub.admin.service.dto.ClubDetailInfoDto;
 import com.skklub.admin.service.dto.FileNames;
+import com.skklub.admin.service.exception.InvalidCursorException;
+import com.skklub.admin.storage.LogoSprite;
+import com.skklub.admin.storage.LogoSprites;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -35,8 +42,12 @@ import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.restdocs.payload.FieldDescriptor;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -46,19 +57,31 @@ import org.springframework.test.web.servlet.ResultActions;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
+import static com.skklub.admin.TestUtils.setIdReflection;
 import static com.skklub.admin.controller.RestDocsUtils.*;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.get;
 import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
 import static org.springframework.restdocs.payload.PayloadDocumentation.responseFields;
 import static org.springframework.restdocs.request.RequestDocumentation.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -82,6 +105,12 @@ class ClubControllerReadTest {
     private S3Transferer s3Transferer;
     @MockBean
     private AuthValidator authValidator;
+    @MockBean
+    private LogoSprites logoSprites;
+    @MockBean
+    private ClubCatalog clubCatalog;
+    @MockBean
+    private ClubViewCounter clubViewCounter;
     @InjectMocks
     private TestDataRepository testDataRepository;
 
@@ -107,6 +136,7 @@ class ClubControllerReadTest {
         given(clubRepository.findDetailClubById(clubId)).willReturn(Optional.of(club));
         given(s3Transferer.downloadOne(clubDetailInfoDto.getLogo())).willReturn(logoS3DownloadDto);
         given(s3Transferer.downloadAll(clubDetailInfoDto.getActivityImages())).willReturn(activityImgS3DownloadDtos);
+        given(clubService.getActivityImageGallery(clubId, null, 12)).willReturn(new SliceImpl<>(club.getActivityImages()));
         //when
         ResultActions actions = mockMvc.perform(
                 get("/club/{clubId}", clubId)
@@ -179,6 +209,7 @@ class ClubControllerReadTest {
                                 fieldWithPath("logo.id").type(WireFormat.FieldType.INT64).description("로고 ID").attributes(example(logoS3DownloadDto.getId().toString())),
                                 fieldWithPath("logo.fileName").type(WireFormat.FieldType.STRING).description("로고 파일명").attributes(example(logoS3DownloadDto.getFileName())),
                                 fieldWithPath("logo.url").type(WireFormat.FieldType.STRING).description("로고 리소스 주소").attributes(example("https://s3.ap-northeast-2.amazonaws.com/skklub.test/024f3d7b-0ae0-4011-8f3f-23637d10f3d4.jpg")),
+                                fieldWithPath("activityImageCount").type(WireFormat.FieldType.INT64).description("전체 활동 사진 수, activityImages에는 앞쪽 12장까지만 담김").attributes(example("5")),
                                 fieldWithPath("activityImages[].id").type(WireFormat.FieldType.STRING).description("활동 사진 ID").attributes(example(activityImgS3DownloadDtos.get(0).getId().toString())),
                                 fieldWithPath("activityImages[].fileName").type(WireFormat.FieldType.STRING).description("활동 사진 파일명").attributes(example(activityImgS3DownloadDtos.get(0).getFileName())),
                                 fieldWithPath("activityImages.[]url").type(WireFormat.FieldType.STRING).description("활동 사진 리소스 주소") .attributes(example("https://s3.ap-northeast-2.amazonaws.com/skklub.test/024f3d7b-0ae0-4011-8f3f-23637d10f3d4.jpg"))
@@ -187,6 +218,41 @@ class ClubControllerReadTest {
         );
      }
 
+    @Test
+    @WithMockUser(username = "userId0")
+    public void getClubById_OwnClubByPresident_NotRecordView() throws Exception{
+        //given
+        long clubId = 0L;
+        Club club = testDataRepository.getClubs().get((int) clubId);
+        setIdReflection(clubId, club);
+        given(clubRepository.findDetailClubById(clubId)).willReturn(Optional.of(club));
+        given(clubService.getActivityImageGallery(clubId, null, 12)).willReturn(new SliceImpl<>(club.getActivityImages()));
+
+        //when
+        mockMvc.perform(get("/club/{clubId}", clubId).with(csrf()))
+                .andExpect(status().isOk());
+
+        //then
+        verify(clubViewCounter, never()).record(anyLong());
+    }
+
+    @Test
+    public void getClubById_OtherUser_RecordView() throws Exception{
+        //given
+        long clubId = 0L;
+        Club club = testDataRepository.getClubs().get((int) clubId);
+        setIdReflection(clubId, club);
+        given(clubRepository.findDetailClubById(clubId)).willReturn(Optional.of(club));
+        given(clubService.getActivityImageGallery(clubId, null, 12)).willReturn(new SliceImpl<>(club.getActivityImages()));
+
+        //when
+        mockMvc.perform(get("/club/{clubId}", clubId).with(csrf()))
+                .andExpect(status().isOk());
+
+        //then
+        verify(clubViewCounter).record(clubId);
+    }
+
     @Test
     public void getClubById_IllegalClubId_ClubIdMisMatchException() throws Exception{
          //given
@@ -223,6 +289,7 @@ class ClubControllerReadTest {
         given(clubRepository.findDetailClubByPresident(user)).willReturn(Optional.of(club));
         given(s3Transferer.downloadOne(clubDetailInfoDto.getLogo())).willReturn(logoS3DownloadDto);
         given(s3Transferer.downloadAll(clubDetailInfoDto.getActivityImages())).willReturn(activityImgS3DownloadDtos);
+        given(clubService.getActivityImageGallery(clubId, null, 12)).willReturn(new SliceImpl<>(club.getActivityImages()));
 
         //when
         ResultActions actions = mockMvc.perform(
@@ -293,6 +360,7 @@ class ClubControllerReadTest {
                                 fieldWithPath("logo.id").type(WireFormat.FieldType.INT64).description("로고 ID").attributes(example(logoS3DownloadDto.getId().toString())),
                                 fieldWithPath("logo.fileName").type(WireFormat.FieldType.STRING).description("로고 파일명").attributes(example(logoS3DownloadDto.getFileName())),
                                 fieldWithPath("logo.url").type(WireFormat.FieldType.STRING).description("로고 리소스 주소").attributes(example("https://s3.ap-northeast-2.amazonaws.com/skklub.test/024f3d7b-0ae0-4011-8f3f-23637d10f3d4.jpg")),
+                                fieldWithPath("activityImageCount").type(WireFormat.FieldType.INT64).description("전체 활동 사진 수, activityImages에는 앞쪽 12장까지만 담김").attributes(example("5")),
                                 fieldWithPath("activityImages[].id").type(WireFormat.FieldType.STRING).description("활동 사진 ID").attributes(example(activityImgS3DownloadDtos.get(0).getId().toString())),
                                 fieldWithPath("activityImages[].fileName").type(WireFormat.FieldType.STRING).description("활동 사진 파일명").attributes(example(activityImgS3DownloadDtos.get(0).getFileName())),
                                 fieldWithPath("activityImages.[]url").type(WireFormat.FieldType.STRING).description("활동 사진 리소스 주소") .attributes(example("https://s3.ap-northeast-2.amazonaws.com/skklub.test/024f3d7b-0ae0-4011-8f3f-23637d10f3d4.jpg"))
@@ -334,6 +402,7 @@ class ClubControllerReadTest {
         given(clubRepository.findDetailClubByName(clubName)).willReturn(Optional.of(club));
         given(s3Transferer.downloadOne(clubDetailInfoDto.getLogo())).willReturn(logoS3DownloadDto);
         given(s3Transferer.downloadAll(clubDetailInfoDto.getActivityImages())).willReturn(activityImgS3DownloadDtos);
+        given(clubService.getActivityImageGallery(clubId, null, 12)).willReturn(new SliceImpl<>(club.getActivityImages()));
 
         //when
         ResultActions actions = mockMvc.perform(
@@ -408,6 +477,7 @@ class ClubControllerReadTest {
                                 fieldWithPath("logo.id").type(WireFormat.FieldType.INT64).description("로고 ID").attributes(example(logoS3DownloadDto.getId().toString())),
                                 fieldWithPath("logo.fileName").type(WireFormat.FieldType.STRING).description("로고 파일명").attributes(example(logoS3DownloadDto.getFileName())),
                                 fieldWithPath("logo.url").type(WireFormat.FieldType.STRING).description("로고 파일 리소스 주소").attributes(example("https://s3.ap-northeast-2.amazonaws.com/skklub.test/ASDASD-QEQWE.jpg")),
+                                fieldWithPath("activityImageCount").type(WireFormat.FieldType.INT64).description("전체 활동 사진 수, activityImages에는 앞쪽 12장까지만 담김").attributes(example("5")),
                                 fieldWithPath("activityImages[].id").type(WireFormat.FieldType.STRING).description("활동 사진 ID").attributes(example(activityImgS3DownloadDtos.get(0).getId().toString())),
                                 fieldWithPath("activityImages[].fileName").type(WireFormat.FieldType.STRING).description("활동 사진 파일명").attributes(example(activityImgS3DownloadDtos.get(0).getFileName())),
                                 fieldWithPath("activityImages[].url").type(WireFormat.FieldType.STRING).description("활동 사진 리소스 주소").attributes(example("https://s3.ap-northeast-2.amazonaws.com/skklub.test/ASDASD-QEQWE.jpg"))
@@ -498,6 +568,74 @@ class ClubControllerReadTest {
         );
     }
 
+    @Test
+    public void getClubPrevByCategories_SpriteReady_TileOffsetPerClub() throws Exception{
+        //given
+        Campus campus = Campus.명륜;
+        ClubType clubType = ClubType.중앙동아리;
+        String belongs = "취미교양";
+        List<Club> clubs = testDataRepository.getClubs().subList(0, 2);
+        setClubIds(clubs);
+        Page<Club> clubPage = new PageImpl<>(clubs, PageRequest.of(0, 2), clubs.size());
+        given(clubService.getClubPrevsByCategories(eq(campus), eq(clubType), eq(belongs), any(Pageable.class))).willReturn(clubPage);
+        clubPage.forEach(club -> given(s3Transferer.downloadOne(new FileNames(club.getLogo()))).willReturn(testDataRepository.getLogoS3DownloadDto(club.getId().intValue())));
+        LogoSprite sprite = new LogoSprite("0f3a9c", Map.of(0L, "logo0.jpg", 1L, "logo1.jpg"),
+                List.of(new LogoSprite.Tile(0L, 0, 0, 96, 96), new LogoSprite.Tile(1L, 96, 0, 96, 96)), new byte[0]);
+        given(logoSprites.find(anyString(), anyList())).willReturn(Optional.of(sprite));
+
+        //when
+        ResultActions actions = mockMvc.perform(
+                get("/club/prev")
+                        .with(csrf())
+                        .queryParam("campus", campus.toString())
+                        .queryParam("clubType", clubType.toString())
+                        .queryParam("belongs", belongs)
+                        .queryParam("size", "2")
+        );
+
+        //then
+        actions.andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].sprite.url").value("http://localhost/club/prev/sprite/0f3a9c"))
+                .andExpect(jsonPath("$.content[0].sprite.x").value(0))
+                .andExpect(jsonPath("$.content[1].sprite.x").value(96))
+                .andExpect(jsonPath("$.content[1].sprite.y").value(0))
+                .andExpect(jsonPath("$.content[1].sprite.width").value(96))
+                .andExpect(jsonPath("$.content[1].sprite.height").value(96));
+    }
+
+    @Test
+    public void getLogoSprite_Default_ImmutableJpeg() throws Exception{
+        //given
+        byte[] image = {1, 2, 3};
+        LogoSprite sprite = new LogoSprite("0f3a9c", Map.of(), List.of(), image);
+        given(logoSprites.get("0f3a9c")).willReturn(Optional.of(sprite));
+
+        //when
+        ResultActions actions = mockMvc.perform(get("/club/prev/sprite/{spriteId}", "0f3a9c"));
+
+        //then
+        actions.andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.IMAGE_JPEG_VALUE))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0f3a9c\""))
+                .andExpect(content().bytes(image))
+                .andDo(document("club/get/prevs/sprite",
+                        pathParameters(
+                                parameterWithName("spriteId").description("스프라이트 아이디").attributes(example("목록 응답의 content[].sprite.url"))
+                        )
+                ));
+    }
+
+    @Test
+    public void getLogoSprite_Unknown_NotFound() throws Exception{
+        //given
+        given(logoSprites.get("unknown")).willReturn(Optional.empty());
+
+        //when, then
+        mockMvc.perform(get("/club/prev/sprite/{spriteId}", "unknown"))
+                .andExpect(status().isNotFound());
+    }
+
     private void setClubIds(List<Club> clubs) throws NoSuchFieldException, IllegalAccessException {
         for(int i = 0; i < clubs.size(); i++){
             Field id = clubs.get(i).getClass().getDeclaredField("id");
@@ -851,6 +989,63 @@ class ClubControllerReadTest {
         assertThat(badBelongsResult.getResolvedException()).isExactlyInstanceOf(InvalidBelongsException.class);
     }
 
+    @Test
+    public void getActivityImageGallery_HasNext_ReturnNextCursor() throws Exception{
+        //given
+        long clubId = 0L;
+        List<ActivityImage> activityImages = testDataRepository.getClubs().get((int) clubId).getActivityImages();
+        for (int i = 0; i < activityImages.size(); i++) setIdReflection((long) i, activityImages.get(i));
+        List<ActivityImage> page = activityImages.subList(0, 2);
+        List<S3DownloadDto> activityImgS3DownloadDtos = testDataRepository.getActivityImgS3DownloadDtos((int) clubId).subList(0, 2);
+        ActivityImageCursor cursor = ActivityImageCursor.parse("0_0");
+        given(clubService.getActivityImageGallery(eq(clubId), any(ActivityImageCursor.class), eq(2))).willReturn(new SliceImpl<>(page, PageRequest.of(0, 2), true));
+        given(s3Transferer.downloadAll(page.stream().map(FileNames::new).collect(Collectors.toList()))).willReturn(activityImgS3DownloadDtos);
+
+        //when
+        ResultActions actions = mockMvc.perform(
+                get("/club/{clubId}/activityImage", clubId)
+                        .queryParam("cursor", cursor.toString())
+                        .queryParam("size", "2")
+        );
+
+        //then
+        actions.andExpect(status().isOk())
+                .andExpect(jsonPath("$.clubId").value(clubId))
+                .andExpect(jsonPath("$.activityImages.length()").value(2))
+                .andExpect(jsonPath("$.nextCursor").value(page.get(1).getPosition() + "_" + page.get(1).getId()))
+                .andDo(
+                        document("club/get/activityImage/gallery",
+                                pathParameters(
+                                        parameterWithName("clubId").description("대상 동아리 ID").attributes(example("1"))
+                                ),
+                                queryParameters(
+                                        parameterWithName("cursor").optional().description("앞 페이지 응답의 nextCursor, 없으면 첫 페이지").attributes(example("11_153")),
+                                        parameterWithName("size").optional().description("페이지 크기, 최대 100").attributes(example("20"))
+                                ),
+                                responseFields(
+                                        fieldWithPath("clubId").type(WireFormat.FieldType.INT64).description("대상 동아리 ID").attributes(example("1")),
+                                        fieldWithPath("activityImages[].id").type(WireFormat.FieldType.INT64).description("활동 사진 ID").attributes(example(activityImgS3DownloadDtos.get(0).getId().toString())),
+                                        fieldWithPath("activityImages[].fileName").type(WireFormat.FieldType.STRING).description("활동 사진 파일명").attributes(example(activityImgS3DownloadDtos.get(0).getFileName())),
+                                        fieldWithPath("activityImages[].url").type(WireFormat.FieldType.STRING).description("활동 사진 리소스 주소").attributes(example("https://s3.ap-northeast-2.amazonaws.com/skklub.test/2026/10/01J9ZQ3M7V0000000000000000.jpg")),
+                                        fieldWithPath("nextCursor").type(WireFormat.FieldType.STRING).description("다음 페이지 커서, 마지막 페이지면 null").attributes(example("11_153"))
+                                )
+                        )
+                );
+    }
+
+    @Test
+    public void getActivityImageGallery_MalformedCursor_InvalidCursorException() throws Exception{
+        //when
+        MvcResult badCursorResult = mockMvc.perform(
+                get("/club/{clubId}/activityImage", 0L)
+                        .queryParam("cursor", "notACursor")
+        ).andExpect(status().isBadRequest()).andReturn();
+
+        //then
+        assertThat(badCursorResult.getResolvedException()).isExactlyInstanceOf(InvalidCursorException.class);
+        verify(clubService, never()).getActivityImageGallery(any(), any(), anyInt());
+    }
+
     private void checkActivityImagesResponseJson(ResultActions actions, int activityImgIndex, List<S3DownloadDto> activityImgS3DownloadDtos) throws Exception {
         actions.andExpect(jsonPath("$.activityImages[" + activityImgIndex + "].id").value(activityImgS3DownloadDtos.get(activityImgIndex).getId()))
                 .andExpect(jsonPath("$.activityImages[" + activityImgIndex + "].fileName").value(activityImgS3DownloadDtos.get(activityImgIndex).getFileName()))
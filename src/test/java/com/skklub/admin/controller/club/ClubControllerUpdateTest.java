@@ -7,16 +7,23 @@ import com.skklub.admin.controller.AuthValidator;
 import com.skklub.admin.controller.ClubController;
 import com.skklub.admin.controller.RestDocsUtils;
 import com.skklub.admin.controller.S3Transferer;
+import com.skklub.admin.controller.dto.PresignedUploadDto;
+import com.skklub.admin.domain.ActivityImage;
 import com.skklub.admin.domain.Club;
 import com.skklub.admin.domain.Logo;
 import com.skklub.admin.domain.enums.ClubType;
+import com.skklub.admin.exception.deprecated.error.exception.ActivityImageMisMatchException;
 import com.skklub.admin.exception.deprecated.error.exception.CannotDownGradeClubException;
 import com.skklub.admin.exception.deprecated.error.exception.CannotUpGradeClubException;
 import com.skklub.admin.exception.deprecated.error.exception.ClubIdMisMatchException;
 import com.skklub.admin.repository.ClubRepository;
 import com.skklub.admin.repository.UserRepository;
 import com.skklub.admin.service.ClubService;
+import com.skklub.admin.service.cache.ClubCatalog;
+import com.skklub.admin.service.cache.ClubViewCounter;
 import com.skklub.admin.service.dto.FileNames;
+import com.skklub.admin.service.exception.InvalidUploadException;
+import com.skklub.admin.storage.LogoSprites;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.http.entity.ContentType;
 import org.assertj.core.api.Assertions;
@@ -41,6 +48,8 @@ import org.springframework.web.multipart.support.MissingServletRequestPartExcept
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static com.skklub.admin.controller.RestDocsUtils.*;
@@ -50,6 +59,7 @@ import static org.mockito.Mockito.*;
 import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.multipart;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.patch;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.post;
 import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
 import static org.springframework.restdocs.payload.PayloadDocumentation.responseFields;
 import static org.springframework.restdocs.request.RequestDocumentation.*;
@@ -77,6 +87,12 @@ class ClubControllerUpdateTest {
     private UserRepository userRepository;
     @MockBean
     private AuthValidator authValidator;
+    @MockBean
+    private LogoSprites logoSprites;
+    @MockBean
+    private ClubCatalog clubCatalog;
+    @MockBean
+    private ClubViewCounter clubViewCounter;
     @InjectMocks
     private TestDataRepository testDataRepository;
 
@@ -231,6 +247,106 @@ class ClubControllerUpdateTest {
 
     }
 
+    @Test
+    public void presignLogo_Default_Success() throws Exception {
+        //given
+        Long clubId = 0L;
+        String fileName = "TestLogo.jpg";
+        PresignedUploadDto presignedUploadDto = new PresignedUploadDto(fileName, "savedTestLogo.jpg", "https://s3.ap-northeast-2.amazonaws.com/bucket/savedTestLogo.jpg?X-Amz-Signature=sig", LocalDateTime.of(2023, 3, 1, 12, 10));
+        doNothing().when(authValidator).validateUpdatingClub(clubId);
+        given(s3Transferer.presignAll(List.of(fileName))).willReturn(List.of(presignedUploadDto));
+
+        //when
+        ResultActions actions = mockMvc.perform(
+                post("/club/{clubId}/logo/presign", clubId)
+                        .with(csrf())
+                        .queryParam("fileName", fileName)
+        );
+
+        //then
+        actions.andExpect(status().isOk())
+                .andExpect(jsonPath("$.savedName").value(presignedUploadDto.getSavedName()))
+                .andExpect(jsonPath("$.uploadUrl").value(presignedUploadDto.getUploadUrl()))
+                .andDo(
+                        document(
+                                "club/update/logo/presign"
+                                , pathParameters(
+                                        parameterWithName("clubId").description("동아리 ID").attributes(example("0"))
+                                ),
+                                queryParameters(
+                                        parameterWithName("fileName").description("업로드할 로고 파일명").attributes(example(fileName))
+                                ),
+                                responseFields(
+                                        fieldWithPath("originalName").description("업로드할 로고 파일명").type(WireFormat.FieldType.STRING).attributes(example(fileName)),
+                                        fieldWithPath("savedName").description("저장소에 저장될 이름, 확인 요청에 사용").type(WireFormat.FieldType.STRING).attributes(example(presignedUploadDto.getSavedName())),
+                                        fieldWithPath("uploadUrl").description("파일을 PUT으로 올릴 URL").type(WireFormat.FieldType.STRING).attributes(example(presignedUploadDto.getUploadUrl())),
+                                        fieldWithPath("expiresAt").description("URL 만료 시각").type(WireFormat.FieldType.STRING).attributes(example("2023-03-01T12:10:00"))
+                                )
+                        )
+                );
+    }
+
+    @Test
+    public void confirmLogo_Uploaded_Success() throws Exception {
+        //given
+        Long clubId = 0L;
+        FileNames fileNames = new FileNames("TestLogo.jpg", "savedTestLogo.jpg");
+        doNothing().when(authValidator).validateUpdatingClub(clubId);
+        given(s3Transferer.confirmAll(List.of(fileNames.getOriginalName()), List.of(fileNames.getSavedName()))).willReturn(List.of(fileNames));
+        given(clubService.updateLogo(clubId, fileNames.toLogoEntity())).willReturn(Optional.of("savedOldLogo.jpg"));
+
+        //when
+        ResultActions actions = mockMvc.perform(
+                post("/club/{clubId}/logo/confirm", clubId)
+                        .with(csrf())
+                        .queryParam("originalName", fileNames.getOriginalName())
+                        .queryParam("savedName", fileNames.getSavedName())
+        );
+
+        //then
+        actions.andExpect(status().isOk())
+                .andExpect(jsonPath("$.clubId").value(clubId.toString()))
+                .andExpect(jsonPath("$.logoSavedName").value(fileNames.getSavedName()))
+                .andDo(
+                        document(
+                                "club/update/logo/confirm"
+                                , pathParameters(
+                                        parameterWithName("clubId").description("동아리 ID").attributes(example("0"))
+                                ),
+                                queryParameters(
+                                        parameterWithName("originalName").description("로고 파일명").attributes(example(fileNames.getOriginalName())),
+                                        parameterWithName("savedName").description("URL 발급 시 받은 저장 이름").attributes(example(fileNames.getSavedName()))
+                                ),
+                                responseFields(
+                                        fieldWithPath("clubId").description("동아리 아이디").type(WireFormat.FieldType.INT64).attributes(example(clubId.toString())),
+                                        fieldWithPath("logoOriginalName").description("반영된 로고 파일명").type(WireFormat.FieldType.STRING).attributes(example(fileNames.getOriginalName())),
+                                        fieldWithPath("logoSavedName").description("반영된 로고 파일 저장명").type(WireFormat.FieldType.STRING).attributes(example(fileNames.getSavedName()))
+                                )
+                        )
+                );
+    }
+
+    @Test
+    public void confirmLogo_NotUploaded_InvalidUploadException() throws Exception {
+        //given
+        Long clubId = 0L;
+        doNothing().when(authValidator).validateUpdatingClub(clubId);
+        given(s3Transferer.confirmAll(anyList(), anyList())).willThrow(new InvalidUploadException("저장소에 업로드되지 않은 파일입니다 : savedTestLogo.jpg"));
+
+        //when
+        MvcResult mvcResult = mockMvc.perform(
+                        post("/club/{clubId}/logo/confirm", clubId)
+                                .with(csrf())
+                                .queryParam("originalName", "TestLogo.jpg")
+                                .queryParam("savedName", "savedTestLogo.jpg")
+                ).andExpect(status().isBadRequest())
+                .andReturn();
+
+        //then
+        Assertions.assertThat(mvcResult.getResolvedException()).isExactlyInstanceOf(InvalidUploadException.class);
+        verify(clubService, never()).updateLogo(anyLong(), any(Logo.class));
+    }
+
     @Test
     public void updateLogo_DefaultToNewLogo_Success() throws Exception {
         //given
@@ -468,6 +584,67 @@ class ClubControllerUpdateTest {
     }
 
 
+    @Test
+    public void arrangeActivityImages_Default_Success() throws Exception{
+        //given
+        Long clubId = 0L;
+        List<ActivityImage> activityImages = testDataRepository.getClubs().get(0).getActivityImages();
+        String deletingName = activityImages.get(0).getOriginalName();
+        String firstName = activityImages.get(2).getOriginalName();
+        List<ActivityImage> arranged = List.of(activityImages.get(2), activityImages.get(1));
+        doNothing().when(authValidator).validateUpdatingClub(clubId);
+        given(clubService.arrangeActivityImages(clubId, List.of(deletingName), List.of(firstName))).willReturn(Optional.of(arranged));
+
+        //when
+        ResultActions actions = mockMvc.perform(
+                patch("/club/{clubId}/activityImage", clubId)
+                        .with(csrf())
+                        .queryParam("deletingNames", deletingName)
+                        .queryParam("orderedNames", firstName)
+        );
+
+        //then
+        actions.andExpect(status().isOk())
+                .andExpect(jsonPath("$.clubId").value(clubId))
+                .andExpect(jsonPath("$.deletedActivityImageNames[0]").value(deletingName))
+                .andExpect(jsonPath("$.activityImageNames[0]").value(firstName))
+                .andExpect(jsonPath("$.activityImageNames[1]").value(activityImages.get(1).getOriginalName()))
+                .andDo(
+                        document("club/update/activityImage/arrange"
+                                , pathParameters(
+                                        parameterWithName("clubId").description("대상 동아리 ID").attributes(example("1"))
+                                ),
+                                queryParameters(
+                                        parameterWithName("deletingNames").optional().attributes(example("activity1.png")).description("지우려는 활동 사진 파일명 목록"),
+                                        parameterWithName("orderedNames").optional().attributes(example("activity3.png")).description("앞에서부터 놓을 활동 사진 파일명 목록, 빠진 사진은 기존 순서대로 뒤에 놓임")
+                                ),
+                                responseFields(
+                                        fieldWithPath("clubId").type(WireFormat.FieldType.INT64).description("대상 동아리 ID").attributes(example("1")),
+                                        fieldWithPath("deletedActivityImageNames[]").type(WireFormat.FieldType.STRING).description("지워진 활동 사진 파일명 목록").attributes(example("activity1.png")),
+                                        fieldWithPath("activityImageNames[]").type(WireFormat.FieldType.STRING).description("변경 후 순서대로 나열한 활동 사진 파일명 목록").attributes(example("activity3.png"))
+                                )
+                        )
+                );
+    }
+
+    @Test
+    public void arrangeActivityImages_NameMisMatch_ActivityImageMisMatchException() throws Exception{
+        //given
+        Long clubId = 0L;
+        doNothing().when(authValidator).validateUpdatingClub(clubId);
+        given(clubService.arrangeActivityImages(clubId, List.of("badActivityImgName"), List.of())).willReturn(Optional.empty());
+
+        //when
+        MvcResult misMatchResult = mockMvc.perform(
+                patch("/club/{clubId}/activityImage", clubId)
+                        .with(csrf())
+                        .queryParam("deletingNames", "badActivityImgName")
+        ).andExpect(status().isBadRequest()).andReturn();
+
+        //then
+        Assertions.assertThat(misMatchResult.getResolvedException()).isExactlyInstanceOf(ActivityImageMisMatchException.class);
+    }
+
     private void setClubId(Club club, Long clubId) throws NoSuchFieldException, IllegalAccessException {
         Field clubIdField = club.getClass().getDeclaredField("id");
         clubIdField.setAccessible(true);
@@ -10,8 +10,12 @@ import com.skklub.admin.controller.dto.S3DownloadDto;
 import com.skklub.admin.domain.ExtraFile;
 import com.skklub.admin.domain.Notice;
 import com.skklub.admin.domain.Thumbnail;
+import com.skklub.admin.domain.UploadPart;
+import com.skklub.admin.domain.UploadSession;
 import com.skklub.admin.domain.User;
 import com.skklub.admin.domain.enums.Role;
+import com.skklub.admin.exception.deprecated.AuthException;
+import com.skklub.admin.exception.deprecated.ErrorCode;
 import com.skklub.admin.exception.deprecated.error.exception.CannotCategorizeByMasterException;
 import com.skklub.admin.exception.deprecated.error.exception.CannotCategorizeByUserException;
 import com.skklub.admin.exception.deprecated.error.exception.NoticeIdMisMatchException;
@@ -19,6 +23,8 @@ import com.skklub.admin.repository.NoticeRepository;
 import com.skklub.admin.service.NoticeService;
 import com.skklub.admin.service.dto.FileNames;
 import com.skklub.admin.service.dto.NoticeDeletionDto;
+import com.skklub.admin.storage.ChunkedUploadSessions;
+import com.skklub.admin.storage.ObjectZipWriter;
 import lombok.extern.slf4j.Slf4j;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -33,6 +39,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.restdocs.payload.FieldDescriptor;
@@ -45,6 +52,8 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.Field;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -59,15 +68,22 @@ import java.util.stream.Collectors;
 import static com.skklub.admin.controller.RestDocsUtils.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.*;
 import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
 import static org.springframework.restdocs.payload.PayloadDocumentation.responseFields;
 import static org.springframework.restdocs.request.RequestDocumentation.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
@@ -90,6 +106,10 @@ public class NoticeControllerTest {
     private NoticeService noticeService;
     @MockBean
     private AuthValidator authValidator;
+    @MockBean
+    private ChunkedUploadSessions chunkedUploadSessions;
+    @MockBean
+    private ObjectZipWriter objectZipWriter;
 
     @Value("${cloud.aws.s3.bucket}")
     private String bucket;
@@ -119,7 +139,7 @@ public class NoticeControllerTest {
                 .map(FileNames::toExtraFileEntity)
                 .collect(Collectors.toList());
         given(s3Transferer.uploadOne(mockThumbnail)).willReturn(fileNames);
-        given(s3Transferer.uploadAll(new ArrayList<>(multipartFiles))).willReturn(fileFileNames);
+        given(s3Transferer.uploadAllAttachments(new ArrayList<>(multipartFiles))).willReturn(fileFileNames);
         given(noticeService.createNotice(noticeCreateRequest.getTitle(), noticeCreateRequest.getContent(), username, fileNames.toThumbnailEntity(), extraFiles))
                 .willReturn(12L);
 
@@ -186,7 +206,7 @@ public class NoticeControllerTest {
         NoticeCreateRequest noticeCreateRequest = new NoticeCreateRequest("Notice Test Title", "Notice Test Content");
         FileNames fileNames = new FileNames("default_thumb.png", "default_thumb.png");
         doThrow(RuntimeException.class).when(s3Transferer).uploadOne(any(MultipartFile.class));
-        given(s3Transferer.uploadAll(new ArrayList<>(multipartFiles))).willReturn(fileFileNames);
+        given(s3Transferer.uploadAllAttachments(new ArrayList<>(multipartFiles))).willReturn(fileFileNames);
         given(noticeService.createNotice(eq(noticeCreateRequest.getTitle()), eq(noticeCreateRequest.getContent()), anyString(), eq(fileNames.toThumbnailEntity()), eq(extraFiles)))
                 .willReturn(noticeId);
 
@@ -256,7 +276,7 @@ public class NoticeControllerTest {
                 .map(FileNames::toExtraFileEntity)
                 .collect(Collectors.toList());
         given(noticeRepository.findById(noticeId)).willReturn(Optional.of(notice));
-        given(s3Transferer.uploadAll((new ArrayList<>(multipartFiles)))).willReturn(fileFileNames);
+        given(s3Transferer.uploadAllAttachments((new ArrayList<>(multipartFiles)))).willReturn(fileFileNames);
         given(noticeService.appendExtraFiles(notice, extraFiles)).willReturn(fileCnt);
 
         //when
@@ -295,6 +315,150 @@ public class NoticeControllerTest {
                 ));
     }
 
+    @Test
+    public void appendFile_NotWriter_Reject() throws Exception {
+        //given
+        Long noticeId = 0L;
+        List<MockMultipartFile> multipartFiles = readyMockFiles(1);
+        doThrow(new AuthException(ErrorCode.INVALID_AUTHORITY, "no authority"))
+                .when(authValidator).validateUpdatingNotice(noticeId);
+
+        //when
+        ResultActions actions = mockMvc.perform(
+                multipart("/notice/{noticeId}/file", noticeId)
+                        .file(multipartFiles.get(0))
+                        .contentType(MediaType.MULTIPART_FORM_DATA)
+                        .with(csrf())
+        );
+
+        //then
+        actions.andExpect(status().isBadRequest());
+        verify(s3Transferer, never()).uploadAllAttachments(any());
+    }
+
+    @Test
+    public void uploadPart_Default_ReturnReceivedParts() throws Exception {
+        //given
+        Long noticeId = 0L;
+        String uploadKey = "savedLarge.pdf";
+        byte[] part = new byte[1024];
+        UploadSession session = new UploadSession(noticeId, "large.pdf", uploadKey, "storeUploadId", LocalDateTime.of(2023, 3, 2, 12, 0));
+        given(chunkedUploadSessions.find(noticeId, uploadKey)).willReturn(session);
+        given(chunkedUploadSessions.partSize()).willReturn(8L * 1024 * 1024);
+        given(chunkedUploadSessions.partsOf(session)).willReturn(List.of(
+                new UploadPart(session, 1, "etag1", 8L * 1024 * 1024),
+                new UploadPart(session, 2, "etag2", part.length)
+        ));
+
+        //when
+        ResultActions actions = mockMvc.perform(
+                put("/notice/{noticeId}/file/upload/{uploadKey}/{partNumber}", noticeId, uploadKey, 2)
+                        .content(part)
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .with(csrf())
+        );
+
+        //then
+        verify(chunkedUploadSessions).uploadPart(eq(noticeId), eq(uploadKey), eq(2), any(InputStream.class), eq((long) part.length));
+        actions.andExpect(status().isOk())
+                .andExpect(jsonPath("$.uploadKey").value(uploadKey))
+                .andExpect(jsonPath("$.receivedParts[1]").value(2))
+                .andDo(document("notice/create/files/chunked/part",
+                        pathParameters(
+                                parameterWithName("noticeId").description("공지 ID").attributes(example("0")),
+                                parameterWithName("uploadKey").description("분할 업로드 시작 시 받은 키").attributes(example(uploadKey)),
+                                parameterWithName("partNumber").description("파트 번호(1부터)").attributes(example("2"))
+                        ),
+                        responseFields(
+                                fieldWithPath("uploadKey").type(WireFormat.FieldType.STRING).description("분할 업로드 키").attributes(example(uploadKey)),
+                                fieldWithPath("originalName").type(WireFormat.FieldType.STRING).description("첨부 파일명").attributes(example("large.pdf")),
+                                fieldWithPath("partSize").type(WireFormat.FieldType.INT64).description("파트 최대 크기(바이트), 마지막 파트를 제외하면 이 크기로 나눠 올림").attributes(example("8388608")),
+                                fieldWithPath("expiresAt").type(WireFormat.FieldType.STRING).description("업로드 만료 시각").attributes(example("2023-03-02T12:00:00")),
+                                fieldWithPath("receivedParts").type(WireFormat.FieldType.INT32).description("받은 파트 번호 목록").attributes(example("[1, 2]"))
+                        )
+                ));
+    }
+
+    @Test
+    public void uploadPart_NotWriter_Reject() throws Exception {
+        //given
+        Long noticeId = 0L;
+        String uploadKey = "savedLarge.pdf";
+        doThrow(new AuthException(ErrorCode.INVALID_AUTHORITY, "no authority"))
+                .when(authValidator).validateUpdatingNotice(noticeId);
+
+        //when
+        ResultActions actions = mockMvc.perform(
+                put("/notice/{noticeId}/file/upload/{uploadKey}/{partNumber}", noticeId, uploadKey, 1)
+                        .content(new byte[1024])
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .with(csrf())
+        );
+
+        //then
+        actions.andExpect(status().isBadRequest());
+        verify(chunkedUploadSessions, never()).uploadPart(anyLong(), anyString(), anyInt(), any(InputStream.class), anyLong());
+    }
+
+    @Test
+    public void completeChunkedUpload_Default_AppendFile() throws Exception {
+        //given
+        Long noticeId = 0L;
+        String uploadKey = "savedLarge.pdf";
+        Notice notice = new Notice("Notice Test Title", "Notice Test Content", null, null);
+        FileNames fileNames = new FileNames("large.pdf", uploadKey);
+        given(noticeRepository.findById(noticeId)).willReturn(Optional.of(notice));
+        given(chunkedUploadSessions.complete(noticeId, uploadKey)).willReturn(fileNames);
+        given(noticeService.appendExtraFiles(notice, List.of(fileNames.toExtraFileEntity()))).willReturn(1);
+
+        //when
+        ResultActions actions = mockMvc.perform(
+                post("/notice/{noticeId}/file/upload/{uploadKey}/complete", noticeId, uploadKey)
+                        .with(csrf())
+        );
+
+        //then
+        actions.andExpect(status().isOk())
+                .andExpect(jsonPath("$.noticeId").value(noticeId))
+                .andExpect(jsonPath("$.fileCnt").value(1))
+                .andDo(document("notice/create/files/chunked/complete",
+                        pathParameters(
+                                parameterWithName("noticeId").description("공지 ID").attributes(example("0")),
+                                parameterWithName("uploadKey").description("분할 업로드 키").attributes(example(uploadKey))
+                        ),
+                        responseFields(
+                                fieldWithPath("noticeId").type(WireFormat.FieldType.STRING).description("공지 ID").attributes(example("0")),
+                                fieldWithPath("fileCnt").type(WireFormat.FieldType.STRING).description("첨부된 파일 개수").attributes(example("1"))
+                        )
+                ));
+    }
+
+    @Test
+    public void downloadFilesAsZip_Default_StreamZip() throws Exception {
+        //given
+        Long noticeId = 0L;
+        Notice notice = new Notice("Notice Test Title", "Notice Test Content", null, null);
+        List<ExtraFile> extraFiles = readyFileNames(3).stream().map(FileNames::toExtraFileEntity).collect(Collectors.toList());
+        notice.appendExtraFiles(extraFiles);
+        given(noticeRepository.findDetailById(noticeId)).willReturn(Optional.of(notice));
+        doAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write("zip".getBytes());
+            return null;
+        }).when(objectZipWriter).write(anyList(), any(OutputStream.class));
+
+        //when
+        MvcResult asyncResult = mockMvc.perform(get("/notice/{noticeId}/files.zip", noticeId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        ResultActions actions = mockMvc.perform(asyncDispatch(asyncResult));
+
+        //then
+        actions.andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/zip"))
+                .andExpect(content().bytes("zip".getBytes()));
+        verify(objectZipWriter).write(eq(readyFileNames(3)), any(OutputStream.class));
+    }
+
     private List<FileNames> readyFileNames(int fileCnt) {
         List<FileNames> fileFileNames = new ArrayList<>();
         for (int i = 0; i < fileCnt; i++) {
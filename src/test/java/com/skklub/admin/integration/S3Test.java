@@ -6,7 +6,10 @@ import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.S3Object;
 import com.skklub.admin.controller.S3Transferer;
 import com.skklub.admin.controller.dto.S3DownloadDto;
+import com.skklub.admin.domain.Logo;
+import com.skklub.admin.repository.LogoRepository;
 import com.skklub.admin.service.dto.FileNames;
+import com.skklub.admin.storage.S3ObjectVerifier;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -15,6 +18,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.imageio.ImageIO;
@@ -33,6 +37,10 @@ public class S3Test {
     private S3Transferer s3Transferer;
     @Autowired
     private AmazonS3 amazonS3;
+    @Autowired
+    private S3ObjectVerifier s3ObjectVerifier;
+    @Autowired
+    private LogoRepository logoRepository;
     @Value("${cloud.aws.s3.bucket}")
     private String bucket;
 
@@ -59,16 +67,31 @@ public class S3Test {
 //    }
 
     @Test
-    public void download_WhenNoKey_AmazonS3Exception() throws Exception{
+    public void download_WhenNoKey_BuildUrlWithoutRequest() throws Exception{
         //given
+        FileNames fileNames = new FileNames("test.jpg", "NeverSavedImage.jpg");
 
         //when
-        Assertions.assertThrows(
-                AmazonS3Exception.class,
-                () -> s3Transferer.downloadOne(new FileNames("test.jpg", "NeverSavedImage.jpg")));
+        S3DownloadDto s3DownloadDto = s3Transferer.downloadOne(fileNames);
 
         //then
+        Assertions.assertTrue(s3DownloadDto.getUrl().endsWith("/" + bucket + "/NeverSavedImage.jpg"));
+        Assertions.assertFalse(s3Transferer.exists("NeverSavedImage.jpg"));
+    }
 
+    @Test
+    @Transactional
+    public void verify_WhenRowWithoutObject_AmazonS3Exception() throws Exception{
+        //given
+        logoRepository.save(new Logo("test.jpg", "NeverSavedImage.jpg"));
+
+        //when
+        s3ObjectVerifier.verify();
+
+        //then
+        Assertions.assertThrows(
+                AmazonS3Exception.class,
+                () -> s3Transferer.downloadOne(new FileNames("test.jpg", "NeverSavedImage.jpg")));
     }
 //
 //    @Test
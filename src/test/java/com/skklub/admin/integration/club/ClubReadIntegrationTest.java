@@ -9,9 +9,11 @@ import com.skklub.admin.domain.enums.Campus;
 import com.skklub.admin.domain.enums.ClubType;
 import com.skklub.admin.domain.enums.Role;
 import com.skklub.admin.repository.ClubRepository;
+import com.skklub.admin.service.cache.ClubPrevCache;
 import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
 import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -41,6 +43,14 @@ public class ClubReadIntegrationTest {
     private ClubRepository clubRepository;
     @Autowired
     private TestDataRepository testDataRepository;
+    @Autowired
+    private ClubPrevCache clubPrevCache;
+
+    //롤백된 다른 테스트의 조회 결과가 목록 캐시에 남지 않도록 비움
+    @BeforeEach
+    public void beforeEach() {
+        clubPrevCache.invalidate();
+    }
 
     /**
      * select club_id, logo.original_name, count(activity_image_id), recruit_id, (start_at is null)
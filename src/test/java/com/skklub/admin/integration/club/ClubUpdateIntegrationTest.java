@@ -5,6 +5,8 @@ import com.skklub.admin.TestDataRepository;
 import com.skklub.admin.WithMockCustomUser;
 import com.skklub.admin.controller.ClubController;
 import com.skklub.admin.controller.S3Transferer;
+import com.skklub.admin.storage.ObjectDeletionQueue;
+import com.skklub.admin.storage.StorageOutbox;
 import com.skklub.admin.controller.dto.*;
 import com.skklub.admin.domain.Club;
 import com.skklub.admin.domain.Logo;
@@ -28,6 +30,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -47,6 +50,10 @@ public class ClubUpdateIntegrationTest {
     private EntityManager em;
     @Autowired
     private S3Transferer s3Transferer;
+    @Autowired
+    private ObjectDeletionQueue objectDeletionQueue;
+    @Autowired
+    private StorageOutbox storageOutbox;
 
 
     @Test
@@ -121,6 +128,12 @@ public class ClubUpdateIntegrationTest {
         Club club = em.createQuery("select c from Club c inner join fetch c.president inner join fetch c.logo where c.logo.originalName not like 'alt.jpg'", Club.class)
                 .setMaxResults(1)
                 .getSingleResult();
+        //다른 동아리와 공유하지 않는 로고로 먼저 교체해 마지막 참조로 만듦
+        MockMultipartFile uniqueLogo = new MockMultipartFile("logo", "unique.jpg", "image/jpeg", UUID.randomUUID().toString().getBytes());
+        clubController.updateLogo(club.getId(), uniqueLogo);
+        em.flush();
+        em.clear();
+        club = clubRepository.findById(club.getId()).get();
         Logo logo = club.getLogo();
         Path newPath = Paths.get("src/test/resources/img/2.jpg");
         byte[] newBytes = Files.readAllBytes(newPath);
@@ -142,12 +155,35 @@ public class ClubUpdateIntegrationTest {
         FileNames fileName = new FileNames(logo);
         Assertions.assertThat(fileName.getId()).isNotNull();
         Assertions.assertThat(fileName.getOriginalName()).isEqualTo(logo.getOriginalName());
-        assertThrows(AmazonS3Exception.class, () -> {
-            s3Transferer.downloadOne(fileName);
-        });
+        storageOutbox.relay();
+        objectDeletionQueue.flush();
+        Assertions.assertThat(s3Transferer.exists(fileName.getSavedName())).isFalse();
 
     }
 
+    @Test
+    public void updateLogo_SharedLogo_KeepOldInS3() throws Exception{
+        //given
+        //InitDatabase는 같은 이미지를 여러 동아리 로고로 올리므로 같은 객체를 공유
+        List<Club> clubs = em.createQuery("select c from Club c inner join fetch c.logo where c.logo.originalName not like 'alt.jpg'", Club.class)
+                .getResultList();
+        Club club = clubs.get(0);
+        String sharedKey = club.getLogo().getUploadedName();
+        Assertions.assertThat(clubs).filteredOn(c -> c.getLogo().getUploadedName().equals(sharedKey)).hasSizeGreaterThan(1);
+        Path newPath = Paths.get("src/test/resources/img/2.jpg");
+        MockMultipartFile newLogo = new MockMultipartFile("logo", "2.jpg", "image/jpeg", Files.readAllBytes(newPath));
+        em.flush();
+        em.clear();
+
+        //when
+        clubController.updateLogo(club.getId(), newLogo);
+
+        //then
+        storageOutbox.relay();
+        objectDeletionQueue.flush();
+        Assertions.assertThat(s3Transferer.exists(sharedKey)).isTrue();
+    }
+
     @Test
     public void updateLogo_FromDefaultLogo_DeleteOldFromS3() throws Exception{
         //given
@@ -178,8 +214,7 @@ public class ClubUpdateIntegrationTest {
                 .isEqualTo(newLogoName)
                 .isEqualTo(clubIdAndLogoNameDTO.getLogoOriginalName());
 
-        org.junit.jupiter.api.Assertions.assertDoesNotThrow(
-                () -> s3Transferer.downloadOne(new FileNames("alt.jpg", "alt.jpg")));
+        Assertions.assertThat(s3Transferer.exists("alt.jpg")).isTrue();
 
 
     }
@@ -0,0 +1,59 @@
+package com.skklub.admin.repository;
+
+import com.skklub.admin.domain.StoredContent;
+import jakarta.persistence.EntityManager;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class StoredContentRepositoryTest {
+    @Autowired
+    private EntityManager em;
+    @Autowired
+    private StoredContentRepository storedContentRepository;
+
+    @Test
+    public void deleteUnreferenced_StillReferenced_KeepRow() throws Exception{
+        //given
+        storedContentRepository.save(new StoredContent("hash", "saved.png", 1, null));
+        storedContentRepository.incrementReference("hash");
+
+        //when
+        storedContentRepository.decrementReference("saved.png");
+        int deleted = storedContentRepository.deleteUnreferenced("saved.png");
+
+        //then
+        Assertions.assertThat(deleted).isZero();
+        Assertions.assertThat(storedContentRepository.findByContentHash("hash").get().getReferenceCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void deleteUnreferenced_LastReference_DeleteRow() throws Exception{
+        //given
+        storedContentRepository.save(new StoredContent("hash", "saved.png", 1, null));
+
+        //when
+        storedContentRepository.decrementReference("saved.png");
+        int deleted = storedContentRepository.deleteUnreferenced("saved.png");
+
+        //then
+        Assertions.assertThat(deleted).isEqualTo(1);
+        Assertions.assertThat(storedContentRepository.findByContentHash("hash")).isEmpty();
+    }
+
+    @Test
+    public void incrementReference_UnknownHash_NoRowUpdated() throws Exception{
+        //given
+        String hash = "unknown";
+
+        //when
+        int updated = storedContentRepository.incrementReference(hash);
+
+        //then
+        Assertions.assertThat(updated).isZero();
+    }
+}
@@ -14,24 +14,37 @@ import com.skklub.admin.repository.ActivityImageRepository;
 import com.skklub.admin.repository.ClubRepository;
 import com.skklub.admin.repository.DeletedClubRepository;
 import com.skklub.admin.repository.LogoRepository;
+import com.skklub.admin.storage.StorageOutbox;
+import com.skklub.admin.service.cache.ClubCatalog;
+import com.skklub.admin.service.cache.ClubPrevCache;
+import com.skklub.admin.service.cache.ClubSampler;
+import com.skklub.admin.service.dto.ActivityImageCursor;
 import com.skklub.admin.service.dto.ClubDetailInfoDto;
 import com.skklub.admin.service.dto.FileNames;
+import com.skklub.admin.service.event.ClubChangedEvent;
 import lombok.extern.slf4j.Slf4j;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static com.skklub.admin.TestUtils.setIdReflection;
@@ -56,6 +69,21 @@ class ClubServiceTest {
     private ActivityImageRepository activityImageRepository;
     @Mock
     private DeletedClubRepository deletedClubRepository;
+    @Mock
+    private StorageOutbox storageOutbox;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private ClubPrevCache clubPrevCache;
+    @Mock
+    private ClubCatalog clubCatalog;
+    @Mock
+    private ClubSampler clubSampler;
+
+    //캐시를 거치지 않고 바로 조회하도록
+    private void passThroughClubPrevCache() {
+        given(clubPrevCache.get(anyString(), any(Pageable.class), any())).willAnswer(invocation -> invocation.<Supplier<Page<Club>>>getArgument(2).get());
+    }
 
     @AfterEach
     public void afterEach() {
@@ -163,6 +191,8 @@ class ClubServiceTest {
         lenient().when(clubRepository.findClubByCampusAndClubType(campus, clubType, request)).thenThrow(IllegalArgumentException.class);
         lenient().when(clubRepository.findClubByCampus(campus, request)).thenThrow(IllegalArgumentException.class);
 
+        passThroughClubPrevCache();
+
         //when
         org.junit.jupiter.api.Assertions.assertDoesNotThrow(() -> clubService.getClubPrevsByCategories(campus, clubType, belongs, request));
 
@@ -179,6 +209,8 @@ class ClubServiceTest {
         lenient().when(clubRepository.findClubByCampusAndClubTypeAndBelongs(campus, clubType, belongs, request)).thenThrow(AssertionError.class);
         lenient().when(clubRepository.findClubByCampus(campus, request)).thenThrow(AssertionError.class);
 
+        passThroughClubPrevCache();
+
         //when
         org.junit.jupiter.api.Assertions.assertDoesNotThrow(() -> clubService.getClubPrevsByCategories(campus, clubType, belongs, request));
 
@@ -197,6 +229,8 @@ class ClubServiceTest {
         lenient().when(clubRepository.findClubByCampusAndClubTypeAndBelongs(campus, clubType, belongs, request)).thenThrow(AssertionError.class);
         lenient().when(clubRepository.findClubByCampusAndClubType(campus, clubType, request)).thenThrow(AssertionError.class);
 
+        passThroughClubPrevCache();
+
         //when
         org.junit.jupiter.api.Assertions.assertDoesNotThrow(() -> clubService.getClubPrevsByCategories(campus, clubType, belongs, request));
 
@@ -325,6 +359,12 @@ class ClubServiceTest {
         Assertions.assertThat(logo.getUploadedName()).isEqualTo(logoUpdateInfo.getUploadedName()).isNotEqualTo(baseLogo.getUploadedName());
         Assertions.assertThat(oldSavedName).isNotEmpty();
         Assertions.assertThat(oldSavedName.get()).isEqualTo(baseLogo.getUploadedName());
+        verify(storageOutbox).claim(List.of(logoUpdateInfo.getUploadedName()));
+        verify(storageOutbox).release(List.of(baseLogo.getUploadedName()));
+        ArgumentCaptor<ClubChangedEvent> captor = ArgumentCaptor.forClass(ClubChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        Assertions.assertThat(captor.getValue().getClubId()).isEqualTo(clubId);
+        Assertions.assertThat(captor.getValue().getLogo().getUploadedName()).isEqualTo(logoUpdateInfo.getUploadedName());
     }
 
     @Test
@@ -389,6 +429,7 @@ class ClubServiceTest {
         //then
         Assertions.assertThat(reviveClubName).isNotEmpty();
         Assertions.assertThat(reviveClubName.get()).isEqualTo("testName");
+        verify(eventPublisher).publishEvent(any(ClubChangedEvent.class));
     }
 
     @Test
@@ -443,6 +484,62 @@ class ClubServiceTest {
         Assertions.assertThat(nameShouldEmpty).isEmpty();
     }
 
+    @Test
+    public void arrangeActivityImages_Default_DeleteInOneQueryAndReorder() throws Exception{
+        //given
+        Long clubId = 0L;
+        List<ActivityImage> activityImages = testDataRepository.getClubs().get(0).getActivityImages();
+        for (int i = 0; i < activityImages.size(); i++) setIdReflection((long) i, activityImages.get(i));
+        ActivityImage deleting = activityImages.get(0);
+        ActivityImage last = activityImages.get(activityImages.size() - 1);
+        given(activityImageRepository.findAllByClubIdOrderByPosition(clubId)).willReturn(List.copyOf(activityImages));
+
+        //when
+        Optional<List<ActivityImage>> arranged = clubService.arrangeActivityImages(clubId, List.of(deleting.getOriginalName()), List.of(last.getOriginalName()));
+
+        //then
+        Assertions.assertThat(arranged).isNotEmpty();
+        Assertions.assertThat(arranged.get()).hasSize(activityImages.size() - 1).doesNotContain(deleting);
+        Assertions.assertThat(arranged.get().get(0)).isSameAs(last);
+        for (int i = 0; i < arranged.get().size(); i++) Assertions.assertThat(arranged.get().get(i).getPosition()).isEqualTo(i);
+        verify(activityImageRepository).deleteAllByIdInBatch(List.of(deleting.getId()));
+        verify(storageOutbox).release(List.of(deleting.getUploadedName()));
+    }
+
+    @Test
+    public void arrangeActivityImages_UnknownName_ReturnEmptyWithoutChanges() throws Exception{
+        //given
+        Long clubId = 0L;
+        List<ActivityImage> activityImages = testDataRepository.getClubs().get(0).getActivityImages();
+        List<Integer> positions = activityImages.stream().map(ActivityImage::getPosition).collect(Collectors.toList());
+        given(activityImageRepository.findAllByClubIdOrderByPosition(clubId)).willReturn(List.copyOf(activityImages));
+
+        //when
+        Optional<List<ActivityImage>> arranged = clubService.arrangeActivityImages(clubId, List.of("badActivityImgName"), List.of(activityImages.get(1).getOriginalName()));
+
+        //then
+        Assertions.assertThat(arranged).isEmpty();
+        Assertions.assertThat(activityImages.stream().map(ActivityImage::getPosition).collect(Collectors.toList())).isEqualTo(positions);
+        verify(activityImageRepository, never()).deleteAllByIdInBatch(any());
+        verifyNoInteractions(storageOutbox);
+    }
+
+    @Test
+    public void getActivityImageGallery_WithCursor_KeysetAfterCursor() throws Exception{
+        //given
+        Long clubId = 0L;
+        ActivityImageCursor cursor = ActivityImageCursor.parse("3_17");
+        Slice<ActivityImage> page = new SliceImpl<>(List.of());
+        given(activityImageRepository.findGalleryByClubIdAfter(clubId, 3, 17L, PageRequest.of(0, 20))).willReturn(page);
+
+        //when
+        Slice<ActivityImage> gallery = clubService.getActivityImageGallery(clubId, cursor, 20);
+
+        //then
+        Assertions.assertThat(gallery).isSameAs(page);
+        verify(activityImageRepository, never()).findGalleryByClubId(any(), any());
+    }
+
     @Test
     public void downGrade_Given중앙동아리_ChangeTo준중앙동아리() throws Exception{
         //given
@@ -9,6 +9,8 @@ import com.skklub.admin.repository.NoticeRepository;
 import com.skklub.admin.repository.UserRepository;
 import com.skklub.admin.service.dto.FileNames;
 import com.skklub.admin.service.dto.NoticeDeletionDto;
+import com.skklub.admin.service.event.ExtraFilesSavedEvent;
+import com.skklub.admin.storage.StorageOutbox;
 import lombok.extern.slf4j.Slf4j;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -16,6 +18,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -23,10 +26,12 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.verify;
 
 @Slf4j
 @ExtendWith(MockitoExtension.class)
@@ -39,6 +44,10 @@ public class NoticeServiceTest {
     private ExtraFileRepository extraFileRepository;
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private StorageOutbox storageOutbox;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @Test
     public void createNotice_WithThumbAndFiles_CheckExtraFilesRelations() throws Exception{
@@ -85,6 +94,7 @@ public class NoticeServiceTest {
         //then
         Assertions.assertThat(notice.getExtraFiles()).hasSize(fileCnt);
         Assertions.assertThat(notice.getExtraFiles()).containsAll(extraFiles);
+        verify(eventPublisher).publishEvent(any(ExtraFilesSavedEvent.class));
     }
 
     @Test
@@ -178,6 +188,8 @@ public class NoticeServiceTest {
         Assertions.assertThat(noticeDeletionDto.getExtraFileNames()).containsAll(
                 extraFiles.stream().map(FileNames::new).collect(Collectors.toList())
         );
+        verify(storageOutbox).release(List.of(thumbnail.getUploadedName()));
+        verify(storageOutbox).release(extraFiles.stream().map(ExtraFile::getSavedName).collect(Collectors.toList()));
     }
 
     @Test
@@ -10,6 +10,7 @@ import com.skklub.admin.domain.enums.Role;
 import com.skklub.admin.repository.ClubRepository;
 import com.skklub.admin.repository.PendingClubRepository;
 import com.skklub.admin.repository.UserRepository;
+import com.skklub.admin.service.event.ClubChangedEvent;
 import lombok.extern.slf4j.Slf4j;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -17,13 +18,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 import java.util.Optional;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.verify;
 
 @Slf4j
 @ExtendWith(MockitoExtension.class)
@@ -38,6 +42,8 @@ class PendingClubServiceTest {
     private UserRepository userRepository;
     @Mock
     private UserService userService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @Test
     public void acceptRequest_Default_ReturnClubWithUser() throws Exception{
@@ -78,6 +84,7 @@ class PendingClubServiceTest {
         Assertions.assertThat(club.getCampus()).isEqualTo(campus);
         Assertions.assertThat(club.getClubType()).isEqualTo(clubType);
         Assertions.assertThat(club.getBelongs()).isEqualTo(belongs);
+        verify(eventPublisher).publishEvent(any(ClubChangedEvent.class));
         Assertions.assertThat(club.getHeadLine()).isNull();
         Assertions.assertThat(club.getEstablishAt()).isNull();
         Assertions.assertThat(club.getRoomLocation()).isNull();
@@ -15,6 +15,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Import;
 
 import java.lang.reflect.Field;
@@ -37,6 +38,8 @@ class RecruitServiceTest {
     private ClubRepository clubRepository;
     @Mock
     private RecruitRepository recruitRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @AfterEach
     public void afterEach() {
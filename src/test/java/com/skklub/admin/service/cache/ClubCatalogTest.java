@@ -0,0 +1,150 @@
+package com.skklub.admin.service.cache;
+
+import com.skklub.admin.domain.Club;
+import com.skklub.admin.domain.Recruit;
+import com.skklub.admin.domain.enums.Campus;
+import com.skklub.admin.domain.enums.ClubType;
+import com.skklub.admin.repository.ClubRepository;
+import com.skklub.admin.service.event.ClubChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static com.skklub.admin.TestUtils.setIdReflection;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ClubCatalogTest {
+    private static final Sort BY_NAME = Sort.by("name").ascending();
+
+    @Mock
+    private ClubRepository clubRepository;
+    @Mock
+    private StringRedisTemplate redisTemplate;
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+    private ClubCatalog clubCatalog;
+    private List<Club> clubs;
+
+    @BeforeEach
+    public void beforeEach() throws Exception {
+        clubCatalog = new ClubCatalog(clubRepository, new ClubGeneration(redisTemplate), new SimpleMeterRegistry());
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(valueOperations.get(ClubGeneration.KEY)).thenReturn("1");
+        clubs = List.of(
+                club(1L, "다람쥐", Campus.명륜, ClubType.중앙동아리, "취미교양"),
+                club(2L, "가나다", Campus.명륜, ClubType.중앙동아리, "취미교양"),
+                club(3L, "Alpha", Campus.명륜, ClubType.준중앙동아리, "취미교양"),
+                club(4L, "bravo", Campus.명륜, ClubType.중앙동아리, "봉사"),
+                club(5L, "나비", Campus.율전, ClubType.중앙동아리, "취미교양"));
+        clubs.get(1).startRecruit(new Recruit(LocalDateTime.now(), LocalDateTime.now().plusDays(7), "10명", "면접", "010-0000-0000", "www.skklub.com"));
+        given(clubRepository.findCatalogClubsBy()).willReturn(clubs);
+        clubCatalog.load();
+    }
+
+    @Test
+    public void browse_Categories_IntersectInNameOrder() throws Exception{
+        //when
+        Page<Club> all = clubCatalog.browse(Campus.명륜, ClubType.전체, "전체", null, PageRequest.of(0, 10, BY_NAME)).get();
+        Page<Club> central = clubCatalog.browse(Campus.명륜, ClubType.중앙동아리, "취미교양", null, PageRequest.of(0, 10, BY_NAME)).get();
+        Page<Club> recruiting = clubCatalog.browse(Campus.명륜, ClubType.전체, "전체", true, PageRequest.of(0, 10, BY_NAME)).get();
+
+        //then
+        Assertions.assertThat(all.getContent()).extracting(Club::getId).containsExactly(3L, 4L, 2L, 1L);
+        Assertions.assertThat(central.getContent()).extracting(Club::getId).containsExactly(2L, 1L);
+        Assertions.assertThat(recruiting.getContent()).extracting(Club::getId).containsExactly(2L);
+    }
+
+    @Test
+    public void browse_SecondPageDescending_SkipOffset() throws Exception{
+        //when
+        Page<Club> page = clubCatalog.browse(Campus.명륜, ClubType.전체, "전체", null, PageRequest.of(1, 3, Sort.by("name").descending().and(BY_NAME))).get();
+
+        //then
+        Assertions.assertThat(page.getTotalElements()).isEqualTo(4);
+        Assertions.assertThat(page.getTotalPages()).isEqualTo(2);
+        Assertions.assertThat(page.getContent()).extracting(Club::getId).containsExactly(3L);
+    }
+
+    @Test
+    public void browse_NotSortedByName_Empty() throws Exception{
+        //when
+        Optional<Page<Club>> page = clubCatalog.browse(Campus.명륜, ClubType.전체, "전체", null, PageRequest.of(0, 10, Sort.by("id")));
+
+        //then
+        Assertions.assertThat(page).isEmpty();
+    }
+
+    @Test
+    public void search_Keyword_IgnoreCase() throws Exception{
+        //when
+        Page<Club> page = clubCatalog.search("A", PageRequest.of(0, 10, BY_NAME)).get();
+
+        //then
+        Assertions.assertThat(page.getContent()).extracting(Club::getId).containsExactly(3L, 4L);
+    }
+
+    @Test
+    public void bucket_Categories_IdOrder() throws Exception{
+        //when
+        List<Club> campus = clubCatalog.bucket(Campus.명륜, ClubType.전체, "전체").get();
+        List<Club> belongs = clubCatalog.bucket(Campus.명륜, ClubType.전체, "취미교양").get();
+        List<Club> none = clubCatalog.bucket(Campus.율전, ClubType.준중앙동아리, "봉사").get();
+
+        //then
+        Assertions.assertThat(campus).extracting(Club::getId).containsExactly(1L, 2L, 3L, 4L);
+        Assertions.assertThat(belongs).extracting(Club::getId).containsExactly(1L, 2L, 3L);
+        Assertions.assertThat(none).isEmpty();
+    }
+
+    @Test
+    public void onClubChanged_DeletedAndUpdated_ReindexOnlyChangedClub() throws Exception{
+        //given
+        Club moved = club(1L, "다람쥐", Campus.명륜, ClubType.준중앙동아리, "취미교양");
+        given(clubRepository.findCatalogClubsByIdIn(List.of(1L))).willReturn(List.of(moved));
+        given(clubRepository.findCatalogClubsByIdIn(List.of(2L))).willReturn(List.of());
+
+        //when
+        clubCatalog.onClubChanged(new ClubChangedEvent(1L));
+        clubCatalog.onClubChanged(new ClubChangedEvent(2L));
+        Page<Club> central = clubCatalog.browse(Campus.명륜, ClubType.중앙동아리, "전체", null, PageRequest.of(0, 10, BY_NAME)).get();
+        Page<Club> semiCentral = clubCatalog.browse(Campus.명륜, ClubType.준중앙동아리, "전체", null, PageRequest.of(0, 10, BY_NAME)).get();
+
+        //then
+        Assertions.assertThat(central.getContent()).extracting(Club::getId).containsExactly(4L);
+        Assertions.assertThat(semiCentral.getContent()).extracting(Club::getId).containsExactly(3L, 1L);
+    }
+
+    @Test
+    public void refresh_GenerationUnchanged_SkipReload() throws Exception{
+        //when
+        clubCatalog.refresh();
+        given(valueOperations.get(ClubGeneration.KEY)).willReturn("2");
+        clubCatalog.refresh();
+
+        //then
+        verify(clubRepository, times(2)).findCatalogClubsBy();
+    }
+
+    private Club club(Long id, String name, Campus campus, ClubType clubType, String belongs) throws Exception {
+        Club club = new Club(name, "activity", belongs, clubType, "brief", campus, "description", null);
+        setIdReflection(id, club);
+        return club;
+    }
+}
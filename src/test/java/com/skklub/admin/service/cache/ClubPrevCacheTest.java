@@ -0,0 +1,164 @@
+package com.skklub.admin.service.cache;
+
+import com.skklub.admin.TestDataRepository;
+import com.skklub.admin.domain.Club;
+import com.skklub.admin.repository.ClubRepository;
+import com.skklub.admin.service.event.ClubChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.skklub.admin.TestUtils.setIdReflection;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ClubPrevCacheTest {
+    private static final String QUERY = "명륜|중앙동아리|취미교양|0|3|name: ASC";
+    private static final PageRequest PAGE_REQUEST = PageRequest.of(0, 3);
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+    @Mock
+    private ClubRepository clubRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private ClubPrevCache clubPrevCache;
+    private Page<Club> page;
+
+    @BeforeEach
+    public void beforeEach() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        clubPrevCache = new ClubPrevCache(redisTemplate, new ClubGeneration(redisTemplate), clubRepository, meterRegistry, Duration.ofMinutes(1), Duration.ofHours(1), 2);
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        List<Club> clubs = new TestDataRepository().getClubs().subList(0, 3);
+        for (int i = 0; i < clubs.size(); i++) setIdReflection((long) i + 1, clubs.get(i));
+        page = new PageImpl<>(clubs, PAGE_REQUEST, 7);
+    }
+
+    @Test
+    public void get_Miss_LoadThenHitL1() throws Exception{
+        //given
+        given(valueOperations.get(ClubGeneration.KEY)).willReturn("4");
+        AtomicInteger loads = new AtomicInteger();
+
+        //when
+        Page<Club> first = clubPrevCache.get(QUERY, PAGE_REQUEST, () -> load(loads));
+        Page<Club> second = clubPrevCache.get(QUERY, PAGE_REQUEST, () -> load(loads));
+
+        //then
+        Assertions.assertThat(first).isSameAs(page);
+        Assertions.assertThat(second).isSameAs(page);
+        Assertions.assertThat(loads.get()).isEqualTo(1);
+        verify(valueOperations).set("club:prev:4:" + QUERY, "7|1,2,3", Duration.ofHours(1));
+        Assertions.assertThat(meterRegistry.counter("club.prev.cache.requests", "tier", "l1", "outcome", "hit").count()).isEqualTo(1);
+    }
+
+    @Test
+    public void get_L2Hit_RestoreOrderFromIds() throws Exception{
+        //given
+        given(valueOperations.get(ClubGeneration.KEY)).willReturn("4");
+        given(valueOperations.get("club:prev:4:" + QUERY)).willReturn("7|3,1,2");
+        given(clubRepository.findByIdIn(List.of(3L, 1L, 2L))).willReturn(page.getContent());
+        AtomicInteger loads = new AtomicInteger();
+
+        //when
+        Page<Club> found = clubPrevCache.get(QUERY, PAGE_REQUEST, () -> load(loads));
+
+        //then
+        Assertions.assertThat(loads.get()).isEqualTo(0);
+        Assertions.assertThat(found.getTotalElements()).isEqualTo(7);
+        Assertions.assertThat(found.getContent()).extracting(Club::getId).containsExactly(3L, 1L, 2L);
+    }
+
+    @Test
+    public void get_L2ClubDeleted_LoadFromDatabase() throws Exception{
+        //given
+        given(valueOperations.get(ClubGeneration.KEY)).willReturn("4");
+        given(valueOperations.get("club:prev:4:" + QUERY)).willReturn("7|1,2,3");
+        given(clubRepository.findByIdIn(List.of(1L, 2L, 3L))).willReturn(page.getContent().subList(0, 2));
+        AtomicInteger loads = new AtomicInteger();
+
+        //when
+        Page<Club> found = clubPrevCache.get(QUERY, PAGE_REQUEST, () -> load(loads));
+
+        //then
+        Assertions.assertThat(found).isSameAs(page);
+        Assertions.assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void get_RedisDown_LoadFromDatabase() throws Exception{
+        //given
+        given(valueOperations.get(anyString())).willThrow(new RedisConnectionFailureException("down"));
+        AtomicInteger loads = new AtomicInteger();
+
+        //when
+        Page<Club> found = clubPrevCache.get(QUERY, PAGE_REQUEST, () -> load(loads));
+
+        //then
+        Assertions.assertThat(found).isSameAs(page);
+        verify(valueOperations, never()).set(anyString(), anyString(), any(Duration.class));
+    }
+
+    @Test
+    public void onClubChanged_Default_DropL1AndBumpGeneration() throws Exception{
+        //given
+        given(valueOperations.get(ClubGeneration.KEY)).willReturn("4");
+        AtomicInteger loads = new AtomicInteger();
+        clubPrevCache.get(QUERY, PAGE_REQUEST, () -> load(loads));
+
+        //when
+        clubPrevCache.onClubChanged(new ClubChangedEvent(1L));
+        clubPrevCache.get(QUERY, PAGE_REQUEST, () -> load(loads));
+
+        //then
+        Assertions.assertThat(loads.get()).isEqualTo(2);
+        verify(valueOperations).increment(ClubGeneration.KEY);
+        Assertions.assertThat(meterRegistry.counter("club.prev.cache.evictions", "cause", "invalidated").count()).isEqualTo(1);
+    }
+
+    @Test
+    public void get_InvalidatedWhileLoading_NotKeptInL1() throws Exception{
+        //given
+        given(valueOperations.get(ClubGeneration.KEY)).willReturn("4");
+        AtomicInteger loads = new AtomicInteger();
+
+        //when
+        clubPrevCache.get(QUERY, PAGE_REQUEST, () -> {
+            clubPrevCache.invalidate();
+            return load(loads);
+        });
+        clubPrevCache.get(QUERY, PAGE_REQUEST, () -> load(loads));
+
+        //then
+        Assertions.assertThat(loads.get()).isEqualTo(2);
+        verify(valueOperations, times(2)).set(eq("club:prev:4:" + QUERY), anyString(), any(Duration.class));
+    }
+
+    private Page<Club> load(AtomicInteger loads) {
+        loads.incrementAndGet();
+        return page;
+    }
+}
@@ -0,0 +1,145 @@
+package com.skklub.admin.service.cache;
+
+import com.skklub.admin.domain.Club;
+import com.skklub.admin.domain.enums.Campus;
+import com.skklub.admin.domain.enums.ClubType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.skklub.admin.TestUtils.setIdReflection;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class ClubSamplerTest {
+    private static final ZoneId SEOUL = ZoneId.of("Asia/Seoul");
+
+    @Mock
+    private ClubCatalog clubCatalog;
+    @Mock
+    private ClubViewCounter clubViewCounter;
+
+    @Test
+    public void pick_Default_DistinctAndUniform() throws Exception{
+        //given
+        List<Integer> items = List.of(0, 1, 2, 3);
+        Random random = new Random(42);
+        int[] picked = new int[items.size()];
+        int[] first = new int[items.size()];
+
+        //when
+        for (int i = 0; i < 20000; i++) {
+            List<Integer> sample = ClubSampler.pick(items, 2, random);
+            Assertions.assertThat(sample).hasSize(2).doesNotHaveDuplicates();
+            sample.forEach(item -> picked[item]++);
+            first[sample.get(0)]++;
+        }
+
+        //then
+        for (int i = 0; i < items.size(); i++) {
+            Assertions.assertThat(picked[i] / 20000.0).isCloseTo(0.5, Assertions.within(0.02));
+            Assertions.assertThat(first[i] / 20000.0).isCloseTo(0.25, Assertions.within(0.02));
+        }
+    }
+
+    @Test
+    public void pick_FewerThanCount_ReturnAll() throws Exception{
+        //when
+        List<Integer> sample = ClubSampler.pick(List.of(7, 8), 3, new Random());
+
+        //then
+        Assertions.assertThat(sample).containsExactlyInAnyOrder(7, 8);
+    }
+
+    @Test
+    public void sample_DailySeed_SameClubsAllDay() throws Exception{
+        //given
+        List<Club> clubs = clubs(30);
+        given(clubCatalog.bucket(Campus.명륜, ClubType.중앙동아리, "전체")).willReturn(Optional.of(clubs));
+        ClubSampler morning = new ClubSampler(clubCatalog, clubViewCounter, new SimpleMeterRegistry(), true, Clock.fixed(Instant.parse("2026-03-02T00:30:00Z"), SEOUL), false, 1.0, 0.5);
+        ClubSampler evening = new ClubSampler(clubCatalog, clubViewCounter, new SimpleMeterRegistry(), true, Clock.fixed(Instant.parse("2026-03-02T13:30:00Z"), SEOUL), false, 1.0, 0.5);
+
+        //when
+        List<Club> first = morning.sample(Campus.명륜, ClubType.중앙동아리, "전체", 3).get();
+        List<Club> second = evening.sample(Campus.명륜, ClubType.중앙동아리, "전체", 3).get();
+
+        //then
+        Assertions.assertThat(first).hasSize(3).doesNotHaveDuplicates();
+        Assertions.assertThat(second).containsExactlyElementsOf(first);
+    }
+
+    @Test
+    public void sample_CatalogNotLoaded_Empty() throws Exception{
+        //given
+        given(clubCatalog.bucket(Campus.율전, ClubType.전체, "전체")).willReturn(Optional.empty());
+        ClubSampler sampler = new ClubSampler(clubCatalog, clubViewCounter, new SimpleMeterRegistry(), false, Clock.system(SEOUL), true, 1.0, 0.5);
+
+        //when
+        Optional<List<Club>> sample = sampler.sample(Campus.율전, ClubType.전체, "전체", 3);
+
+        //then
+        Assertions.assertThat(sample).isEmpty();
+    }
+
+    @Test
+    public void sample_Weighted_FollowViews() throws Exception{
+        //given
+        List<Club> clubs = clubs(3);
+        given(clubCatalog.bucket(Campus.명륜, ClubType.전체, "전체")).willReturn(Optional.of(clubs));
+        given(clubViewCounter.flushAndSum()).willReturn(Optional.of(Map.of(0L, 81L, 1L, 8L)));
+        ClubSampler sampler = new ClubSampler(clubCatalog, clubViewCounter, new SimpleMeterRegistry(), false, Clock.system(SEOUL), true, 1.0, 0.5);
+        sampler.rebuildWeights();
+        int[] picked = new int[clubs.size()];
+
+        //when
+        for (int i = 0; i < 20000; i++) {
+            sampler.sample(Campus.명륜, ClubType.전체, "전체", 1).get()
+                    .forEach(club -> picked[club.getId().intValue()]++);
+        }
+
+        //then 가중치 1 + √조회 수 = 10 : 약 3.83 : 1
+        double total = 10 + (1 + Math.sqrt(8)) + 1;
+        Assertions.assertThat(picked[0] / 20000.0).isCloseTo(10 / total, Assertions.within(0.02));
+        Assertions.assertThat(picked[1] / 20000.0).isCloseTo((1 + Math.sqrt(8)) / total, Assertions.within(0.02));
+        Assertions.assertThat(picked[2] / 20000.0).isCloseTo(1 / total, Assertions.within(0.02));
+    }
+
+    @Test
+    public void pick_AliasSkewed_FillDistinct() throws Exception{
+        //given
+        AliasTable table = AliasTable.of(new double[]{1_000_000, 0, 0, 0});
+
+        //when
+        List<Integer> sample = ClubSampler.pick(List.of(0, 1, 2, 3), table, 3, new Random(7));
+
+        //then
+        Assertions.assertThat(sample).hasSize(3).doesNotHaveDuplicates().startsWith(0);
+    }
+
+    private List<Club> clubs(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> {
+                    Club club = new Club("club" + i, "activity", "취미교양", ClubType.중앙동아리, "brief", Campus.명륜, "description", null);
+                    try {
+                        setIdReflection((long) i, club);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                    return club;
+                })
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,100 @@
+package com.skklub.admin.service.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ClubViewCounterTest {
+    private static final String TODAY = "club:views:2026-03-02";
+    private static final String YESTERDAY = "club:views:2026-03-01";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+    private ClubViewCounter clubViewCounter;
+
+    @BeforeEach
+    public void beforeEach() throws Exception {
+        given(redisTemplate.opsForHash()).willReturn(hashOperations);
+        clubViewCounter = new ClubViewCounter(redisTemplate, new SimpleMeterRegistry(), 2,
+                Clock.fixed(Instant.parse("2026-03-02T03:00:00Z"), ZoneId.of("Asia/Seoul")));
+    }
+
+    @Test
+    public void flushAndSum_Default_AddTodayAndSumWindow() throws Exception{
+        //given
+        clubViewCounter.record(1L);
+        clubViewCounter.record(1L);
+        clubViewCounter.record(2L);
+        given(hashOperations.entries(TODAY)).willReturn(Map.of("1", "5", "2", "1"));
+        given(hashOperations.entries(YESTERDAY)).willReturn(Map.of("1", "3", "3", "4"));
+
+        //when
+        Optional<Map<Long, Long>> sums = clubViewCounter.flushAndSum();
+
+        //then
+        verify(hashOperations).increment(TODAY, "1", 2L);
+        verify(hashOperations).increment(TODAY, "2", 1L);
+        verify(redisTemplate).expire(TODAY, Duration.ofDays(3));
+        Assertions.assertThat(sums).contains(Map.of(1L, 8L, 2L, 1L, 3L, 4L));
+    }
+
+    @Test
+    public void flushAndSum_RedisDown_KeepPendingViews() throws Exception{
+        //given
+        clubViewCounter.record(1L);
+        given(hashOperations.increment(anyString(), anyString(), anyLong()))
+                .willThrow(new RedisConnectionFailureException("down"))
+                .willReturn(1L);
+
+        //when
+        Optional<Map<Long, Long>> failed = clubViewCounter.flushAndSum();
+        clubViewCounter.flushAndSum();
+
+        //then
+        Assertions.assertThat(failed).isEmpty();
+        verify(hashOperations, times(2)).increment(TODAY, "1", 1L);
+    }
+
+    @Test
+    public void flushAndSum_FailAfterSomeIncrements_ReAddOnlyUnapplied() throws Exception{
+        //given
+        clubViewCounter.record(1L);
+        clubViewCounter.record(2L);
+        given(hashOperations.increment(TODAY, "1", 1L)).willReturn(1L);
+        given(hashOperations.increment(TODAY, "2", 1L))
+                .willThrow(new RedisConnectionFailureException("down"))
+                .willReturn(1L);
+
+        //when
+        Optional<Map<Long, Long>> failed = clubViewCounter.flushAndSum();
+        clubViewCounter.flushAndSum();
+
+        //then
+        Assertions.assertThat(failed).isEmpty();
+        verify(hashOperations, times(1)).increment(TODAY, "1", 1L);
+        verify(hashOperations, times(2)).increment(TODAY, "2", 1L);
+    }
+}
@@ -0,0 +1,172 @@
+package com.skklub.admin.storage;
+
+import com.skklub.admin.domain.UploadPart;
+import com.skklub.admin.domain.UploadSession;
+import com.skklub.admin.repository.UploadPartRepository;
+import com.skklub.admin.repository.UploadSessionRepository;
+import com.skklub.admin.service.dto.FileNames;
+import com.skklub.admin.service.exception.InvalidUploadException;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.SortedMap;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChunkedUploadSessionsTest {
+    private static final long MB = DataSize.ofMegabytes(1).toBytes();
+    @Mock
+    private UploadSessionRepository uploadSessionRepository;
+    @Mock
+    private UploadPartRepository uploadPartRepository;
+    @Mock
+    private ObjectStore objectStore;
+    @Mock
+    private StorageOutbox storageOutbox;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private ChunkedUploadSessions chunkedUploadSessions;
+    private UploadSession session;
+
+    @BeforeEach
+    public void beforeEach() {
+        chunkedUploadSessions = new ChunkedUploadSessions(uploadSessionRepository, uploadPartRepository, objectStore, storageOutbox,
+                transactionManager, DataSize.ofMegabytes(8), Duration.ofHours(24));
+        session = new UploadSession(0L, "large.pdf", "savedLarge.pdf", "storeUploadId", LocalDateTime.now().plusHours(1));
+        ReflectionTestUtils.setField(session, "id", 1L);
+    }
+
+    @Test
+    public void uploadPart_TooLarge_InvalidUploadException() throws Exception{
+        //given
+        given(uploadSessionRepository.findByObjectKey("savedLarge.pdf")).willReturn(Optional.of(session));
+
+        //when
+        org.junit.jupiter.api.Assertions.assertThrows(InvalidUploadException.class,
+                () -> chunkedUploadSessions.uploadPart(0L, "savedLarge.pdf", 1, new ByteArrayInputStream(new byte[0]), 9 * MB));
+
+        //then
+        verify(objectStore, never()).uploadPart(anyString(), anyString(), anyInt(), any(InputStream.class), anyLong());
+    }
+
+    @Test
+    public void uploadPart_ConcurrentSamePart_ReplaceWinnerRow() throws Exception{
+        //given
+        UploadPart winner = new UploadPart(session, 1, "winnerEtag", 8 * MB);
+        given(uploadSessionRepository.findByObjectKey("savedLarge.pdf")).willReturn(Optional.of(session));
+        given(objectStore.uploadPart(eq("savedLarge.pdf"), eq("storeUploadId"), eq(1), any(InputStream.class), eq(8 * MB))).willReturn("newEtag");
+        given(uploadPartRepository.findByUploadSessionAndPartNumber(session, 1))
+                .willReturn(Optional.empty())
+                .willReturn(Optional.of(winner));
+        given(uploadPartRepository.save(any(UploadPart.class))).willThrow(new DataIntegrityViolationException("duplicate part"));
+
+        //when
+        chunkedUploadSessions.uploadPart(0L, "savedLarge.pdf", 1, new ByteArrayInputStream(new byte[0]), 8 * MB);
+
+        //then
+        Assertions.assertThat(winner.getEtag()).isEqualTo("newEtag");
+        verify(uploadPartRepository, times(1)).save(any(UploadPart.class));
+    }
+
+    @Test
+    public void uploadPart_SamePartAgain_ReplaceRecordedPart() throws Exception{
+        //given
+        UploadPart recorded = new UploadPart(session, 1, "oldEtag", 8 * MB);
+        given(uploadSessionRepository.findByObjectKey("savedLarge.pdf")).willReturn(Optional.of(session));
+        given(objectStore.uploadPart(eq("savedLarge.pdf"), eq("storeUploadId"), eq(1), any(InputStream.class), eq(8 * MB))).willReturn("newEtag");
+        given(uploadPartRepository.findByUploadSessionAndPartNumber(session, 1)).willReturn(Optional.of(recorded));
+
+        //when
+        chunkedUploadSessions.uploadPart(0L, "savedLarge.pdf", 1, new ByteArrayInputStream(new byte[0]), 8 * MB);
+
+        //then
+        Assertions.assertThat(recorded.getEtag()).isEqualTo("newEtag");
+        verify(uploadPartRepository, never()).save(any(UploadPart.class));
+    }
+
+    @Test
+    public void find_OtherNotice_InvalidUploadException() throws Exception{
+        //given
+        given(uploadSessionRepository.findByObjectKey("savedLarge.pdf")).willReturn(Optional.of(session));
+
+        //when, then
+        org.junit.jupiter.api.Assertions.assertThrows(InvalidUploadException.class,
+                () -> chunkedUploadSessions.find(1L, "savedLarge.pdf"));
+    }
+
+    @Test
+    public void complete_MissingPart_InvalidUploadException() throws Exception{
+        //given
+        given(uploadSessionRepository.findByObjectKey("savedLarge.pdf")).willReturn(Optional.of(session));
+        given(uploadPartRepository.findByUploadSessionOrderByPartNumberAsc(session)).willReturn(List.of(
+                new UploadPart(session, 1, "etag1", 8 * MB),
+                new UploadPart(session, 3, "etag3", MB)
+        ));
+
+        //when
+        org.junit.jupiter.api.Assertions.assertThrows(InvalidUploadException.class,
+                () -> chunkedUploadSessions.complete(0L, "savedLarge.pdf"));
+
+        //then
+        verify(objectStore, never()).completeUpload(anyString(), anyString(), any());
+    }
+
+    @Test
+    public void complete_AllParts_CompleteInOrderAndGuard() throws Exception{
+        //given
+        given(uploadSessionRepository.findByObjectKey("savedLarge.pdf")).willReturn(Optional.of(session));
+        given(uploadPartRepository.findByUploadSessionOrderByPartNumberAsc(session)).willReturn(List.of(
+                new UploadPart(session, 1, "etag1", 8 * MB),
+                new UploadPart(session, 2, "etag2", 8 * MB),
+                new UploadPart(session, 3, "etag3", MB)
+        ));
+
+        //when
+        FileNames fileNames = chunkedUploadSessions.complete(0L, "savedLarge.pdf");
+
+        //then
+        ArgumentCaptor<SortedMap<Integer, String>> captor = ArgumentCaptor.forClass(SortedMap.class);
+        verify(objectStore).completeUpload(eq("savedLarge.pdf"), eq("storeUploadId"), captor.capture());
+        Assertions.assertThat(captor.getValue().values()).containsExactly("etag1", "etag2", "etag3");
+        verify(storageOutbox).guard("savedLarge.pdf");
+        verify(uploadSessionRepository).deleteById(1L);
+        Assertions.assertThat(fileNames.getOriginalName()).isEqualTo("large.pdf");
+        Assertions.assertThat(fileNames.getSavedName()).isEqualTo("savedLarge.pdf");
+        Assertions.assertThat(fileNames.getMetadata().getSize()).isEqualTo(17 * MB);
+        Assertions.assertThat(fileNames.getMetadata().getContentType()).isEqualTo("application/pdf");
+    }
+
+    @Test
+    public void expire_Expired_AbortAndRemove() throws Exception{
+        //given
+        given(uploadSessionRepository.findByExpiresAtBeforeOrderByIdAsc(any(LocalDateTime.class), any(Pageable.class)))
+                .willReturn(List.of(session));
+
+        //when
+        chunkedUploadSessions.expire();
+
+        //then
+        verify(objectStore).abortUpload("savedLarge.pdf", "storeUploadId");
+        verify(uploadPartRepository).deleteByUploadSession(session);
+        verify(uploadSessionRepository).deleteById(1L);
+    }
+}
@@ -0,0 +1,64 @@
+package com.skklub.admin.storage;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+class ContentTypesTest {
+
+    @Test
+    public void sniff_MagicNumber_IgnoreExtension() throws Exception{
+        //given
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 0};
+
+        //when
+        String contentType = ContentTypes.sniff(png, "logo.jpg");
+
+        //then
+        Assertions.assertThat(contentType).isEqualTo("image/png");
+    }
+
+    @Test
+    public void sniff_Webp_CheckBothMarkers() throws Exception{
+        //given
+        byte[] webp = "RIFF\0\0\0\0WEBP".getBytes(StandardCharsets.ISO_8859_1);
+        byte[] wav = "RIFF\0\0\0\0WAVE".getBytes(StandardCharsets.ISO_8859_1);
+
+        //when, then
+        Assertions.assertThat(ContentTypes.sniff(webp, "a.webp")).isEqualTo("image/webp");
+        Assertions.assertThat(ContentTypes.sniff(wav, "a.webp")).isEqualTo(ContentTypes.OCTET_STREAM);
+    }
+
+    @Test
+    public void sniff_ZipContainer_PickByExtension() throws Exception{
+        //given
+        byte[] zip = {'P', 'K', 0x03, 0x04, 0, 0};
+
+        //when, then
+        Assertions.assertThat(ContentTypes.sniff(zip, "report.DOCX"))
+                .isEqualTo("application/vnd.openxmlformats-officedocument.wordprocessingml.document");
+        Assertions.assertThat(ContentTypes.sniff(zip, "report.pdf")).isEqualTo("application/zip");
+    }
+
+    @Test
+    public void sniff_Html_OctetStreamAndAttachment() throws Exception{
+        //given
+        byte[] html = "<html><script>".getBytes(StandardCharsets.UTF_8);
+
+        //when
+        String contentType = ContentTypes.sniff(html, "logo.png");
+
+        //then
+        Assertions.assertThat(contentType).isEqualTo(ContentTypes.OCTET_STREAM);
+        Assertions.assertThat(ObjectHeaders.immutable(contentType).getContentDisposition()).isEqualTo("attachment");
+    }
+
+    @Test
+    public void guess_UnknownExtension_OctetStream() throws Exception{
+        //when, then
+        Assertions.assertThat(ContentTypes.guess("large.pdf")).isEqualTo("application/pdf");
+        Assertions.assertThat(ContentTypes.guess("index.html")).isEqualTo(ContentTypes.OCTET_STREAM);
+        Assertions.assertThat(ContentTypes.guess("noExtension")).isEqualTo(ContentTypes.OCTET_STREAM);
+    }
+}
@@ -0,0 +1,115 @@
+package com.skklub.admin.storage;
+
+import com.skklub.admin.domain.DocumentPreview;
+import com.skklub.admin.domain.ExtraFile;
+import com.skklub.admin.repository.ExtraFileRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentPreviewGeneratorTest {
+    @Mock
+    private ObjectStore objectStore;
+    @Mock
+    private ExtraFileRepository extraFileRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private DocumentPreviewGenerator documentPreviewGenerator;
+
+    @BeforeEach
+    public void beforeEach() {
+        StorageExecutors storageExecutors = new StorageExecutors(1, 1, 1, new SimpleMeterRegistry());
+        documentPreviewGenerator = new DocumentPreviewGenerator(objectStore, extraFileRepository, storageExecutors, transactionManager, new SimpleMeterRegistry(), 800, 200, Duration.ofMinutes(5), Duration.ofHours(6), 32);
+    }
+
+    @Test
+    public void generate_Pdf_PutFirstPageAndAttachPreview() throws Exception{
+        //given
+        ExtraFile extraFile = new ExtraFile("0.pdf", "saved.pdf");
+        given(extraFileRepository.findById(1L)).willReturn(Optional.of(extraFile));
+        given(extraFileRepository.findFirstBySavedNameAndPreviewPageCountIsNotNull("saved.pdf")).willReturn(Optional.empty());
+        given(extraFileRepository.findBySavedName("saved.pdf")).willReturn(List.of(extraFile));
+        given(objectStore.open("saved.pdf")).willReturn(new ClassPathResource("file/0.pdf").getInputStream());
+
+        //when
+        documentPreviewGenerator.generate(1L);
+
+        //then
+        ArgumentCaptor<InputStream> captor = ArgumentCaptor.forClass(InputStream.class);
+        verify(objectStore).put(eq("saved_preview.jpg"), captor.capture(), anyLong(), eq(ObjectHeaders.immutable("image/jpeg")));
+        BufferedImage preview = ImageIO.read(captor.getValue());
+        Assertions.assertThat(preview.getWidth()).isEqualTo(800);
+        Assertions.assertThat(extraFile.getPreview().getPreviewName()).isEqualTo("saved_preview.jpg");
+        Assertions.assertThat(extraFile.getPreview().getPageCount()).isPositive();
+        Assertions.assertThat(extraFile.getPreview().getTextLength()).isNotNegative();
+    }
+
+    @Test
+    public void generate_SharedContentAlreadyPreviewed_ReuseWithoutRendering() throws Exception{
+        //given
+        ExtraFile extraFile = new ExtraFile("0.pdf", "saved.pdf");
+        ExtraFile previewed = new ExtraFile("other.pdf", "saved.pdf");
+        previewed.attachPreview(new DocumentPreview("saved.pdf", 3, 120));
+        given(extraFileRepository.findById(1L)).willReturn(Optional.of(extraFile));
+        given(extraFileRepository.findFirstBySavedNameAndPreviewPageCountIsNotNull("saved.pdf")).willReturn(Optional.of(previewed));
+        given(extraFileRepository.findBySavedName("saved.pdf")).willReturn(List.of(extraFile, previewed));
+
+        //when
+        documentPreviewGenerator.generate(1L);
+
+        //then
+        verify(objectStore, never()).open(anyString());
+        Assertions.assertThat(extraFile.getPreview()).isEqualTo(previewed.getPreview());
+    }
+
+    @Test
+    public void sweep_PdfWithoutPreview_SubmitAgain() throws Exception{
+        //given
+        given(extraFileRepository.findPdfIdsWithoutPreview(any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class))).willReturn(List.of(1L));
+        given(extraFileRepository.findById(1L)).willReturn(Optional.empty());
+
+        //when
+        documentPreviewGenerator.sweep();
+
+        //then
+        verify(extraFileRepository, timeout(1000)).findById(1L);
+    }
+
+    @Test
+    public void generate_NotPdf_Skip() throws Exception{
+        //given
+        given(extraFileRepository.findById(1L)).willReturn(Optional.of(new ExtraFile("a.hwp", "saved.hwp")));
+
+        //when
+        documentPreviewGenerator.generate(1L);
+
+        //then
+        verify(objectStore, never()).open(anyString());
+    }
+}
@@ -0,0 +1,164 @@
+package com.skklub.admin.storage;
+
+import com.skklub.admin.domain.ImagePreview;
+import com.skklub.admin.domain.enums.ImageVariant;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+
+class ImageVariantGeneratorTest {
+    private ImageVariantGenerator imageVariantGenerator;
+
+    @BeforeEach
+    public void beforeEach() {
+        imageVariantGenerator = new ImageVariantGenerator(new StorageExecutors(1, 1, 2, new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(imageVariantGenerator, "maxPixels", 50_000_000L);
+    }
+
+    @Test
+    public void generate_LargeImage_ResizeToEachVariantWidth() throws Exception{
+        //given
+        MockMultipartFile image = getImageFile(4000, 2000, "jpg");
+
+        //when
+        Map<ImageVariant, byte[]> variants = imageVariantGenerator.generate(image, "saved.jpg").join().orElseThrow().getVariants();
+
+        //then
+        for (ImageVariant variant : ImageVariant.values()) {
+            BufferedImage resized = ImageIO.read(new ByteArrayInputStream(variants.get(variant)));
+            Assertions.assertThat(resized.getWidth()).isEqualTo(variant.getMaxSize());
+            Assertions.assertThat(resized.getHeight()).isEqualTo(variant.getMaxSize() / 2);
+        }
+    }
+
+    @Test
+    public void generate_TallImage_BoundLongSide() throws Exception{
+        //given
+        MockMultipartFile image = getImageFile(1000, 4000, "jpg");
+
+        //when
+        Map<ImageVariant, byte[]> variants = imageVariantGenerator.generate(image, "saved.jpg").join().orElseThrow().getVariants();
+
+        //then
+        for (ImageVariant variant : ImageVariant.values()) {
+            BufferedImage resized = ImageIO.read(new ByteArrayInputStream(variants.get(variant)));
+            Assertions.assertThat(resized.getHeight()).isEqualTo(variant.getMaxSize());
+            Assertions.assertThat(resized.getWidth()).isEqualTo(variant.getMaxSize() / 4);
+        }
+    }
+
+    @Test
+    public void generate_ExifRotated_ApplyOrientation() throws Exception{
+        //given 가로로 저장됐지만 Orientation 6(시계 방향 90도)으로 표시되어야 하는 사진
+        byte[] jpeg = getImageFile(800, 400, "jpg").getBytes();
+        byte[] app1 = new byte[]{
+                (byte) 0xFF, (byte) 0xE1, 0x00, 0x22,
+                'E', 'x', 'i', 'f', 0x00, 0x00,
+                'M', 'M', 0x00, 0x2A, 0x00, 0x00, 0x00, 0x08,
+                0x00, 0x01,
+                0x01, 0x12, 0x00, 0x03, 0x00, 0x00, 0x00, 0x01, 0x00, 0x06, 0x00, 0x00,
+                0x00, 0x00, 0x00, 0x00};
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        outputStream.write(jpeg, 0, 2);
+        outputStream.write(app1);
+        outputStream.write(jpeg, 2, jpeg.length - 2);
+        MockMultipartFile file = new MockMultipartFile("file", "image.jpg", "image/jpeg", outputStream.toByteArray());
+
+        //when
+        ResizedImage resized = imageVariantGenerator.generate(file, "saved.jpg").join().orElseThrow();
+
+        //then
+        BufferedImage card = ImageIO.read(new ByteArrayInputStream(resized.getVariants().get(ImageVariant.CARD)));
+        Assertions.assertThat(card.getWidth()).isEqualTo(240);
+        Assertions.assertThat(card.getHeight()).isEqualTo(480);
+        Assertions.assertThat(resized.getPreview().getWidth()).isEqualTo(400);
+        Assertions.assertThat(resized.getPreview().getHeight()).isEqualTo(800);
+    }
+
+    @Test
+    public void orient_Rotate90_MoveTopLeftToTopRight() throws Exception{
+        //given
+        BufferedImage image = new BufferedImage(3, 2, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(0, 0, 0xff0000);
+
+        //when
+        BufferedImage oriented = ImageVariantGenerator.orient(image, 6);
+
+        //then
+        Assertions.assertThat(oriented.getWidth()).isEqualTo(2);
+        Assertions.assertThat(oriented.getHeight()).isEqualTo(3);
+        Assertions.assertThat(oriented.getRGB(1, 0) & 0xffffff).isEqualTo(0xff0000);
+    }
+
+    @Test
+    public void generate_SmallImage_NotUpscaled() throws Exception{
+        //given
+        MockMultipartFile image = getImageFile(100, 50, "png");
+
+        //when
+        Map<ImageVariant, byte[]> variants = imageVariantGenerator.generate(image, "saved.png").join().orElseThrow().getVariants();
+
+        //then
+        BufferedImage full = ImageIO.read(new ByteArrayInputStream(variants.get(ImageVariant.FULL)));
+        Assertions.assertThat(full.getWidth()).isEqualTo(100);
+        Assertions.assertThat(full.getColorModel().hasAlpha()).isTrue();
+    }
+
+    @Test
+    public void generate_NotImage_Empty() throws Exception{
+        //given
+        MockMultipartFile file = new MockMultipartFile("file", "broken.jpg", "image/jpeg", new byte[]{1, 2, 3});
+
+        //when
+        Optional<ResizedImage> variants = imageVariantGenerator.generate(file, "saved.jpg").join();
+
+        //then
+        Assertions.assertThat(variants).isEmpty();
+    }
+
+    @Test
+    public void generate_Default_PreviewWithOriginalSizeAndColor() throws Exception{
+        //given
+        BufferedImage image = new BufferedImage(1200, 600, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(new Color(0x20, 0x40, 0xc0));
+        graphics.fillRect(0, 0, 1200, 600);
+        graphics.dispose();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", outputStream);
+        MockMultipartFile file = new MockMultipartFile("file", "image.png", "image/png", outputStream.toByteArray());
+
+        //when
+        ImagePreview preview = imageVariantGenerator.generate(file, "saved.png").join().orElseThrow().getPreview();
+
+        //then
+        Assertions.assertThat(preview.getWidth()).isEqualTo(1200);
+        Assertions.assertThat(preview.getHeight()).isEqualTo(600);
+        Assertions.assertThat(preview.getDominantColor()).isEqualTo("#2040c0");
+        Assertions.assertThat(preview.getPlaceholder()).startsWith("data:image/png;base64,");
+        String encoded = preview.getPlaceholder().substring(preview.getPlaceholder().indexOf(',') + 1);
+        BufferedImage placeholder = ImageIO.read(new ByteArrayInputStream(Base64.getDecoder().decode(encoded)));
+        Assertions.assertThat(placeholder.getWidth()).isEqualTo(16);
+        Assertions.assertThat(placeholder.getHeight()).isEqualTo(8);
+    }
+
+    private MockMultipartFile getImageFile(int width, int height, String format) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, format.equals("png") ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(image, format, outputStream);
+        return new MockMultipartFile("file", "image." + format, "image/" + format, outputStream.toByteArray());
+    }
+}
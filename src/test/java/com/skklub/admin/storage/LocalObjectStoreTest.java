@@ -0,0 +1,124 @@
+package com.skklub.admin.storage;
+
+import com.skklub.admin.service.exception.PresignedUploadUnsupportedException;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+class LocalObjectStoreTest {
+    @TempDir
+    private Path root;
+    private LocalObjectStore localObjectStore;
+
+    @BeforeEach
+    public void beforeEach() throws Exception {
+        localObjectStore = new LocalObjectStore(root, "http://localhost:8080");
+    }
+
+    @Test
+    public void put_Default_ExistsAndListed() throws Exception{
+        //given
+        byte[] bytes = "content".getBytes();
+
+        //when
+        localObjectStore.put("dir/saved.png", new ByteArrayInputStream(bytes), bytes.length, ObjectHeaders.immutable(ContentTypes.OCTET_STREAM));
+
+        //then
+        Assertions.assertThat(localObjectStore.exists("dir/saved.png")).isTrue();
+        Assertions.assertThat(Files.readAllBytes(root.resolve("dir/saved.png"))).isEqualTo(bytes);
+        Assertions.assertThat(localObjectStore.url("dir/saved.png")).isEqualTo("http://localhost:8080/files/dir/saved.png");
+        List<StoredObject> listed = new ArrayList<>();
+        localObjectStore.forEachPage(listed::addAll);
+        Assertions.assertThat(listed).extracting(StoredObject::getKey).containsExactly("dir/saved.png");
+    }
+
+    @Test
+    public void forEachPage_Prefix_ListOnlyThatMonth() throws Exception{
+        //given
+        ObjectHeaders headers = ObjectHeaders.immutable(ContentTypes.OCTET_STREAM);
+        localObjectStore.put("2026/09/a.png", new ByteArrayInputStream(new byte[]{1}), 1, headers);
+        localObjectStore.put("2026/10/b.png", new ByteArrayInputStream(new byte[]{1}), 1, headers);
+        localObjectStore.put("legacy.png", new ByteArrayInputStream(new byte[]{1}), 1, headers);
+
+        //when
+        List<StoredObject> listed = new ArrayList<>();
+        localObjectStore.forEachPage("2026/10/", listed::addAll);
+        List<StoredObject> missing = new ArrayList<>();
+        localObjectStore.forEachPage("2025/01/", missing::addAll);
+
+        //then
+        Assertions.assertThat(listed).extracting(StoredObject::getKey).containsExactly("2026/10/b.png");
+        Assertions.assertThat(missing).isEmpty();
+    }
+
+    @Test
+    public void copy_Default_BothExist() throws Exception{
+        //given
+        localObjectStore.put("legacy.png", new ByteArrayInputStream("content".getBytes()), 7, ObjectHeaders.immutable(ContentTypes.OCTET_STREAM));
+
+        //when
+        localObjectStore.copy("legacy.png", "2026/10/legacy.png");
+
+        //then
+        Assertions.assertThat(localObjectStore.exists("legacy.png")).isTrue();
+        Assertions.assertThat(Files.readString(root.resolve("2026/10/legacy.png"))).isEqualTo("content");
+    }
+
+    @Test
+    public void deleteAll_Default_NotExists() throws Exception{
+        //given
+        localObjectStore.put("saved.png", new ByteArrayInputStream(new byte[]{1}), 1, ObjectHeaders.immutable(ContentTypes.OCTET_STREAM));
+
+        //when
+        localObjectStore.deleteAll(List.of("saved.png", "neverSaved.png"));
+
+        //then
+        Assertions.assertThat(localObjectStore.exists("saved.png")).isFalse();
+    }
+
+    @Test
+    public void completeUpload_PartsOutOfOrder_JoinedInPartOrder() throws Exception{
+        //given
+        String uploadId = localObjectStore.initiateUpload("large.pdf", ObjectHeaders.immutable("application/pdf"));
+        String etag2 = localObjectStore.uploadPart("large.pdf", uploadId, 2, new ByteArrayInputStream("world".getBytes()), 5);
+        String etag1 = localObjectStore.uploadPart("large.pdf", uploadId, 1, new ByteArrayInputStream("hello ".getBytes()), 6);
+
+        //when
+        localObjectStore.completeUpload("large.pdf", uploadId, new TreeMap<>(Map.of(1, etag1, 2, etag2)));
+
+        //then
+        Assertions.assertThat(Files.readString(root.resolve("large.pdf"))).isEqualTo("hello world");
+        List<StoredObject> listed = new ArrayList<>();
+        localObjectStore.forEachPage(listed::addAll);
+        Assertions.assertThat(listed).extracting(StoredObject::getKey).containsExactly("large.pdf");
+    }
+
+    @Test
+    public void find_KeyOutsideRoot_Empty() throws Exception{
+        //given
+        Files.writeString(root.getParent().resolve("outside.txt"), "secret");
+
+        //when
+        boolean exists = localObjectStore.exists("../outside.txt");
+
+        //then
+        Assertions.assertThat(exists).isFalse();
+    }
+
+    @Test
+    public void presignPut_Default_ClientSideException() throws Exception{
+        //when, then
+        Assertions.assertThatThrownBy(() -> localObjectStore.presignPut("2026/03/a.png", Duration.ofMinutes(10)))
+                .isInstanceOf(PresignedUploadUnsupportedException.class);
+    }
+}
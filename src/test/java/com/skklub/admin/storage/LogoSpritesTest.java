@@ -0,0 +1,106 @@
+package com.skklub.admin.storage;
+
+import com.skklub.admin.TestDataRepository;
+import com.skklub.admin.domain.Club;
+import com.skklub.admin.domain.Logo;
+import com.skklub.admin.service.event.ClubChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Optional;
+
+import static com.skklub.admin.TestUtils.setIdReflection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class LogoSpritesTest {
+    private static final String QUERY = "명륜|중앙동아리|취미교양|0|20|name: ASC";
+
+    @Mock
+    private ObjectStore objectStore;
+    private LogoSprites logoSprites;
+    private List<Club> clubs;
+
+    @BeforeEach
+    public void beforeEach() throws Exception {
+        logoSprites = new LogoSprites(objectStore, new StorageExecutors(2, 2, 2, new SimpleMeterRegistry()), new SimpleMeterRegistry(), 96, 16, 64);
+        clubs = new TestDataRepository().getClubs().subList(0, 3);
+        for (int i = 0; i < clubs.size(); i++) setIdReflection((long) i, clubs.get(i));
+        byte[] png = getPng(200, 100);
+        given(objectStore.open(anyString())).willAnswer(invocation -> new ByteArrayInputStream(png));
+    }
+
+    @Test
+    public void find_Default_BuildInBackgroundThenHit() throws Exception{
+        //when
+        Optional<LogoSprite> first = logoSprites.find(QUERY, clubs);
+        LogoSprite sprite = awaitSprite(clubs);
+
+        //then
+        Assertions.assertThat(first).isEmpty();
+        BufferedImage atlas = ImageIO.read(new ByteArrayInputStream(sprite.getImage()));
+        Assertions.assertThat(atlas.getWidth()).isEqualTo(192);
+        Assertions.assertThat(atlas.getHeight()).isEqualTo(192);
+        Assertions.assertThat(sprite.tileOf(2L).get().getX()).isEqualTo(0);
+        Assertions.assertThat(sprite.tileOf(2L).get().getY()).isEqualTo(96);
+        Assertions.assertThat(logoSprites.get(sprite.getId())).containsSame(sprite);
+        verify(objectStore, times(3)).open(anyString());
+    }
+
+    @Test
+    public void onClubChanged_LogoReplaced_ReadOnlyNewLogo() throws Exception{
+        //given
+        logoSprites.find(QUERY, clubs);
+        LogoSprite before = awaitSprite(clubs);
+        Logo newLogo = new Logo("new.png", "newSaved.png");
+        clubs.get(1).changeLogo(newLogo);
+
+        //when
+        logoSprites.onClubChanged(new ClubChangedEvent(1L, newLogo));
+        LogoSprite after = awaitSprite(clubs);
+
+        //then
+        Assertions.assertThat(after.getId()).isNotEqualTo(before.getId());
+        Assertions.assertThat(after.getLogoKeys()).containsEntry(1L, "newSaved.png");
+        verify(objectStore, times(1)).open("newSaved.png");
+        verify(objectStore, times(4)).open(anyString());
+    }
+
+    @Test
+    public void onClubChanged_ClubUpdated_DropSprite() throws Exception{
+        //given
+        logoSprites.find(QUERY, clubs);
+        LogoSprite sprite = awaitSprite(clubs);
+
+        //when
+        logoSprites.onClubChanged(new ClubChangedEvent(0L));
+
+        //then
+        Assertions.assertThat(logoSprites.get(sprite.getId())).isEmpty();
+    }
+
+    //아틀라스는 백그라운드에서 만들어지므로 만드는 작업이 끝나기를 기다린 뒤 조회
+    private LogoSprite awaitSprite(List<Club> clubs) {
+        logoSprites.pending(QUERY).join();
+        return logoSprites.find(QUERY, clubs).orElseThrow();
+    }
+
+    private byte[] getPng(int width, int height) throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", outputStream);
+        return outputStream.toByteArray();
+    }
+}
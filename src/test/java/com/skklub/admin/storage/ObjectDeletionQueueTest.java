@@ -0,0 +1,88 @@
+package com.skklub.admin.storage;
+
+import com.skklub.admin.domain.PendingDeletion;
+import com.skklub.admin.repository.PendingDeletionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ObjectDeletionQueueTest {
+    @Mock
+    private ObjectStore objectStore;
+    @Mock
+    private ObjectDiskCache objectDiskCache;
+    @Mock
+    private PendingDeletionRepository pendingDeletionRepository;
+    private ObjectDeletionQueue objectDeletionQueue;
+
+    @BeforeEach
+    public void beforeEach() {
+        objectDeletionQueue = new ObjectDeletionQueue(objectStore, objectDiskCache, pendingDeletionRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(objectDeletionQueue, "initialBackoff", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(objectDeletionQueue, "maxBackoff", Duration.ofMinutes(30));
+    }
+
+    @Test
+    public void flush_Default_OneRequestForWholeBatch() throws Exception{
+        //given
+        List<PendingDeletion> pending = getPendingDeletions(3);
+        given(pendingDeletionRepository.findByTypeInAndNextAttemptAtLessThanEqualOrderByIdAsc(anyCollection(), any(LocalDateTime.class), any(Pageable.class)))
+                .willReturn(pending);
+
+        //when
+        objectDeletionQueue.flush();
+
+        //then
+        ArgumentCaptor<Collection<String>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(objectStore).deleteAll(captor.capture());
+        Assertions.assertThat(captor.getValue()).hasSize(3);
+        verify(pendingDeletionRepository).deleteAllInBatch(pending);
+    }
+
+    @Test
+    public void flush_PartialFailure_RetryOnlyFailedKeys() throws Exception{
+        //given
+        List<PendingDeletion> pending = getPendingDeletions(3);
+        given(pendingDeletionRepository.findByTypeInAndNextAttemptAtLessThanEqualOrderByIdAsc(anyCollection(), any(LocalDateTime.class), any(Pageable.class)))
+                .willReturn(pending);
+        given(objectStore.deleteAll(anyCollection())).willReturn(Set.of("key1"));
+
+        //when
+        objectDeletionQueue.flush();
+
+        //then
+        PendingDeletion failed = pending.get(1);
+        Assertions.assertThat(failed.getAttempts()).isEqualTo(1);
+        Assertions.assertThat(failed.getNextAttemptAt()).isAfter(LocalDateTime.now());
+        verify(pendingDeletionRepository).deleteAllInBatch(List.of(pending.get(0), pending.get(2)));
+        verify(pendingDeletionRepository).saveAll(List.of(failed));
+        verify(objectDiskCache).evict(List.of("key0", "key2"));
+    }
+
+    private List<PendingDeletion> getPendingDeletions(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new PendingDeletion("key" + i, LocalDateTime.now()))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,153 @@
+package com.skklub.admin.storage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ObjectDiskCacheTest {
+    @Mock
+    private ObjectStore objectStore;
+    @TempDir
+    private Path root;
+    private ObjectDiskCache objectDiskCache;
+
+    @BeforeEach
+    public void beforeEach() throws Exception {
+        objectDiskCache = new ObjectDiskCache(objectStore, root, DataSize.ofBytes(10), new SimpleMeterRegistry());
+    }
+
+    @Test
+    public void get_Twice_OpenStoreOnce() throws Exception{
+        //given
+        given(objectStore.open("logo.png")).willReturn(new ByteArrayInputStream("logo".getBytes()));
+
+        //when
+        objectDiskCache.get("logo.png").get().close();
+        Optional<CachedFile> cached = objectDiskCache.get("logo.png");
+
+        //then
+        verify(objectStore, times(1)).open("logo.png");
+        Assertions.assertThat(read(cached.get())).isEqualTo("logo");
+    }
+
+    @Test
+    public void get_OverCapacity_EvictLeastRecentlyUsed() throws Exception{
+        //given
+        given(objectStore.open("a.png")).willReturn(new ByteArrayInputStream("aaaa".getBytes()));
+        given(objectStore.open("b.png")).willReturn(new ByteArrayInputStream("bbbb".getBytes()));
+        given(objectStore.open("c.png")).willReturn(new ByteArrayInputStream("cccc".getBytes()));
+        objectDiskCache.get("a.png").get().close();
+        objectDiskCache.get("b.png").get().close();
+        objectDiskCache.get("a.png").get().close();
+
+        //when
+        objectDiskCache.get("c.png").get().close();
+
+        //then
+        Assertions.assertThat(Files.exists(root.resolve("a.png"))).isTrue();
+        Assertions.assertThat(Files.exists(root.resolve("b.png"))).isFalse();
+    }
+
+    @Test
+    public void get_NotInStore_Empty() throws Exception{
+        //given
+        given(objectStore.open("neverSaved.png")).willThrow(new NoSuchFileException("neverSaved.png"));
+
+        //when
+        Optional<CachedFile> cached = objectDiskCache.get("neverSaved.png");
+
+        //then
+        Assertions.assertThat(cached).isEmpty();
+    }
+
+    @Test
+    public void new_FilesLeftOnDisk_ServeWithoutStore() throws Exception{
+        //given
+        Files.writeString(root.resolve("logo.png"), "logo");
+
+        //when
+        ObjectDiskCache restarted = new ObjectDiskCache(objectStore, root, DataSize.ofBytes(10), new SimpleMeterRegistry());
+        Optional<CachedFile> cached = restarted.get("logo.png");
+
+        //then
+        Assertions.assertThat(cached).isPresent();
+        verify(objectStore, times(0)).open("logo.png");
+    }
+
+    @Test
+    public void get_OverCapacityWhileServing_KeepUntilClosed() throws Exception{
+        //given
+        given(objectStore.open("a.png")).willReturn(new ByteArrayInputStream("aaaaaa".getBytes()));
+        given(objectStore.open("b.png")).willReturn(new ByteArrayInputStream("bbbbbb".getBytes()));
+        given(objectStore.open("c.png")).willReturn(new ByteArrayInputStream("cccccc".getBytes()));
+        CachedFile serving = objectDiskCache.get("a.png").get();
+
+        //when
+        objectDiskCache.get("b.png").get().close();
+        Assertions.assertThat(read(serving)).isEqualTo("aaaaaa");
+        objectDiskCache.get("c.png").get().close();
+
+        //then
+        Assertions.assertThat(Files.exists(root.resolve("a.png"))).isFalse();
+        Assertions.assertThat(Files.exists(root.resolve("c.png"))).isTrue();
+    }
+
+    @Test
+    public void evict_WhileServing_DeleteAfterClose() throws Exception{
+        //given
+        given(objectStore.open("logo.png"))
+                .willReturn(new ByteArrayInputStream("old".getBytes()))
+                .willThrow(new NoSuchFileException("logo.png"));
+        CachedFile serving = objectDiskCache.get("logo.png").get();
+
+        //when
+        objectDiskCache.evict(List.of("logo.png"));
+
+        //then
+        Assertions.assertThat(objectDiskCache.cached("logo.png")).isEmpty();
+        Assertions.assertThat(read(serving)).isEqualTo("old");
+        Assertions.assertThat(Files.exists(root.resolve("logo.png"))).isFalse();
+    }
+
+    @Test
+    public void evict_DeletedObject_LoadAgainFromStore() throws Exception{
+        //given
+        given(objectStore.open("logo.png"))
+                .willReturn(new ByteArrayInputStream("old".getBytes()))
+                .willThrow(new NoSuchFileException("logo.png"));
+        objectDiskCache.get("logo.png").get().close();
+
+        //when
+        objectDiskCache.evict(List.of("logo.png"));
+
+        //then
+        Assertions.assertThat(Files.exists(root.resolve("logo.png"))).isFalse();
+        Assertions.assertThat(objectDiskCache.cached("logo.png")).isEmpty();
+        Assertions.assertThat(objectDiskCache.get("logo.png")).isEmpty();
+    }
+
+    //내려준 뒤 닫는 것까지 응답 하나로 취급
+    private static String read(CachedFile file) throws Exception {
+        try (file) {
+            return Files.readString(file.getPath());
+        }
+    }
+}
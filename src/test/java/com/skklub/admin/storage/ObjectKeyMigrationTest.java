@@ -0,0 +1,130 @@
+package com.skklub.admin.storage;
+
+import com.skklub.admin.domain.ImageVariants;
+import com.skklub.admin.domain.Logo;
+import com.skklub.admin.repository.ActivityImageRepository;
+import com.skklub.admin.repository.ExtraFileRepository;
+import com.skklub.admin.repository.LogoRepository;
+import com.skklub.admin.repository.StoredContentRepository;
+import com.skklub.admin.repository.ThumbnailRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.NoSuchFileException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class ObjectKeyMigrationTest {
+    private static final Instant MAY_2023 = Instant.parse("2023-05-10T12:00:00Z");
+
+    @Mock
+    private ObjectStore objectStore;
+    @Mock
+    private LogoRepository logoRepository;
+    @Mock
+    private ActivityImageRepository activityImageRepository;
+    @Mock
+    private ThumbnailRepository thumbnailRepository;
+    @Mock
+    private ExtraFileRepository extraFileRepository;
+    @Mock
+    private StoredContentRepository storedContentRepository;
+    @Mock
+    private ContentIndex contentIndex;
+    @Mock
+    private ObjectDeletionQueue objectDeletionQueue;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private ObjectKeyMigration objectKeyMigration;
+
+    @BeforeEach
+    public void beforeEach() {
+        objectKeyMigration = new ObjectKeyMigration(objectStore, logoRepository, activityImageRepository, thumbnailRepository,
+                extraFileRepository, storedContentRepository, contentIndex, objectDeletionQueue, transactionManager,
+                new SimpleMeterRegistry(), true, Duration.ofDays(1));
+    }
+
+    @Test
+    public void migrate_ReferencedImage_CopyWithVariantsAndRelocateRow() throws Exception{
+        //given
+        Logo logo = new Logo("logo.png", "legacy.png", ImageVariants.of("legacy.png"));
+        given(logoRepository.findByUploadedName("legacy.png")).willReturn(List.of(logo));
+        doThrow(new NoSuchFileException("legacy_full.png")).when(objectStore).copy("legacy_full.png", "2023/05/legacy_full.png");
+
+        //when
+        objectKeyMigration.migrate(new StoredObject("legacy.png", MAY_2023), Instant.now());
+
+        //then
+        verify(objectStore).copy("legacy.png", "2023/05/legacy.png");
+        verify(objectStore).copy("legacy_thumb.png", "2023/05/legacy_thumb.png");
+        Assertions.assertThat(logo.getUploadedName()).isEqualTo("2023/05/legacy.png");
+        Assertions.assertThat(logo.getVariants().getThumbName()).isEqualTo("2023/05/legacy_thumb.png");
+        verify(objectDeletionQueue, never()).enqueue(any());
+    }
+
+    @Test
+    public void migrate_OriginalCopyFails_KeepRow() throws Exception{
+        //given
+        Logo logo = new Logo("logo.png", "legacy.png");
+        given(logoRepository.findByUploadedName("legacy.png")).willReturn(List.of(logo));
+        doThrow(new NoSuchFileException("legacy.png")).when(objectStore).copy("legacy.png", "2023/05/legacy.png");
+
+        //when
+        objectKeyMigration.migrate(new StoredObject("legacy.png", MAY_2023), Instant.now());
+
+        //then
+        Assertions.assertThat(logo.getUploadedName()).isEqualTo("legacy.png");
+    }
+
+    @Test
+    public void migrate_Unreferenced_EnqueueWithDerivedKeys() throws Exception{
+        //when
+        objectKeyMigration.migrate(new StoredObject("legacy.pdf", MAY_2023), Instant.now());
+
+        //then
+        ArgumentCaptor<Collection<String>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(objectDeletionQueue).enqueue(captor.capture());
+        Assertions.assertThat(captor.getValue()).containsExactly("legacy.pdf", "legacy_preview.jpg");
+        verify(objectStore, never()).copy(anyString(), anyString());
+    }
+
+    @Test
+    public void migrate_Listing_SkipPrefixedDerivedAndDefaultKeys() throws Exception{
+        //given
+        doAnswer(invocation -> {
+            Consumer<List<StoredObject>> consumer = invocation.getArgument(0);
+            consumer.accept(List.of(
+                    new StoredObject("2026/10/01JABCDEFGHJKMNPQRSTVWXYZ0.png", MAY_2023),
+                    new StoredObject("legacy_thumb.png", MAY_2023),
+                    new StoredObject("alt.jpg", MAY_2023)
+            ));
+            return null;
+        }).when(objectStore).forEachPage(any());
+
+        //when
+        objectKeyMigration.migrate();
+
+        //then
+        verifyNoInteractions(logoRepository, objectDeletionQueue);
+    }
+}
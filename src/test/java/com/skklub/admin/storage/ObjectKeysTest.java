@@ -0,0 +1,61 @@
+package com.skklub.admin.storage;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+class ObjectKeysTest {
+
+    @Test
+    public void newKey_Default_MonthPrefixAndTimeOrdered() throws Exception{
+        //given
+        Instant now = Instant.parse("2026-10-17T03:00:00Z");
+
+        //when
+        List<String> keys = IntStream.range(0, 100)
+                .mapToObj(i -> ObjectKeys.newKey(now.plusMillis(i), ".png"))
+                .collect(Collectors.toList());
+
+        //then
+        Assertions.assertThat(keys).allMatch(key -> key.matches("2026/10/[0-9A-HJKMNP-TV-Z]{26}\\.png"));
+        Assertions.assertThat(keys).isSorted();
+        Assertions.assertThat(keys).doesNotHaveDuplicates();
+    }
+
+    @Test
+    public void keyOf_Name_RestorePrefixFromId() throws Exception{
+        //given
+        String key = ObjectKeys.newKey(Instant.parse("2026-01-31T23:59:59Z"), ".pdf");
+
+        //when
+        String name = ObjectKeys.nameOf(key);
+
+        //then
+        Assertions.assertThat(name).doesNotContain("/");
+        Assertions.assertThat(ObjectKeys.keyOf(name)).isEqualTo(key);
+    }
+
+    @Test
+    public void keyOf_LegacyName_Unchanged() throws Exception{
+        //given
+        String legacy = "3f2a9c1e-5b7d-4e8f-9a0b-1c2d3e4f5a6b.pdf";
+
+        //when, then
+        Assertions.assertThat(ObjectKeys.keyOf(legacy)).isEqualTo(legacy);
+        Assertions.assertThat(ObjectKeys.keyOf("savedLarge.pdf")).isEqualTo("savedLarge.pdf");
+        Assertions.assertThat(ObjectKeys.isLegacy(legacy)).isTrue();
+    }
+
+    @Test
+    public void prefixesBetween_AcrossYear_EveryMonthInOrder() throws Exception{
+        //when
+        List<String> prefixes = ObjectKeys.prefixesBetween(Instant.parse("2025-11-20T00:00:00Z"), Instant.parse("2026-02-01T00:00:00Z"));
+
+        //then
+        Assertions.assertThat(prefixes).containsExactly("2025/11/", "2025/12/", "2026/01/", "2026/02/");
+    }
+}
@@ -0,0 +1,111 @@
+package com.skklub.admin.storage;
+
+import com.skklub.admin.service.dto.FileNames;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+class ObjectZipWriterTest {
+    @TempDir
+    private Path root;
+    private LocalObjectStore localObjectStore;
+    private StorageExecutors storageExecutors;
+    private ObjectZipWriter objectZipWriter;
+
+    @BeforeEach
+    public void beforeEach() throws Exception {
+        localObjectStore = new LocalObjectStore(root, "");
+        storageExecutors = new StorageExecutors(2, 2, 1, new SimpleMeterRegistry());
+        objectZipWriter = new ObjectZipWriter(localObjectStore, storageExecutors);
+        //미리 읽는 크기보다 큰 객체도 끝까지 이어 붙는지 확인하기 위해 작게 설정
+        ReflectionTestUtils.setField(objectZipWriter, "prefetchSize", DataSize.ofBytes(4));
+    }
+
+    @AfterEach
+    public void afterEach() {
+        storageExecutors.shutdown();
+    }
+
+    @Test
+    public void write_Default_EntriesInOrderWithContent() throws Exception{
+        //given
+        localObjectStore.put("saved0.pdf", new ByteArrayInputStream("first file".getBytes()), 10, ObjectHeaders.immutable(ContentTypes.OCTET_STREAM));
+        localObjectStore.put("saved1.pdf", new ByteArrayInputStream("second file".getBytes()), 11, ObjectHeaders.immutable(ContentTypes.OCTET_STREAM));
+        List<FileNames> files = List.of(new FileNames("0.pdf", "saved0.pdf"), new FileNames("1.pdf", "saved1.pdf"));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        //when
+        objectZipWriter.write(files, outputStream);
+
+        //then
+        Map<String, String> entries = readZip(outputStream.toByteArray());
+        Assertions.assertThat(entries).containsExactly(Map.entry("0.pdf", "first file"), Map.entry("1.pdf", "second file"));
+    }
+
+    @Test
+    public void write_SameOriginalName_RenameEntry() throws Exception{
+        //given
+        localObjectStore.put("saved0.pdf", new ByteArrayInputStream("a".getBytes()), 1, ObjectHeaders.immutable(ContentTypes.OCTET_STREAM));
+        localObjectStore.put("saved1.pdf", new ByteArrayInputStream("b".getBytes()), 1, ObjectHeaders.immutable(ContentTypes.OCTET_STREAM));
+        List<FileNames> files = List.of(new FileNames("report.pdf", "saved0.pdf"), new FileNames("report.pdf", "saved1.pdf"));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        //when
+        objectZipWriter.write(files, outputStream);
+
+        //then
+        Assertions.assertThat(readZip(outputStream.toByteArray()).keySet()).containsExactly("report.pdf", "report (1).pdf");
+    }
+
+    @Test
+    public void write_PathInOriginalName_StripPathSegments() throws Exception{
+        //given
+        localObjectStore.put("saved0.pdf", new ByteArrayInputStream("a".getBytes()), 1, ObjectHeaders.immutable(ContentTypes.OCTET_STREAM));
+        localObjectStore.put("saved1.pdf", new ByteArrayInputStream("b".getBytes()), 1, ObjectHeaders.immutable(ContentTypes.OCTET_STREAM));
+        List<FileNames> files = List.of(new FileNames("../../etc/passwd", "saved0.pdf"), new FileNames("..\\..", "saved1.pdf"));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        //when
+        objectZipWriter.write(files, outputStream);
+
+        //then
+        Assertions.assertThat(readZip(outputStream.toByteArray()).keySet()).containsExactly("etc_passwd", "file");
+    }
+
+    @Test
+    public void write_MissingObject_IOException() throws Exception{
+        //given
+        localObjectStore.put("saved0.pdf", new ByteArrayInputStream("a".getBytes()), 1, ObjectHeaders.immutable(ContentTypes.OCTET_STREAM));
+        List<FileNames> files = List.of(new FileNames("0.pdf", "saved0.pdf"), new FileNames("1.pdf", "neverSaved.pdf"));
+
+        //when, then
+        org.junit.jupiter.api.Assertions.assertThrows(IOException.class,
+                () -> objectZipWriter.write(files, new ByteArrayOutputStream()));
+    }
+
+    private Map<String, String> readZip(byte[] bytes) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(bytes))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zip.readAllBytes()));
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,74 @@
+package com.skklub.admin.storage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class OrphanObjectCollectorTest {
+    @Mock
+    private ObjectStore objectStore;
+    @Mock
+    private StoredKeyScanner storedKeyScanner;
+    @Mock
+    private ContentIndex contentIndex;
+    @Mock
+    private ObjectDeletionQueue objectDeletionQueue;
+    private OrphanObjectCollector orphanObjectCollector;
+
+    @BeforeEach
+    public void beforeEach() {
+        orphanObjectCollector = new OrphanObjectCollector(objectStore, storedKeyScanner, contentIndex, objectDeletionQueue, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(orphanObjectCollector, "enabled", true);
+        ReflectionTestUtils.setField(orphanObjectCollector, "grace", Duration.ofDays(1));
+    }
+
+    @Test
+    public void collect_Default_EnqueueOnlyOldUnreferencedKeys() throws Exception{
+        //given
+        given(storedKeyScanner.count()).willReturn(1L);
+        doAnswer(invocation -> {
+            Consumer<List<String>> consumer = invocation.getArgument(0);
+            consumer.accept(List.of("stored.png"));
+            return null;
+        }).when(storedKeyScanner).scan(any());
+        Instant old = Instant.now().minus(Duration.ofDays(2));
+        Instant recent = Instant.now();
+        doAnswer(invocation -> {
+            Consumer<List<StoredObject>> consumer = invocation.getArgument(0);
+            consumer.accept(List.of(
+                    new StoredObject("stored.png", old),
+                    new StoredObject("orphan.png", old),
+                    new StoredObject("uploading.png", recent),
+                    new StoredObject("alt.jpg", old)
+            ));
+            return null;
+        }).when(objectStore).forEachPage(any());
+
+        //when
+        orphanObjectCollector.collect();
+
+        //then
+        ArgumentCaptor<Collection<String>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(objectDeletionQueue).enqueue(captor.capture());
+        Assertions.assertThat(captor.getValue()).containsExactly("orphan.png");
+        verify(contentIndex).forget(List.of("orphan.png"));
+    }
+}
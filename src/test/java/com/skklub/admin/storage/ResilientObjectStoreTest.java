@@ -0,0 +1,156 @@
+package com.skklub.admin.storage;
+
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.NoSuchFileException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ResilientObjectStoreTest {
+    @Mock
+    private S3ObjectStore s3ObjectStore;
+    private StorageCircuitBreaker circuitBreaker;
+    private ResilientObjectStore resilientObjectStore;
+
+    @BeforeEach
+    public void beforeEach() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = new StorageCircuitBreaker(10, 2, 0.5, Duration.ofSeconds(3), Duration.ofSeconds(30), 1, meterRegistry, System::nanoTime);
+        resilientObjectStore = new ResilientObjectStore(s3ObjectStore, circuitBreaker, new RetryBudget(0.1, 10, meterRegistry));
+    }
+
+    @Test
+    public void open_ServerErrors_OpenAndFailFast() throws Exception{
+        //given
+        AmazonS3Exception serverError = new AmazonS3Exception("unavailable");
+        serverError.setStatusCode(503);
+        given(s3ObjectStore.open(anyString())).willThrow(serverError);
+        for (int i = 0; i < 2; i++) {
+            Assertions.assertThatThrownBy(() -> resilientObjectStore.open("saved.png")).isSameAs(serverError);
+        }
+
+        //when, then
+        Assertions.assertThatThrownBy(() -> resilientObjectStore.open("saved.png"))
+                .isInstanceOf(StorageUnavailableException.class);
+        verify(s3ObjectStore, times(2)).open(anyString());
+        Assertions.assertThat(circuitBreaker.getState()).isEqualTo(StorageCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    public void open_MissingObjects_StayClosed() throws Exception{
+        //given
+        given(s3ObjectStore.open(anyString())).willThrow(new NoSuchFileException("saved.png"));
+
+        //when
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertThatThrownBy(() -> resilientObjectStore.open("saved.png")).isInstanceOf(NoSuchFileException.class);
+        }
+
+        //then
+        Assertions.assertThat(circuitBreaker.getState()).isEqualTo(StorageCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void exists_CircuitOpen_ThrowUncheckedWithoutRequest() throws Exception{
+        //given
+        openCircuit();
+
+        //when, then
+        Assertions.assertThatThrownBy(() -> resilientObjectStore.exists("saved.png"))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasCauseInstanceOf(StorageUnavailableException.class);
+        verify(s3ObjectStore, never()).exists(anyString());
+    }
+
+    @Test
+    public void deleteAll_CircuitOpen_ReturnAllKeysAsFailed() throws Exception{
+        //given
+        openCircuit();
+
+        //when
+        Set<String> failedKeys = resilientObjectStore.deleteAll(List.of("key0", "key1"));
+
+        //then
+        Assertions.assertThat(failedKeys).containsExactlyInAnyOrder("key0", "key1");
+    }
+
+    @Test
+    public void url_CircuitOpen_BuildWithoutBreaker() throws Exception{
+        //given
+        openCircuit();
+        given(s3ObjectStore.url("saved.png")).willReturn("https://bucket/saved.png");
+
+        //when
+        String url = resilientObjectStore.url("saved.png");
+
+        //then
+        Assertions.assertThat(url).isEqualTo("https://bucket/saved.png");
+    }
+
+    @Test
+    public void uploadPart_LongTransfers_NotCountedAsSlow() throws Exception{
+        //given 모든 단건 호출이 느린 호출로 치이도록 기준을 0으로 둠
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = new StorageCircuitBreaker(10, 2, 0.5, Duration.ZERO, Duration.ofSeconds(30), 1, meterRegistry, System::nanoTime);
+        resilientObjectStore = new ResilientObjectStore(s3ObjectStore, circuitBreaker, new RetryBudget(0.1, 10, meterRegistry));
+        given(s3ObjectStore.uploadPart(anyString(), anyString(), anyInt(), any(InputStream.class), anyLong())).willReturn("etag");
+
+        //when
+        for (int i = 0; i < 4; i++) {
+            resilientObjectStore.uploadPart("saved.pdf", "uploadId", i + 1, new ByteArrayInputStream(new byte[0]), 1);
+        }
+
+        //then
+        Assertions.assertThat(circuitBreaker.getState()).isEqualTo(StorageCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void forEachPage_ConsumerThrows_StayClosed() throws Exception{
+        //given
+        given(s3ObjectStore.listPage("", null)).willReturn(new S3ObjectStore.ObjectPage(List.of(), "next"));
+        given(s3ObjectStore.listPage("", "next")).willReturn(new S3ObjectStore.ObjectPage(List.of(), null));
+        for (int i = 0; i < 2; i++) {
+            resilientObjectStore.forEachPage(page -> {
+            });
+        }
+
+        //when
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertThatThrownBy(() -> resilientObjectStore.forEachPage(page -> {
+                throw new IllegalStateException("consumer failed");
+            })).isInstanceOf(IllegalStateException.class);
+        }
+
+        //then
+        Assertions.assertThat(circuitBreaker.getState()).isEqualTo(StorageCircuitBreaker.State.CLOSED);
+        verify(s3ObjectStore, times(2)).listPage("", "next");
+    }
+
+    private void openCircuit() {
+        for (int i = 0; i < 2; i++) {
+            circuitBreaker.tryAcquire();
+            circuitBreaker.onFailure();
+        }
+    }
+}
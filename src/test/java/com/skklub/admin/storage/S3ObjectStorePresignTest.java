@@ -0,0 +1,84 @@
+package com.skklub.admin.storage;
+
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import io.findify.s3mock.S3Mock;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.time.Duration;
+
+class S3ObjectStorePresignTest {
+    private static final String BUCKET = "test-bucket";
+    private static S3Mock s3Mock;
+    private static AmazonS3 amazonS3;
+    private S3ObjectStore s3ObjectStore;
+
+    @BeforeAll
+    public static void startS3Mock() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        s3Mock = new S3Mock.Builder().withPort(port).withInMemoryBackend().build();
+        s3Mock.start();
+        amazonS3 = AmazonS3ClientBuilder.standard()
+                .withPathStyleAccessEnabled(true)
+                .withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration("http://localhost:" + port, "ap-northeast-2"))
+                .withCredentials(new AWSStaticCredentialsProvider(new BasicAWSCredentials("accessKey", "secretKey")))
+                .build();
+        amazonS3.createBucket(BUCKET);
+    }
+
+    @AfterAll
+    public static void stopS3Mock() {
+        amazonS3.shutdown();
+        s3Mock.shutdown();
+    }
+
+    @BeforeEach
+    public void beforeEach() {
+        s3ObjectStore = new S3ObjectStore(amazonS3);
+        ReflectionTestUtils.setField(s3ObjectStore, "bucket", BUCKET);
+        ReflectionTestUtils.setField(s3ObjectStore, "area", "ap-northeast-2");
+        ReflectionTestUtils.setField(s3ObjectStore, "metadataTimeout", Duration.ofSeconds(3));
+        ReflectionTestUtils.setField(s3ObjectStore, "readTimeout", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(s3ObjectStore, "writeTimeout", Duration.ofSeconds(60));
+    }
+
+    @Test
+    public void presignPut_Default_ClientUploadsWithoutServer() throws Exception{
+        //given
+        String key = "presigned.jpg";
+        byte[] bytes = "direct upload".getBytes();
+        String uploadUrl = s3ObjectStore.presignPut(key, Duration.ofMinutes(10));
+
+        //when
+        HttpURLConnection connection = (HttpURLConnection) new URL(uploadUrl).openConnection();
+        connection.setRequestMethod("PUT");
+        connection.setDoOutput(true);
+        connection.setFixedLengthStreamingMode(bytes.length);
+        try (OutputStream outputStream = connection.getOutputStream()) {
+            outputStream.write(bytes);
+        }
+        int status = connection.getResponseCode();
+        connection.disconnect();
+
+        //then
+        Assertions.assertThat(status).isEqualTo(200);
+        Assertions.assertThat(s3ObjectStore.exists(key)).isTrue();
+        Assertions.assertThat(amazonS3.getObjectMetadata(BUCKET, key).getContentLength()).isEqualTo(bytes.length);
+    }
+}
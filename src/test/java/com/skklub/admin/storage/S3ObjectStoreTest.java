@@ -0,0 +1,103 @@
+package com.skklub.admin.storage;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class S3ObjectStoreTest {
+    @Mock
+    private AmazonS3 amazonS3;
+    private S3ObjectStore s3ObjectStore;
+
+    @BeforeEach
+    public void beforeEach() {
+        s3ObjectStore = new S3ObjectStore(amazonS3);
+        ReflectionTestUtils.setField(s3ObjectStore, "bucket", "test-bucket");
+        ReflectionTestUtils.setField(s3ObjectStore, "area", "ap-northeast-2");
+        ReflectionTestUtils.setField(s3ObjectStore, "metadataTimeout", Duration.ofSeconds(3));
+        ReflectionTestUtils.setField(s3ObjectStore, "readTimeout", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(s3ObjectStore, "writeTimeout", Duration.ofSeconds(60));
+    }
+
+    @Test
+    public void url_Default_BuildWithoutRequest() throws Exception{
+        //given
+        String key = "saved.png";
+
+        //when
+        String url = s3ObjectStore.url(key);
+
+        //then
+        Assertions.assertThat(url).isEqualTo("https://s3.ap-northeast-2.amazonaws.com/test-bucket/saved.png");
+    }
+
+    @Test
+    public void put_Default_RecordHeadersAsMetadata() throws Exception{
+        //given
+        ObjectHeaders headers = ObjectHeaders.immutable("image/png");
+
+        //when
+        s3ObjectStore.put("saved.png", new ByteArrayInputStream(new byte[]{1, 2}), 2, headers);
+
+        //then
+        ArgumentCaptor<PutObjectRequest> captor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(amazonS3).putObject(captor.capture());
+        ObjectMetadata metadata = captor.getValue().getMetadata();
+        Assertions.assertThat(captor.getValue().getBucketName()).isEqualTo("test-bucket");
+        Assertions.assertThat(captor.getValue().getKey()).isEqualTo("saved.png");
+        Assertions.assertThat(captor.getValue().getSdkClientExecutionTimeout()).isEqualTo(60_000);
+        Assertions.assertThat(metadata.getContentLength()).isEqualTo(2);
+        Assertions.assertThat(metadata.getContentType()).isEqualTo("image/png");
+        Assertions.assertThat(metadata.getContentDisposition()).isEqualTo("inline");
+        Assertions.assertThat(metadata.getCacheControl()).isEqualTo("public, max-age=31536000, immutable");
+    }
+
+    @Test
+    public void deleteAll_PartialFailure_ReturnOnlyFailedKeys() throws Exception{
+        //given
+        MultiObjectDeleteException.DeleteError error = new MultiObjectDeleteException.DeleteError();
+        error.setKey("key1");
+        given(amazonS3.deleteObjects(any(DeleteObjectsRequest.class)))
+                .willThrow(new MultiObjectDeleteException(List.of(error), List.of()));
+
+        //when
+        Set<String> failedKeys = s3ObjectStore.deleteAll(List.of("key0", "key1", "key2"));
+
+        //then
+        Assertions.assertThat(failedKeys).containsExactly("key1");
+    }
+
+    @Test
+    public void deleteAll_RequestFails_ReturnAllKeys() throws Exception{
+        //given
+        given(amazonS3.deleteObjects(any(DeleteObjectsRequest.class)))
+                .willThrow(new AmazonClientException("unavailable"));
+
+        //when
+        Set<String> failedKeys = s3ObjectStore.deleteAll(List.of("key0", "key1"));
+
+        //then
+        Assertions.assertThat(failedKeys).containsExactlyInAnyOrder("key0", "key1");
+    }
+}
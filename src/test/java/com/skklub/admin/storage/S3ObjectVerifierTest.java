@@ -0,0 +1,54 @@
+package com.skklub.admin.storage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class S3ObjectVerifierTest {
+    @Mock
+    private ObjectStore objectStore;
+    @Mock
+    private StoredKeyScanner storedKeyScanner;
+
+    @Test
+    public void verify_Default_ConfirmOnlyUnlistedKeys() throws Exception{
+        //given
+        S3ObjectVerifier verifier = new S3ObjectVerifier(objectStore, storedKeyScanner, new StorageExecutors(2, 2, 2, new SimpleMeterRegistry()));
+        given(storedKeyScanner.count()).willReturn(3L);
+        doAnswer(invocation -> {
+            Consumer<List<StoredObject>> consumer = invocation.getArgument(0);
+            consumer.accept(List.of(new StoredObject("listed.png", Instant.now())));
+            return null;
+        }).when(objectStore).forEachPage(any());
+        doAnswer(invocation -> {
+            Consumer<List<String>> consumer = invocation.getArgument(0);
+            consumer.accept(List.of("listed.png", "missing.png", "uploadedAfterListing.png"));
+            return null;
+        }).when(storedKeyScanner).scan(any());
+        given(objectStore.exists("missing.png")).willReturn(false);
+        given(objectStore.exists("uploadedAfterListing.png")).willReturn(true);
+
+        //when
+        verifier.verify();
+
+        //then
+        Assertions.assertThat(verifier.isMissing("missing.png")).isTrue();
+        Assertions.assertThat(verifier.isMissing("uploadedAfterListing.png")).isFalse();
+        Assertions.assertThat(verifier.isMissing("listed.png")).isFalse();
+        verify(objectStore, never()).exists("listed.png");
+    }
+}
@@ -0,0 +1,149 @@
+package com.skklub.admin.storage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+class StorageCircuitBreakerTest {
+    private final AtomicLong now = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private StorageCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    public void beforeEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = new StorageCircuitBreaker(10, 4, 0.5, Duration.ofSeconds(1), Duration.ofSeconds(30), 2, meterRegistry, now::get);
+    }
+
+    @Test
+    public void onFailure_FailureRateReached_OpenAndReject() throws Exception{
+        //given
+        record(false);
+        record(false);
+        record(true);
+
+        //when
+        record(true);
+
+        //then
+        Assertions.assertThat(circuitBreaker.getState()).isEqualTo(StorageCircuitBreaker.State.OPEN);
+        Assertions.assertThat(circuitBreaker.tryAcquire()).isFalse();
+        Assertions.assertThat(meterRegistry.get("storage.circuit.state").gauge().value()).isEqualTo(2);
+        Assertions.assertThat(meterRegistry.get("storage.circuit.calls").tag("outcome", "rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void onFailure_BelowMinimumCalls_StayClosed() throws Exception{
+        //when
+        record(true);
+        record(true);
+        record(true);
+
+        //then
+        Assertions.assertThat(circuitBreaker.getState()).isEqualTo(StorageCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void onSuccess_SlowCalls_CountAsFailure() throws Exception{
+        //when
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.tryAcquire();
+            circuitBreaker.onSuccess(Duration.ofSeconds(2).toNanos());
+        }
+
+        //then
+        Assertions.assertThat(circuitBreaker.getState()).isEqualTo(StorageCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    public void onSuccess_Untimed_NeverSlow() throws Exception{
+        //when
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.tryAcquire();
+            circuitBreaker.onSuccess();
+        }
+
+        //then
+        Assertions.assertThat(circuitBreaker.getState()).isEqualTo(StorageCircuitBreaker.State.CLOSED);
+        Assertions.assertThat(meterRegistry.get("storage.circuit.calls").tag("outcome", "success").counter().count()).isEqualTo(4);
+    }
+
+    @Test
+    public void tryAcquire_OpenDurationPassedAndTrialsSucceed_Close() throws Exception{
+        //given
+        for (int i = 0; i < 4; i++) record(true);
+        now.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        //when
+        boolean first = circuitBreaker.tryAcquire();
+        boolean second = circuitBreaker.tryAcquire();
+        boolean third = circuitBreaker.tryAcquire();
+        circuitBreaker.onSuccess(0);
+        circuitBreaker.onSuccess(0);
+
+        //then
+        Assertions.assertThat(first).isTrue();
+        Assertions.assertThat(second).isTrue();
+        Assertions.assertThat(third).isFalse();
+        Assertions.assertThat(circuitBreaker.getState()).isEqualTo(StorageCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void onFailure_TrialFails_OpenAgain() throws Exception{
+        //given
+        for (int i = 0; i < 4; i++) record(true);
+        now.addAndGet(Duration.ofSeconds(31).toNanos());
+        circuitBreaker.tryAcquire();
+
+        //when
+        circuitBreaker.onFailure();
+
+        //then
+        Assertions.assertThat(circuitBreaker.getState()).isEqualTo(StorageCircuitBreaker.State.OPEN);
+        Assertions.assertThat(circuitBreaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    public void onSuccess_OldFailuresLeaveWindow_StayClosed() throws Exception{
+        //given
+        record(true);
+        record(true);
+        record(true);
+        for (int i = 0; i < 10; i++) record(false);
+
+        //when
+        record(true);
+
+        //then
+        Assertions.assertThat(circuitBreaker.getState()).isEqualTo(StorageCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void tryWithdraw_BudgetSpent_DenyUntilDeposits() throws Exception{
+        //given
+        RetryBudget retryBudget = new RetryBudget(0.5, 2, meterRegistry);
+        retryBudget.tryWithdraw();
+        retryBudget.tryWithdraw();
+
+        //when
+        boolean spent = retryBudget.tryWithdraw();
+        retryBudget.deposit();
+        retryBudget.deposit();
+        boolean refilled = retryBudget.tryWithdraw();
+
+        //then
+        Assertions.assertThat(spent).isFalse();
+        Assertions.assertThat(refilled).isTrue();
+        Assertions.assertThat(meterRegistry.get("storage.retry").tag("outcome", "denied").counter().count()).isEqualTo(1);
+    }
+
+    private void record(boolean failure) {
+        circuitBreaker.tryAcquire();
+        if (failure) circuitBreaker.onFailure();
+        else circuitBreaker.onSuccess(0);
+    }
+}
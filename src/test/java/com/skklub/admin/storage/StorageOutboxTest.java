@@ -0,0 +1,132 @@
+package com.skklub.admin.storage;
+
+import com.skklub.admin.domain.PendingDeletion;
+import com.skklub.admin.domain.enums.PendingDeletionType;
+import com.skklub.admin.repository.PendingDeletionRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StorageOutboxTest {
+    @Mock
+    private PendingDeletionRepository pendingDeletionRepository;
+    @Mock
+    private ContentIndex contentIndex;
+    @Mock
+    private ObjectDeletionQueue objectDeletionQueue;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private StorageOutbox storageOutbox;
+
+    @BeforeEach
+    public void beforeEach() {
+        storageOutbox = new StorageOutbox(pendingDeletionRepository, contentIndex, objectDeletionQueue, transactionManager, Duration.ofHours(1));
+    }
+
+    @Test
+    public void relay_LastReference_EnqueueWithVariantKeys() throws Exception{
+        //given
+        List<PendingDeletion> pending = List.of(
+                new PendingDeletion("saved.png", PendingDeletionType.REFERENCE, LocalDateTime.now()),
+                new PendingDeletion("shared.pdf", PendingDeletionType.REFERENCE, LocalDateTime.now())
+        );
+        given(pendingDeletionRepository.findByTypeInAndNextAttemptAtLessThanEqualOrderByIdAsc(anyCollection(), any(LocalDateTime.class), any(Pageable.class)))
+                .willReturn(pending);
+        given(contentIndex.release("saved.png")).willReturn(true);
+        given(contentIndex.release("shared.pdf")).willReturn(false);
+
+        //when
+        storageOutbox.relay();
+
+        //then
+        ArgumentCaptor<Collection<String>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(objectDeletionQueue).enqueue(captor.capture());
+        Assertions.assertThat(captor.getValue()).containsExactly("saved.png", "saved_thumb.png", "saved_card.png", "saved_full.png");
+        verify(pendingDeletionRepository).deleteAllInBatch(pending);
+    }
+
+    @Test
+    public void release_DefaultKey_NotRecorded() throws Exception{
+        //when
+        storageOutbox.release(List.of("alt.jpg", "saved.png"));
+
+        //then
+        ArgumentCaptor<List<PendingDeletion>> captor = ArgumentCaptor.forClass(List.class);
+        verify(pendingDeletionRepository).saveAll(captor.capture());
+        Assertions.assertThat(captor.getValue())
+                .extracting(PendingDeletion::getObjectKey)
+                .containsExactly("saved.png");
+    }
+
+    @Test
+    public void claim_TwoGuards_DeleteOnlyOne() throws Exception{
+        //given
+        PendingDeletion first = new PendingDeletion("saved.png", PendingDeletionType.UPLOAD_GUARD, LocalDateTime.now());
+        PendingDeletion second = new PendingDeletion("saved.png", PendingDeletionType.UPLOAD_GUARD, LocalDateTime.now());
+        ReflectionTestUtils.setField(first, "id", 1L);
+        ReflectionTestUtils.setField(second, "id", 2L);
+        given(pendingDeletionRepository.findByObjectKeyAndTypeOrderByIdAsc("saved.png", PendingDeletionType.UPLOAD_GUARD))
+                .willReturn(List.of(first, second));
+        given(pendingDeletionRepository.deleteByIdReturningCount(1L)).willReturn(1);
+
+        //when
+        storageOutbox.claim(List.of("saved.png"));
+
+        //then
+        verify(pendingDeletionRepository).deleteByIdReturningCount(1L);
+        verify(pendingDeletionRepository, never()).deleteByIdReturningCount(2L);
+    }
+
+    @Test
+    public void guard_Default_ReturnGuardId() throws Exception{
+        //given
+        given(pendingDeletionRepository.save(any(PendingDeletion.class))).willAnswer(invocation -> {
+            PendingDeletion guard = invocation.getArgument(0);
+            ReflectionTestUtils.setField(guard, "id", 7L);
+            return guard;
+        });
+
+        //when
+        Long guardId = storageOutbox.guard("saved.png");
+
+        //then
+        Assertions.assertThat(guardId).isEqualTo(7L);
+    }
+
+    @Test
+    public void expire_GuardIds_RescheduleOnlyThoseGuards() throws Exception{
+        //when
+        storageOutbox.expire(List.of(1L, 3L));
+
+        //then
+        verify(pendingDeletionRepository).rescheduleByIdIn(eq(List.of(1L, 3L)), eq(PendingDeletionType.UPLOAD_GUARD), any(LocalDateTime.class));
+    }
+
+    @Test
+    public void expire_Empty_NoQuery() throws Exception{
+        //when
+        storageOutbox.expire(List.of());
+
+        //then
+        verifyNoInteractions(pendingDeletionRepository);
+    }
+}